@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+plugins {
+    java
+}
+
+dependencies {
+    implementation("net.runelite:cache:${project.version}")
+
+    implementation(libs.jmh.core)
+    annotationProcessor(libs.jmh.generator)
+}
+
+// run with -Pjmh.includes=<regex> to select benchmarks, and -Pjmh.args="..." for any other jmh options
+tasks.register<JavaExec>("jmh") {
+    group = "benchmark"
+    description = "Runs the JMH benchmarks, with allocation profiling, writing the results as JSON"
+
+    val results = layout.buildDirectory.file("reports/jmh/results.json")
+    val includes = providers.gradleProperty("jmh.includes").orElse(".*")
+    val extraArgs = providers.gradleProperty("jmh.args").orElse("")
+
+    classpath = sourceSets.main.get().runtimeClasspath
+    mainClass = "org.openjdk.jmh.Main"
+    outputs.file(results)
+    outputs.upToDateWhen { false }
+
+    argumentProviders.add(CommandLineArgumentProvider {
+        listOf(includes.get(), "-prof", "gc", "-rf", "json", "-rff", results.get().asFile.absolutePath) +
+            extraArgs.get().split(" ").filter { it.isNotBlank() }
+    })
+
+    doFirst {
+        results.get().asFile.parentFile.mkdirs()
+    }
+}
+
+tasks.register<JavaExec>("generateSyntheticCache") {
+    group = "benchmark"
+    description = "Writes the synthetic cache used by the benchmarks to build/synthetic-cache"
+
+    classpath = sourceSets.main.get().runtimeClasspath
+    mainClass = "net.runelite.cache.benchmarks.SyntheticCache"
+    args(layout.buildDirectory.dir("synthetic-cache").get().asFile.absolutePath)
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.benchmarks;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import net.runelite.cache.util.BZip2;
+import net.runelite.cache.util.GZip;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compresses and decompresses with {@link BZip2} and {@link GZip} directly,
+ * without the container framing
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CompressionBenchmark
+{
+	@Param({"bzip2", "gzip"})
+	public String algorithm;
+
+	@Param({"4096", "65536"})
+	public int size;
+
+	private boolean bzip2;
+	private byte[] data;
+	private byte[] compressed;
+	private byte[] out;
+
+	@Setup
+	public void setup() throws IOException
+	{
+		bzip2 = algorithm.equals("bzip2");
+		if (!bzip2 && !algorithm.equals("gzip"))
+		{
+			throw new IllegalArgumentException("unknown algorithm " + algorithm);
+		}
+
+		data = SyntheticCache.data(new Random(SyntheticCache.SEED), size);
+		compressed = bzip2 ? BZip2.compress(data) : GZip.compress(data);
+		out = new byte[size];
+	}
+
+	@Benchmark
+	public byte[] compress() throws IOException
+	{
+		return bzip2 ? BZip2.compress(data) : GZip.compress(data);
+	}
+
+	/**
+	 * Decompress into a buffer of the known decompressed size
+	 */
+	@Benchmark
+	public byte[] decompress() throws IOException
+	{
+		if (bzip2)
+		{
+			BZip2.decompress(compressed, 0, compressed.length, out);
+		}
+		else
+		{
+			GZip.decompress(compressed, 0, compressed.length, out);
+		}
+		return out;
+	}
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.benchmarks;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import net.runelite.cache.fs.Container;
+import net.runelite.cache.fs.jagex.CompressionType;
+import net.runelite.cache.io.InputStream;
+import net.runelite.cache.util.BZip2;
+import net.runelite.cache.util.GZip;
+import net.runelite.cache.util.Xtea;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Decompresses, and optionally decrypts, a single container. The legacy
+ * benchmark is the stream based implementation the in place decompression
+ * replaced, for comparing allocation with -prof gc.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContainerBenchmark
+{
+	private static final int[] KEYS = {
+		0x12345678, 0x9ABCDEF0, -1, 42
+	};
+
+	@Param({"NONE", "BZ2", "GZ"})
+	public String compression;
+
+	@Param({"4096", "65536"})
+	public int size;
+
+	@Param({"false", "true"})
+	public boolean encrypted;
+
+	private int[] keys;
+	private byte[] data;
+	private byte[] work;
+
+	@Setup
+	public void setup() throws IOException
+	{
+		int type;
+		switch (compression)
+		{
+			case "NONE":
+				type = CompressionType.NONE;
+				break;
+			case "BZ2":
+				type = CompressionType.BZ2;
+				break;
+			case "GZ":
+				type = CompressionType.GZ;
+				break;
+			default:
+				throw new IllegalArgumentException("unknown compression " + compression);
+		}
+
+		keys = encrypted ? KEYS : null;
+
+		Container container = new Container(type, -1);
+		container.compress(SyntheticCache.data(new Random(SyntheticCache.SEED), size), keys);
+		data = container.data;
+		work = new byte[data.length];
+	}
+
+	/**
+	 * Decompress from an array, which copies the container first if it has
+	 * to be decrypted
+	 */
+	@Benchmark
+	public Container decompressArray() throws IOException
+	{
+		return Container.decompress(data, keys);
+	}
+
+	/**
+	 * Decompress from a buffer, decrypting in place as the disk storage does
+	 */
+	@Benchmark
+	public Container decompressBuffer() throws IOException
+	{
+		System.arraycopy(data, 0, work, 0, data.length);
+		return Container.decompress(ByteBuffer.wrap(work), keys);
+	}
+
+	@Benchmark
+	public byte[] decompressLegacy() throws IOException
+	{
+		InputStream stream = new InputStream(data);
+
+		int compression = stream.readUnsignedByte();
+		int compressedLength = stream.readInt();
+
+		switch (compression)
+		{
+			case CompressionType.NONE:
+			{
+				byte[] encryptedData = new byte[compressedLength];
+				stream.readBytes(encryptedData, 0, compressedLength);
+				return decryptLegacy(encryptedData);
+			}
+			case CompressionType.BZ2:
+			{
+				byte[] encryptedData = new byte[compressedLength + 4];
+				stream.readBytes(encryptedData);
+				InputStream decryptedStream = new InputStream(decryptLegacy(encryptedData));
+				decryptedStream.readInt();
+				return BZip2.decompress(decryptedStream.getRemaining(), compressedLength);
+			}
+			case CompressionType.GZ:
+			{
+				byte[] encryptedData = new byte[compressedLength + 4];
+				stream.readBytes(encryptedData);
+				InputStream decryptedStream = new InputStream(decryptLegacy(encryptedData));
+				decryptedStream.readInt();
+				return GZip.decompress(decryptedStream.getRemaining(), compressedLength);
+			}
+			default:
+				throw new IllegalStateException("unknown compression " + compression);
+		}
+	}
+
+	private byte[] decryptLegacy(byte[] encryptedData)
+	{
+		if (keys == null)
+		{
+			return encryptedData;
+		}
+
+		return new Xtea(keys).decrypt(encryptedData, encryptedData.length);
+	}
+}
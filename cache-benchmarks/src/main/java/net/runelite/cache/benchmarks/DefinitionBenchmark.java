@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import net.runelite.cache.ConfigType;
+import net.runelite.cache.definitions.loaders.EnumLoader;
+import net.runelite.cache.definitions.loaders.InventoryLoader;
+import net.runelite.cache.definitions.loaders.ItemLoader;
+import net.runelite.cache.definitions.loaders.NpcLoader;
+import net.runelite.cache.definitions.loaders.ObjectLoader;
+import net.runelite.cache.definitions.loaders.ScriptLoader;
+import net.runelite.cache.definitions.loaders.StructLoader;
+import net.runelite.cache.definitions.loaders.UnderlayLoader;
+import net.runelite.cache.definitions.loaders.VarbitLoader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Decodes a batch of synthetic definitions of one type
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DefinitionBenchmark
+{
+	private static final int DEFINITIONS = 1000;
+
+	@FunctionalInterface
+	private interface Loader
+	{
+		Object load(int id, byte[] b);
+	}
+
+	@Param({"ITEM", "NPC", "OBJECT", "ENUM", "STRUCT", "VARBIT", "UNDERLAY", "INV", "SCRIPT"})
+	public String type;
+
+	private Loader loader;
+	private byte[][] definitions;
+
+	@Setup
+	public void setup()
+	{
+		Random random = new Random(SyntheticCache.SEED);
+		definitions = new byte[DEFINITIONS][];
+
+		if (type.equals("SCRIPT"))
+		{
+			loader = new ScriptLoader()::load;
+			for (int id = 0; id < DEFINITIONS; ++id)
+			{
+				definitions[id] = SyntheticDefinitions.script(id, random);
+			}
+			return;
+		}
+
+		ConfigType configType = ConfigType.valueOf(type);
+		switch (configType)
+		{
+			case ITEM:
+				loader = new ItemLoader()::load;
+				break;
+			case NPC:
+				loader = new NpcLoader()::load;
+				break;
+			case OBJECT:
+				loader = new ObjectLoader()::load;
+				break;
+			case ENUM:
+				loader = new EnumLoader()::load;
+				break;
+			case STRUCT:
+				loader = new StructLoader()::load;
+				break;
+			case VARBIT:
+				loader = new VarbitLoader()::load;
+				break;
+			case UNDERLAY:
+				loader = new UnderlayLoader()::load;
+				break;
+			case INV:
+				loader = new InventoryLoader()::load;
+				break;
+			default:
+				throw new IllegalArgumentException("no synthetic definitions for " + type);
+		}
+
+		for (int id = 0; id < DEFINITIONS; ++id)
+		{
+			definitions[id] = SyntheticDefinitions.encode(configType, random);
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(DEFINITIONS)
+	public void load(Blackhole bh)
+	{
+		for (int id = 0; id < DEFINITIONS; ++id)
+		{
+			bh.consume(loader.load(id, definitions[id]));
+		}
+	}
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import net.runelite.cache.io.InputStream;
+import net.runelite.cache.io.OutputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Reads the primitives the definition loaders are built from out of
+ * {@link InputStream}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InputStreamBenchmark
+{
+	private static final int VALUES = 4096;
+
+	private byte[] ints;
+	private byte[] bigSmarts;
+	private byte[] shortSmarts;
+	private byte[] strings;
+
+	@Setup
+	public void setup()
+	{
+		Random random = new Random(SyntheticCache.SEED);
+
+		OutputStream out = new OutputStream();
+		for (int i = 0; i < VALUES; ++i)
+		{
+			out.writeInt(random.nextInt());
+		}
+		ints = out.flip();
+
+		out = new OutputStream();
+		for (int i = 0; i < VALUES; ++i)
+		{
+			out.writeBigSmart(random.nextBoolean() ? random.nextInt(32768) : random.nextInt(Integer.MAX_VALUE));
+		}
+		bigSmarts = out.flip();
+
+		out = new OutputStream();
+		for (int i = 0; i < VALUES; ++i)
+		{
+			out.writeShortSmart(random.nextBoolean() ? random.nextInt(128) : random.nextInt(32768));
+		}
+		shortSmarts = out.flip();
+
+		out = new OutputStream();
+		for (int i = 0; i < VALUES; ++i)
+		{
+			out.writeString("Item " + random.nextInt(30000));
+		}
+		strings = out.flip();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(VALUES)
+	public int readInt()
+	{
+		InputStream in = new InputStream(ints);
+		int sum = 0;
+		for (int i = 0; i < VALUES; ++i)
+		{
+			sum += in.readInt();
+		}
+		return sum;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(VALUES)
+	public int readBigSmart()
+	{
+		InputStream in = new InputStream(bigSmarts);
+		int sum = 0;
+		for (int i = 0; i < VALUES; ++i)
+		{
+			sum += in.readBigSmart();
+		}
+		return sum;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(VALUES)
+	public int readUnsignedShortSmart()
+	{
+		InputStream in = new InputStream(shortSmarts);
+		int sum = 0;
+		for (int i = 0; i < VALUES; ++i)
+		{
+			sum += in.readUnsignedShortSmart();
+		}
+		return sum;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(VALUES)
+	public int readString()
+	{
+		InputStream in = new InputStream(strings);
+		int sum = 0;
+		for (int i = 0; i < VALUES; ++i)
+		{
+			sum += in.readString().length();
+		}
+		return sum;
+	}
+}
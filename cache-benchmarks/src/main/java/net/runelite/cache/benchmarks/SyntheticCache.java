@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+import net.runelite.cache.ConfigType;
+import net.runelite.cache.IndexType;
+import net.runelite.cache.fs.Archive;
+import net.runelite.cache.fs.ArchiveFiles;
+import net.runelite.cache.fs.Container;
+import net.runelite.cache.fs.FSFile;
+import net.runelite.cache.fs.Index;
+import net.runelite.cache.fs.Store;
+import net.runelite.cache.fs.jagex.CompressionType;
+import net.runelite.cache.index.FileData;
+
+/**
+ * Generates a cache in the jagex disk format from a seed, so that
+ * benchmarks do not depend on a real game cache. The cache has:
+ * <ul>
+ * <li>a config archive of {@link #DEFINITIONS} random definitions for each
+ * of {@link SyntheticDefinitions#CONFIG_TYPES}</li>
+ * <li>{@link #SCRIPTS} random client scripts, one per archive</li>
+ * <li>{@link #DATA_ARCHIVES} archives of compressible data of up to
+ * {@link #MAX_DATA_SIZE} bytes in index {@link #DATA_INDEX}, stored
+ * uncompressed, with bzip2 and with gzip in turn</li>
+ * </ul>
+ */
+public final class SyntheticCache
+{
+	public static final long SEED = 42L;
+	public static final int DEFINITIONS = 2000;
+	public static final int SCRIPTS = 500;
+	public static final int DATA_INDEX = 64;
+	public static final int DATA_ARCHIVES = 600;
+	public static final int MAX_DATA_SIZE = 64 * 1024;
+
+	private static final int[] COMPRESSIONS = {CompressionType.NONE, CompressionType.BZ2, CompressionType.GZ};
+
+	private SyntheticCache()
+	{
+	}
+
+	public static void main(String[] args) throws IOException
+	{
+		if (args.length != 1)
+		{
+			System.err.println("usage: SyntheticCache <directory>");
+			System.exit(1);
+		}
+
+		File dir = new File(args[0]);
+		dir.mkdirs();
+		generate(dir, SEED);
+	}
+
+	/**
+	 * Write a synthetic cache to an empty directory
+	 *
+	 * @param dir directory
+	 * @param seed random seed, the same seed gives the same cache
+	 * @throws IOException
+	 */
+	public static void generate(File dir, long seed) throws IOException
+	{
+		Random random = new Random(seed);
+
+		try (Store store = new Store(dir))
+		{
+			Index configs = store.addIndex(IndexType.CONFIGS.getNumber());
+			for (ConfigType type : SyntheticDefinitions.CONFIG_TYPES)
+			{
+				ArchiveFiles files = new ArchiveFiles();
+				for (int id = 0; id < DEFINITIONS; ++id)
+				{
+					FSFile file = new FSFile(id);
+					file.setContents(SyntheticDefinitions.encode(type, random));
+					files.addFile(file);
+				}
+				save(store, configs.addArchive(type.getId()), files, CompressionType.GZ);
+			}
+
+			Index scripts = store.addIndex(IndexType.CLIENTSCRIPT.getNumber());
+			for (int id = 0; id < SCRIPTS; ++id)
+			{
+				save(store, scripts.addArchive(id), single(SyntheticDefinitions.script(id, random)), CompressionType.GZ);
+			}
+
+			Index data = store.addIndex(DATA_INDEX);
+			for (int id = 0; id < DATA_ARCHIVES; ++id)
+			{
+				save(store, data.addArchive(id), single(data(random, 1 + random.nextInt(MAX_DATA_SIZE))), COMPRESSIONS[id % COMPRESSIONS.length]);
+			}
+
+			store.save();
+		}
+	}
+
+	/**
+	 * Random data which compresses about as well as real archives do
+	 */
+	static byte[] data(Random random, int size)
+	{
+		byte[] data = new byte[size];
+		for (int i = 0; i < size; ++i)
+		{
+			data[i] = (byte) random.nextInt(16);
+		}
+		return data;
+	}
+
+	private static ArchiveFiles single(byte[] contents)
+	{
+		ArchiveFiles files = new ArchiveFiles();
+		FSFile file = new FSFile(0);
+		file.setContents(contents);
+		files.addFile(file);
+		return files;
+	}
+
+	private static void save(Store store, Archive archive, ArchiveFiles files, int compression) throws IOException
+	{
+		FileData[] fileData = new FileData[files.getFiles().size()];
+		int n = 0;
+		for (FSFile file : files.getFiles())
+		{
+			fileData[n] = new FileData();
+			fileData[n++].setId(file.getFileId());
+		}
+		archive.setFileData(fileData);
+
+		Container container = new Container(compression, -1);
+		container.compress(files.saveContents(), null);
+		archive.setCrc(container.crc);
+		archive.setCompression(compression);
+		store.getStorage().saveArchive(archive, container.data);
+	}
+}
@@ -0,0 +1,267 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.benchmarks;
+
+import java.util.Random;
+import net.runelite.cache.ConfigType;
+import net.runelite.cache.definitions.ScriptDefinition;
+import net.runelite.cache.definitions.savers.ScriptSaver;
+import net.runelite.cache.io.OutputStream;
+import net.runelite.cache.script.Opcodes;
+
+/**
+ * Encodes random definitions in the formats the definition loaders read.
+ * The fields and their sizes are roughly those of real definitions.
+ */
+final class SyntheticDefinitions
+{
+	/**
+	 * the config types which can be generated
+	 */
+	static final ConfigType[] CONFIG_TYPES = {
+		ConfigType.ITEM,
+		ConfigType.NPC,
+		ConfigType.OBJECT,
+		ConfigType.ENUM,
+		ConfigType.STRUCT,
+		ConfigType.VARBIT,
+		ConfigType.UNDERLAY,
+		ConfigType.INV
+	};
+
+	private static final String[] WORDS = {
+		"Bronze", "Iron", "Steel", "Mithril", "Adamant", "Rune", "Dragon", "sword", "shield", "helm", "Guard", "Goblin", "Tree", "Door", "Bank booth"
+	};
+
+	private SyntheticDefinitions()
+	{
+	}
+
+	static byte[] encode(ConfigType type, Random random)
+	{
+		OutputStream out = new OutputStream();
+		switch (type)
+		{
+			case ITEM:
+				out.writeByte(1);
+				out.writeShort(random.nextInt(40000));
+				out.writeByte(2);
+				out.writeString(name(random));
+				out.writeByte(4);
+				out.writeShort(random.nextInt(3000));
+				out.writeByte(5);
+				out.writeShort(random.nextInt(2048));
+				out.writeByte(6);
+				out.writeShort(random.nextInt(2048));
+				out.writeByte(12);
+				out.writeInt(random.nextInt(100000));
+				if (random.nextBoolean())
+				{
+					out.writeByte(11);
+				}
+				out.writeByte(30 + random.nextInt(5));
+				out.writeString("Take");
+				out.writeByte(35);
+				out.writeString("Wield");
+				out.writeByte(40);
+				recolors(out, random);
+				params(out, random);
+				break;
+			case NPC:
+				out.writeByte(1);
+				out.writeByte(3);
+				for (int i = 0; i < 3; ++i)
+				{
+					out.writeShort(random.nextInt(40000));
+				}
+				out.writeByte(2);
+				out.writeString(name(random));
+				out.writeByte(12);
+				out.writeByte(1 + random.nextInt(3));
+				out.writeByte(13);
+				out.writeShort(random.nextInt(10000));
+				out.writeByte(14);
+				out.writeShort(random.nextInt(10000));
+				out.writeByte(30);
+				out.writeString("Attack");
+				out.writeByte(40);
+				recolors(out, random);
+				out.writeByte(95);
+				out.writeShort(random.nextInt(1000));
+				params(out, random);
+				break;
+			case OBJECT:
+				out.writeByte(1);
+				out.writeByte(1);
+				out.writeShort(random.nextInt(40000));
+				out.writeByte(10);
+				out.writeByte(2);
+				out.writeString(name(random));
+				out.writeByte(14);
+				out.writeByte(1 + random.nextInt(3));
+				out.writeByte(15);
+				out.writeByte(1 + random.nextInt(3));
+				out.writeByte(19);
+				out.writeByte(random.nextInt(2));
+				out.writeByte(30);
+				out.writeString("Open");
+				out.writeByte(40);
+				recolors(out, random);
+				params(out, random);
+				break;
+			case ENUM:
+			{
+				boolean strings = random.nextBoolean();
+				out.writeByte(1);
+				out.writeByte('i');
+				out.writeByte(2);
+				out.writeByte(strings ? 's' : 'i');
+				int size = 1 + random.nextInt(64);
+				out.writeByte(strings ? 5 : 6);
+				out.writeShort(size);
+				for (int i = 0; i < size; ++i)
+				{
+					out.writeInt(i);
+					if (strings)
+					{
+						out.writeString(name(random));
+					}
+					else
+					{
+						out.writeInt(random.nextInt());
+					}
+				}
+				break;
+			}
+			case STRUCT:
+				params(out, random);
+				break;
+			case VARBIT:
+				out.writeByte(1);
+				out.writeShort(random.nextInt(4000));
+				int lsb = random.nextInt(31);
+				out.writeByte(lsb);
+				out.writeByte(lsb + random.nextInt(32 - lsb));
+				break;
+			case UNDERLAY:
+				out.writeByte(1);
+				out.write24BitInt(random.nextInt(0x1000000));
+				break;
+			case INV:
+				out.writeByte(2);
+				out.writeShort(random.nextInt(1000));
+				break;
+			default:
+				throw new IllegalArgumentException("unsupported type " + type);
+		}
+		out.writeByte(0);
+		return out.flip();
+	}
+
+	/**
+	 * Encode a straight line script of pushes, pops and arithmetic
+	 */
+	static byte[] script(int id, Random random)
+	{
+		int length = 16 + random.nextInt(256);
+		int[] instructions = new int[length];
+		int[] intOperands = new int[length];
+		String[] stringOperands = new String[length];
+
+		for (int i = 0; i < length - 1; ++i)
+		{
+			switch (random.nextInt(4))
+			{
+				case 0:
+					instructions[i] = Opcodes.ICONST;
+					intOperands[i] = random.nextInt();
+					break;
+				case 1:
+					instructions[i] = Opcodes.SCONST;
+					stringOperands[i] = name(random);
+					break;
+				case 2:
+					instructions[i] = Opcodes.ILOAD;
+					intOperands[i] = random.nextInt(8);
+					break;
+				default:
+					instructions[i] = Opcodes.ISTORE;
+					intOperands[i] = random.nextInt(8);
+					break;
+			}
+		}
+		instructions[length - 1] = Opcodes.RETURN;
+
+		ScriptDefinition script = new ScriptDefinition();
+		script.setId(id);
+		script.setInstructions(instructions);
+		script.setIntOperands(intOperands);
+		script.setStringOperands(stringOperands);
+		script.setLocalIntCount(8);
+		return new ScriptSaver().save(script);
+	}
+
+	private static String name(Random random)
+	{
+		return WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)];
+	}
+
+	private static void recolors(OutputStream out, Random random)
+	{
+		int count = 1 + random.nextInt(4);
+		out.writeByte(count);
+		for (int i = 0; i < count; ++i)
+		{
+			out.writeShort(random.nextInt(65536));
+			out.writeShort(random.nextInt(65536));
+		}
+	}
+
+	private static void params(OutputStream out, Random random)
+	{
+		int count = random.nextInt(6);
+		if (count == 0)
+		{
+			return;
+		}
+
+		out.writeByte(249);
+		out.writeByte(count);
+		for (int i = 0; i < count; ++i)
+		{
+			boolean string = random.nextInt(4) == 0;
+			out.writeByte(string ? 1 : 0);
+			out.write24BitInt(random.nextInt(2000));
+			if (string)
+			{
+				out.writeString(name(random));
+			}
+			else
+			{
+				out.writeInt(random.nextInt());
+			}
+		}
+	}
+}
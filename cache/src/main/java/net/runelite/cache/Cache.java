@@ -25,8 +25,16 @@
 package net.runelite.cache;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import net.runelite.cache.diff.CacheDiff;
+import net.runelite.cache.diff.DiffPrinter;
 import net.runelite.cache.fs.Store;
+import net.runelite.cache.fs.jagex.CacheCompactor;
+import net.runelite.cache.fs.jagex.CacheVerificationReport;
+import net.runelite.cache.fs.jagex.CacheVerifier;
+import net.runelite.cache.util.XteaKeyManager;
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.CommandLineParser;
 import org.apache.commons.cli.DefaultParser;
@@ -46,6 +54,12 @@ public class Cache
 		options.addOption(null, "objects", true, "directory to dump objects to");
 		options.addOption(null, "sprites", true, "directory to dump sprites to");
 
+		options.addOption(null, "compact", false, "compact the cache data file");
+		options.addOption(null, "diff", true, "older cache to print the differences from");
+		options.addOption(null, "verify", false, "check the cache for corrupted, orphaned and truncated archives");
+		options.addOption(null, "repair", false, "rebuild the cache idx files from the data file, then verify it");
+		options.addOption(null, "xteas", true, "xtea keys json, used to verify encrypted archives");
+
 		CommandLineParser parser = new DefaultParser();
 		CommandLine cmd;
 		try
@@ -61,6 +75,35 @@ public class Cache
 
 		String cache = cmd.getOptionValue("cache");
 
+		if (cmd.hasOption("compact"))
+		{
+			System.out.println("Compacting " + cache);
+			CacheCompactor.compact(new File(cache));
+			return;
+		}
+
+		if (cmd.hasOption("verify") || cmd.hasOption("repair"))
+		{
+			CacheVerifier verifier = new CacheVerifier(new File(cache));
+			if (cmd.hasOption("xteas"))
+			{
+				XteaKeyManager keyManager = new XteaKeyManager();
+				try (InputStream in = new FileInputStream(cmd.getOptionValue("xteas")))
+				{
+					keyManager.loadKeys(in);
+				}
+				verifier.setKeyProvider(keyManager);
+			}
+
+			CacheVerificationReport report = cmd.hasOption("repair") ? verifier.repair() : verifier.verify();
+			System.out.println(report.toJson());
+			if (!report.isOk())
+			{
+				System.exit(1);
+			}
+			return;
+		}
+
 		Store store = loadStore(cache);
 
 		if (cmd.hasOption("items"))
@@ -115,6 +158,21 @@ public class Cache
 			System.out.println("Dumping sprites to " + spritedir);
 			dumpSprites(store, new File(spritedir));
 		}
+		else if (cmd.hasOption("diff"))
+		{
+			String oldcache = cmd.getOptionValue("diff");
+
+			if (oldcache == null)
+			{
+				System.err.println("Cache to diff against must be specified");
+				return;
+			}
+
+			try (Store oldStore = loadStore(oldcache))
+			{
+				new CacheDiff(oldStore, store).diff(new DiffPrinter(System.out));
+			}
+		}
 		else
 		{
 			System.err.println("Nothing to do");
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import net.runelite.cache.definitions.FrameDefinition;
+import net.runelite.cache.definitions.FramemapDefinition;
+import net.runelite.cache.definitions.loaders.FrameLoader;
+import net.runelite.cache.definitions.loaders.FramemapLoader;
+import net.runelite.cache.definitions.providers.FrameProvider;
+import net.runelite.cache.fs.Archive;
+import net.runelite.cache.fs.ArchiveFiles;
+import net.runelite.cache.fs.FSFile;
+import net.runelite.cache.fs.Index;
+import net.runelite.cache.fs.Storage;
+import net.runelite.cache.fs.Store;
+
+/**
+ * Loads animation frames on demand, an archive of frames at a time, along
+ * with the framemaps they use. Safe for use from multiple threads.
+ */
+public class FrameManager implements FrameProvider
+{
+	private final Store store;
+	private final Map<Integer, Map<Integer, FrameDefinition>> frames = new ConcurrentHashMap<>();
+	private final Map<Integer, FramemapDefinition> framemaps = new ConcurrentHashMap<>();
+
+	public FrameManager(Store store)
+	{
+		this.store = store;
+	}
+
+	@Override
+	public FrameDefinition provide(int frameId) throws IOException
+	{
+		int archiveId = frameId >>> 16;
+		Map<Integer, FrameDefinition> archiveFrames = frames.get(archiveId);
+		if (archiveFrames == null)
+		{
+			archiveFrames = loadFrames(archiveId);
+			Map<Integer, FrameDefinition> existing = frames.putIfAbsent(archiveId, archiveFrames);
+			if (existing != null)
+			{
+				archiveFrames = existing;
+			}
+		}
+		return archiveFrames.get(frameId & 0xFFFF);
+	}
+
+	private Map<Integer, FrameDefinition> loadFrames(int archiveId) throws IOException
+	{
+		Map<Integer, FrameDefinition> archiveFrames = new HashMap<>();
+
+		Storage storage = store.getStorage();
+		Archive archive = store.getIndex(IndexType.ANIMATIONS).getArchive(archiveId);
+		if (archive == null)
+		{
+			return archiveFrames;
+		}
+
+		ArchiveFiles files = archive.getFiles(storage.loadArchive(archive));
+		FrameLoader loader = new FrameLoader();
+		for (FSFile file : files.getFiles())
+		{
+			byte[] contents = file.getContents();
+			int framemapId = (contents[0] & 0xff) << 8 | contents[1] & 0xff;
+			archiveFrames.put(file.getFileId(), loader.load(getFramemap(framemapId), file.getFileId(), contents));
+		}
+		return archiveFrames;
+	}
+
+	private FramemapDefinition getFramemap(int framemapId) throws IOException
+	{
+		FramemapDefinition framemap = framemaps.get(framemapId);
+		if (framemap != null)
+		{
+			return framemap;
+		}
+
+		Index index = store.getIndex(IndexType.SKELETONS);
+		Archive archive = index != null ? index.getArchive(framemapId) : null;
+		if (archive == null)
+		{
+			throw new IOException("missing framemap " + framemapId);
+		}
+
+		byte[] contents = archive.decompress(store.getStorage().loadArchive(archive));
+		framemap = new FramemapLoader().load(framemapId, contents);
+		framemaps.putIfAbsent(framemapId, framemap);
+		return framemap;
+	}
+}
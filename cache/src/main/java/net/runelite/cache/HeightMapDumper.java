@@ -30,6 +30,7 @@ import java.io.IOException;
 import net.runelite.cache.fs.Store;
 import net.runelite.cache.region.Region;
 import net.runelite.cache.region.RegionLoader;
+import net.runelite.cache.region.WorldTerrain;
 import net.runelite.cache.util.KeyProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -82,27 +83,30 @@ public class HeightMapDumper
 		int max = Integer.MIN_VALUE;
 		int min = Integer.MAX_VALUE;
 
-		for (Region region : regionLoader.getRegions())
-		{
-			int baseX = region.getBaseX();
-			int baseY = region.getBaseY();
+		WorldTerrain terrain = regionLoader.getTerrain();
+		int minX = regionLoader.getLowestX().getBaseX();
+		int minY = regionLoader.getLowestY().getBaseY();
+		int maxX = regionLoader.getHighestX().getBaseX() + Region.X;
+		int maxY = regionLoader.getHighestY().getBaseY() + Region.Y;
 
-			// to pixel X
-			int drawBaseX = baseX - regionLoader.getLowestX().getBaseX();
+		// stream the map a row of tiles at a time, top most row first
+		int[] row = new int[maxX - minX];
+		for (int worldY = maxY - 1; worldY >= minY; --worldY)
+		{
+			int drawY = maxY - 1 - worldY;
 
-			// to pixel Y. top most y is 0, but the top most
-			// region has the greatest y, so invert
-			int drawBaseY = regionLoader.getHighestY().getBaseY() - baseY;
+			terrain.getTileHeights(z, minX, worldY, row, 0, row.length);
 
-			for (int x = 0; x < Region.X; ++x)
+			for (int regionX = minX; regionX < maxX; regionX += Region.X)
 			{
-				int drawX = drawBaseX + x;
-
-				for (int y = 0; y < Region.Y; ++y)
+				if (!terrain.isLoaded(regionX, worldY))
 				{
-					int drawY = drawBaseY + (Region.Y - 1 - y);
+					continue;
+				}
 
-					int height = region.getTileHeight(z, x, y);
+				for (int drawX = regionX - minX; drawX < regionX - minX + Region.X; ++drawX)
+				{
+					int height = row[drawX];
 					if (height > max)
 					{
 						max = height;
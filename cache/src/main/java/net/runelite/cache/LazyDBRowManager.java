@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache;
+
+import java.io.IOException;
+import net.runelite.cache.definitions.DBRowDefinition;
+import net.runelite.cache.definitions.loaders.DBRowLoader;
+import net.runelite.cache.fs.Store;
+
+/**
+ * A db row manager which only decodes rows when they are first requested,
+ * for use with a {@link net.runelite.cache.dbtable.DBQueryEngine}.
+ */
+public class LazyDBRowManager
+{
+	private final Store store;
+	private LazyDefinitions<DBRowDefinition> rows;
+
+	public LazyDBRowManager(Store store)
+	{
+		this.store = store;
+	}
+
+	public void load() throws IOException
+	{
+		DBRowLoader loader = new DBRowLoader();
+		rows = LazyDefinitions.load(store, ConfigType.DBROW, loader::load);
+	}
+
+	public DBRowDefinition get(int rowId)
+	{
+		return rows.get(rowId);
+	}
+
+	/**
+	 * @return one more than the largest row id
+	 */
+	public int size()
+	{
+		return rows.size();
+	}
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import net.runelite.cache.fs.Archive;
+import net.runelite.cache.fs.ArchiveFiles;
+import net.runelite.cache.fs.FSFile;
+import net.runelite.cache.fs.Index;
+import net.runelite.cache.fs.Store;
+
+/**
+ * The files of a config archive, decoded on first use. The raw file
+ * contents and the decoded definitions are both held in arrays indexed
+ * by id, so lookups do not box and definitions which are never requested
+ * are never decoded. Lookups are safe from many threads; if two threads
+ * decode the same definition at once, both get the same instance.
+ *
+ * @param <T> definition type
+ */
+class LazyDefinitions<T>
+{
+	@FunctionalInterface
+	interface Decoder<T>
+	{
+		T decode(int id, byte[] data);
+	}
+
+	private final byte[][] data;
+	private final AtomicReferenceArray<T> definitions;
+	private final Decoder<T> decoder;
+
+	private LazyDefinitions(byte[][] data, Decoder<T> decoder)
+	{
+		this.data = data;
+		this.definitions = new AtomicReferenceArray<>(data.length);
+		this.decoder = decoder;
+	}
+
+	static <T> LazyDefinitions<T> load(Store store, ConfigType type, Decoder<T> decoder) throws IOException
+	{
+		Index index = store.getIndex(IndexType.CONFIGS);
+		Archive archive = index.getArchive(type.getId());
+		ArchiveFiles files = store.getStorage().loadArchiveFiles(archive);
+
+		int maxId = -1;
+		for (FSFile file : files.getFiles())
+		{
+			maxId = Math.max(maxId, file.getFileId());
+		}
+
+		byte[][] data = new byte[maxId + 1][];
+		for (FSFile file : files.getFiles())
+		{
+			data[file.getFileId()] = file.getContents();
+		}
+
+		return new LazyDefinitions<>(data, decoder);
+	}
+
+	/**
+	 * @return one more than the largest id
+	 */
+	int size()
+	{
+		return data.length;
+	}
+
+	boolean contains(int id)
+	{
+		return id >= 0 && id < data.length && data[id] != null;
+	}
+
+	T get(int id)
+	{
+		if (!contains(id))
+		{
+			return null;
+		}
+
+		T def = definitions.get(id);
+		if (def != null)
+		{
+			return def;
+		}
+
+		def = decoder.decode(id, data[id]);
+		if (!definitions.compareAndSet(id, null, def))
+		{
+			def = definitions.get(id);
+		}
+		return def;
+	}
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache;
+
+import java.io.IOException;
+import net.runelite.cache.definitions.ItemDefinition;
+import net.runelite.cache.definitions.loaders.ItemLoader;
+import net.runelite.cache.definitions.providers.ItemProvider;
+import net.runelite.cache.fs.Store;
+
+/**
+ * An item provider which only decodes items when they are first requested,
+ * for services which look up a small number of items. Unlike
+ * {@link ItemManager}, items are linked to their note, bought, and
+ * placeholder templates as they are decoded.
+ */
+public class LazyItemManager implements ItemProvider
+{
+	private final Store store;
+	private LazyDefinitions<ItemDefinition> items;
+
+	public LazyItemManager(Store store)
+	{
+		this.store = store;
+	}
+
+	public void load() throws IOException
+	{
+		ItemLoader loader = new ItemLoader();
+		items = LazyDefinitions.load(store, ConfigType.ITEM, (id, b) -> link(loader.load(id, b)));
+	}
+
+	private ItemDefinition link(ItemDefinition item)
+	{
+		if (item.notedTemplate != -1)
+		{
+			item.linkNote(getItem(item.notedTemplate), getItem(item.notedID));
+		}
+		if (item.boughtTemplateId != -1)
+		{
+			item.linkBought(getItem(item.boughtTemplateId), getItem(item.boughtId));
+		}
+		if (item.placeholderTemplateId != -1)
+		{
+			item.linkPlaceholder(getItem(item.placeholderTemplateId), getItem(item.placeholderId));
+		}
+		return item;
+	}
+
+	public ItemDefinition getItem(int itemId)
+	{
+		return items.get(itemId);
+	}
+
+	/**
+	 * @return one more than the largest item id
+	 */
+	public int size()
+	{
+		return items.size();
+	}
+
+	@Override
+	public ItemDefinition provide(int itemId)
+	{
+		return getItem(itemId);
+	}
+}
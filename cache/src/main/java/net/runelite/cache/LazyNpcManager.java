@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache;
+
+import java.io.IOException;
+import net.runelite.cache.definitions.NpcDefinition;
+import net.runelite.cache.definitions.loaders.NpcLoader;
+import net.runelite.cache.fs.Store;
+
+/**
+ * An npc manager which only decodes npcs when they are first requested,
+ * for services which look up a small number of npcs
+ */
+public class LazyNpcManager
+{
+	private final Store store;
+	private LazyDefinitions<NpcDefinition> npcs;
+
+	public LazyNpcManager(Store store)
+	{
+		this.store = store;
+	}
+
+	public void load() throws IOException
+	{
+		NpcLoader loader = new NpcLoader();
+		loader.configureForRevision(store.getIndex(IndexType.CONFIGS).getArchive(ConfigType.NPC.getId()).getRevision());
+		npcs = LazyDefinitions.load(store, ConfigType.NPC, loader::load);
+	}
+
+	public NpcDefinition get(int npcId)
+	{
+		return npcs.get(npcId);
+	}
+
+	/**
+	 * @return one more than the largest npc id
+	 */
+	public int size()
+	{
+		return npcs.size();
+	}
+}
@@ -32,9 +32,12 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import javax.imageio.ImageIO;
 import lombok.Getter;
 import lombok.Setter;
@@ -63,7 +66,9 @@ import net.runelite.cache.region.Position;
 import net.runelite.cache.region.Region;
 import net.runelite.cache.region.RegionLoader;
 import net.runelite.cache.util.BigBufferedImage;
+import net.runelite.cache.util.BoundedExecutor;
 import net.runelite.cache.util.KeyProvider;
+import net.runelite.cache.util.TilePyramidWriter;
 import net.runelite.cache.util.XteaKeyManager;
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.CommandLineParser;
@@ -78,6 +83,7 @@ public class MapImageDumper
 {
 	private static final int MAP_SCALE = 4; // this squared is the number of pixels per map square
 	private static final int BLEND = 5; // number of surrounding tiles for ground blending
+	private static final int LABEL_MARGIN = 512; // pixels a label may extend from its position
 
 	private static byte[][][] TILE_SHAPE_2D;
 
@@ -160,6 +166,7 @@ public class MapImageDumper
 		options.addOption(Option.builder().longOpt("cachedir").hasArg().required().build());
 		options.addOption(Option.builder().longOpt("xteapath").hasArg().required().build());
 		options.addOption(Option.builder().longOpt("outputdir").hasArg().required().build());
+		options.addOption(Option.builder().longOpt("tiles").desc("write a pyramid of tiles instead of one image per plane").build());
 
 		CommandLineParser parser = new DefaultParser();
 		CommandLine cmd;
@@ -197,6 +204,12 @@ public class MapImageDumper
 
 			for (int i = 0; i < Region.Z; ++i)
 			{
+				if (cmd.hasOption("tiles"))
+				{
+					dumper.drawMapTiles(i, new File(outDir, Integer.toString(i)));
+					continue;
+				}
+
 				BufferedImage image = dumper.drawMap(i);
 
 				File imageFile = new File(outDir, "img-" + i + ".png");
@@ -303,6 +316,108 @@ public class MapImageDumper
 		return image;
 	}
 
+	/**
+	 * Draw a region as a tile of the map. This is {@link #drawRegion(Region, int)}
+	 * plus the icons of neighboring regions and the area labels which overlap it,
+	 * so that tiles drawn side by side match the whole map.
+	 *
+	 * @param region region
+	 * @param z plane
+	 * @return the tile
+	 */
+	public BufferedImage drawTile(Region region, int z)
+	{
+		BufferedImage image = drawRegion(region, z);
+
+		for (int dx = -1; dx <= 1; ++dx)
+		{
+			for (int dy = -1; dy <= 1; ++dy)
+			{
+				Region neighbor = regionLoader.findRegionForRegionCoordinates(region.getRegionX() + dx, region.getRegionY() + dy);
+				if (neighbor != null && neighbor != region)
+				{
+					drawMapIcons(image, neighbor, z, Region.X * dx, Region.Y * -dy);
+				}
+			}
+		}
+
+		drawMapLabels(image, z, region.getBaseX(), region.getBaseY());
+		return image;
+	}
+
+	/**
+	 * Draw the map as a pyramid of tiles, one region per tile at the highest
+	 * zoom level, using the common pool.
+	 *
+	 * @see #drawMapTiles(int, File, Executor, int)
+	 */
+	public void drawMapTiles(int z, File dir) throws IOException
+	{
+		ForkJoinPool pool = ForkJoinPool.commonPool();
+		drawMapTiles(z, dir, pool, pool.getParallelism() * 2);
+	}
+
+	/**
+	 * Draw the map as a pyramid of PNG tiles, one region per tile at the
+	 * highest zoom level. Regions are drawn in parallel in morton order and
+	 * the lower zoom levels are built as their tiles complete, so memory use
+	 * is bounded by the number of tiles in flight rather than the size of
+	 * the map.
+	 *
+	 * @param z plane
+	 * @param dir directory to write the tiles to
+	 * @param executor executor to draw the tiles on
+	 * @param inFlight maximum number of tiles being drawn at once
+	 * @throws IOException
+	 * @see TilePyramidWriter
+	 */
+	public void drawMapTiles(int z, File dir, Executor executor, int inFlight) throws IOException
+	{
+		if (TILE_SHAPE_2D == null)
+		{
+			generateTileShapes();
+		}
+
+		List<Region> regions = new ArrayList<>(regionLoader.getRegions());
+		if (regions.isEmpty())
+		{
+			log.info("No regions loaded, not writing tiles of plane {}", z);
+			return;
+		}
+
+		regions.sort(Comparator.comparingLong(r -> TilePyramidWriter.mortonOrder(r.getRegionX(), r.getRegionY())));
+
+		int maxRegion = 0;
+		List<Long> tiles = new ArrayList<>(regions.size());
+		for (Region region : regions)
+		{
+			maxRegion = Math.max(maxRegion, Math.max(region.getRegionX(), region.getRegionY()));
+			tiles.add(TilePyramidWriter.key(region.getRegionX(), region.getRegionY()));
+		}
+
+		int maxZoom = 0;
+		while ((1 << maxZoom) <= maxRegion)
+		{
+			++maxZoom;
+		}
+
+		TilePyramidWriter writer = new TilePyramidWriter(dir, Region.X * MAP_SCALE, maxZoom, tiles);
+		BoundedExecutor tasks = new BoundedExecutor(executor, inFlight);
+
+		for (Region region : regions)
+		{
+			if (!tasks.submit(() -> writer.write(region.getRegionX(), region.getRegionY(), drawTile(region, z))))
+			{
+				break;
+			}
+		}
+
+		// wait for the remaining tiles
+		tasks.await();
+
+		log.info("Wrote {} tiles of plane {} to {}", regions.size(), z, dir);
+	}
+
 	private void drawMap(BufferedImage image, int drawBaseX, int drawBaseY, int z, Region region)
 	{
 		if (!renderMap)
@@ -1582,6 +1697,19 @@ public class MapImageDumper
 	}
 
 	private void drawMapLabels(BufferedImage image, int z)
+	{
+		drawMapLabels(image, z, regionLoader.getLowestX().getBaseX(), regionLoader.getHighestY().getBaseY());
+	}
+
+	/**
+	 * Draw the area labels
+	 *
+	 * @param image image
+	 * @param z plane
+	 * @param originX world x of the left edge of the image
+	 * @param originY base y of the top most row of regions in the image
+	 */
+	private void drawMapLabels(BufferedImage image, int z, int originX, int originY)
 	{
 		if (!renderLabels)
 		{
@@ -1599,6 +1727,14 @@ public class MapImageDumper
 				continue;
 			}
 
+			int drawX = worldPosition.getX() - originX;
+			int drawY = originY - worldPosition.getY() + Region.Y - 2;
+			if (drawX * MAP_SCALE < -LABEL_MARGIN || drawX * MAP_SCALE > image.getWidth() + LABEL_MARGIN
+				|| drawY * MAP_SCALE < -LABEL_MARGIN || drawY * MAP_SCALE > image.getHeight() + LABEL_MARGIN)
+			{
+				continue;
+			}
+
 			FontName fontSize = fontSizes[area.getTextScale()];
 			FontDefinition font = fonts.findFontByName(fontSize.getName());
 			String areaLabel = area.getName();
@@ -1615,8 +1751,6 @@ public class MapImageDumper
 					SpriteDefinition sprite = sprites.findSpriteByArchiveName(fontSize.getName(), c);
 					if (sprite.getWidth() != 0 && sprite.getHeight() != 0)
 					{
-						int drawX = worldPosition.getX() - regionLoader.getLowestX().getBaseX();
-						int drawY = regionLoader.getHighestY().getBaseY() - worldPosition.getY() + Region.Y - 2;
 						blitGlyph(image,
 							(drawX * MAP_SCALE) + advance - (stringWidth / 2),
 							(drawY * MAP_SCALE) + ascent - (font.getAscent() / 2),
@@ -1782,8 +1916,7 @@ public class MapImageDumper
 		Index index = store.getIndex(IndexType.CONFIGS);
 		Archive archive = index.getArchive(ConfigType.UNDERLAY.getId());
 
-		byte[] archiveData = storage.loadArchive(archive);
-		ArchiveFiles files = archive.getFiles(archiveData);
+		ArchiveFiles files = storage.loadArchiveFiles(archive);
 
 		for (FSFile file : files.getFiles())
 		{
@@ -1805,8 +1938,7 @@ public class MapImageDumper
 		Index index = store.getIndex(IndexType.CONFIGS);
 		Archive archive = index.getArchive(ConfigType.OVERLAY.getId());
 
-		byte[] archiveData = storage.loadArchive(archive);
-		ArchiveFiles files = archive.getFiles(archiveData);
+		ArchiveFiles files = storage.loadArchiveFiles(archive);
 
 		for (FSFile file : files.getFiles())
 		{
@@ -1827,7 +1959,7 @@ public class MapImageDumper
 		Storage storage = store.getStorage();
 		Index index = store.getIndex(IndexType.SPRITES);
 		Archive a = index.findArchiveByName("mapscene");
-		byte[] contents = a.decompress(storage.loadArchive(a));
+		byte[] contents = storage.loadArchiveDecompressed(a, null);
 
 		SpriteLoader loader = new SpriteLoader();
 		mapDecorations = loader.load(a.getArchiveId(), contents);
@@ -1842,7 +1974,10 @@ public class MapImageDumper
 
 	private void blitIcon(BufferedImage dst, int x, int y, SpriteDefinition sprite, float scale)
 	{
-		sprite.normalize(); //Sprites are required to be normalized to have small sprites draw correctly
+		synchronized (sprite)
+		{
+			sprite.normalize(); //Sprites are required to be normalized to have small sprites draw correctly
+		}
 		x += sprite.getOffsetX();
 		y += sprite.getOffsetY();
 		int displayHeight = (int) (sprite.getHeight() * scale);
@@ -1904,24 +2039,31 @@ public class MapImageDumper
 
 	private void blitGlyph(BufferedImage dst, int x, int y, int color, SpriteDefinition glyph)
 	{
+		// glyphs are shared between threads when drawing tiles, so color a copy
 		int[] pixels = glyph.getPixels();
+		int[] colorPixels = new int[pixels.length];
 		int[] shadowPixels = new int[pixels.length];
 		for (int i = 0; i < pixels.length; ++i)
 		{
 			if (pixels[i] != 0)
 			{
-				pixels[i] = color;
+				colorPixels[i] = color;
 				shadowPixels[i] = 0xFF000000;
 			}
 		}
-		SpriteDefinition shadow = new SpriteDefinition();
-		shadow.setPixels(shadowPixels);
-		shadow.setOffsetX(glyph.getOffsetX());
-		shadow.setOffsetY(glyph.getOffsetY());
-		shadow.setWidth(glyph.getWidth());
-		shadow.setHeight(glyph.getHeight());
 
-		blitGlyphIcon(dst, x + 1, y + 1, shadow);
-		blitGlyphIcon(dst, x, y, glyph);
+		blitGlyphIcon(dst, x + 1, y + 1, copyGlyph(glyph, shadowPixels));
+		blitGlyphIcon(dst, x, y, copyGlyph(glyph, colorPixels));
+	}
+
+	private static SpriteDefinition copyGlyph(SpriteDefinition glyph, int[] pixels)
+	{
+		SpriteDefinition copy = new SpriteDefinition();
+		copy.setPixels(pixels);
+		copy.setOffsetX(glyph.getOffsetX());
+		copy.setOffsetY(glyph.getOffsetY());
+		copy.setWidth(glyph.getWidth());
+		copy.setHeight(glyph.getHeight());
+		return copy;
 	}
 }
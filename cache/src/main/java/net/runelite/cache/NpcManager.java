@@ -34,10 +34,8 @@ import net.runelite.cache.definitions.NpcDefinition;
 import net.runelite.cache.definitions.exporters.NpcExporter;
 import net.runelite.cache.definitions.loaders.NpcLoader;
 import net.runelite.cache.fs.Archive;
-import net.runelite.cache.fs.ArchiveFiles;
-import net.runelite.cache.fs.FSFile;
+import net.runelite.cache.fs.ArchivePipeline;
 import net.runelite.cache.fs.Index;
-import net.runelite.cache.fs.Storage;
 import net.runelite.cache.fs.Store;
 import net.runelite.cache.util.IDClass;
 
@@ -52,22 +50,22 @@ public class NpcManager
 	}
 
 	public void load() throws IOException
+	{
+		load(new ArchivePipeline(store.getStorage()));
+	}
+
+	public void load(ArchivePipeline pipeline) throws IOException
 	{
 		NpcLoader loader = new NpcLoader();
 
-		Storage storage = store.getStorage();
 		Index index = store.getIndex(IndexType.CONFIGS);
 		Archive archive = index.getArchive(ConfigType.NPC.getId());
 
 		loader.configureForRevision(archive.getRevision());
 
-		byte[] archiveData = storage.loadArchive(archive);
-		ArchiveFiles files = archive.getFiles(archiveData);
-
-		for (FSFile f : files.getFiles())
+		for (NpcDefinition npc : pipeline.decodeFiles(archive, loader::load))
 		{
-			NpcDefinition npc = loader.load(f.getFileId(), f.getContents());
-			npcs.put(f.getFileId(), npc);
+			npcs.put(npc.id, npc);
 		}
 	}
 
@@ -34,10 +34,8 @@ import net.runelite.cache.definitions.ObjectDefinition;
 import net.runelite.cache.definitions.exporters.ObjectExporter;
 import net.runelite.cache.definitions.loaders.ObjectLoader;
 import net.runelite.cache.fs.Archive;
-import net.runelite.cache.fs.ArchiveFiles;
-import net.runelite.cache.fs.FSFile;
+import net.runelite.cache.fs.ArchivePipeline;
 import net.runelite.cache.fs.Index;
-import net.runelite.cache.fs.Storage;
 import net.runelite.cache.fs.Store;
 import net.runelite.cache.util.IDClass;
 
@@ -52,22 +50,22 @@ public class ObjectManager
 	}
 
 	public void load() throws IOException
+	{
+		load(new ArchivePipeline(store.getStorage()));
+	}
+
+	public void load(ArchivePipeline pipeline) throws IOException
 	{
 		ObjectLoader loader = new ObjectLoader();
 
-		Storage storage = store.getStorage();
 		Index index = store.getIndex(IndexType.CONFIGS);
 		Archive archive = index.getArchive(ConfigType.OBJECT.getId());
 
 		loader.configureForRevision(archive.getRevision());
 
-		byte[] archiveData = storage.loadArchive(archive);
-		ArchiveFiles files = archive.getFiles(archiveData);
-
-		for (FSFile f : files.getFiles())
+		for (ObjectDefinition def : pipeline.decodeFiles(archive, loader::load))
 		{
-			ObjectDefinition def = loader.load(f.getFileId(), f.getContents());
-			objects.put(f.getFileId(), def);
+			objects.put(def.getId(), def);
 		}
 	}
 
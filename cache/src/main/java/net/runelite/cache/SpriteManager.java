@@ -32,14 +32,15 @@ import java.io.IOException;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import net.runelite.cache.definitions.SpriteDefinition;
 import net.runelite.cache.definitions.exporters.SpriteExporter;
 import net.runelite.cache.definitions.loaders.SpriteLoader;
 import net.runelite.cache.definitions.providers.SpriteProvider;
 import net.runelite.cache.fs.Archive;
+import net.runelite.cache.fs.ArchivePipeline;
 import net.runelite.cache.fs.Index;
-import net.runelite.cache.fs.Storage;
 import net.runelite.cache.fs.Store;
 import net.runelite.cache.util.Djb2;
 
@@ -56,15 +57,21 @@ public class SpriteManager implements SpriteProvider
 
 	public void load() throws IOException
 	{
-		Storage storage = store.getStorage();
+		load(new ArchivePipeline(store.getStorage()));
+	}
+
+	public void load(ArchivePipeline pipeline) throws IOException
+	{
 		Index index = store.getIndex(IndexType.SPRITES);
+		List<Archive> archives = index.getArchives();
 
-		for (Archive a : index.getArchives())
-		{
-			byte[] contents = a.decompress(storage.loadArchive(a));
+		SpriteLoader loader = new SpriteLoader();
+		List<SpriteDefinition[]> loaded = pipeline.decodeArchives(archives, (a, contents) -> loader.load(a.getArchiveId(), contents));
 
-			SpriteLoader loader = new SpriteLoader();
-			SpriteDefinition[] defs = loader.load(a.getArchiveId(), contents);
+		for (int i = 0; i < archives.size(); ++i)
+		{
+			Archive a = archives.get(i);
+			SpriteDefinition[] defs = loaded.get(i);
 
 			for (SpriteDefinition sprite : defs)
 			{
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.collision;
+
+/**
+ * Raw collision flags of a tile, as set by the client when it loads a
+ * region. Wall flags are set on the tiles on both sides of the wall.
+ */
+public final class CollisionFlag
+{
+	public static final int WALL_NORTH_WEST = 0x1;
+	public static final int WALL_NORTH = 0x2;
+	public static final int WALL_NORTH_EAST = 0x4;
+	public static final int WALL_EAST = 0x8;
+	public static final int WALL_SOUTH_EAST = 0x10;
+	public static final int WALL_SOUTH = 0x20;
+	public static final int WALL_SOUTH_WEST = 0x40;
+	public static final int WALL_WEST = 0x80;
+	/**
+	 * the tile is occupied by a solid object
+	 */
+	public static final int OBJECT = 0x100;
+	/**
+	 * the tile is occupied by a solid ground decoration
+	 */
+	public static final int FLOOR_DECORATION = 0x200;
+	/**
+	 * the floor of the tile can not be walked on
+	 */
+	public static final int FLOOR = 0x400;
+
+	public static final int FULL = OBJECT | FLOOR_DECORATION | FLOOR;
+
+	private CollisionFlag()
+	{
+	}
+}
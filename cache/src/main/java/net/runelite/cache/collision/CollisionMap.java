@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.collision;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import net.runelite.cache.region.Region;
+
+/**
+ * The directions which can be moved in from every tile of the world, one
+ * byte per tile. Tiles are stored a region at a time, ordered by plane,
+ * then y, then x. Tiles of regions which are not in the map can not be
+ * moved from.
+ * <p>
+ * The file format is a header of the magic, the version and the region
+ * ids, followed by the tiles, so a saved map can be memory mapped instead of
+ * read.
+ */
+public class CollisionMap
+{
+	private static final int MAGIC = 0x524c434d; // RLCM
+	private static final int VERSION = 1;
+
+	static final int REGION_TILES = Region.Z * Region.X * Region.Y;
+
+	public static final int NORTH = 1;
+	public static final int NORTH_EAST = 1 << 1;
+	public static final int EAST = 1 << 2;
+	public static final int SOUTH_EAST = 1 << 3;
+	public static final int SOUTH = 1 << 4;
+	public static final int SOUTH_WEST = 1 << 5;
+	public static final int WEST = 1 << 6;
+	public static final int NORTH_WEST = 1 << 7;
+
+	/**
+	 * the x and y step of the direction of each bit
+	 */
+	static final int[] DX = {0, 1, 1, 1, 0, -1, -1, -1};
+	static final int[] DY = {1, 1, 0, -1, -1, -1, 0, 1};
+
+	private final int[] slots = new int[1 << 16];
+	private final int[] regionIds;
+	private final ByteBuffer tiles;
+	private final int offset;
+
+	CollisionMap(int[] regionIds, ByteBuffer tiles, int offset)
+	{
+		this.regionIds = regionIds;
+		this.tiles = tiles;
+		this.offset = offset;
+
+		Arrays.fill(slots, -1);
+		for (int i = 0; i < regionIds.length; ++i)
+		{
+			slots[regionIds[i]] = i;
+		}
+	}
+
+	public int getRegionCount()
+	{
+		return regionIds.length;
+	}
+
+	public int[] getRegionIds()
+	{
+		return regionIds.clone();
+	}
+
+	public boolean isLoaded(int x, int y)
+	{
+		return index(0, x, y) != -1;
+	}
+
+	private int index(int z, int x, int y)
+	{
+		if (x < 0 || y < 0 || x >= Region.X * 256 || y >= Region.Y * 256 || z < 0 || z >= Region.Z)
+		{
+			return -1;
+		}
+
+		int slot = slots[(x >> 6) << 8 | (y >> 6)];
+		if (slot == -1)
+		{
+			return -1;
+		}
+		return offset + slot * REGION_TILES + (z * Region.Y + (y & (Region.Y - 1))) * Region.X + (x & (Region.X - 1));
+	}
+
+	/**
+	 * @return the directions which can be moved in from the tile
+	 */
+	public int getMovement(int z, int x, int y)
+	{
+		int index = index(z, x, y);
+		return index == -1 ? 0 : tiles.get(index) & 0xFF;
+	}
+
+	public boolean canMove(int z, int x, int y, int direction)
+	{
+		return (getMovement(z, x, y) & direction) != 0;
+	}
+
+	public void save(File file) throws IOException
+	{
+		File tmp = new File(file.getPath() + ".tmp");
+		try (FileChannel channel = FileChannel.open(tmp.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING))
+		{
+			ByteBuffer header = ByteBuffer.allocate(12 + regionIds.length * 4);
+			header.putInt(MAGIC);
+			header.putInt(VERSION);
+			header.putInt(regionIds.length);
+			for (int regionId : regionIds)
+			{
+				header.putInt(regionId);
+			}
+			header.flip();
+
+			ByteBuffer data = tiles.duplicate();
+			data.position(offset);
+			data.limit(offset + regionIds.length * REGION_TILES);
+
+			while (header.hasRemaining() || data.hasRemaining())
+			{
+				channel.write(new ByteBuffer[]{header, data});
+			}
+		}
+		Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	/**
+	 * Memory map a saved collision map
+	 */
+	public static CollisionMap load(File file) throws IOException
+	{
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ))
+		{
+			ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			if (buffer.remaining() < 12 || buffer.getInt() != MAGIC)
+			{
+				throw new IOException("not a collision map");
+			}
+
+			int version = buffer.getInt();
+			if (version != VERSION)
+			{
+				throw new IOException("unsupported collision map version " + version);
+			}
+
+			int[] regionIds = new int[buffer.getInt()];
+			if (buffer.remaining() != regionIds.length * 4L + (long) regionIds.length * REGION_TILES)
+			{
+				throw new IOException("collision map is truncated");
+			}
+
+			for (int i = 0; i < regionIds.length; ++i)
+			{
+				regionIds[i] = buffer.getInt();
+			}
+			return new CollisionMap(regionIds, buffer, buffer.position());
+		}
+	}
+}
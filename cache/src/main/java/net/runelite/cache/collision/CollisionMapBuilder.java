@@ -0,0 +1,366 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.collision;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import net.runelite.cache.definitions.ObjectDefinition;
+import net.runelite.cache.region.Location;
+import net.runelite.cache.region.Position;
+import net.runelite.cache.region.Region;
+import net.runelite.cache.region.RegionLoader;
+import static net.runelite.cache.collision.CollisionFlag.*;
+import static net.runelite.cache.collision.CollisionMap.*;
+
+/**
+ * Builds a {@link CollisionMap} from loaded regions, following the rules
+ * the client uses to build its collision data. Regions are processed in
+ * parallel in two passes: the first computes each region's raw
+ * {@link CollisionFlag collision flags}, including those set by walls and
+ * objects in neighboring regions, and the second turns the flags of each
+ * region and its neighbors into the directions which can be moved in.
+ */
+public class CollisionMapBuilder
+{
+	private final RegionLoader regionLoader;
+	private final IntFunction<ObjectDefinition> objects;
+
+	/**
+	 * @param regionLoader loader with the regions, and their locations, loaded
+	 * @param objects object definitions by id
+	 */
+	public CollisionMapBuilder(RegionLoader regionLoader, IntFunction<ObjectDefinition> objects)
+	{
+		this.regionLoader = regionLoader;
+		this.objects = objects;
+	}
+
+	public CollisionMap build()
+	{
+		return build(ForkJoinPool.commonPool());
+	}
+
+	public CollisionMap build(ForkJoinPool pool)
+	{
+		List<Region> regions = new ArrayList<>(regionLoader.getRegions());
+		regions.sort((a, b) -> Integer.compare(a.getRegionID(), b.getRegionID()));
+
+		Map<Integer, short[]> flags = pool.submit(() -> regions.parallelStream()
+			.collect(Collectors.toMap(Region::getRegionID, this::flags)))
+			.join();
+
+		byte[] tiles = new byte[regions.size() * REGION_TILES];
+		pool.submit(() -> IntStream.range(0, regions.size()).parallel()
+			.forEach(i -> movement(regions.get(i), flags, tiles, i * REGION_TILES)))
+			.join();
+
+		int[] regionIds = regions.stream().mapToInt(Region::getRegionID).toArray();
+		return new CollisionMap(regionIds, ByteBuffer.wrap(tiles), 0);
+	}
+
+	private static int index(int z, int localX, int localY)
+	{
+		return (z * Region.Y + localY) * Region.X + localX;
+	}
+
+	/**
+	 * Compute the raw collision flags of a region
+	 */
+	private short[] flags(Region region)
+	{
+		short[] flags = new short[REGION_TILES];
+
+		for (int z = 0; z < Region.Z; ++z)
+		{
+			for (int y = 0; y < Region.Y; ++y)
+			{
+				for (int x = 0; x < Region.X; ++x)
+				{
+					if ((region.getTileSetting(z, x, y) & 1) == 0)
+					{
+						continue;
+					}
+
+					// tiles under bridges have the collision of the bridge
+					int plane = z;
+					if ((region.getTileSetting(1, x, y) & 2) == 2)
+					{
+						--plane;
+					}
+
+					if (plane >= 0)
+					{
+						flags[index(plane, x, y)] |= FLOOR;
+					}
+				}
+			}
+		}
+
+		// objects can extend into neighboring regions, and walls flag the tiles on both sides
+		for (int dx = -1; dx <= 1; ++dx)
+		{
+			for (int dy = -1; dy <= 1; ++dy)
+			{
+				Region neighbor = regionLoader.findRegionForRegionCoordinates(region.getRegionX() + dx, region.getRegionY() + dy);
+				if (neighbor == null)
+				{
+					continue;
+				}
+
+				for (Location location : neighbor.getLocations())
+				{
+					addLocation(region, flags, neighbor, location);
+				}
+			}
+		}
+
+		return flags;
+	}
+
+	private void addLocation(Region region, short[] flags, Region locationRegion, Location location)
+	{
+		ObjectDefinition object = objects.apply(location.getId());
+		if (object == null || object.getInteractType() == 0)
+		{
+			return;
+		}
+
+		Position position = location.getPosition();
+		int x = position.getX();
+		int y = position.getY();
+		int z = position.getZ();
+		if ((locationRegion.getTileSetting(1, x - locationRegion.getBaseX(), y - locationRegion.getBaseY()) & 2) == 2)
+		{
+			--z;
+		}
+		if (z < 0)
+		{
+			return;
+		}
+
+		int type = location.getType();
+		int orientation = location.getOrientation();
+
+		if (type == 22)
+		{
+			if (object.getInteractType() == 1)
+			{
+				set(region, flags, z, x, y, FLOOR_DECORATION);
+			}
+		}
+		else if (type == 9 || type == 10 || type == 11 || type >= 12)
+		{
+			int sizeX = object.getSizeX();
+			int sizeY = object.getSizeY();
+			if (orientation == 1 || orientation == 3)
+			{
+				sizeX = object.getSizeY();
+				sizeY = object.getSizeX();
+			}
+
+			for (int ox = 0; ox < sizeX; ++ox)
+			{
+				for (int oy = 0; oy < sizeY; ++oy)
+				{
+					set(region, flags, z, x + ox, y + oy, OBJECT);
+				}
+			}
+		}
+		else if (type == 0)
+		{
+			switch (orientation)
+			{
+				case 0:
+					set(region, flags, z, x, y, WALL_WEST);
+					set(region, flags, z, x - 1, y, WALL_EAST);
+					break;
+				case 1:
+					set(region, flags, z, x, y, WALL_NORTH);
+					set(region, flags, z, x, y + 1, WALL_SOUTH);
+					break;
+				case 2:
+					set(region, flags, z, x, y, WALL_EAST);
+					set(region, flags, z, x + 1, y, WALL_WEST);
+					break;
+				case 3:
+					set(region, flags, z, x, y, WALL_SOUTH);
+					set(region, flags, z, x, y - 1, WALL_NORTH);
+					break;
+			}
+		}
+		else if (type == 1 || type == 3)
+		{
+			switch (orientation)
+			{
+				case 0:
+					set(region, flags, z, x, y, WALL_NORTH_WEST);
+					set(region, flags, z, x - 1, y + 1, WALL_SOUTH_EAST);
+					break;
+				case 1:
+					set(region, flags, z, x, y, WALL_NORTH_EAST);
+					set(region, flags, z, x + 1, y + 1, WALL_SOUTH_WEST);
+					break;
+				case 2:
+					set(region, flags, z, x, y, WALL_SOUTH_EAST);
+					set(region, flags, z, x + 1, y - 1, WALL_NORTH_WEST);
+					break;
+				case 3:
+					set(region, flags, z, x, y, WALL_SOUTH_WEST);
+					set(region, flags, z, x - 1, y - 1, WALL_NORTH_EAST);
+					break;
+			}
+		}
+		else if (type == 2)
+		{
+			switch (orientation)
+			{
+				case 0:
+					set(region, flags, z, x, y, WALL_NORTH | WALL_WEST);
+					set(region, flags, z, x - 1, y, WALL_EAST);
+					set(region, flags, z, x, y + 1, WALL_SOUTH);
+					break;
+				case 1:
+					set(region, flags, z, x, y, WALL_NORTH | WALL_EAST);
+					set(region, flags, z, x, y + 1, WALL_SOUTH);
+					set(region, flags, z, x + 1, y, WALL_WEST);
+					break;
+				case 2:
+					set(region, flags, z, x, y, WALL_SOUTH | WALL_EAST);
+					set(region, flags, z, x + 1, y, WALL_WEST);
+					set(region, flags, z, x, y - 1, WALL_NORTH);
+					break;
+				case 3:
+					set(region, flags, z, x, y, WALL_SOUTH | WALL_WEST);
+					set(region, flags, z, x, y - 1, WALL_NORTH);
+					set(region, flags, z, x - 1, y, WALL_EAST);
+					break;
+			}
+		}
+	}
+
+	/**
+	 * Set flags on a tile, if it is within the region being built
+	 */
+	private static void set(Region region, short[] flags, int z, int x, int y, int flag)
+	{
+		int localX = x - region.getBaseX();
+		int localY = y - region.getBaseY();
+		if (localX >= 0 && localY >= 0 && localX < Region.X && localY < Region.Y)
+		{
+			flags[index(z, localX, localY)] |= flag;
+		}
+	}
+
+	/**
+	 * Compute the directions which can be moved in from each tile of a region
+	 */
+	private void movement(Region region, Map<Integer, short[]> flags, byte[] tiles, int offset)
+	{
+		for (int z = 0; z < Region.Z; ++z)
+		{
+			for (int y = 0; y < Region.Y; ++y)
+			{
+				for (int x = 0; x < Region.X; ++x)
+				{
+					int worldX = region.getBaseX() + x;
+					int worldY = region.getBaseY() + y;
+					if ((flag(flags, z, worldX, worldY) & FULL) != 0)
+					{
+						continue;
+					}
+
+					int movement = 0;
+					int north = flag(flags, z, worldX, worldY + 1);
+					int east = flag(flags, z, worldX + 1, worldY);
+					int south = flag(flags, z, worldX, worldY - 1);
+					int west = flag(flags, z, worldX - 1, worldY);
+
+					if ((north & (WALL_SOUTH | FULL)) == 0)
+					{
+						movement |= NORTH;
+					}
+					if ((east & (WALL_WEST | FULL)) == 0)
+					{
+						movement |= EAST;
+					}
+					if ((south & (WALL_NORTH | FULL)) == 0)
+					{
+						movement |= SOUTH;
+					}
+					if ((west & (WALL_EAST | FULL)) == 0)
+					{
+						movement |= WEST;
+					}
+					if ((movement & (NORTH | EAST)) == (NORTH | EAST)
+						&& (flag(flags, z, worldX + 1, worldY + 1) & (WALL_SOUTH | WALL_WEST | WALL_SOUTH_WEST | FULL)) == 0)
+					{
+						movement |= NORTH_EAST;
+					}
+					if ((movement & (SOUTH | EAST)) == (SOUTH | EAST)
+						&& (flag(flags, z, worldX + 1, worldY - 1) & (WALL_NORTH | WALL_WEST | WALL_NORTH_WEST | FULL)) == 0)
+					{
+						movement |= SOUTH_EAST;
+					}
+					if ((movement & (SOUTH | WEST)) == (SOUTH | WEST)
+						&& (flag(flags, z, worldX - 1, worldY - 1) & (WALL_NORTH | WALL_EAST | WALL_NORTH_EAST | FULL)) == 0)
+					{
+						movement |= SOUTH_WEST;
+					}
+					if ((movement & (NORTH | WEST)) == (NORTH | WEST)
+						&& (flag(flags, z, worldX - 1, worldY + 1) & (WALL_SOUTH | WALL_EAST | WALL_SOUTH_EAST | FULL)) == 0)
+					{
+						movement |= NORTH_WEST;
+					}
+
+					tiles[offset + index(z, x, y)] = (byte) movement;
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return the raw flags of a tile, with tiles outside of the loaded regions fully blocked
+	 */
+	private static int flag(Map<Integer, short[]> flags, int z, int x, int y)
+	{
+		if (x < 0 || y < 0)
+		{
+			return FULL;
+		}
+
+		short[] region = flags.get((x >> 6) << 8 | (y >> 6));
+		if (region == null)
+		{
+			return FULL;
+		}
+		return region[index(z, x & (Region.X - 1), y & (Region.Y - 1))];
+	}
+}
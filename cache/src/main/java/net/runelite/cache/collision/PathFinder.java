@@ -0,0 +1,315 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.collision;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import net.runelite.cache.region.Position;
+import static net.runelite.cache.collision.CollisionMap.DX;
+import static net.runelite.cache.collision.CollisionMap.DY;
+
+/**
+ * Finds shortest paths on a {@link CollisionMap} with a bidirectional A*
+ * search. Every step, diagonal or not, costs one, as it does in game.
+ * <p>
+ * The search is limited to a window around the start and the end, and
+ * reuses its buffers between searches, so a path finder must only be used
+ * by one thread at a time.
+ */
+public class PathFinder
+{
+	private static final int DEFAULT_MARGIN = 64;
+
+	private final CollisionMap map;
+	private final int margin;
+
+	private int windowX;
+	private int windowY;
+	private int windowWidth;
+	private int windowHeight;
+
+	/**
+	 * search state for each direction, indexed by window tile
+	 */
+	private final Search forward = new Search();
+	private final Search backward = new Search();
+	private int generation;
+
+	private static class Search
+	{
+		int[] cost = new int[0];
+		int[] parent = new int[0];
+		int[] seen = new int[0];
+		int[] closed = new int[0];
+		final Heap open = new Heap();
+
+		void ensureCapacity(int size)
+		{
+			if (cost.length < size)
+			{
+				cost = new int[size];
+				parent = new int[size];
+				seen = new int[size];
+				closed = new int[size];
+			}
+		}
+	}
+
+	/**
+	 * A binary min heap of window tiles by priority
+	 */
+	private static class Heap
+	{
+		int[] nodes = new int[256];
+		int[] priorities = new int[256];
+		int size;
+
+		void clear()
+		{
+			size = 0;
+		}
+
+		void push(int node, int priority)
+		{
+			if (size == nodes.length)
+			{
+				nodes = Arrays.copyOf(nodes, size * 2);
+				priorities = Arrays.copyOf(priorities, size * 2);
+			}
+
+			int i = size++;
+			while (i > 0)
+			{
+				int p = (i - 1) >> 1;
+				if (priorities[p] <= priority)
+				{
+					break;
+				}
+				nodes[i] = nodes[p];
+				priorities[i] = priorities[p];
+				i = p;
+			}
+			nodes[i] = node;
+			priorities[i] = priority;
+		}
+
+		int peekPriority()
+		{
+			return size == 0 ? Integer.MAX_VALUE : priorities[0];
+		}
+
+		int pop()
+		{
+			int top = nodes[0];
+			int node = nodes[--size];
+			int priority = priorities[size];
+			int i = 0;
+			while (true)
+			{
+				int c = i * 2 + 1;
+				if (c >= size)
+				{
+					break;
+				}
+				if (c + 1 < size && priorities[c + 1] < priorities[c])
+				{
+					++c;
+				}
+				if (priorities[c] >= priority)
+				{
+					break;
+				}
+				nodes[i] = nodes[c];
+				priorities[i] = priorities[c];
+				i = c;
+			}
+			nodes[i] = node;
+			priorities[i] = priority;
+			return top;
+		}
+	}
+
+	public PathFinder(CollisionMap map)
+	{
+		this(map, DEFAULT_MARGIN);
+	}
+
+	/**
+	 * @param map collision map
+	 * @param margin number of tiles around the start and end the search may go
+	 */
+	public PathFinder(CollisionMap map, int margin)
+	{
+		this.map = map;
+		this.margin = margin;
+	}
+
+	/**
+	 * Find a shortest path between two tiles on a plane
+	 *
+	 * @return the tiles of the path, from the start to the end inclusive, or
+	 * null if there is no path within the search window
+	 */
+	public List<Position> findPath(int z, int startX, int startY, int endX, int endY)
+	{
+		windowX = Math.min(startX, endX) - margin;
+		windowY = Math.min(startY, endY) - margin;
+		windowWidth = Math.abs(startX - endX) + margin * 2 + 1;
+		windowHeight = Math.abs(startY - endY) + margin * 2 + 1;
+
+		int size = windowWidth * windowHeight;
+		forward.ensureCapacity(size);
+		backward.ensureCapacity(size);
+		forward.open.clear();
+		backward.open.clear();
+		if (++generation == 0)
+		{
+			// stamps wrapped around, so old stamps could match
+			Arrays.fill(forward.seen, 0);
+			Arrays.fill(forward.closed, 0);
+			Arrays.fill(backward.seen, 0);
+			Arrays.fill(backward.closed, 0);
+			generation = 1;
+		}
+
+		int start = node(startX, startY);
+		int end = node(endX, endY);
+		if (start == end)
+		{
+			return Collections.singletonList(new Position(startX, startY, z));
+		}
+
+		open(forward, start, -1, 0, heuristic(startX, startY, endX, endY));
+		open(backward, end, -1, 0, heuristic(endX, endY, startX, startY));
+
+		int best = Integer.MAX_VALUE;
+		int meet = -1;
+
+		while (forward.open.size > 0 && backward.open.size > 0)
+		{
+			// with consistent heuristics no shorter path can be found once
+			// either frontier is no better than the best path so far
+			if (Math.max(forward.open.peekPriority(), backward.open.peekPriority()) >= best)
+			{
+				break;
+			}
+
+			boolean isForward = forward.open.size <= backward.open.size;
+			Search search = isForward ? forward : backward;
+			Search other = isForward ? backward : forward;
+			int targetX = isForward ? endX : startX;
+			int targetY = isForward ? endY : startY;
+
+			int node = search.open.pop();
+			if (search.closed[node] == generation)
+			{
+				continue;
+			}
+			search.closed[node] = generation;
+
+			int x = windowX + node % windowWidth;
+			int y = windowY + node / windowWidth;
+			int cost = search.cost[node] + 1;
+
+			for (int d = 0; d < 8; ++d)
+			{
+				int nx = x + DX[d];
+				int ny = y + DY[d];
+				if (nx < windowX || ny < windowY || nx >= windowX + windowWidth || ny >= windowY + windowHeight)
+				{
+					continue;
+				}
+
+				// searching backwards, the step is taken from the neighbor towards this tile
+				boolean passable = isForward
+					? map.canMove(z, x, y, 1 << d)
+					: map.canMove(z, nx, ny, 1 << ((d + 4) & 7));
+				if (!passable)
+				{
+					continue;
+				}
+
+				int next = node(nx, ny);
+				if (search.seen[next] == generation && search.cost[next] <= cost)
+				{
+					continue;
+				}
+
+				open(search, next, node, cost, cost + heuristic(nx, ny, targetX, targetY));
+
+				if (other.seen[next] == generation && cost + other.cost[next] < best)
+				{
+					best = cost + other.cost[next];
+					meet = next;
+				}
+			}
+		}
+
+		if (meet == -1)
+		{
+			return null;
+		}
+
+		List<Position> path = new ArrayList<>(best + 1);
+		for (int n = meet; n != -1; n = forward.parent[n])
+		{
+			path.add(position(n, z));
+		}
+		Collections.reverse(path);
+		for (int n = backward.parent[meet]; n != -1; n = backward.parent[n])
+		{
+			path.add(position(n, z));
+		}
+		return path;
+	}
+
+	private void open(Search search, int node, int parent, int cost, int priority)
+	{
+		search.seen[node] = generation;
+		search.cost[node] = cost;
+		search.parent[node] = parent;
+		search.open.push(node, priority);
+	}
+
+	private int node(int x, int y)
+	{
+		return (y - windowY) * windowWidth + (x - windowX);
+	}
+
+	private Position position(int node, int z)
+	{
+		return new Position(windowX + node % windowWidth, windowY + node / windowWidth, z);
+	}
+
+	/**
+	 * The number of steps between two tiles with nothing in the way
+	 */
+	private static int heuristic(int x1, int y1, int x2, int y2)
+	{
+		return Math.max(Math.abs(x1 - x2), Math.abs(y1 - y2));
+	}
+}
@@ -0,0 +1,313 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.dbtable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import net.runelite.cache.util.BaseVarType;
+
+/**
+ * An unboxed copy of one tuple of a db table column index. The distinct
+ * values are kept sorted so ranges can be found by binary search, and the
+ * rows of each value are kept as a sorted slice of a single row id array.
+ * Int values are also hashed into an open addressing table, so equality
+ * lookups do not search or box.
+ */
+public class DBColumnIndex
+{
+	private static final int[] NO_ROWS = new int[0];
+
+	private final BaseVarType type;
+	private final int[] intKeys;
+	private final long[] longKeys;
+	private final Map<String, Integer> stringKeys;
+
+	/**
+	 * open addressing table from int value to its position in intKeys,
+	 * with -1 for empty slots
+	 */
+	private final int[] hashKeys;
+	private final int[] hashPositions;
+	private final int hashMask;
+
+	/**
+	 * the rows of the value at position i are rows[offsets[i]] up to
+	 * rows[offsets[i + 1]]
+	 */
+	private final int[] offsets;
+	private final int[] rows;
+
+	private DBColumnIndex(BaseVarType type, int[] intKeys, long[] longKeys, Map<String, Integer> stringKeys, int[] offsets, int[] rows)
+	{
+		this.type = type;
+		this.intKeys = intKeys;
+		this.longKeys = longKeys;
+		this.stringKeys = stringKeys;
+		this.offsets = offsets;
+		this.rows = rows;
+
+		if (intKeys != null)
+		{
+			int capacity = Integer.highestOneBit(Math.max(intKeys.length, 1) * 2 - 1) << 1;
+			hashKeys = new int[capacity];
+			hashPositions = new int[capacity];
+			hashMask = capacity - 1;
+			Arrays.fill(hashPositions, -1);
+			for (int i = 0; i < intKeys.length; ++i)
+			{
+				int slot = hash(intKeys[i]) & hashMask;
+				while (hashPositions[slot] != -1)
+				{
+					slot = (slot + 1) & hashMask;
+				}
+				hashKeys[slot] = intKeys[i];
+				hashPositions[slot] = i;
+			}
+		}
+		else
+		{
+			hashKeys = null;
+			hashPositions = null;
+			hashMask = 0;
+		}
+	}
+
+	/**
+	 * Build an index from the decoded value to row id map of a
+	 * {@link net.runelite.cache.definitions.DBTableIndex} tuple
+	 *
+	 * @param type the type of the tuple
+	 * @param values map of value to the ids of the rows with the value
+	 * @return the index
+	 */
+	public static DBColumnIndex of(BaseVarType type, Map<Object, List<Integer>> values)
+	{
+		List<Map.Entry<Object, List<Integer>>> entries = new ArrayList<>(values.entrySet());
+		entries.removeIf(e -> e.getKey() == null);
+		entries.sort((a, b) -> compare(a.getKey(), b.getKey()));
+
+		int[] offsets = new int[entries.size() + 1];
+		int count = 0;
+		for (int i = 0; i < entries.size(); ++i)
+		{
+			count += entries.get(i).getValue().size();
+			offsets[i + 1] = count;
+		}
+
+		int[] rows = new int[count];
+		for (int i = 0; i < entries.size(); ++i)
+		{
+			int pos = offsets[i];
+			for (Integer row : entries.get(i).getValue())
+			{
+				rows[pos++] = row;
+			}
+			Arrays.sort(rows, offsets[i], offsets[i + 1]);
+		}
+
+		switch (type)
+		{
+			case INTEGER:
+			{
+				int[] keys = new int[entries.size()];
+				for (int i = 0; i < keys.length; ++i)
+				{
+					keys[i] = (Integer) entries.get(i).getKey();
+				}
+				return new DBColumnIndex(type, keys, null, null, offsets, rows);
+			}
+			case LONG:
+			{
+				long[] keys = new long[entries.size()];
+				for (int i = 0; i < keys.length; ++i)
+				{
+					keys[i] = (Long) entries.get(i).getKey();
+				}
+				return new DBColumnIndex(type, null, keys, null, offsets, rows);
+			}
+			case STRING:
+			{
+				Map<String, Integer> keys = new HashMap<>(entries.size() * 2);
+				for (int i = 0; i < entries.size(); ++i)
+				{
+					keys.put((String) entries.get(i).getKey(), i);
+				}
+				return new DBColumnIndex(type, null, null, keys, offsets, rows);
+			}
+			default:
+				throw new IllegalArgumentException("unsupported type " + type);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static int compare(Object a, Object b)
+	{
+		return ((Comparable<Object>) a).compareTo(b);
+	}
+
+	private static int hash(int key)
+	{
+		int h = key * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	public BaseVarType getType()
+	{
+		return type;
+	}
+
+	/**
+	 * @return the number of distinct values in the column
+	 */
+	public int getValueCount()
+	{
+		return offsets.length - 1;
+	}
+
+	/**
+	 * @return the ids of the rows with a value, ascending
+	 */
+	public int[] rows(int value)
+	{
+		checkType(BaseVarType.INTEGER);
+		for (int slot = hash(value) & hashMask; hashPositions[slot] != -1; slot = (slot + 1) & hashMask)
+		{
+			if (hashKeys[slot] == value)
+			{
+				return slice(hashPositions[slot]);
+			}
+		}
+		return NO_ROWS;
+	}
+
+	/**
+	 * @return the ids of the rows with a value, ascending
+	 */
+	public int[] rows(long value)
+	{
+		checkType(BaseVarType.LONG);
+		int pos = Arrays.binarySearch(longKeys, value);
+		return pos < 0 ? NO_ROWS : slice(pos);
+	}
+
+	/**
+	 * @return the ids of the rows with a value, ascending
+	 */
+	public int[] rows(String value)
+	{
+		checkType(BaseVarType.STRING);
+		Integer pos = stringKeys.get(value);
+		return pos == null ? NO_ROWS : slice(pos);
+	}
+
+	/**
+	 * @return the ids of the rows with a value between min and max inclusive, ascending
+	 */
+	public int[] rowsBetween(int min, int max)
+	{
+		checkType(BaseVarType.INTEGER);
+		if (min > max)
+		{
+			return NO_ROWS;
+		}
+		return range(lowerBound(intKeys, min), lowerBound(intKeys, max + 1L));
+	}
+
+	/**
+	 * @return the ids of the rows with a value between min and max inclusive, ascending
+	 */
+	public int[] rowsBetween(long min, long max)
+	{
+		checkType(BaseVarType.LONG);
+		if (min > max)
+		{
+			return NO_ROWS;
+		}
+		int to = max == Long.MAX_VALUE ? longKeys.length : lowerBound(longKeys, max + 1);
+		return range(lowerBound(longKeys, min), to);
+	}
+
+	/**
+	 * @return the ids of every row with a value, ascending
+	 */
+	public int[] allRows()
+	{
+		return range(0, getValueCount());
+	}
+
+	private void checkType(BaseVarType expected)
+	{
+		if (type != expected)
+		{
+			throw new IllegalArgumentException("column is " + type + ", not " + expected);
+		}
+	}
+
+	private int[] slice(int pos)
+	{
+		return Arrays.copyOfRange(rows, offsets[pos], offsets[pos + 1]);
+	}
+
+	/**
+	 * @return the distinct rows of the values from position from to to, ascending
+	 */
+	private int[] range(int from, int to)
+	{
+		if (from >= to)
+		{
+			return NO_ROWS;
+		}
+		if (to - from == 1)
+		{
+			return slice(from);
+		}
+
+		int[] result = Arrays.copyOfRange(rows, offsets[from], offsets[to]);
+		Arrays.sort(result);
+		return RowIds.distinct(result);
+	}
+
+	/**
+	 * @return the position of the first key not less than value
+	 */
+	private static int lowerBound(int[] keys, long value)
+	{
+		if (value > Integer.MAX_VALUE)
+		{
+			return keys.length;
+		}
+		int pos = Arrays.binarySearch(keys, (int) value);
+		return pos < 0 ? -pos - 1 : pos;
+	}
+
+	private static int lowerBound(long[] keys, long value)
+	{
+		int pos = Arrays.binarySearch(keys, value);
+		return pos < 0 ? -pos - 1 : pos;
+	}
+}
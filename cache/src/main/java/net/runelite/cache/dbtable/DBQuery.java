@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.dbtable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import net.runelite.cache.definitions.DBRowDefinition;
+
+/**
+ * A query on the rows of one db table. Each condition is looked up in its
+ * column index as it is added, and a row matches if it matches every
+ * condition. The row id sets are intersected smallest first, and rows are
+ * only decoded when they are returned.
+ * <p>
+ * Conditions without a tuple position apply to the first value of the column.
+ */
+public class DBQuery
+{
+	private final DBQueryEngine engine;
+	private final int tableId;
+	private final List<int[]> conditions = new ArrayList<>();
+
+	DBQuery(DBQueryEngine engine, int tableId)
+	{
+		this.engine = engine;
+		this.tableId = tableId;
+	}
+
+	private DBColumnIndex index(int column, int tuple)
+	{
+		return engine.getColumnIndex(tableId, column, tuple);
+	}
+
+	public DBQuery whereInt(int column, int value)
+	{
+		return whereInt(column, 0, value);
+	}
+
+	public DBQuery whereInt(int column, int tuple, int value)
+	{
+		conditions.add(index(column, tuple).rows(value));
+		return this;
+	}
+
+	/**
+	 * Match rows with any of the given values, such as the ids of the rows
+	 * matched by a query on another table
+	 */
+	public DBQuery whereIntIn(int column, int tuple, int[] values)
+	{
+		DBColumnIndex index = index(column, tuple);
+		int[][] matches = new int[values.length][];
+		int count = 0;
+		for (int i = 0; i < values.length; ++i)
+		{
+			matches[i] = index.rows(values[i]);
+			count += matches[i].length;
+		}
+
+		int[] rows = new int[count];
+		int pos = 0;
+		for (int[] m : matches)
+		{
+			System.arraycopy(m, 0, rows, pos, m.length);
+			pos += m.length;
+		}
+		Arrays.sort(rows);
+		conditions.add(RowIds.distinct(rows));
+		return this;
+	}
+
+	public DBQuery whereIntBetween(int column, int min, int max)
+	{
+		return whereIntBetween(column, 0, min, max);
+	}
+
+	public DBQuery whereIntBetween(int column, int tuple, int min, int max)
+	{
+		conditions.add(index(column, tuple).rowsBetween(min, max));
+		return this;
+	}
+
+	public DBQuery whereLong(int column, long value)
+	{
+		return whereLong(column, 0, value);
+	}
+
+	public DBQuery whereLong(int column, int tuple, long value)
+	{
+		conditions.add(index(column, tuple).rows(value));
+		return this;
+	}
+
+	public DBQuery whereLongBetween(int column, long min, long max)
+	{
+		return whereLongBetween(column, 0, min, max);
+	}
+
+	public DBQuery whereLongBetween(int column, int tuple, long min, long max)
+	{
+		conditions.add(index(column, tuple).rowsBetween(min, max));
+		return this;
+	}
+
+	public DBQuery whereString(int column, String value)
+	{
+		return whereString(column, 0, value);
+	}
+
+	public DBQuery whereString(int column, int tuple, String value)
+	{
+		conditions.add(index(column, tuple).rows(value));
+		return this;
+	}
+
+	/**
+	 * @return the ids of the matching rows, ascending
+	 */
+	public int[] rowIds()
+	{
+		if (conditions.isEmpty())
+		{
+			return engine.allRows(tableId);
+		}
+
+		int[][] sets = conditions.toArray(new int[0][]);
+		Arrays.sort(sets, Comparator.comparingInt(s -> s.length));
+
+		int[] result = sets[0];
+		for (int i = 1; i < sets.length && result.length > 0; ++i)
+		{
+			result = RowIds.intersect(result, sets[i]);
+		}
+		return result;
+	}
+
+	public int count()
+	{
+		return rowIds().length;
+	}
+
+	/**
+	 * @return the matching rows, decoded as the stream is consumed
+	 */
+	public Stream<DBRowDefinition> stream()
+	{
+		return Arrays.stream(rowIds()).mapToObj(engine::getRow);
+	}
+
+	public List<DBRowDefinition> rows()
+	{
+		return stream().collect(Collectors.toList());
+	}
+
+	/**
+	 * @return the matching row with the lowest id, or null
+	 */
+	public DBRowDefinition first()
+	{
+		int[] ids = rowIds();
+		return ids.length == 0 ? null : engine.getRow(ids[0]);
+	}
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.dbtable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.IntFunction;
+import net.runelite.cache.DBTableIndexManager;
+import net.runelite.cache.definitions.DBRowDefinition;
+import net.runelite.cache.definitions.DBTableIndex;
+
+/**
+ * Answers queries on db tables from their column indexes, without decoding
+ * any rows other than the ones returned. Column indexes are converted to
+ * {@link DBColumnIndex}es the first time a query uses them. The engine is
+ * safe to use from many threads, as long as the row function is.
+ * <p>
+ * Rows are usually supplied by a {@link net.runelite.cache.LazyDBRowManager},
+ * so that they are only decoded when requested.
+ */
+public class DBQueryEngine
+{
+	private final BiFunction<Integer, Integer, DBTableIndex> indexes;
+	private final IntFunction<DBRowDefinition> rows;
+	private final Map<Long, DBColumnIndex> columns = new ConcurrentHashMap<>();
+
+	/**
+	 * @param indexManager loaded db table indexes
+	 * @param rows function from row id to row
+	 */
+	public DBQueryEngine(DBTableIndexManager indexManager, IntFunction<DBRowDefinition> rows)
+	{
+		this((tableId, columnId) -> columnId == -1 ? indexManager.getMaster(tableId) : indexManager.get(tableId, columnId), rows);
+	}
+
+	/**
+	 * @param indexes function from table id and column id, or -1 for the master index, to index
+	 * @param rows function from row id to row
+	 */
+	DBQueryEngine(BiFunction<Integer, Integer, DBTableIndex> indexes, IntFunction<DBRowDefinition> rows)
+	{
+		this.indexes = indexes;
+		this.rows = rows;
+	}
+
+	public DBQuery query(int tableId)
+	{
+		return new DBQuery(this, tableId);
+	}
+
+	/**
+	 * Get the index of one tuple of a column
+	 *
+	 * @param tableId table id
+	 * @param columnId column id, or -1 for the table's master index
+	 * @param tuple tuple position within the column
+	 * @return the index
+	 * @throws IllegalArgumentException if the column is not indexed
+	 */
+	public DBColumnIndex getColumnIndex(int tableId, int columnId, int tuple)
+	{
+		long key = (long) tableId << 32 | (long) (columnId + 1) << 16 | tuple;
+		return columns.computeIfAbsent(key, k -> build(tableId, columnId, tuple));
+	}
+
+	private DBColumnIndex build(int tableId, int columnId, int tuple)
+	{
+		DBTableIndex index = indexes.apply(tableId, columnId);
+		if (index == null)
+		{
+			throw new IllegalArgumentException("table " + tableId + " column " + columnId + " is not indexed");
+		}
+		if (tuple < 0 || tuple >= index.getTupleTypes().length)
+		{
+			throw new IllegalArgumentException("table " + tableId + " column " + columnId + " has no tuple " + tuple);
+		}
+
+		return DBColumnIndex.of(index.getTupleTypes()[tuple], index.getTupleIndexes().get(tuple));
+	}
+
+	/**
+	 * @return the ids of every row of a table, ascending
+	 */
+	int[] allRows(int tableId)
+	{
+		return getColumnIndex(tableId, -1, 0).allRows();
+	}
+
+	DBRowDefinition getRow(int rowId)
+	{
+		return rows.apply(rowId);
+	}
+}
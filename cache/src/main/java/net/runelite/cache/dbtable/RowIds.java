@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.dbtable;
+
+import java.util.Arrays;
+
+/**
+ * Operations on sorted, distinct arrays of row ids
+ */
+final class RowIds
+{
+	private RowIds()
+	{
+	}
+
+	/**
+	 * Remove repeated ids from a sorted array
+	 */
+	static int[] distinct(int[] ids)
+	{
+		if (ids.length == 0)
+		{
+			return ids;
+		}
+
+		int n = 1;
+		for (int i = 1; i < ids.length; ++i)
+		{
+			if (ids[i] != ids[n - 1])
+			{
+				ids[n++] = ids[i];
+			}
+		}
+		return n == ids.length ? ids : Arrays.copyOf(ids, n);
+	}
+
+	/**
+	 * @return the ids in both a and b
+	 */
+	static int[] intersect(int[] a, int[] b)
+	{
+		if (a.length > b.length)
+		{
+			int[] t = a;
+			a = b;
+			b = t;
+		}
+
+		int[] result = new int[a.length];
+		int n = 0;
+
+		if (a.length * 16 < b.length)
+		{
+			// much smaller, so search for each id rather than walking both
+			int from = 0;
+			for (int id : a)
+			{
+				int pos = Arrays.binarySearch(b, from, b.length, id);
+				if (pos >= 0)
+				{
+					result[n++] = id;
+					from = pos + 1;
+				}
+				else
+				{
+					from = -pos - 1;
+				}
+			}
+		}
+		else
+		{
+			int i = 0, j = 0;
+			while (i < a.length && j < b.length)
+			{
+				if (a[i] < b[j])
+				{
+					++i;
+				}
+				else if (a[i] > b[j])
+				{
+					++j;
+				}
+				else
+				{
+					result[n++] = a[i];
+					++i;
+					++j;
+				}
+			}
+		}
+
+		return n == result.length ? result : Arrays.copyOf(result, n);
+	}
+}
@@ -357,9 +357,23 @@ public class ModelDefinition
 			origVZ = Arrays.copyOf(vertexZ, vertexZ.length);
 		}
 
-		final int[] verticesX = vertexX;
-		final int[] verticesY = vertexY;
-		final int[] verticesZ = vertexZ;
+		int[] offset = {animOffsetX, animOffsetY, animOffsetZ};
+		animate(vertexGroups, vertexX, vertexY, vertexZ, offset, type, frameMap, dx, dy, dz);
+		animOffsetX = offset[0];
+		animOffsetY = offset[1];
+		animOffsetZ = offset[2];
+	}
+
+	/**
+	 * Apply one transform of an animation frame to the given vertices,
+	 * without touching any model state.
+	 *
+	 * @param vertexGroups the vertices in each vertex group, from {@link #computeAnimationTables()}
+	 * @param offset the origin set by the last type 0 transform of the frame, updated by type 0 transforms
+	 */
+	public static void animate(int[][] vertexGroups, int[] verticesX, int[] verticesY, int[] verticesZ, int[] offset,
+		int type, int[] frameMap, int dx, int dy, int dz)
+	{
 		int var6 = frameMap.length;
 		int var7;
 		int var8;
@@ -368,23 +382,23 @@ public class ModelDefinition
 		if (type == 0)
 		{
 			var7 = 0;
-			animOffsetX = 0;
-			animOffsetY = 0;
-			animOffsetZ = 0;
+			offset[0] = 0;
+			offset[1] = 0;
+			offset[2] = 0;
 
 			for (var8 = 0; var8 < var6; ++var8)
 			{
 				int var9 = frameMap[var8];
-				if (var9 < this.vertexGroups.length)
+				if (var9 < vertexGroups.length)
 				{
-					int[] var10 = this.vertexGroups[var9];
+					int[] var10 = vertexGroups[var9];
 
 					for (var11 = 0; var11 < var10.length; ++var11)
 					{
 						var12 = var10[var11];
-						animOffsetX += verticesX[var12];
-						animOffsetY += verticesY[var12];
-						animOffsetZ += verticesZ[var12];
+						offset[0] += verticesX[var12];
+						offset[1] += verticesY[var12];
+						offset[2] += verticesZ[var12];
 						++var7;
 					}
 				}
@@ -392,15 +406,15 @@ public class ModelDefinition
 
 			if (var7 > 0)
 			{
-				animOffsetX = dx + animOffsetX / var7;
-				animOffsetY = dy + animOffsetY / var7;
-				animOffsetZ = dz + animOffsetZ / var7;
+				offset[0] = dx + offset[0] / var7;
+				offset[1] = dy + offset[1] / var7;
+				offset[2] = dz + offset[2] / var7;
 			}
 			else
 			{
-				animOffsetX = dx;
-				animOffsetY = dy;
-				animOffsetZ = dz;
+				offset[0] = dx;
+				offset[1] = dy;
+				offset[2] = dz;
 			}
 
 		}
@@ -413,9 +427,9 @@ public class ModelDefinition
 				for (var7 = 0; var7 < var6; ++var7)
 				{
 					var8 = frameMap[var7];
-					if (var8 < this.vertexGroups.length)
+					if (var8 < vertexGroups.length)
 					{
-						var18 = this.vertexGroups[var8];
+						var18 = vertexGroups[var8];
 
 						for (var19 = 0; var19 < var18.length; ++var19)
 						{
@@ -433,16 +447,16 @@ public class ModelDefinition
 				for (var7 = 0; var7 < var6; ++var7)
 				{
 					var8 = frameMap[var7];
-					if (var8 < this.vertexGroups.length)
+					if (var8 < vertexGroups.length)
 					{
-						var18 = this.vertexGroups[var8];
+						var18 = vertexGroups[var8];
 
 						for (var19 = 0; var19 < var18.length; ++var19)
 						{
 							var11 = var18[var19];
-							verticesX[var11] -= animOffsetX;
-							verticesY[var11] -= animOffsetY;
-							verticesZ[var11] -= animOffsetZ;
+							verticesX[var11] -= offset[0];
+							verticesY[var11] -= offset[1];
+							verticesZ[var11] -= offset[2];
 							var12 = (dx & 255) * 8;
 							int var13 = (dy & 255) * 8;
 							int var14 = (dz & 255) * 8;
@@ -476,9 +490,9 @@ public class ModelDefinition
 								verticesX[var11] = var17;
 							}
 
-							verticesX[var11] += animOffsetX;
-							verticesY[var11] += animOffsetY;
-							verticesZ[var11] += animOffsetZ;
+							verticesX[var11] += offset[0];
+							verticesY[var11] += offset[1];
+							verticesZ[var11] += offset[2];
 						}
 					}
 				}
@@ -489,22 +503,22 @@ public class ModelDefinition
 				for (var7 = 0; var7 < var6; ++var7)
 				{
 					var8 = frameMap[var7];
-					if (var8 < this.vertexGroups.length)
+					if (var8 < vertexGroups.length)
 					{
-						var18 = this.vertexGroups[var8];
+						var18 = vertexGroups[var8];
 
 						for (var19 = 0; var19 < var18.length; ++var19)
 						{
 							var11 = var18[var19];
-							verticesX[var11] -= animOffsetX;
-							verticesY[var11] -= animOffsetY;
-							verticesZ[var11] -= animOffsetZ;
+							verticesX[var11] -= offset[0];
+							verticesY[var11] -= offset[1];
+							verticesZ[var11] -= offset[2];
 							verticesX[var11] = dx * verticesX[var11] / 128;
 							verticesY[var11] = dy * verticesY[var11] / 128;
 							verticesZ[var11] = dz * verticesZ[var11] / 128;
-							verticesX[var11] += animOffsetX;
-							verticesY[var11] += animOffsetY;
-							verticesZ[var11] += animOffsetZ;
+							verticesX[var11] += offset[0];
+							verticesY[var11] += offset[1];
+							verticesZ[var11] += offset[2];
 						}
 					}
 				}
@@ -0,0 +1,468 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.definitions.table;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * A column oriented, read only view of a set of definitions, such as the
+ * items, npcs, or objects of a cache revision. Each primitive field of the
+ * definition class becomes a primitive array with one entry per definition,
+ * strings are dictionary encoded, int and short arrays are flattened into
+ * one array with offsets, and params become sparse columns holding only
+ * the definitions which have them. Rows are ordered by id.
+ * <p>
+ * Tables are built from the existing definition classes with
+ * {@link #of(Class, Collection)}, and queried with {@link #query()}.
+ */
+public class DefinitionTable
+{
+	private static final String ID = "id";
+	private static final String PARAMS = "params";
+
+	static class IntColumn
+	{
+		final int[] values;
+
+		IntColumn(int[] values)
+		{
+			this.values = values;
+		}
+	}
+
+	static class BooleanColumn
+	{
+		final boolean[] values;
+
+		BooleanColumn(boolean[] values)
+		{
+			this.values = values;
+		}
+	}
+
+	static class StringColumn
+	{
+		final String[] dictionary;
+		/**
+		 * index into the dictionary of each row, or -1 for null
+		 */
+		final int[] codes;
+
+		StringColumn(String[] dictionary, int[] codes)
+		{
+			this.dictionary = dictionary;
+			this.codes = codes;
+		}
+	}
+
+	static class IntArrayColumn
+	{
+		/**
+		 * row i holds values[offsets[i]] to values[offsets[i + 1]]
+		 */
+		final int[] offsets;
+		final int[] values;
+
+		IntArrayColumn(int[] offsets, int[] values)
+		{
+			this.offsets = offsets;
+			this.values = values;
+		}
+	}
+
+	static class SparseIntColumn
+	{
+		/**
+		 * rows which have a value, ascending
+		 */
+		final int[] rows;
+		final int[] values;
+
+		SparseIntColumn(int[] rows, int[] values)
+		{
+			this.rows = rows;
+			this.values = values;
+		}
+	}
+
+	static class SparseStringColumn
+	{
+		/**
+		 * rows which have a value, ascending
+		 */
+		final int[] rows;
+		final String[] values;
+
+		SparseStringColumn(int[] rows, String[] values)
+		{
+			this.rows = rows;
+			this.values = values;
+		}
+	}
+
+	private final int rowCount;
+	final Map<String, IntColumn> intColumns = new LinkedHashMap<>();
+	final Map<String, BooleanColumn> booleanColumns = new LinkedHashMap<>();
+	final Map<String, StringColumn> stringColumns = new LinkedHashMap<>();
+	final Map<String, IntArrayColumn> intArrayColumns = new LinkedHashMap<>();
+	final Map<Integer, SparseIntColumn> intParams = new TreeMap<>();
+	final Map<Integer, SparseStringColumn> stringParams = new TreeMap<>();
+
+	private DefinitionTable(int rowCount)
+	{
+		this.rowCount = rowCount;
+	}
+
+	/**
+	 * Build a table from definitions. The definition class must have an
+	 * int field named id. Fields of other types than int, short, byte,
+	 * char, boolean, String, int[], short[], and a params map are not
+	 * included.
+	 *
+	 * @param type definition class
+	 * @param definitions definitions
+	 * @return the table
+	 */
+	public static <T> DefinitionTable of(Class<T> type, Collection<T> definitions)
+	{
+		List<Field> fields = new ArrayList<>();
+		Field idField = null;
+		Field paramsField = null;
+		for (Field field : type.getDeclaredFields())
+		{
+			if (Modifier.isStatic(field.getModifiers()))
+			{
+				continue;
+			}
+
+			field.setAccessible(true);
+			if (field.getName().equals(ID) && field.getType() == int.class)
+			{
+				idField = field;
+			}
+			if (field.getName().equals(PARAMS) && Map.class.isAssignableFrom(field.getType()))
+			{
+				paramsField = field;
+			}
+			else
+			{
+				fields.add(field);
+			}
+		}
+
+		if (idField == null)
+		{
+			throw new IllegalArgumentException(type + " has no id field");
+		}
+
+		List<T> rows = new ArrayList<>(definitions);
+		Field id = idField;
+		rows.sort(Comparator.comparingInt(def -> getInt(id, def)));
+
+		DefinitionTable table = new DefinitionTable(rows.size());
+		for (Field field : fields)
+		{
+			table.addColumn(field, rows);
+		}
+		if (paramsField != null)
+		{
+			table.addParams(paramsField, rows);
+		}
+		return table;
+	}
+
+	private <T> void addColumn(Field field, List<T> rows)
+	{
+		Class<?> fieldType = field.getType();
+		String name = field.getName();
+
+		if (fieldType == int.class || fieldType == short.class || fieldType == byte.class || fieldType == char.class)
+		{
+			int[] values = new int[rowCount];
+			for (int i = 0; i < rowCount; ++i)
+			{
+				values[i] = getInt(field, rows.get(i));
+			}
+			intColumns.put(name, new IntColumn(values));
+		}
+		else if (fieldType == boolean.class)
+		{
+			boolean[] values = new boolean[rowCount];
+			for (int i = 0; i < rowCount; ++i)
+			{
+				values[i] = (boolean) get(field, rows.get(i));
+			}
+			booleanColumns.put(name, new BooleanColumn(values));
+		}
+		else if (fieldType == String.class)
+		{
+			Map<String, Integer> dictionary = new HashMap<>();
+			List<String> strings = new ArrayList<>();
+			int[] codes = new int[rowCount];
+			for (int i = 0; i < rowCount; ++i)
+			{
+				String value = (String) get(field, rows.get(i));
+				if (value == null)
+				{
+					codes[i] = -1;
+					continue;
+				}
+
+				codes[i] = dictionary.computeIfAbsent(value, v ->
+				{
+					strings.add(v);
+					return strings.size() - 1;
+				});
+			}
+			stringColumns.put(name, new StringColumn(strings.toArray(new String[0]), codes));
+		}
+		else if (fieldType == int[].class || fieldType == short[].class)
+		{
+			int[] offsets = new int[rowCount + 1];
+			int[] values = new int[16];
+			int n = 0;
+			for (int i = 0; i < rowCount; ++i)
+			{
+				int[] array = toIntArray(get(field, rows.get(i)));
+				if (n + array.length > values.length)
+				{
+					values = Arrays.copyOf(values, Math.max(values.length * 2, n + array.length));
+				}
+				System.arraycopy(array, 0, values, n, array.length);
+				n += array.length;
+				offsets[i + 1] = n;
+			}
+			intArrayColumns.put(name, new IntArrayColumn(offsets, Arrays.copyOf(values, n)));
+		}
+	}
+
+	private <T> void addParams(Field field, List<T> rows)
+	{
+		Map<Integer, List<Integer>> intRows = new TreeMap<>();
+		Map<Integer, List<Integer>> intValues = new HashMap<>();
+		Map<Integer, List<Integer>> stringRows = new TreeMap<>();
+		Map<Integer, List<String>> stringValues = new HashMap<>();
+
+		for (int i = 0; i < rowCount; ++i)
+		{
+			Map<?, ?> params = (Map<?, ?>) get(field, rows.get(i));
+			if (params == null)
+			{
+				continue;
+			}
+
+			for (Map.Entry<?, ?> entry : params.entrySet())
+			{
+				int key = (Integer) entry.getKey();
+				Object value = entry.getValue();
+				if (value instanceof Integer)
+				{
+					intRows.computeIfAbsent(key, k -> new ArrayList<>()).add(i);
+					intValues.computeIfAbsent(key, k -> new ArrayList<>()).add((Integer) value);
+				}
+				else if (value instanceof String)
+				{
+					stringRows.computeIfAbsent(key, k -> new ArrayList<>()).add(i);
+					stringValues.computeIfAbsent(key, k -> new ArrayList<>()).add((String) value);
+				}
+			}
+		}
+
+		for (Map.Entry<Integer, List<Integer>> entry : intRows.entrySet())
+		{
+			List<Integer> values = intValues.get(entry.getKey());
+			int[] r = new int[values.size()];
+			int[] v = new int[values.size()];
+			for (int i = 0; i < r.length; ++i)
+			{
+				r[i] = entry.getValue().get(i);
+				v[i] = values.get(i);
+			}
+			intParams.put(entry.getKey(), new SparseIntColumn(r, v));
+		}
+
+		for (Map.Entry<Integer, List<Integer>> entry : stringRows.entrySet())
+		{
+			List<String> values = stringValues.get(entry.getKey());
+			int[] r = new int[values.size()];
+			for (int i = 0; i < r.length; ++i)
+			{
+				r[i] = entry.getValue().get(i);
+			}
+			stringParams.put(entry.getKey(), new SparseStringColumn(r, values.toArray(new String[0])));
+		}
+	}
+
+	private static Object get(Field field, Object def)
+	{
+		try
+		{
+			return field.get(def);
+		}
+		catch (IllegalAccessException ex)
+		{
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	private static int getInt(Field field, Object def)
+	{
+		Object value = get(field, def);
+		if (value instanceof Character)
+		{
+			return (Character) value;
+		}
+		return ((Number) value).intValue();
+	}
+
+	private static int[] toIntArray(Object array)
+	{
+		if (array == null)
+		{
+			return new int[0];
+		}
+		if (array instanceof int[])
+		{
+			return (int[]) array;
+		}
+
+		short[] s = (short[]) array;
+		int[] values = new int[s.length];
+		for (int i = 0; i < s.length; ++i)
+		{
+			values[i] = s[i];
+		}
+		return values;
+	}
+
+	public int getRowCount()
+	{
+		return rowCount;
+	}
+
+	/**
+	 * @return the names of all columns, excluding params
+	 */
+	public Set<String> getColumnNames()
+	{
+		Set<String> names = new LinkedHashSet<>();
+		names.addAll(intColumns.keySet());
+		names.addAll(booleanColumns.keySet());
+		names.addAll(stringColumns.keySet());
+		names.addAll(intArrayColumns.keySet());
+		return Collections.unmodifiableSet(names);
+	}
+
+	/**
+	 * @return the ids of the params which have a column
+	 */
+	public Set<Integer> getParamIds()
+	{
+		Set<Integer> ids = new LinkedHashSet<>(intParams.keySet());
+		ids.addAll(stringParams.keySet());
+		return Collections.unmodifiableSet(ids);
+	}
+
+	/**
+	 * @param id definition id
+	 * @return the row of the definition, or -1 if there is none
+	 */
+	public int rowOf(int id)
+	{
+		int row = Arrays.binarySearch(intColumn(ID).values, id);
+		return row >= 0 ? row : -1;
+	}
+
+	public int getInt(String column, int row)
+	{
+		return intColumn(column).values[row];
+	}
+
+	public boolean getBoolean(String column, int row)
+	{
+		return booleanColumn(column).values[row];
+	}
+
+	public String getString(String column, int row)
+	{
+		StringColumn c = stringColumn(column);
+		int code = c.codes[row];
+		return code == -1 ? null : c.dictionary[code];
+	}
+
+	public int[] getIntArray(String column, int row)
+	{
+		IntArrayColumn c = intArrayColumn(column);
+		return Arrays.copyOfRange(c.values, c.offsets[row], c.offsets[row + 1]);
+	}
+
+	public TableQuery query()
+	{
+		return new TableQuery(this);
+	}
+
+	IntColumn intColumn(String name)
+	{
+		return column(intColumns, name);
+	}
+
+	BooleanColumn booleanColumn(String name)
+	{
+		return column(booleanColumns, name);
+	}
+
+	StringColumn stringColumn(String name)
+	{
+		return column(stringColumns, name);
+	}
+
+	IntArrayColumn intArrayColumn(String name)
+	{
+		return column(intArrayColumns, name);
+	}
+
+	private static <C> C column(Map<String, C> columns, String name)
+	{
+		C column = columns.get(name);
+		if (column == null)
+		{
+			throw new IllegalArgumentException("no such column " + name);
+		}
+		return column;
+	}
+}
@@ -0,0 +1,251 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.definitions.table;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+/**
+ * A query over a {@link DefinitionTable}. Each condition reads a single
+ * column, and a row matches if it matches every condition. String
+ * conditions are evaluated once per dictionary entry rather than per row,
+ * and param conditions only visit the rows which have the param.
+ */
+public class TableQuery
+{
+	private final DefinitionTable table;
+	private final List<IntPredicate> conditions = new ArrayList<>();
+	private boolean parallel;
+
+	TableQuery(DefinitionTable table)
+	{
+		this.table = table;
+	}
+
+	public TableQuery whereInt(String column, IntPredicate predicate)
+	{
+		int[] values = table.intColumn(column).values;
+		conditions.add(row -> predicate.test(values[row]));
+		return this;
+	}
+
+	public TableQuery whereBoolean(String column, boolean value)
+	{
+		boolean[] values = table.booleanColumn(column).values;
+		conditions.add(row -> values[row] == value);
+		return this;
+	}
+
+	public TableQuery whereString(String column, Predicate<String> predicate)
+	{
+		DefinitionTable.StringColumn c = table.stringColumn(column);
+		boolean[] matches = new boolean[c.dictionary.length];
+		for (int i = 0; i < matches.length; ++i)
+		{
+			matches[i] = predicate.test(c.dictionary[i]);
+		}
+
+		int[] codes = c.codes;
+		conditions.add(row -> codes[row] != -1 && matches[codes[row]]);
+		return this;
+	}
+
+	/**
+	 * Match rows whose int or short array column contains a value
+	 *
+	 * @param column column name
+	 * @param value value
+	 * @return this query
+	 */
+	public TableQuery whereContains(String column, int value)
+	{
+		DefinitionTable.IntArrayColumn c = table.intArrayColumn(column);
+		int[] offsets = c.offsets;
+		int[] values = c.values;
+		conditions.add(row ->
+		{
+			for (int i = offsets[row]; i < offsets[row + 1]; ++i)
+			{
+				if (values[i] == value)
+				{
+					return true;
+				}
+			}
+			return false;
+		});
+		return this;
+	}
+
+	/**
+	 * Match rows which have an int param matching a predicate. Rows without
+	 * the param do not match.
+	 *
+	 * @param param param id
+	 * @param predicate predicate
+	 * @return this query
+	 */
+	public TableQuery whereIntParam(int param, IntPredicate predicate)
+	{
+		BitSet matches = new BitSet(table.getRowCount());
+		DefinitionTable.SparseIntColumn c = table.intParams.get(param);
+		if (c != null)
+		{
+			for (int i = 0; i < c.rows.length; ++i)
+			{
+				if (predicate.test(c.values[i]))
+				{
+					matches.set(c.rows[i]);
+				}
+			}
+		}
+
+		conditions.add(matches::get);
+		return this;
+	}
+
+	/**
+	 * Match rows which have a string param matching a predicate. Rows
+	 * without the param do not match.
+	 *
+	 * @param param param id
+	 * @param predicate predicate
+	 * @return this query
+	 */
+	public TableQuery whereStringParam(int param, Predicate<String> predicate)
+	{
+		BitSet matches = new BitSet(table.getRowCount());
+		DefinitionTable.SparseStringColumn c = table.stringParams.get(param);
+		if (c != null)
+		{
+			for (int i = 0; i < c.rows.length; ++i)
+			{
+				if (predicate.test(c.values[i]))
+				{
+					matches.set(c.rows[i]);
+				}
+			}
+		}
+
+		conditions.add(matches::get);
+		return this;
+	}
+
+	/**
+	 * Evaluate the query on the common fork join pool
+	 *
+	 * @return this query
+	 */
+	public TableQuery parallel()
+	{
+		this.parallel = true;
+		return this;
+	}
+
+	/**
+	 * @return the matching rows, ascending
+	 */
+	public int[] rows()
+	{
+		IntPredicate[] c = conditions.toArray(new IntPredicate[0]);
+		IntStream stream = IntStream.range(0, table.getRowCount());
+		if (parallel)
+		{
+			stream = stream.parallel();
+		}
+
+		return stream.filter(row ->
+		{
+			for (IntPredicate condition : c)
+			{
+				if (!condition.test(row))
+				{
+					return false;
+				}
+			}
+			return true;
+		}).toArray();
+	}
+
+	public int count()
+	{
+		return rows().length;
+	}
+
+	/**
+	 * @return the ids of the matching definitions, ascending
+	 */
+	public int[] ids()
+	{
+		return selectInt("id");
+	}
+
+	public int[] selectInt(String column)
+	{
+		int[] values = table.intColumn(column).values;
+		int[] rows = rows();
+		int[] result = new int[rows.length];
+		for (int i = 0; i < rows.length; ++i)
+		{
+			result[i] = values[rows[i]];
+		}
+		return result;
+	}
+
+	public String[] selectString(String column)
+	{
+		DefinitionTable.StringColumn c = table.stringColumn(column);
+		int[] rows = rows();
+		String[] result = new String[rows.length];
+		for (int i = 0; i < rows.length; ++i)
+		{
+			int code = c.codes[rows[i]];
+			result[i] = code == -1 ? null : c.dictionary[code];
+		}
+		return result;
+	}
+
+	/**
+	 * @param param param id
+	 * @param defaultValue value for rows without the param
+	 * @return the value of an int param for each matching row
+	 */
+	public int[] selectIntParam(int param, int defaultValue)
+	{
+		DefinitionTable.SparseIntColumn c = table.intParams.get(param);
+		int[] rows = rows();
+		int[] result = new int[rows.length];
+		for (int i = 0; i < rows.length; ++i)
+		{
+			int idx = c == null ? -1 : Arrays.binarySearch(c.rows, rows[i]);
+			result[i] = idx >= 0 ? c.values[idx] : defaultValue;
+		}
+		return result;
+	}
+}
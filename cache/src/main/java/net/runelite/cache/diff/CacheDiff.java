@@ -0,0 +1,265 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.diff;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import lombok.Getter;
+import net.runelite.cache.fs.Archive;
+import net.runelite.cache.fs.ArchiveFiles;
+import net.runelite.cache.fs.ArchivePipeline;
+import net.runelite.cache.fs.FSFile;
+import net.runelite.cache.fs.Index;
+import net.runelite.cache.fs.Store;
+
+/**
+ * Finds the files which differ between two caches. Indexes whose container
+ * crc is unchanged, and archives whose crc and revision are unchanged, are
+ * skipped without being read. The remaining archives are read, decompressed,
+ * and compared file by file in parallel, and the differences are reported
+ * to a {@link DiffListener} in index, archive, and file order.
+ */
+public class CacheDiff
+{
+	/**
+	 * number of changed archives held in memory at once
+	 */
+	private static final int ARCHIVES_PER_BATCH = 256;
+
+	private static class ArchiveResult
+	{
+		private final List<FileDiff> diffs;
+		private final Exception error;
+
+		private ArchiveResult(List<FileDiff> diffs, Exception error)
+		{
+			this.diffs = diffs;
+			this.error = error;
+		}
+	}
+
+	private final Store oldStore;
+	private final Store newStore;
+	private final ArchivePipeline pipeline;
+	private final Function<Archive, int[]> keys;
+
+	@Getter
+	private int archivesPruned;
+	@Getter
+	private int archivesCompared;
+
+	public CacheDiff(Store oldStore, Store newStore)
+	{
+		this(oldStore, newStore, null, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * @param oldStore old cache
+	 * @param newStore new cache
+	 * @param keys xtea keys for an archive, or null if no archives are encrypted
+	 * @param pool pool to read and compare archives on
+	 */
+	public CacheDiff(Store oldStore, Store newStore, Function<Archive, int[]> keys, ForkJoinPool pool)
+	{
+		this.oldStore = oldStore;
+		this.newStore = newStore;
+		this.keys = keys;
+		// the pipeline is only used to run tasks, archives are read from their own store
+		this.pipeline = new ArchivePipeline(newStore.getStorage(), pool);
+	}
+
+	public void diff(DiffListener listener) throws IOException
+	{
+		archivesPruned = 0;
+		archivesCompared = 0;
+
+		TreeSet<Integer> indexIds = new TreeSet<>();
+		for (Index index : oldStore.getIndexes())
+		{
+			indexIds.add(index.getId());
+		}
+		for (Index index : newStore.getIndexes())
+		{
+			indexIds.add(index.getId());
+		}
+
+		for (int indexId : indexIds)
+		{
+			Index oldIndex = oldStore.findIndex(indexId);
+			Index newIndex = newStore.findIndex(indexId);
+
+			if (oldIndex != null && newIndex != null && oldIndex.getCrc() != 0 && oldIndex.getCrc() == newIndex.getCrc())
+			{
+				archivesPruned += newIndex.getArchives().size();
+			}
+			else
+			{
+				diffIndex(indexId, oldIndex, newIndex, listener);
+			}
+
+			listener.indexComplete(indexId);
+		}
+	}
+
+	private void diffIndex(int indexId, Index oldIndex, Index newIndex, DiffListener listener) throws IOException
+	{
+		Map<Integer, Archive[]> archives = new TreeMap<>();
+		if (oldIndex != null)
+		{
+			for (Archive archive : oldIndex.getArchives())
+			{
+				archives.computeIfAbsent(archive.getArchiveId(), k -> new Archive[2])[0] = archive;
+			}
+		}
+		if (newIndex != null)
+		{
+			for (Archive archive : newIndex.getArchives())
+			{
+				archives.computeIfAbsent(archive.getArchiveId(), k -> new Archive[2])[1] = archive;
+			}
+		}
+
+		List<Archive[]> changed = new ArrayList<>();
+		for (Archive[] pair : archives.values())
+		{
+			Archive oldArchive = pair[0];
+			Archive newArchive = pair[1];
+			if (oldArchive != null && newArchive != null
+				&& oldArchive.getCrc() == newArchive.getCrc()
+				&& oldArchive.getRevision() == newArchive.getRevision())
+			{
+				++archivesPruned;
+			}
+			else
+			{
+				changed.add(pair);
+			}
+		}
+
+		for (int i = 0; i < changed.size(); i += ARCHIVES_PER_BATCH)
+		{
+			List<Archive[]> batch = changed.subList(i, Math.min(i + ARCHIVES_PER_BATCH, changed.size()));
+			List<ArchiveResult> results = pipeline.map(batch, this::diffArchive);
+
+			for (int j = 0; j < results.size(); ++j)
+			{
+				ArchiveResult result = results.get(j);
+				if (result.error != null)
+				{
+					Archive[] pair = batch.get(j);
+					int archiveId = (pair[1] != null ? pair[1] : pair[0]).getArchiveId();
+					listener.archiveUnreadable(indexId, archiveId, result.error);
+					continue;
+				}
+
+				for (FileDiff diff : result.diffs)
+				{
+					listener.fileDiff(diff);
+				}
+			}
+
+			archivesCompared += batch.size();
+		}
+	}
+
+	private ArchiveResult diffArchive(Archive[] pair)
+	{
+		Archive oldArchive = pair[0];
+		Archive newArchive = pair[1];
+		Archive archive = newArchive != null ? newArchive : oldArchive;
+		int indexId = archive.getIndex().getId();
+		int archiveId = archive.getArchiveId();
+
+		Map<Integer, FSFile> oldFiles;
+		Map<Integer, FSFile> newFiles;
+		try
+		{
+			oldFiles = loadFiles(oldStore, oldArchive);
+			newFiles = loadFiles(newStore, newArchive);
+		}
+		catch (IOException | RuntimeException ex)
+		{
+			// a corrupt container may fail to decode with any exception
+			return new ArchiveResult(null, ex);
+		}
+
+		TreeSet<Integer> fileIds = new TreeSet<>(oldFiles.keySet());
+		fileIds.addAll(newFiles.keySet());
+
+		List<FileDiff> diffs = new ArrayList<>();
+		for (int fileId : fileIds)
+		{
+			FSFile oldFile = oldFiles.get(fileId);
+			FSFile newFile = newFiles.get(fileId);
+
+			if (oldFile == null)
+			{
+				diffs.add(new FileDiff(FileDiff.Type.ADDED, indexId, archiveId, fileId, null, newFile));
+			}
+			else if (newFile == null)
+			{
+				diffs.add(new FileDiff(FileDiff.Type.REMOVED, indexId, archiveId, fileId, oldFile, null));
+			}
+			else if (oldFile.getNameHash() != newFile.getNameHash()
+				|| !Arrays.equals(oldFile.getContents(), newFile.getContents()))
+			{
+				diffs.add(new FileDiff(FileDiff.Type.CHANGED, indexId, archiveId, fileId, oldFile, newFile));
+			}
+		}
+
+		return new ArchiveResult(diffs, null);
+	}
+
+	private Map<Integer, FSFile> loadFiles(Store store, Archive archive) throws IOException
+	{
+		if (archive == null)
+		{
+			return Collections.emptyMap();
+		}
+
+		byte[] data = store.getStorage().loadArchive(archive);
+		if (data == null)
+		{
+			throw new IOException("missing archive data for " + archive.getIndex().getId() + "/" + archive.getArchiveId());
+		}
+
+		ArchiveFiles files = archive.getFiles(data, keys != null ? keys.apply(archive) : null);
+
+		Map<Integer, FSFile> byId = new TreeMap<>();
+		for (FSFile file : files.getFiles())
+		{
+			byId.put(file.getFileId(), file);
+		}
+		return byId;
+	}
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.diff;
+
+import java.io.PrintStream;
+
+/**
+ * Writes a line for each difference as it is found, and a summary line
+ * at the end of each index with differences
+ */
+public class DiffPrinter implements DiffListener
+{
+	private final PrintStream out;
+
+	private int added;
+	private int removed;
+	private int changed;
+
+	public DiffPrinter(PrintStream out)
+	{
+		this.out = out;
+	}
+
+	@Override
+	public void fileDiff(FileDiff diff)
+	{
+		switch (diff.getType())
+		{
+			case ADDED:
+				++added;
+				out.printf("+ %d/%d/%d (%d bytes)%n", diff.getIndex(), diff.getArchive(), diff.getFile(),
+					diff.getNewFile().getSize());
+				break;
+			case REMOVED:
+				++removed;
+				out.printf("- %d/%d/%d (%d bytes)%n", diff.getIndex(), diff.getArchive(), diff.getFile(),
+					diff.getOldFile().getSize());
+				break;
+			case CHANGED:
+				++changed;
+				out.printf("~ %d/%d/%d (%d -> %d bytes)%n", diff.getIndex(), diff.getArchive(), diff.getFile(),
+					diff.getOldFile().getSize(), diff.getNewFile().getSize());
+				break;
+		}
+	}
+
+	@Override
+	public void archiveUnreadable(int index, int archive, Exception ex)
+	{
+		out.printf("! %d/%d unreadable: %s%n", index, archive, ex.getMessage());
+	}
+
+	@Override
+	public void indexComplete(int index)
+	{
+		if (added + removed + changed > 0)
+		{
+			out.printf("index %d: %d added, %d removed, %d changed%n", index, added, removed, changed);
+		}
+
+		added = removed = changed = 0;
+	}
+}
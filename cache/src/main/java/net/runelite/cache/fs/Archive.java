@@ -116,7 +116,17 @@ public class Archive
 	public ArchiveFiles getFiles(byte[] data, int[] keys) throws IOException
 	{
 		byte[] decompressedData = decompress(data, keys);
+		return loadFiles(decompressedData);
+	}
 
+	/**
+	 * Split decompressed archive data into its files
+	 *
+	 * @param decompressedData decompressed archive data
+	 * @return the archive files
+	 */
+	public ArchiveFiles loadFiles(byte[] decompressedData)
+	{
 		ArchiveFiles files = new ArchiveFiles();
 		for (FileData fileEntry : fileData)
 		{
@@ -0,0 +1,297 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.fs;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Loads archives through a staged pipeline running on a {@link ForkJoinPool}.
+ * Archives are read from storage, decompressed and decrypted, split into
+ * their files, and finally decoded. Every stage of every archive is its own
+ * task, so many archives are in flight at once, but results are always
+ * returned in the order they were requested.
+ * <p>
+ * The storage must support concurrent reads, which {@link net.runelite.cache.fs.jagex.DiskStorage}
+ * and {@link net.runelite.cache.fs.flat.FlatStorage} both do, and decoders
+ * must not share mutable state between calls.
+ */
+public class ArchivePipeline
+{
+	/**
+	 * number of files decoded per task when decoding the files of an archive
+	 */
+	private static final int FILES_PER_TASK = 256;
+
+	@FunctionalInterface
+	public interface Stage<T, R>
+	{
+		R apply(T t) throws IOException;
+	}
+
+	@FunctionalInterface
+	public interface ArchiveDecoder<T>
+	{
+		T decode(Archive archive, byte[] data) throws IOException;
+	}
+
+	@FunctionalInterface
+	public interface FileDecoder<T>
+	{
+		T decode(int fileId, byte[] data) throws IOException;
+	}
+
+	private final Storage storage;
+	private final ForkJoinPool pool;
+
+	public ArchivePipeline(Storage storage)
+	{
+		this(storage, ForkJoinPool.commonPool());
+	}
+
+	public ArchivePipeline(Storage storage, ForkJoinPool pool)
+	{
+		this.storage = storage;
+		this.pool = pool;
+	}
+
+	/**
+	 * Apply a function to each item in parallel
+	 *
+	 * @param items items
+	 * @param fn function
+	 * @return the results, in the same order as the items
+	 * @throws IOException
+	 */
+	public <T, R> List<R> map(Collection<T> items, Stage<T, R> fn) throws IOException
+	{
+		List<CompletableFuture<R>> futures = new ArrayList<>(items.size());
+		for (T item : items)
+		{
+			futures.add(CompletableFuture.supplyAsync(supplier(fn, item), pool));
+		}
+		return join(futures);
+	}
+
+	/**
+	 * Read and decompress archives
+	 *
+	 * @param archives archives to load
+	 * @param keys xtea keys for an archive, or null if the archives are not encrypted
+	 * @return the decompressed archive data, in the same order as the archives
+	 * @throws IOException
+	 */
+	public List<byte[]> decompress(List<Archive> archives, Function<Archive, int[]> keys) throws IOException
+	{
+		List<CompletableFuture<byte[]>> futures = new ArrayList<>(archives.size());
+		for (Archive archive : archives)
+		{
+			futures.add(decompress(archive, keys));
+		}
+		return join(futures);
+	}
+
+	/**
+	 * Read, decompress, and split archives into their files
+	 *
+	 * @param archives archives to load
+	 * @param keys xtea keys for an archive, or null if the archives are not encrypted
+	 * @return the archive files, in the same order as the archives
+	 * @throws IOException
+	 */
+	public List<ArchiveFiles> loadFiles(List<Archive> archives, Function<Archive, int[]> keys) throws IOException
+	{
+		List<CompletableFuture<ArchiveFiles>> futures = new ArrayList<>(archives.size());
+		for (Archive archive : archives)
+		{
+			futures.add(loadFiles(archive, keys));
+		}
+		return join(futures);
+	}
+
+	/**
+	 * Read, decompress, and decode archives which hold a single definition
+	 * in their decompressed data, such as sprites
+	 *
+	 * @param archives archives to decode
+	 * @param decoder decoder
+	 * @return the decoded archives, in the same order as the archives
+	 * @throws IOException
+	 */
+	public <T> List<T> decodeArchives(List<Archive> archives, ArchiveDecoder<T> decoder) throws IOException
+	{
+		List<CompletableFuture<T>> futures = new ArrayList<>(archives.size());
+		for (Archive archive : archives)
+		{
+			futures.add(decompress(archive, null)
+				.thenApplyAsync(function(data -> data == null ? null : decoder.decode(archive, data)), pool));
+		}
+		return join(futures);
+	}
+
+	/**
+	 * Read, decompress, split, and decode each file of an archive, such as
+	 * the files of a config archive
+	 *
+	 * @param archive archive to decode
+	 * @param decoder decoder
+	 * @return the decoded files, in file order
+	 * @throws IOException
+	 */
+	public <T> List<T> decodeFiles(Archive archive, FileDecoder<T> decoder) throws IOException
+	{
+		return decodeFiles(List.of(archive), decoder);
+	}
+
+	/**
+	 * Read, decompress, split, and decode each file of many archives
+	 *
+	 * @param archives archives to decode
+	 * @param decoder decoder
+	 * @return the decoded files, in archive and then file order
+	 * @throws IOException
+	 */
+	public <T> List<T> decodeFiles(List<Archive> archives, FileDecoder<T> decoder) throws IOException
+	{
+		List<CompletableFuture<List<T>>> futures = new ArrayList<>(archives.size());
+		for (Archive archive : archives)
+		{
+			futures.add(loadFiles(archive, null)
+				.thenComposeAsync(files -> decodeFiles(files, decoder), pool));
+		}
+
+		List<T> results = new ArrayList<>();
+		for (List<T> r : join(futures))
+		{
+			results.addAll(r);
+		}
+		return results;
+	}
+
+	private CompletableFuture<byte[]> decompress(Archive archive, Function<Archive, int[]> keys)
+	{
+		return CompletableFuture.supplyAsync(supplier(storage::loadArchive, archive), pool)
+			.thenApplyAsync(function(data -> archive.decompress(data, keys != null ? keys.apply(archive) : null)), pool);
+	}
+
+	private CompletableFuture<ArchiveFiles> loadFiles(Archive archive, Function<Archive, int[]> keys)
+	{
+		return decompress(archive, keys)
+			.thenApplyAsync(data -> data == null ? null : archive.loadFiles(data), pool);
+	}
+
+	private <T> CompletableFuture<List<T>> decodeFiles(ArchiveFiles files, FileDecoder<T> decoder)
+	{
+		if (files == null)
+		{
+			return CompletableFuture.completedFuture(List.of());
+		}
+
+		List<FSFile> fileList = new ArrayList<>(files.getFiles());
+		List<CompletableFuture<List<T>>> batches = new ArrayList<>();
+		for (int i = 0; i < fileList.size(); i += FILES_PER_TASK)
+		{
+			List<FSFile> batch = fileList.subList(i, Math.min(i + FILES_PER_TASK, fileList.size()));
+			batches.add(CompletableFuture.supplyAsync(supplier(b ->
+			{
+				List<T> decoded = new ArrayList<>(b.size());
+				for (FSFile f : b)
+				{
+					decoded.add(decoder.decode(f.getFileId(), f.getContents()));
+				}
+				return decoded;
+			}, batch), pool));
+		}
+
+		return CompletableFuture.allOf(batches.toArray(new CompletableFuture<?>[0]))
+			.thenApply(v ->
+			{
+				List<T> decoded = new ArrayList<>(fileList.size());
+				for (CompletableFuture<List<T>> batch : batches)
+				{
+					decoded.addAll(batch.join());
+				}
+				return decoded;
+			});
+	}
+
+	private static <T, R> Supplier<R> supplier(Stage<T, R> stage, T t)
+	{
+		return () -> function(stage).apply(t);
+	}
+
+	private static <T, R> Function<T, R> function(Stage<T, R> stage)
+	{
+		return t ->
+		{
+			try
+			{
+				return stage.apply(t);
+			}
+			catch (IOException ex)
+			{
+				throw new UncheckedIOException(ex);
+			}
+		};
+	}
+
+	private static <T> List<T> join(List<CompletableFuture<T>> futures) throws IOException
+	{
+		List<T> results = new ArrayList<>(futures.size());
+		try
+		{
+			for (CompletableFuture<T> future : futures)
+			{
+				results.add(future.join());
+			}
+		}
+		catch (CompletionException ex)
+		{
+			Throwable cause = ex.getCause();
+			if (cause instanceof UncheckedIOException)
+			{
+				throw ((UncheckedIOException) cause).getCause();
+			}
+			if (cause instanceof RuntimeException)
+			{
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error)
+			{
+				throw (Error) cause;
+			}
+			throw ex;
+		}
+		return results;
+	}
+}
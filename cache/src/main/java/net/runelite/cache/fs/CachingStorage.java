@@ -0,0 +1,295 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.fs;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A storage which keeps recently used decompressed archives in memory.
+ * Archives are keyed by index, archive, and crc, so an archive which has
+ * changed is reloaded rather than served from the cache. The cache is
+ * bounded by the total size of the decompressed data it holds, and evicts
+ * the least recently used archives first.
+ * <p>
+ * Data returned from {@link #loadArchiveDecompressed(Archive, int[])} and
+ * {@link #loadArchiveFiles(Archive)} is shared between callers and must not
+ * be modified.
+ */
+public class CachingStorage implements Storage
+{
+	private static final Logger logger = LoggerFactory.getLogger(CachingStorage.class);
+
+	private static class Entry
+	{
+		private final int crc;
+		private final byte[] data;
+		private ArchiveFiles files;
+
+		private Entry(int crc, byte[] data)
+		{
+			this.crc = crc;
+			this.data = data;
+		}
+
+		private long getWeight()
+		{
+			// split files hold a copy of the decompressed data
+			return files != null ? 2L * data.length : data.length;
+		}
+	}
+
+	private final Storage storage;
+	private final long maxSize;
+	private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+	private long size;
+	private long hits;
+	private long misses;
+	private long evictions;
+
+	/**
+	 * @param storage underlying storage
+	 * @param maxSize maximum size in bytes of decompressed data to cache
+	 */
+	public CachingStorage(Storage storage, long maxSize)
+	{
+		this.storage = storage;
+		this.maxSize = maxSize;
+	}
+
+	@Override
+	public void init(Store store) throws IOException
+	{
+		storage.init(store);
+	}
+
+	@Override
+	public void close() throws IOException
+	{
+		invalidateAll();
+		storage.close();
+	}
+
+	@Override
+	public void load(Store store) throws IOException
+	{
+		storage.load(store);
+	}
+
+	@Override
+	public void save(Store store) throws IOException
+	{
+		storage.save(store);
+	}
+
+	@Override
+	public byte[] load(int index, int archive) throws IOException
+	{
+		return storage.load(index, archive);
+	}
+
+	@Override
+	public void store(int index, int archive, byte[] data) throws IOException
+	{
+		storage.store(index, archive, data);
+		invalidate(index, archive);
+	}
+
+	@Override
+	public void commit(WriteBatch batch) throws IOException
+	{
+		storage.commit(batch);
+		for (WriteBatch.Entry entry : batch.getEntries())
+		{
+			invalidate(entry.getIndex(), entry.getArchive());
+		}
+	}
+
+	@Override
+	public byte[] loadArchiveDecompressed(Archive archive, int[] keys) throws IOException
+	{
+		Entry entry = get(archive);
+		if (entry != null)
+		{
+			return entry.data;
+		}
+
+		byte[] data = storage.loadArchiveDecompressed(archive, keys);
+		if (data != null)
+		{
+			put(archive, new Entry(archive.getCrc(), data));
+		}
+		return data;
+	}
+
+	@Override
+	public ArchiveFiles loadArchiveFiles(Archive archive) throws IOException
+	{
+		Entry entry = get(archive);
+		if (entry != null)
+		{
+			synchronized (this)
+			{
+				if (entry.files != null)
+				{
+					return entry.files;
+				}
+			}
+
+			ArchiveFiles files = archive.loadFiles(entry.data);
+			synchronized (this)
+			{
+				if (entries.get(key(archive)) == entry && entry.files == null)
+				{
+					size -= entry.getWeight();
+					entry.files = files;
+					size += entry.getWeight();
+					evict();
+				}
+			}
+			return files;
+		}
+
+		byte[] data = storage.loadArchiveDecompressed(archive, null);
+		if (data == null)
+		{
+			return null;
+		}
+
+		ArchiveFiles files = archive.loadFiles(data);
+		entry = new Entry(archive.getCrc(), data);
+		entry.files = files;
+		put(archive, entry);
+		return files;
+	}
+
+	/**
+	 * Remove an archive from the cache
+	 *
+	 * @param index index id
+	 * @param archive archive id
+	 */
+	public synchronized void invalidate(int index, int archive)
+	{
+		Entry entry = entries.remove(key(index, archive));
+		if (entry != null)
+		{
+			size -= entry.getWeight();
+		}
+	}
+
+	public synchronized void invalidateAll()
+	{
+		entries.clear();
+		size = 0L;
+	}
+
+	public synchronized long getSize()
+	{
+		return size;
+	}
+
+	public synchronized long getHits()
+	{
+		return hits;
+	}
+
+	public synchronized long getMisses()
+	{
+		return misses;
+	}
+
+	public synchronized long getEvictions()
+	{
+		return evictions;
+	}
+
+	private synchronized Entry get(Archive archive)
+	{
+		long key = key(archive);
+		Entry entry = entries.get(key);
+		if (entry == null)
+		{
+			++misses;
+			return null;
+		}
+
+		if (entry.crc != archive.getCrc())
+		{
+			logger.debug("Archive {}/{} has changed, crc {} != {}",
+				archive.getIndex().getId(), archive.getArchiveId(), entry.crc, archive.getCrc());
+			entries.remove(key);
+			size -= entry.getWeight();
+			++misses;
+			return null;
+		}
+
+		++hits;
+		return entry;
+	}
+
+	private synchronized void put(Archive archive, Entry entry)
+	{
+		if (entry.getWeight() > maxSize)
+		{
+			return;
+		}
+
+		Entry old = entries.put(key(archive), entry);
+		if (old != null)
+		{
+			size -= old.getWeight();
+		}
+		size += entry.getWeight();
+		evict();
+	}
+
+	private void evict()
+	{
+		Iterator<Map.Entry<Long, Entry>> it = entries.entrySet().iterator();
+		while (size > maxSize && it.hasNext())
+		{
+			Entry entry = it.next().getValue();
+			it.remove();
+			size -= entry.getWeight();
+			++evictions;
+		}
+	}
+
+	private static long key(Archive archive)
+	{
+		return key(archive.getIndex().getId(), archive.getArchiveId());
+	}
+
+	private static long key(int index, int archive)
+	{
+		return (long) index << 32 | (archive & 0xFFFFFFFFL);
+	}
+}
@@ -27,8 +27,9 @@ package net.runelite.cache.fs;
 import static com.google.common.primitives.Bytes.concat;
 import com.google.common.primitives.Ints;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 import net.runelite.cache.fs.jagex.CompressionType;
-import net.runelite.cache.io.InputStream;
 import net.runelite.cache.io.OutputStream;
 import net.runelite.cache.util.BZip2;
 import net.runelite.cache.util.Crc32;
@@ -37,6 +38,13 @@ import net.runelite.cache.util.Xtea;
 
 public class Container
 {
+	/**
+	 * largest decompressed length accepted from a container header. The
+	 * length is read before the payload is decompressed, so with wrong
+	 * xtea keys it is garbage, and must be checked before it is allocated.
+	 */
+	private static final int MAX_DECOMPRESSED_LENGTH = 64 * 1024 * 1024;
+
 	public byte[] data;
 	public int compression; // compression
 	public int revision;
@@ -92,63 +100,107 @@ public class Container
 
 	public static Container decompress(byte[] b, int[] keys) throws IOException
 	{
-		InputStream stream = new InputStream(b);
+		if (keys != null)
+		{
+			// decryption is done in place, so leave the caller's data alone
+			b = b.clone();
+		}
+
+		return decompress(b, 0, b.length, keys);
+	}
+
+	/**
+	 * Decompress a container from the buffer's position to its limit. If
+	 * keys are given the container is decrypted in place, modifying the
+	 * contents of the buffer.
+	 *
+	 * @param buffer buffer holding the container
+	 * @param keys xtea keys, or null
+	 * @return the decompressed container
+	 * @throws IOException
+	 */
+	public static Container decompress(ByteBuffer buffer, int[] keys) throws IOException
+	{
+		if (!buffer.hasArray())
+		{
+			byte[] b = new byte[buffer.remaining()];
+			buffer.duplicate().get(b);
+			return decompress(b, 0, b.length, keys);
+		}
+
+		return decompress(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining(), keys);
+	}
+
+	/**
+	 * Compute the crc of a container without decompressing it
+	 *
+	 * @param b container
+	 * @return the crc, as it would be computed by decompressing the container
+	 */
+	public static int crc(byte[] b)
+	{
+		int payloadLength = payloadLength(b, 0, b.length);
+
+		Crc32 crc32 = new Crc32();
+		crc32.update(b, 0, 5 + payloadLength);
+		return crc32.getHash();
+	}
+
+	private static int payloadLength(byte[] b, int off, int len)
+	{
+		if (len < 5)
+		{
+			throw new RuntimeException("Invalid data");
+		}
 
-		int compression = stream.readUnsignedByte();
-		int compressedLength = stream.readInt();
+		int compression = b[off] & 0xFF;
+		int compressedLength = Ints.fromBytes(b[off + 1], b[off + 2], b[off + 3], b[off + 4]);
 		if (compressedLength < 0)
 		{
 			throw new RuntimeException("Invalid data");
 		}
 
+		// compressed containers are prefixed with their decompressed length
+		int payloadLength = compression == CompressionType.NONE ? compressedLength : compressedLength + 4;
+		if (payloadLength > len - 5)
+		{
+			throw new RuntimeException("Invalid data");
+		}
+		return payloadLength;
+	}
+
+	private static Container decompress(byte[] b, int off, int len, int[] keys) throws IOException
+	{
+		int payloadLength = payloadLength(b, off, len);
+		int compression = b[off] & 0xFF;
+		int compressedLength = compression == CompressionType.NONE ? payloadLength : payloadLength - 4;
+		int payload = off + 5;
+
 		Crc32 crc32 = new Crc32();
-		crc32.update(b, 0, 5); // compression + length
+		crc32.update(b, off, 5 + payloadLength); // compression + length + payload
+
+		if (keys != null)
+		{
+			Xtea xtea = new Xtea(keys);
+			xtea.decrypt(b, payload, payloadLength);
+		}
 
 		byte[] data;
 		switch (compression)
 		{
 			case CompressionType.NONE:
-			{
-				byte[] encryptedData = new byte[compressedLength];
-				stream.readBytes(encryptedData, 0, compressedLength);
-
-				crc32.update(encryptedData, 0, compressedLength);
-				byte[] decryptedData = decrypt(encryptedData, encryptedData.length, keys);
-
-				data = decryptedData;
-
+				data = Arrays.copyOfRange(b, payload, payload + compressedLength);
 				break;
-			}
 			case CompressionType.BZ2:
 			{
-				byte[] encryptedData = new byte[compressedLength + 4];
-				stream.readBytes(encryptedData);
-
-				crc32.update(encryptedData, 0, encryptedData.length);
-				byte[] decryptedData = decrypt(encryptedData, encryptedData.length, keys);
-
-				InputStream decryptedStream = new InputStream(decryptedData);
-
-				int decompressedLength = decryptedStream.readInt();
-				data = BZip2.decompress(decryptedStream.getRemaining(), compressedLength);
-				assert data.length == decompressedLength;
-
+				data = new byte[decompressedLength(b, payload)];
+				BZip2.decompress(b, payload + 4, compressedLength, data);
 				break;
 			}
 			case CompressionType.GZ:
 			{
-				byte[] encryptedData = new byte[compressedLength + 4];
-				stream.readBytes(encryptedData);
-
-				crc32.update(encryptedData, 0, encryptedData.length);
-				byte[] decryptedData = decrypt(encryptedData, encryptedData.length, keys);
-
-				InputStream decryptedStream = new InputStream(decryptedData);
-
-				int decompressedLength = decryptedStream.readInt();
-				data = GZip.decompress(decryptedStream.getRemaining(), compressedLength);
-				assert data.length == decompressedLength;
-
+				data = new byte[decompressedLength(b, payload)];
+				GZip.decompress(b, payload + 4, compressedLength, data);
 				break;
 			}
 			default:
@@ -156,13 +208,15 @@ public class Container
 		}
 
 		int revision = -1;
-		if (stream.remaining() >= 4)
+		int pos = payload + payloadLength;
+		int remaining = len - 5 - payloadLength;
+		if (remaining >= 4)
 		{
-			revision = stream.readInt();
+			revision = Ints.fromBytes(b[pos], b[pos + 1], b[pos + 2], b[pos + 3]);
 		}
-		else if (stream.remaining() >= 2)
+		else if (remaining >= 2)
 		{
-			revision = stream.readUnsignedShort();
+			revision = ((b[pos] & 0xFF) << 8) | (b[pos + 1] & 0xFF);
 		}
 
 		Container container = new Container(compression, revision);
@@ -171,15 +225,14 @@ public class Container
 		return container;
 	}
 
-	private static byte[] decrypt(byte[] data, int length, int[] keys)
+	private static int decompressedLength(byte[] b, int payload) throws IOException
 	{
-		if (keys == null)
+		int decompressedLength = Ints.fromBytes(b[payload], b[payload + 1], b[payload + 2], b[payload + 3]);
+		if (decompressedLength < 0 || decompressedLength > MAX_DECOMPRESSED_LENGTH)
 		{
-			return data;
+			throw new IOException("Invalid decompressed length " + decompressedLength);
 		}
-
-		Xtea xtea = new Xtea(keys);
-		return xtea.decrypt(data, length);
+		return decompressedLength;
 	}
 
 	private static byte[] encrypt(byte[] data, int length, int[] keys)
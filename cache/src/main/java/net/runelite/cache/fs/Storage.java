@@ -46,8 +46,59 @@ public interface Storage extends AutoCloseable
 		return load(archive.getIndex().getId(), archive.getArchiveId());
 	}
 
+	/**
+	 * Load and decompress an archive
+	 *
+	 * @param archive archive
+	 * @param keys xtea keys, or null
+	 * @return the decompressed archive data, which must not be modified
+	 * @throws IOException
+	 */
+	default byte[] loadArchiveDecompressed(Archive archive, int[] keys) throws IOException
+	{
+		return archive.decompress(loadArchive(archive), keys);
+	}
+
+	/**
+	 * Load, decompress, and split an archive into its files
+	 *
+	 * @param archive archive
+	 * @return the archive files, which must not be modified
+	 * @throws IOException
+	 */
+	default ArchiveFiles loadArchiveFiles(Archive archive) throws IOException
+	{
+		return archive.getFiles(loadArchive(archive));
+	}
+
 	default void saveArchive(Archive archive, byte[] data) throws IOException
 	{
 		store(archive.getIndex().getId(), archive.getArchiveId(), data);
 	}
+
+	/**
+	 * Start a batch of archive writes, which are written by
+	 * {@link WriteBatch#commit()}
+	 *
+	 * @return a new, empty batch
+	 */
+	default WriteBatch batch()
+	{
+		return new WriteBatch(this);
+	}
+
+	/**
+	 * Write a batch of archives. Storages which can write many archives
+	 * more efficiently than one at a time should override this.
+	 *
+	 * @param batch batch to write
+	 * @throws IOException
+	 */
+	default void commit(WriteBatch batch) throws IOException
+	{
+		for (WriteBatch.Entry entry : batch.getEntries())
+		{
+			store(entry.getIndex(), entry.getArchive(), entry.getData());
+		}
+	}
 }
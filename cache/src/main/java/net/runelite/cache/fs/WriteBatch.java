@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.fs;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.Value;
+
+/**
+ * A set of archives to be written to a {@link Storage} together. Archives
+ * are only staged in memory until {@link #commit()}, which lets storages
+ * lay out and write the whole batch at once. Staging the same archive
+ * twice keeps only the last data.
+ */
+public class WriteBatch
+{
+	@Value
+	public static class Entry
+	{
+		private final int index;
+		private final int archive;
+		private final byte[] data;
+	}
+
+	private final Storage storage;
+	private final Map<Long, Entry> entries = new LinkedHashMap<>();
+
+	/**
+	 * Whether the storage should flush the written data to the device
+	 * before {@link #commit()} returns.
+	 */
+	@Getter
+	@Setter
+	private boolean force;
+
+	public WriteBatch(Storage storage)
+	{
+		this.storage = storage;
+	}
+
+	public void store(int index, int archive, byte[] data)
+	{
+		entries.put((long) index << 32 | archive, new Entry(index, archive, data));
+	}
+
+	public void saveArchive(Archive archive, byte[] data)
+	{
+		store(archive.getIndex().getId(), archive.getArchiveId(), data);
+	}
+
+	public List<Entry> getEntries()
+	{
+		return new ArrayList<>(entries.values());
+	}
+
+	public int size()
+	{
+		return entries.size();
+	}
+
+	/**
+	 * Write all staged archives to the storage and clear the batch.
+	 *
+	 * @throws IOException
+	 */
+	public void commit() throws IOException
+	{
+		storage.commit(this);
+		entries.clear();
+	}
+}
@@ -0,0 +1,283 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.fs.flat;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import net.runelite.cache.fs.Archive;
+import net.runelite.cache.fs.ArchivePipeline;
+import net.runelite.cache.fs.Index;
+import net.runelite.cache.fs.Storage;
+import net.runelite.cache.fs.Store;
+import net.runelite.cache.index.FileData;
+
+/**
+ * A binary companion to {@link FlatStorage}. It holds exactly the same
+ * information as the text format, one file per index, but each archive is a
+ * length-prefixed header block followed by its raw contents, so the files
+ * can be memory mapped and archives are served from the mapping without
+ * parsing or decoding. The output only depends on the contents of the
+ * store, so unchanged indexes produce byte-identical files.
+ * <p>
+ * The layout of an index file, all big endian, is:
+ * <pre>
+ * int magic, int version
+ * int protocol, int revision, int compression, int crc, byte named
+ * int archive count
+ * for each archive:
+ *   int header length
+ *   int id, int name hash, int revision, int crc, int compression
+ *   int contents length, or -1 if there are no contents
+ *   int file count, then for each file: int id, int name hash
+ *   contents
+ * </pre>
+ */
+public class BinaryFlatStorage implements Storage
+{
+	static final String EXTENSION = ".flatcacheb";
+
+	private static final int MAGIC = 0x524c4642; // RLFB
+	private static final int VERSION = 1;
+
+	private final File directory;
+	private final Map<Long, ByteBuffer> data = new ConcurrentHashMap<>();
+
+	public BinaryFlatStorage(File directory)
+	{
+		this.directory = directory;
+	}
+
+	@Override
+	public void init(Store store) throws IOException
+	{
+		String[] idxs = directory.list((dir, name) -> name.endsWith(EXTENSION));
+		if (idxs == null)
+		{
+			throw new IOException("unable to list " + directory);
+		}
+
+		for (String idx : idxs)
+		{
+			int id = Integer.parseInt(idx.substring(0, idx.length() - EXTENSION.length()));
+			store.addIndex(id);
+		}
+	}
+
+	@Override
+	public void close() throws IOException
+	{
+		data.clear();
+	}
+
+	@Override
+	public void load(Store store) throws IOException
+	{
+		// each index is its own file, so they are loaded in parallel
+		new ArchivePipeline(this).map(store.getIndexes(), idx ->
+		{
+			loadIndex(idx);
+			return null;
+		});
+	}
+
+	private void loadIndex(Index idx) throws IOException
+	{
+		String file = idx.getId() + EXTENSION;
+		ByteBuffer buf;
+		try (FileChannel channel = FileChannel.open(new File(directory, file).toPath(), StandardOpenOption.READ))
+		{
+			buf = channel.map(FileChannel.MapMode.READ_ONLY, 0L, channel.size());
+		}
+
+		try
+		{
+			if (buf.getInt() != MAGIC)
+			{
+				throw new IOException("not a binary flatcache");
+			}
+
+			int version = buf.getInt();
+			if (version != VERSION)
+			{
+				throw new IOException("unsupported version " + version);
+			}
+
+			idx.setProtocol(buf.getInt());
+			idx.setRevision(buf.getInt());
+			idx.setCompression(buf.getInt());
+			idx.setCrc(buf.getInt());
+			idx.setNamed(buf.get() != 0);
+
+			int archiveCount = buf.getInt();
+			for (int i = 0; i < archiveCount; ++i)
+			{
+				int headerLength = buf.getInt();
+				int headerEnd = buf.position() + headerLength;
+
+				Archive archive = idx.addArchive(buf.getInt());
+				archive.setNameHash(buf.getInt());
+				archive.setRevision(buf.getInt());
+				archive.setCrc(buf.getInt());
+				archive.setCompression(buf.getInt());
+				int contentsLength = buf.getInt();
+
+				int fileCount = buf.getInt();
+				if (fileCount > 0)
+				{
+					FileData[] fileData = new FileData[fileCount];
+					for (int j = 0; j < fileCount; ++j)
+					{
+						FileData fd = new FileData();
+						fd.setId(buf.getInt());
+						fd.setNameHash(buf.getInt());
+						fileData[j] = fd;
+					}
+					archive.setFileData(fileData);
+				}
+
+				if (buf.position() != headerEnd)
+				{
+					throw new IOException("header length mismatch for archive " + archive.getArchiveId());
+				}
+
+				if (contentsLength >= 0)
+				{
+					ByteBuffer contents = buf.slice();
+					contents.limit(contentsLength);
+					buf.position(buf.position() + contentsLength);
+					data.put((long) idx.getId() << 32 | archive.getArchiveId(), contents);
+				}
+			}
+
+			if (buf.hasRemaining())
+			{
+				throw new IOException("trailing data");
+			}
+		}
+		catch (BufferUnderflowException | IllegalArgumentException ex)
+		{
+			throw new IOException("error reading binary flatcache " + file, ex);
+		}
+	}
+
+	@Override
+	public void save(Store store) throws IOException
+	{
+		store.getIndexes().sort(Comparator.comparingInt(Index::getId));
+		for (Index idx : store.getIndexes())
+		{
+			saveIndex(store.getStorage(), idx);
+		}
+	}
+
+	private void saveIndex(Storage storage, Index idx) throws IOException
+	{
+		File file = new File(directory, idx.getId() + EXTENSION);
+		// the current file may be mapped, so write a new file and move it into place
+		File tmp = new File(directory, idx.getId() + EXTENSION + ".tmp");
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp))))
+		{
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeInt(idx.getProtocol());
+			out.writeInt(idx.getRevision());
+			out.writeInt(idx.getCompression());
+			out.writeInt(idx.getCrc());
+			out.writeBoolean(idx.isNamed());
+
+			List<Archive> archives = new ArrayList<>(idx.getArchives());
+			out.writeInt(archives.size());
+
+			ByteArrayOutputStream headerBytes = new ByteArrayOutputStream();
+			DataOutputStream header = new DataOutputStream(headerBytes);
+			for (Archive archive : archives)
+			{
+				byte[] contents = storage.loadArchive(archive);
+				FileData[] fileData = archive.getFileData();
+
+				headerBytes.reset();
+				header.writeInt(archive.getArchiveId());
+				header.writeInt(archive.getNameHash());
+				header.writeInt(archive.getRevision());
+				header.writeInt(archive.getCrc());
+				header.writeInt(archive.getCompression());
+				header.writeInt(contents != null ? contents.length : -1);
+				header.writeInt(fileData != null ? fileData.length : 0);
+				if (fileData != null)
+				{
+					for (FileData fd : fileData)
+					{
+						header.writeInt(fd.getId());
+						header.writeInt(fd.getNameHash());
+					}
+				}
+
+				out.writeInt(headerBytes.size());
+				headerBytes.writeTo(out);
+				if (contents != null)
+				{
+					out.write(contents);
+				}
+			}
+		}
+
+		Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	@Override
+	public byte[] load(int index, int archive)
+	{
+		ByteBuffer contents = data.get((long) index << 32 | archive);
+		if (contents == null)
+		{
+			return null;
+		}
+
+		byte[] bytes = new byte[contents.remaining()];
+		contents.duplicate().get(bytes);
+		return bytes;
+	}
+
+	@Override
+	public void store(int index, int archive, byte[] bytes)
+	{
+		data.put((long) index << 32 | archive, ByteBuffer.wrap(bytes));
+	}
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.fs.flat;
+
+import java.io.File;
+import java.io.IOException;
+import net.runelite.cache.fs.Storage;
+import net.runelite.cache.fs.Store;
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.CommandLineParser;
+import org.apache.commons.cli.DefaultParser;
+import org.apache.commons.cli.Options;
+import org.apache.commons.cli.ParseException;
+
+/**
+ * Converts flat caches between the text format of {@link FlatStorage} and
+ * the binary format of {@link BinaryFlatStorage}. Both formats hold the
+ * same information, so converting to the other format and back produces
+ * identical files.
+ */
+public class FlatCacheConverter
+{
+	private FlatCacheConverter()
+	{
+	}
+
+	public static void toBinary(File textDirectory, File binaryDirectory) throws IOException
+	{
+		convert(new FlatStorage(textDirectory), new BinaryFlatStorage(binaryDirectory));
+	}
+
+	public static void toText(File binaryDirectory, File textDirectory) throws IOException
+	{
+		convert(new BinaryFlatStorage(binaryDirectory), new FlatStorage(textDirectory));
+	}
+
+	private static void convert(Storage from, Storage to) throws IOException
+	{
+		try (Store store = new Store(from))
+		{
+			store.load();
+			to.save(store);
+		}
+	}
+
+	public static void main(String[] args) throws IOException
+	{
+		Options options = new Options();
+
+		options.addOption(null, "binary", false, "convert a text flat cache to binary");
+		options.addOption(null, "text", false, "convert a binary flat cache to text");
+
+		CommandLineParser parser = new DefaultParser();
+		CommandLine cmd;
+		try
+		{
+			cmd = parser.parse(options, args);
+		}
+		catch (ParseException ex)
+		{
+			System.err.println("Error parsing command line options: " + ex.getMessage());
+			System.exit(-1);
+			return;
+		}
+
+		String[] dirs = cmd.getArgs();
+		if (dirs.length != 2 || cmd.hasOption("binary") == cmd.hasOption("text"))
+		{
+			System.err.println("usage: FlatCacheConverter --binary|--text <from> <to>");
+			System.exit(-1);
+			return;
+		}
+
+		File from = new File(dirs[0]);
+		File to = new File(dirs[1]);
+		to.mkdirs();
+		if (cmd.hasOption("binary"))
+		{
+			toBinary(from, to);
+		}
+		else
+		{
+			toText(from, to);
+		}
+	}
+}
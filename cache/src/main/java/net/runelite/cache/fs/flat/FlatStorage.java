@@ -37,10 +37,11 @@ import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Base64;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import net.runelite.cache.fs.Archive;
+import net.runelite.cache.fs.ArchivePipeline;
 import net.runelite.cache.fs.Index;
 import net.runelite.cache.fs.Storage;
 import net.runelite.cache.fs.Store;
@@ -55,7 +56,7 @@ public class FlatStorage implements Storage
 	protected static final String EXTENSION = ".flatcache";
 
 	private final File directory;
-	private final Map<Long, byte[]> data = new HashMap<>();
+	private final Map<Long, byte[]> data = new ConcurrentHashMap<>();
 
 	public FlatStorage(File directory) throws IOException
 	{
@@ -101,106 +102,113 @@ public class FlatStorage implements Storage
 	@Override
 	public void load(Store store) throws IOException
 	{
-		for (Index idx : store.getIndexes())
+		// each index is its own file, so they are loaded in parallel
+		new ArchivePipeline(this).map(store.getIndexes(), idx ->
 		{
-			String file = idx.getId() + EXTENSION;
-			try (BufferedReader br = new BufferedReader(new InputStreamReader(openReader(file), StandardCharsets.UTF_8)))
+			loadIndex(idx);
+			return null;
+		});
+	}
+
+	private void loadIndex(Index idx) throws IOException
+	{
+		String file = idx.getId() + EXTENSION;
+		try (BufferedReader br = new BufferedReader(new InputStreamReader(openReader(file), StandardCharsets.UTF_8)))
+		{
+			int lineNo = 0;
+			Archive archive = null;
+			List<FileData> fileData = null;
+			for (String line = br.readLine(); line != null; line = br.readLine())
 			{
-				int lineNo = 0;
-				Archive archive = null;
-				List<FileData> fileData = null;
-				for (String line = br.readLine(); line != null; line = br.readLine())
+				lineNo++;
+
+				try
 				{
-					lineNo++;
+					int lidx = line.indexOf('=');
+					String key = line.substring(0, lidx);
+					String value = line.substring(lidx + 1);
 
-					try
+					if ("file".equals(key))
 					{
-						int lidx = line.indexOf('=');
-						String key = line.substring(0, lidx);
-						String value = line.substring(lidx + 1);
-
-						if ("file".equals(key))
-						{
-							if (fileData == null)
-							{
-								fileData = new ArrayList<>();
-							}
-
-							int vidx = value.indexOf('=');
-							FileData fd = new FileData();
-							fd.setId(Integer.parseInt(value.substring(0, vidx)));
-							fd.setNameHash(Integer.parseInt(value.substring(vidx + 1)));
-							fileData.add(fd);
-							continue;
-						}
-						else if (fileData != null)
+						if (fileData == null)
 						{
-							archive.setFileData(fileData.toArray(new FileData[0]));
-							fileData = null;
+							fileData = new ArrayList<>();
 						}
 
-						if ("id".equals(key))
-						{
-							archive = idx.addArchive(Integer.parseInt(value));
-							continue;
-						}
+						int vidx = value.indexOf('=');
+						FileData fd = new FileData();
+						fd.setId(Integer.parseInt(value.substring(0, vidx)));
+						fd.setNameHash(Integer.parseInt(value.substring(vidx + 1)));
+						fileData.add(fd);
+						continue;
+					}
+					else if (fileData != null)
+					{
+						archive.setFileData(fileData.toArray(new FileData[0]));
+						fileData = null;
+					}
 
-						if (archive == null)
-						{
-							switch (key)
-							{
-								case "protocol":
-									idx.setProtocol(Integer.parseInt(value));
-									continue;
-								case "revision":
-									idx.setRevision(Integer.parseInt(value));
-									continue;
-								case "compression":
-									idx.setCompression(Integer.parseInt(value));
-									continue;
-								case "crc":
-									idx.setCrc(Integer.parseInt(value));
-									continue;
-								case "named":
-									idx.setNamed(Boolean.parseBoolean(value));
-									continue;
-							}
-						}
-						else
+					if ("id".equals(key))
+					{
+						archive = idx.addArchive(Integer.parseInt(value));
+						continue;
+					}
+
+					if (archive == null)
+					{
+						switch (key)
 						{
-							switch (key)
-							{
-								case "namehash":
-									archive.setNameHash(Integer.parseInt(value));
-									continue;
-								case "revision":
-									archive.setRevision(Integer.parseInt(value));
-									continue;
-								case "crc":
-									archive.setCrc(Integer.parseInt(value));
-									continue;
-								case "compression":
-									archive.setCompression(Integer.parseInt(value));
-									continue;
-								case "contents":
-									data.put((long) idx.getId() << 32 | archive.getArchiveId(), Base64.getDecoder().decode(value));
-									continue;
-							}
+							case "protocol":
+								idx.setProtocol(Integer.parseInt(value));
+								continue;
+							case "revision":
+								idx.setRevision(Integer.parseInt(value));
+								continue;
+							case "compression":
+								idx.setCompression(Integer.parseInt(value));
+								continue;
+							case "crc":
+								idx.setCrc(Integer.parseInt(value));
+								continue;
+							case "named":
+								idx.setNamed(Boolean.parseBoolean(value));
+								continue;
 						}
-						throw new IOException("unknown key: \"" + key + "\"");
 					}
-					catch (Exception e)
+					else
 					{
-						throw new IOException("error reading flatcache at " + file + ":" + lineNo, e);
+						switch (key)
+						{
+							case "namehash":
+								archive.setNameHash(Integer.parseInt(value));
+								continue;
+							case "revision":
+								archive.setRevision(Integer.parseInt(value));
+								continue;
+							case "crc":
+								archive.setCrc(Integer.parseInt(value));
+								continue;
+							case "compression":
+								archive.setCompression(Integer.parseInt(value));
+								continue;
+							case "contents":
+								data.put((long) idx.getId() << 32 | archive.getArchiveId(), Base64.getDecoder().decode(value));
+								continue;
+						}
 					}
+					throw new IOException("unknown key: \"" + key + "\"");
 				}
-
-				if (fileData != null)
+				catch (Exception e)
 				{
-					archive.setFileData(fileData.toArray(new FileData[0]));
-					fileData = null;
+					throw new IOException("error reading flatcache at " + file + ":" + lineNo, e);
 				}
 			}
+
+			if (fileData != null)
+			{
+				archive.setFileData(fileData.toArray(new FileData[0]));
+				fileData = null;
+			}
 		}
 	}
 
@@ -0,0 +1,281 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.fs.jagex;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Rewrites the data file of a cache so that every live archive occupies a
+ * contiguous run of sectors, laid out in index/archive order, and any dead
+ * sectors are dropped.
+ * <p>
+ * The compacted data and idx files are written next to the originals with a
+ * {@code .compact} suffix and synced. A commit marker is then atomically
+ * renamed into place, after which each compacted file is atomically renamed
+ * over its original. If the process dies after the marker exists, the
+ * renames are finished by {@link #recover(File)} the next time the cache is
+ * opened; if it dies before, the partial files are discarded and the cache
+ * is left untouched.
+ */
+public class CacheCompactor
+{
+	private static final Logger logger = LoggerFactory.getLogger(CacheCompactor.class);
+
+	private static final String MAIN_FILE_CACHE_DAT = "main_file_cache.dat2";
+	private static final String MAIN_FILE_CACHE_IDX = "main_file_cache.idx";
+	private static final String COMPACT_SUFFIX = ".compact";
+	private static final String COMMIT_MARKER = "main_file_cache.compact";
+	private static final String LOCK_FILE = "main_file_cache.lock";
+
+	private CacheCompactor()
+	{
+	}
+
+	/**
+	 * Compact the cache in the given folder. The cache must not be open.
+	 * The cache lock is held for the whole compaction, so that caches
+	 * opened meanwhile leave its files alone.
+	 *
+	 * @param folder cache folder
+	 * @throws IOException
+	 */
+	public static void compact(File folder) throws IOException
+	{
+		try (FileChannel lock = lock(folder))
+		{
+			compactLocked(folder);
+		}
+	}
+
+	private static void compactLocked(File folder) throws IOException
+	{
+		recover(folder);
+
+		File datFile = new File(folder, MAIN_FILE_CACHE_DAT);
+		List<Integer> indexIds = new ArrayList<>();
+		// index 255 is read first when opening a cache, so it goes first
+		indexIds.add(255);
+		for (int i = 0; i < 255; ++i)
+		{
+			if (new File(folder, MAIN_FILE_CACHE_IDX + i).exists())
+			{
+				indexIds.add(i);
+			}
+		}
+
+		long oldLength = datFile.length();
+		try (DataFile data = new DataFile(datFile);
+			DataFile compactData = new DataFile(compactFile(datFile)))
+		{
+			compactData.clear();
+
+			for (int indexId : indexIds)
+			{
+				File idxFile = new File(folder, MAIN_FILE_CACHE_IDX + indexId);
+				try (IndexFile index = new IndexFile(indexId, idxFile);
+					IndexFile compactIndex = new IndexFile(indexId, compactFile(idxFile)))
+				{
+					compactIndex.clear();
+					compactIndex(data, index, compactData, compactIndex);
+					compactIndex.force();
+				}
+			}
+
+			compactData.force();
+		}
+
+		commit(folder);
+
+		logger.info("Compacted {} from {} to {} bytes", datFile, oldLength, datFile.length());
+	}
+
+	private static void compactIndex(DataFile data, IndexFile index, DataFile compactData, IndexFile compactIndex) throws IOException
+	{
+		int indexId = index.getIndexFileId();
+		int count = index.getIndexCount();
+		for (int archiveId = 0; archiveId < count; ++archiveId)
+		{
+			IndexEntry entry = index.read(archiveId);
+			byte[] archiveData = entry != null
+				? data.read(indexId, archiveId, entry.getSector(), entry.getLength())
+				: null;
+
+			if (archiveData == null)
+			{
+				if (entry != null)
+				{
+					logger.warn("Dropping unreadable archive {}/{}", indexId, archiveId);
+				}
+
+				// keep the idx file the same length
+				compactIndex.write(new IndexEntry(compactIndex, archiveId, 0, 0));
+				continue;
+			}
+
+			DataFileWriteResult res = compactData.write(indexId, archiveId, archiveData);
+			compactIndex.write(new IndexEntry(compactIndex, archiveId, res.sector, res.compressedLength));
+		}
+	}
+
+	/**
+	 * Take the exclusive lock held while the cache files in the given
+	 * folder are being replaced. The lock is released by closing the
+	 * returned channel. It is not reentrant.
+	 *
+	 * @param folder cache folder
+	 * @return channel of the lock file, holding the lock
+	 * @throws IOException
+	 */
+	static FileChannel lock(File folder) throws IOException
+	{
+		FileChannel channel = FileChannel.open(new File(folder, LOCK_FILE).toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+		try
+		{
+			channel.lock();
+			return channel;
+		}
+		catch (IOException | RuntimeException ex)
+		{
+			channel.close();
+			throw ex;
+		}
+	}
+
+	/**
+	 * Finish or roll back an interrupted compaction of the cache in the
+	 * given folder, unless a compaction is running right now. A running
+	 * compaction holds the cache lock, and its files are left alone.
+	 *
+	 * @param folder cache folder
+	 * @throws IOException
+	 */
+	public static void recoverIfIdle(File folder) throws IOException
+	{
+		File[] files = folder.listFiles((dir, name) -> name.startsWith("main_file_cache.")
+			&& (name.endsWith(COMPACT_SUFFIX) || name.endsWith(COMPACT_SUFFIX + ".tmp")));
+		if (files == null || files.length == 0)
+		{
+			return;
+		}
+
+		try (FileChannel channel = FileChannel.open(new File(folder, LOCK_FILE).toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE))
+		{
+			FileLock lock;
+			try
+			{
+				lock = channel.tryLock();
+			}
+			catch (OverlappingFileLockException ex)
+			{
+				// held by another thread of this process
+				lock = null;
+			}
+
+			if (lock == null)
+			{
+				logger.debug("A compaction of {} is in progress, not recovering", folder);
+				return;
+			}
+
+			recover(folder);
+		}
+	}
+
+	/**
+	 * Finish or roll back an interrupted compaction of the cache in the
+	 * given folder. This must be called before the cache files are opened,
+	 * and only when no compaction is running; see {@link #recoverIfIdle(File)}.
+	 *
+	 * @param folder cache folder
+	 * @throws IOException
+	 */
+	public static void recover(File folder) throws IOException
+	{
+		File[] compactFiles = folder.listFiles((dir, name) -> name.startsWith("main_file_cache.") && name.endsWith(COMPACT_SUFFIX) && !name.equals(COMMIT_MARKER));
+		File marker = new File(folder, COMMIT_MARKER);
+		if (compactFiles == null)
+		{
+			return;
+		}
+
+		if (!marker.exists())
+		{
+			for (File file : compactFiles)
+			{
+				logger.info("Discarding incomplete compaction file {}", file);
+				Files.delete(file.toPath());
+			}
+			Files.deleteIfExists(new File(folder, COMMIT_MARKER + ".tmp").toPath());
+			return;
+		}
+
+		for (File file : compactFiles)
+		{
+			String name = file.getName();
+			File target = new File(folder, name.substring(0, name.length() - COMPACT_SUFFIX.length()));
+			Files.move(file.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+
+		Files.delete(marker.toPath());
+	}
+
+	/**
+	 * Atomically replace the cache files in the given folder with every
+	 * file written to {@link #compactFile(File)}. The replacement files
+	 * must already be synced.
+	 *
+	 * @param folder cache folder
+	 * @throws IOException
+	 */
+	static void commit(File folder) throws IOException
+	{
+		File marker = new File(folder, COMMIT_MARKER);
+		File markerTmp = new File(folder, COMMIT_MARKER + ".tmp");
+		try (FileOutputStream out = new FileOutputStream(markerTmp))
+		{
+			out.getFD().sync();
+		}
+		Files.move(markerTmp.toPath(), marker.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+		recover(folder);
+	}
+
+	static File compactFile(File file)
+	{
+		return new File(file.getParentFile(), file.getName() + COMPACT_SUFFIX);
+	}
+}
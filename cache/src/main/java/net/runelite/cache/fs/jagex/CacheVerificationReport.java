@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.fs.jagex;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import java.util.List;
+import lombok.Value;
+
+/**
+ * The result of verifying, and optionally repairing, a cache with
+ * {@link CacheVerifier}
+ */
+@Value
+public class CacheVerificationReport
+{
+	private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+	public enum ProblemType
+	{
+		/**
+		 * the archive is in the reference table but has no idx entry
+		 */
+		MISSING,
+		/**
+		 * the sector chain ends early or runs past the end of the data file
+		 */
+		TRUNCATED,
+		/**
+		 * a sector in the chain belongs to another archive, or the
+		 * container header is invalid
+		 */
+		CORRUPTED,
+		/**
+		 * the container does not have the crc in the reference table
+		 */
+		CRC_MISMATCH,
+		/**
+		 * the container does not decompress to the size in the reference table
+		 */
+		SIZE_MISMATCH,
+		/**
+		 * the container can not be decompressed
+		 */
+		DECOMPRESSION_FAILED,
+		/**
+		 * the archive has an idx entry but is not in the reference table
+		 */
+		ORPHANED
+	}
+
+	@Value
+	public static class Problem
+	{
+		private final ProblemType type;
+		private final int index;
+		private final int archive;
+		private final String detail;
+	}
+
+	/**
+	 * An idx entry which was rewritten by a repair. A sector and length of
+	 * 0 mean there was, or is, no entry.
+	 */
+	@Value
+	public static class Repair
+	{
+		private final int index;
+		private final int archive;
+		private final int oldSector;
+		private final int oldLength;
+		private final int newSector;
+		private final int newLength;
+	}
+
+	/**
+	 * number of archives which were read and had their crc checked
+	 */
+	private final int archivesChecked;
+	/**
+	 * number of encrypted archives which were not decompressed, because no
+	 * key was known for them
+	 */
+	private final int archivesSkipped;
+	private final List<Problem> problems;
+	private final List<Repair> repairs;
+
+	public boolean isOk()
+	{
+		return problems.isEmpty();
+	}
+
+	public String toJson()
+	{
+		return GSON.toJson(this);
+	}
+}
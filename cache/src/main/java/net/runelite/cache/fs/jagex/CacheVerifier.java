@@ -0,0 +1,855 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.fs.jagex;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+import lombok.Setter;
+import net.runelite.cache.IndexType;
+import net.runelite.cache.fs.Container;
+import net.runelite.cache.fs.jagex.CacheVerificationReport.Problem;
+import net.runelite.cache.fs.jagex.CacheVerificationReport.ProblemType;
+import net.runelite.cache.fs.jagex.CacheVerificationReport.Repair;
+import net.runelite.cache.index.ArchiveData;
+import net.runelite.cache.index.IndexData;
+import net.runelite.cache.util.BoundedExecutor;
+import net.runelite.cache.util.Djb2;
+import net.runelite.cache.util.KeyProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Checks that a cache on disk is internally consistent. For every archive
+ * in the reference tables in idx255 the verifier checks that:
+ * <ul>
+ * <li>the archive has an idx entry</li>
+ * <li>every sector in its chain is in the data file and has the expected
+ * index, archive and part in its header</li>
+ * <li>the container has the crc from the reference table</li>
+ * <li>the container decompresses, to the size in the reference table if
+ * the index is sized</li>
+ * </ul>
+ * Idx entries for archives which are not in a reference table are reported
+ * as orphaned. Archives are read straight from the cache files, so the
+ * cache must not be written to while it is verified, and are verified in
+ * parallel with a bounded number in memory at once. Verifying opens the
+ * cache files read only and never changes them; in particular an
+ * interrupted compaction is left for {@link #repair()} or the next open
+ * to finish.
+ * <p>
+ * Encrypted landscape archives are only decompressed if a
+ * {@link KeyProvider} with their key is set.
+ */
+public class CacheVerifier
+{
+	private static final Logger logger = LoggerFactory.getLogger(CacheVerifier.class);
+
+	private static final String MAIN_FILE_CACHE_DAT = "main_file_cache.dat2";
+	private static final String MAIN_FILE_CACHE_IDX = "main_file_cache.idx";
+
+	private static final int SECTOR_SIZE = 520;
+	// number of sectors read at once when scanning the data file
+	private static final int SCAN_SECTORS = 2048;
+	// largest decompressed reference table accepted
+	private static final int MAX_TABLE_LENGTH = 16 * 1024 * 1024;
+
+	private final File folder;
+
+	@Setter
+	private KeyProvider keyProvider;
+
+	public CacheVerifier(File folder)
+	{
+		this.folder = folder;
+	}
+
+	public CacheVerificationReport verify() throws IOException
+	{
+		ForkJoinPool pool = ForkJoinPool.commonPool();
+		return verify(pool, pool.getParallelism() * 2);
+	}
+
+	/**
+	 * Verify the cache
+	 *
+	 * @param executor executor to verify archives on
+	 * @param inFlight maximum number of archives being verified at once
+	 * @return the problems found
+	 * @throws IOException
+	 */
+	public CacheVerificationReport verify(Executor executor, int inFlight) throws IOException
+	{
+		return verify(executor, inFlight, Collections.emptyList());
+	}
+
+	public CacheVerificationReport repair() throws IOException
+	{
+		ForkJoinPool pool = ForkJoinPool.commonPool();
+		return repair(pool, pool.getParallelism() * 2);
+	}
+
+	/**
+	 * Rebuild the idx files with {@link #rebuildIndexes()}, and then verify
+	 * the cache
+	 *
+	 * @param executor executor to verify archives on
+	 * @param inFlight maximum number of archives being verified at once
+	 * @return the repairs made and the problems which remain
+	 * @throws IOException
+	 */
+	public CacheVerificationReport repair(Executor executor, int inFlight) throws IOException
+	{
+		List<Repair> repairs = rebuildIndexes();
+		return verify(executor, inFlight, repairs);
+	}
+
+	private CacheVerificationReport verify(Executor executor, int inFlight, List<Repair> repairs) throws IOException
+	{
+		File datFile = new File(folder, MAIN_FILE_CACHE_DAT);
+		File idx255File = idxFile(255);
+		if (!datFile.exists() || !idx255File.exists())
+		{
+			throw new FileNotFoundException("No cache in " + folder);
+		}
+
+		Queue<Problem> problems = new ConcurrentLinkedQueue<>();
+		AtomicInteger checked = new AtomicInteger();
+		AtomicInteger skipped = new AtomicInteger();
+		List<IndexFile> indexFiles = new ArrayList<>();
+
+		try (FileChannel dat = FileChannel.open(datFile.toPath(), StandardOpenOption.READ))
+		{
+			long length = dat.size();
+			IndexFile index255 = IndexFile.openReadOnly(255, idx255File);
+			indexFiles.add(index255);
+
+			// every other check needs the reference tables, so they are read first
+			Map<Integer, IndexData> tables = new TreeMap<>();
+			for (int i = 0; i < index255.getIndexCount(); ++i)
+			{
+				IndexEntry entry = index255.read(i);
+				if (entry == null)
+				{
+					if (idxFile(i).exists())
+					{
+						problems.add(new Problem(ProblemType.MISSING, 255, i, "no reference table for index " + i));
+					}
+					continue;
+				}
+
+				byte[] b = read(dat, length, 255, entry, problems);
+				if (b == null)
+				{
+					continue;
+				}
+
+				checked.incrementAndGet();
+				try
+				{
+					tables.put(i, loadTable(b));
+				}
+				catch (IOException | RuntimeException ex)
+				{
+					problems.add(new Problem(ProblemType.DECOMPRESSION_FAILED, 255, i, String.valueOf(ex.getMessage())));
+				}
+			}
+
+			BoundedExecutor tasks = new BoundedExecutor(executor, inFlight);
+			try
+			{
+				for (int i = 0; i < 255 && !tasks.hasFailed(); ++i)
+				{
+					IndexData table = tables.get(i);
+					File file = idxFile(i);
+					if (!file.exists())
+					{
+						if (table != null)
+						{
+							for (ArchiveData ad : table.getArchives())
+							{
+								problems.add(new Problem(ProblemType.MISSING, i, ad.getId(), "idx file is missing"));
+							}
+						}
+						continue;
+					}
+
+					IndexFile indexFile = IndexFile.openReadOnly(i, file);
+					indexFiles.add(indexFile);
+					findOrphans(indexFile, table, problems);
+					if (table == null)
+					{
+						continue;
+					}
+
+					Map<Integer, Integer> landscapes = i == IndexType.MAPS.getNumber() && table.isNamed()
+						? landscapeRegions()
+						: Collections.emptyMap();
+
+					for (ArchiveData ad : table.getArchives())
+					{
+						Integer region = landscapes.get(ad.getNameHash());
+						if (!tasks.submit(() -> verifyArchive(dat, length, indexFile, table, ad, region, problems, checked, skipped)))
+						{
+							break;
+						}
+					}
+				}
+			}
+			finally
+			{
+				// wait for the remaining archives
+				tasks.join();
+			}
+
+			tasks.await();
+		}
+		finally
+		{
+			for (IndexFile indexFile : indexFiles)
+			{
+				indexFile.close();
+			}
+		}
+
+		List<Problem> sorted = new ArrayList<>(problems);
+		sorted.sort(Comparator.comparingInt(Problem::getIndex)
+			.thenComparingInt(Problem::getArchive));
+
+		logger.info("Verified {} archives in {}, found {} problems", checked.get(), folder, sorted.size());
+		return new CacheVerificationReport(checked.get(), skipped.get(), sorted, repairs);
+	}
+
+	private void verifyArchive(FileChannel dat, long length, IndexFile indexFile, IndexData table, ArchiveData ad, Integer region,
+		Queue<Problem> problems, AtomicInteger checked, AtomicInteger skipped) throws IOException
+	{
+		int indexId = indexFile.getIndexFileId();
+		IndexEntry entry = indexFile.read(ad.getId());
+		if (entry == null)
+		{
+			problems.add(new Problem(ProblemType.MISSING, indexId, ad.getId(), "no idx entry"));
+			return;
+		}
+
+		byte[] b = read(dat, length, indexId, entry, problems);
+		if (b == null)
+		{
+			return;
+		}
+
+		checked.incrementAndGet();
+
+		int crc;
+		try
+		{
+			crc = Container.crc(b);
+		}
+		catch (RuntimeException ex)
+		{
+			problems.add(new Problem(ProblemType.CORRUPTED, indexId, ad.getId(), "invalid container header"));
+			return;
+		}
+
+		if (crc != ad.getCrc())
+		{
+			problems.add(new Problem(ProblemType.CRC_MISMATCH, indexId, ad.getId(), "expected crc " + ad.getCrc() + ", was " + crc));
+			return;
+		}
+
+		int[] keys = null;
+		if (region != null)
+		{
+			keys = keyProvider != null ? keyProvider.getKey(region) : null;
+			if (keys == null)
+			{
+				skipped.incrementAndGet();
+				return;
+			}
+		}
+		else if (table.isSized())
+		{
+			// check the declared size before decompressing, so that a bad size is never allocated
+			int declared = declaredLength(b);
+			if (declared != ad.getDecompressedSize())
+			{
+				problems.add(new Problem(ProblemType.SIZE_MISMATCH, indexId, ad.getId(),
+					"expected " + ad.getDecompressedSize() + " bytes, header declares " + declared));
+				return;
+			}
+		}
+
+		Container container;
+		try
+		{
+			container = Container.decompress(b, keys);
+		}
+		catch (IOException | RuntimeException ex)
+		{
+			problems.add(new Problem(ProblemType.DECOMPRESSION_FAILED, indexId, ad.getId(), String.valueOf(ex.getMessage())));
+			return;
+		}
+
+		if (table.isSized() && container.data.length != ad.getDecompressedSize())
+		{
+			problems.add(new Problem(ProblemType.SIZE_MISMATCH, indexId, ad.getId(),
+				"expected " + ad.getDecompressedSize() + " bytes, was " + container.data.length));
+		}
+	}
+
+	private static void findOrphans(IndexFile indexFile, IndexData table, Queue<Problem> problems) throws IOException
+	{
+		Set<Integer> listed = new HashSet<>();
+		if (table != null)
+		{
+			for (ArchiveData ad : table.getArchives())
+			{
+				listed.add(ad.getId());
+			}
+		}
+
+		int indexId = indexFile.getIndexFileId();
+		for (int id = 0; id < indexFile.getIndexCount(); ++id)
+		{
+			if (!listed.contains(id) && indexFile.read(id) != null)
+			{
+				problems.add(new Problem(ProblemType.ORPHANED, indexId, id,
+					table == null ? "index has no reference table" : "not in the reference table"));
+			}
+		}
+	}
+
+	/**
+	 * Map the name hashes of the landscape archives to their regions
+	 */
+	private static Map<Integer, Integer> landscapeRegions()
+	{
+		Map<Integer, Integer> regions = new HashMap<>();
+		for (int x = 0; x < 256; ++x)
+		{
+			for (int y = 0; y < 256; ++y)
+			{
+				regions.put(Djb2.hash("l" + x + "_" + y), x << 8 | y);
+			}
+		}
+		return regions;
+	}
+
+	/**
+	 * Rebuild the idx files from a scan of the sector headers in the data
+	 * file. Every sector which starts a sector chain is a possible copy of
+	 * an archive, and for each archive the copy to use is picked as:
+	 * <ul>
+	 * <li>the copy in the current idx entry, if it is intact</li>
+	 * <li>otherwise the last copy in the data file which is intact and,
+	 * if the archive is in a reference table, has its crc. Reference
+	 * tables themselves must decompress and parse.</li>
+	 * </ul>
+	 * Reference tables are rebuilt first, and the crcs in them are used to
+	 * rebuild the other indexes. An index without a reference table is
+	 * only rebuilt if its idx file exists. Entries are only ever replaced
+	 * by an intact copy, never removed. Rebuilt idx files are committed
+	 * atomically, the same way as {@link CacheCompactor} commits, under
+	 * the same lock. The cache must not be open.
+	 * <p>
+	 * The length of a rebuilt entry is that of its container without the
+	 * optional trailing revision, which readers treat as absent.
+	 *
+	 * @return the idx entries which were rewritten
+	 * @throws IOException
+	 */
+	public List<Repair> rebuildIndexes() throws IOException
+	{
+		try (FileChannel lock = CacheCompactor.lock(folder))
+		{
+			return rebuildIndexesLocked();
+		}
+	}
+
+	private List<Repair> rebuildIndexesLocked() throws IOException
+	{
+		CacheCompactor.recover(folder);
+
+		File datFile = new File(folder, MAIN_FILE_CACHE_DAT);
+		if (!datFile.exists())
+		{
+			throw new FileNotFoundException("No cache in " + folder);
+		}
+
+		List<Repair> repairs = new ArrayList<>();
+		try (FileChannel dat = FileChannel.open(datFile.toPath(), StandardOpenOption.READ))
+		{
+			long length = dat.size();
+			Map<Integer, Map<Integer, List<Integer>>> copies = scan(dat, length);
+
+			Map<Integer, IndexData> tables = new HashMap<>();
+			Set<Integer> tableIds = new TreeSet<>(copies.getOrDefault(255, Collections.emptyMap()).keySet());
+			tableIds.removeIf(id -> id >= 255);
+			rebuildIndex(dat, length, 255, tableIds, copies.get(255), archiveId -> b ->
+			{
+				IndexData table = table(b);
+				if (table == null)
+				{
+					return false;
+				}
+
+				tables.put(archiveId, table);
+				return true;
+			}, repairs);
+
+			Set<Integer> indexIds = new TreeSet<>(tables.keySet());
+			indexIds.addAll(copies.keySet());
+			indexIds.remove(255);
+			for (int indexId : indexIds)
+			{
+				IndexData table = tables.get(indexId);
+				if (table == null)
+				{
+					if (idxFile(indexId).exists())
+					{
+						rebuildIndex(dat, length, indexId, copies.get(indexId).keySet(), copies.get(indexId), archiveId -> CacheVerifier::isContainer, repairs);
+					}
+					continue;
+				}
+
+				Map<Integer, Integer> crcs = new HashMap<>();
+				for (ArchiveData ad : table.getArchives())
+				{
+					crcs.put(ad.getId(), ad.getCrc());
+				}
+
+				rebuildIndex(dat, length, indexId, crcs.keySet(), copies.getOrDefault(indexId, Collections.emptyMap()),
+					archiveId -> b -> hasCrc(b, crcs.get(archiveId)), repairs);
+			}
+		}
+
+		if (!repairs.isEmpty())
+		{
+			CacheCompactor.commit(folder);
+		}
+
+		logger.info("Rewrote {} idx entries in {}", repairs.size(), folder);
+		return repairs;
+	}
+
+	private void rebuildIndex(FileChannel dat, long length, int indexId, Collection<Integer> archiveIds, Map<Integer, List<Integer>> copies,
+		IntFunction<Predicate<byte[]>> validators, List<Repair> repairs) throws IOException
+	{
+		File file = idxFile(indexId);
+		List<Repair> changed = new ArrayList<>();
+
+		IndexFile current = file.exists() ? new IndexFile(indexId, file) : null;
+		try
+		{
+			for (int archiveId : archiveIds)
+			{
+				IndexEntry entry = current != null ? current.read(archiveId) : null;
+				Copy copy = choose(dat, length, indexId, archiveId, entry, copies.get(archiveId), validators.apply(archiveId));
+				if (copy == null || entry != null && entry.getSector() == copy.sector && entry.getLength() == copy.data.length)
+				{
+					continue;
+				}
+
+				changed.add(new Repair(indexId, archiveId,
+					entry != null ? entry.getSector() : 0, entry != null ? entry.getLength() : 0,
+					copy.sector, copy.data.length));
+			}
+		}
+		finally
+		{
+			if (current != null)
+			{
+				current.close();
+			}
+		}
+
+		if (changed.isEmpty())
+		{
+			return;
+		}
+
+		File rebuiltFile = CacheCompactor.compactFile(file);
+		if (file.exists())
+		{
+			Files.copy(file.toPath(), rebuiltFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+		else
+		{
+			Files.deleteIfExists(rebuiltFile.toPath());
+		}
+
+		try (IndexFile rebuilt = new IndexFile(indexId, rebuiltFile))
+		{
+			List<IndexEntry> entries = new ArrayList<>(changed.size());
+			for (Repair repair : changed)
+			{
+				entries.add(new IndexEntry(rebuilt, repair.getArchive(), repair.getNewSector(), repair.getNewLength()));
+			}
+			rebuilt.write(entries);
+			rebuilt.force();
+		}
+
+		logger.debug("Rebuilt {} entries of {}", changed.size(), file);
+		repairs.addAll(changed);
+	}
+
+	private static Copy choose(FileChannel dat, long length, int indexId, int archiveId, IndexEntry current, List<Integer> sectors, Predicate<byte[]> valid) throws IOException
+	{
+		if (current != null)
+		{
+			byte[] b = new byte[current.getLength()];
+			if (readChain(dat, length, indexId, archiveId, current.getSector(), b) == null && valid.test(b))
+			{
+				return new Copy(current.getSector(), b);
+			}
+		}
+
+		if (sectors == null)
+		{
+			return null;
+		}
+
+		// archives are appended when they are rewritten, so later copies are usually newer
+		List<Integer> sorted = new ArrayList<>(sectors);
+		sorted.sort(Comparator.reverseOrder());
+		for (int sector : sorted)
+		{
+			int size = containerLength(dat, length, archiveId, sector);
+			if (size < 0)
+			{
+				continue;
+			}
+
+			byte[] b = new byte[size];
+			if (readChain(dat, length, indexId, archiveId, sector, b) == null && valid.test(b))
+			{
+				return new Copy(sector, b);
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Find every sector which may start a sector chain
+	 *
+	 * @return the first sectors of every copy of each archive, by index and archive
+	 */
+	private static Map<Integer, Map<Integer, List<Integer>>> scan(FileChannel dat, long length) throws IOException
+	{
+		Map<Integer, Map<Integer, List<Integer>>> copies = new HashMap<>();
+		ByteBuffer buffer = ByteBuffer.allocate(SECTOR_SIZE * SCAN_SECTORS);
+		long sectors = (length + SECTOR_SIZE - 1) / SECTOR_SIZE;
+
+		// sector 0 is never used
+		for (long first = 1; first < sectors; first += SCAN_SECTORS)
+		{
+			buffer.clear();
+			int read = readAvailable(dat, buffer, first * SECTOR_SIZE);
+
+			for (int pos = 0; pos + 8 <= read; pos += SECTOR_SIZE)
+			{
+				int sector = (int) (first + pos / SECTOR_SIZE);
+
+				// a sector does not say whether it has a standard or an extended
+				// header, so it may start a chain with either
+				if ((buffer.getShort(pos + 2) & 0xFFFF) == 0)
+				{
+					copies.computeIfAbsent(buffer.get(pos + 7) & 0xFF, k -> new HashMap<>())
+						.computeIfAbsent(buffer.getShort(pos) & 0xFFFF, k -> new ArrayList<>())
+						.add(sector);
+				}
+
+				if (pos + 10 <= read && (buffer.getShort(pos + 4) & 0xFFFF) == 0 && buffer.getInt(pos) > 0xFFFF)
+				{
+					copies.computeIfAbsent(buffer.get(pos + 9) & 0xFF, k -> new HashMap<>())
+						.computeIfAbsent(buffer.getInt(pos), k -> new ArrayList<>())
+						.add(sector);
+				}
+			}
+		}
+
+		return copies;
+	}
+
+	/**
+	 * Read the length of the container starting in a sector
+	 *
+	 * @return the length of the container, or -1 if the sector does not
+	 * start a non-empty container
+	 */
+	private static int containerLength(FileChannel dat, long length, int archiveId, int sector) throws IOException
+	{
+		int headerSize = archiveId > 0xFFFF ? 10 : 8;
+		long offset = (long) SECTOR_SIZE * sector + headerSize;
+		if (offset + 5 > length)
+		{
+			return -1;
+		}
+
+		ByteBuffer buffer = ByteBuffer.allocate(5);
+		readFully(dat, buffer, offset);
+
+		int compression = buffer.get(0) & 0xFF;
+		int compressedLength = buffer.getInt(1);
+		// an empty container is indistinguishable from an unused sector
+		if (compression > CompressionType.GZ || compressedLength <= 0)
+		{
+			return -1;
+		}
+
+		long size = 5L + compressedLength + (compression == CompressionType.NONE ? 0 : 4);
+		return size > length ? -1 : (int) size;
+	}
+
+	/**
+	 * Read an archive by following its sector chain, checking the header
+	 * of every sector on the way
+	 *
+	 * @param out buffer of the size of the archive to read into
+	 * @return null if the archive was read, otherwise the problem with the chain
+	 */
+	private static Problem readChain(FileChannel dat, long length, int indexId, int archiveId, int sector, byte[] out) throws IOException
+	{
+		boolean extended = archiveId > 0xFFFF;
+		int headerSize = extended ? 10 : 8;
+		int dataSize = SECTOR_SIZE - headerSize;
+		int parts = (out.length + dataSize - 1) / dataSize;
+		ByteBuffer buffer = ByteBuffer.allocate(SECTOR_SIZE);
+
+		for (int part = 0, pos = 0; part < parts; ++part)
+		{
+			int block = Math.min(out.length - pos, dataSize);
+			if (sector <= 0)
+			{
+				return new Problem(ProblemType.TRUNCATED, indexId, archiveId,
+					"sector chain ends after " + part + " of " + parts + " sectors");
+			}
+
+			long offset = (long) SECTOR_SIZE * sector;
+			if (offset + headerSize + block > length)
+			{
+				return new Problem(ProblemType.TRUNCATED, indexId, archiveId,
+					"part " + part + " of " + parts + " is in sector " + sector + ", past the end of the data file");
+			}
+
+			buffer.clear();
+			buffer.limit(headerSize + block);
+			readFully(dat, buffer, offset);
+
+			int currentArchive;
+			int currentPart;
+			int nextSector;
+			int currentIndex;
+			if (extended)
+			{
+				currentArchive = buffer.getInt(0);
+				currentPart = buffer.getShort(4) & 0xFFFF;
+				nextSector = ((buffer.get(6) & 0xFF) << 16)
+					| ((buffer.get(7) & 0xFF) << 8)
+					| (buffer.get(8) & 0xFF);
+				currentIndex = buffer.get(9) & 0xFF;
+			}
+			else
+			{
+				currentArchive = buffer.getShort(0) & 0xFFFF;
+				currentPart = buffer.getShort(2) & 0xFFFF;
+				nextSector = ((buffer.get(4) & 0xFF) << 16)
+					| ((buffer.get(5) & 0xFF) << 8)
+					| (buffer.get(6) & 0xFF);
+				currentIndex = buffer.get(7) & 0xFF;
+			}
+
+			if (currentArchive != archiveId || currentPart != part || currentIndex != indexId)
+			{
+				return new Problem(ProblemType.CORRUPTED, indexId, archiveId,
+					"sector " + sector + " holds part " + currentPart + " of " + currentIndex + "/" + currentArchive + ", expected part " + part);
+			}
+
+			buffer.position(headerSize);
+			buffer.get(out, pos, block);
+			pos += block;
+			sector = nextSector;
+		}
+
+		return null;
+	}
+
+	private static byte[] read(FileChannel dat, long length, int indexId, IndexEntry entry, Queue<Problem> problems) throws IOException
+	{
+		byte[] b = new byte[entry.getLength()];
+		Problem problem = readChain(dat, length, indexId, entry.getId(), entry.getSector(), b);
+		if (problem != null)
+		{
+			problems.add(problem);
+			return null;
+		}
+		return b;
+	}
+
+	private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException
+	{
+		while (buffer.hasRemaining())
+		{
+			int n = channel.read(buffer, position);
+			if (n < 0)
+			{
+				throw new EOFException();
+			}
+			position += n;
+		}
+	}
+
+	private static int readAvailable(FileChannel channel, ByteBuffer buffer, long position) throws IOException
+	{
+		int read = 0;
+		while (buffer.hasRemaining())
+		{
+			int n = channel.read(buffer, position + read);
+			if (n < 0)
+			{
+				break;
+			}
+			read += n;
+		}
+		return read;
+	}
+
+	/**
+	 * Decompress and parse a reference table, checking its declared size
+	 * first as nothing else vouches for it
+	 */
+	private static IndexData loadTable(byte[] b) throws IOException
+	{
+		int length = declaredLength(b);
+		if (length < 0 || length > MAX_TABLE_LENGTH)
+		{
+			throw new IOException("Invalid reference table length " + length);
+		}
+
+		IndexData table = new IndexData();
+		table.load(Container.decompress(b, null).data);
+		return table;
+	}
+
+	/**
+	 * Read the decompressed length declared in a container header
+	 */
+	private static int declaredLength(byte[] b) throws IOException
+	{
+		if (b.length < 5)
+		{
+			throw new IOException("Invalid container header");
+		}
+
+		ByteBuffer buffer = ByteBuffer.wrap(b);
+		if ((b[0] & 0xFF) == CompressionType.NONE)
+		{
+			return buffer.getInt(1);
+		}
+
+		if (b.length < 9)
+		{
+			throw new IOException("Invalid container header");
+		}
+		return buffer.getInt(5);
+	}
+
+	private static IndexData table(byte[] b)
+	{
+		try
+		{
+			return loadTable(b);
+		}
+		catch (IOException | RuntimeException ex)
+		{
+			return null;
+		}
+	}
+
+	private static boolean isContainer(byte[] b)
+	{
+		try
+		{
+			Container.crc(b);
+			return true;
+		}
+		catch (RuntimeException ex)
+		{
+			return false;
+		}
+	}
+
+	private static boolean hasCrc(byte[] b, int crc)
+	{
+		try
+		{
+			return Container.crc(b) == crc;
+		}
+		catch (RuntimeException ex)
+		{
+			return false;
+		}
+	}
+
+	private File idxFile(int indexId)
+	{
+		return new File(folder, MAIN_FILE_CACHE_IDX + indexId);
+	}
+
+	private static class Copy
+	{
+		private final int sector;
+		private final byte[] data;
+
+		private Copy(int sector, byte[] data)
+		{
+			this.sector = sector;
+			this.data = data;
+		}
+	}
+}
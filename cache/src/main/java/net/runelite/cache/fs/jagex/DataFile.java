@@ -30,6 +30,14 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import net.runelite.cache.fs.WriteBatch;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -39,22 +47,173 @@ public class DataFile implements Closeable
 
 	private static final int SECTOR_SIZE = 520;
 
+	// mappings are split into chunks of whole sectors so a sector never straddles two buffers
+	private static final int MAP_CHUNK_SECTORS = (1 << 30) / SECTOR_SIZE;
+	private static final long MAP_CHUNK_SIZE = (long) MAP_CHUNK_SECTORS * SECTOR_SIZE;
+
+	// maximum number of buffers passed to a single gather write
+	private static final int GATHER_BUFFERS = 1024;
+	private static final byte[] PADDING = new byte[SECTOR_SIZE];
+
 	private final RandomAccessFile dat;
+	private final boolean mapped;
+	private volatile ByteBuffer[] maps = new ByteBuffer[0];
+	/**
+	 * held shared by mapped reads, and exclusively while the file is
+	 * truncated or closed, so a reader never touches a mapping of sectors
+	 * which no longer exist
+	 */
+	private final ReadWriteLock mapLock = new ReentrantReadWriteLock();
+	private SectorAllocator allocator;
 
 	public DataFile(File file) throws FileNotFoundException
+	{
+		this(file, false);
+	}
+
+	/**
+	 * @param file data file
+	 * @param mapped whether to read the file through read-only memory
+	 * mappings. Mapped reads only share a read lock, so many threads may
+	 * read archives concurrently; {@link #clear()} and {@link #close()}
+	 * wait for them to finish.
+	 * @throws FileNotFoundException
+	 */
+	public DataFile(File file, boolean mapped) throws FileNotFoundException
 	{
 		this.dat = new RandomAccessFile(file, "rw");
+		this.mapped = mapped;
 	}
 
 	@Override
 	public void close() throws IOException
 	{
-		dat.close();
+		mapLock.writeLock().lock();
+		try
+		{
+			maps = new ByteBuffer[0];
+			dat.close();
+		}
+		finally
+		{
+			mapLock.writeLock().unlock();
+		}
 	}
 
 	public void clear() throws IOException
 	{
-		dat.setLength(0L);
+		mapLock.writeLock().lock();
+		try
+		{
+			synchronized (this)
+			{
+				maps = new ByteBuffer[0];
+				dat.setLength(0L);
+				if (allocator != null)
+				{
+					allocator.reset();
+				}
+			}
+		}
+		finally
+		{
+			mapLock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Set the allocator used to place newly written archives. Without an
+	 * allocator, sectors are always appended to the end of the file.
+	 *
+	 * @param allocator sector allocator, or null
+	 */
+	public synchronized void setAllocator(SectorAllocator allocator)
+	{
+		this.allocator = allocator;
+	}
+
+	public synchronized SectorAllocator getAllocator()
+	{
+		return allocator;
+	}
+
+	public synchronized int getSectorCount() throws IOException
+	{
+		return (int) ((dat.length() + (long) (SECTOR_SIZE - 1)) / (long) SECTOR_SIZE);
+	}
+
+	public synchronized void force() throws IOException
+	{
+		dat.getChannel().force(false);
+	}
+
+	/**
+	 * Walk the sector chain of an archive without reading its contents.
+	 * If the chain is broken, the sectors up to the break are returned.
+	 *
+	 * @param indexId expected index of the archive
+	 * @param archiveId expected archive
+	 * @param sector first sector of the archive
+	 * @param size size of the archive
+	 * @return the sectors holding the archive, in order
+	 * @throws IOException
+	 */
+	public synchronized int[] sectors(int indexId, int archiveId, int sector, int size) throws IOException
+	{
+		long length = dat.length();
+		int headerSize = archiveId > 0xFFFF ? 10 : 8;
+		int dataSize = SECTOR_SIZE - headerSize;
+		int[] sectors = new int[(size + dataSize - 1) / dataSize];
+		byte[] header = new byte[headerSize];
+
+		for (int part = 0; part < sectors.length; ++part)
+		{
+			if (sector <= 0 || (long) SECTOR_SIZE * sector + headerSize > length)
+			{
+				logger.debug("Broken sector chain for {}/{} at part {}", indexId, archiveId, part);
+				return Arrays.copyOf(sectors, part);
+			}
+
+			dat.seek((long) SECTOR_SIZE * sector);
+			dat.readFully(header);
+
+			int currentArchive;
+			int currentPart;
+			int nextSector;
+			int currentIndex;
+			if (archiveId > 0xFFFF)
+			{
+				currentArchive = ((header[0] & 0xFF) << 24)
+					| ((header[1] & 0xFF) << 16)
+					| ((header[2] & 0xFF) << 8)
+					| (header[3] & 0xFF);
+				currentPart = ((header[4] & 0xFF) << 8) | (header[5] & 0xFF);
+				nextSector = ((header[6] & 0xFF) << 16)
+					| ((header[7] & 0xFF) << 8)
+					| (header[8] & 0xFF);
+				currentIndex = header[9] & 0xFF;
+			}
+			else
+			{
+				currentArchive = ((header[0] & 0xFF) << 8) | (header[1] & 0xFF);
+				currentPart = ((header[2] & 0xFF) << 8) | (header[3] & 0xFF);
+				nextSector = ((header[4] & 0xFF) << 16)
+					| ((header[5] & 0xFF) << 8)
+					| (header[6] & 0xFF);
+				currentIndex = header[7] & 0xFF;
+			}
+
+			if (archiveId != currentArchive || currentPart != part || indexId != currentIndex)
+			{
+				logger.debug("Broken sector chain for {}/{} at part {}", indexId, archiveId, part);
+				return Arrays.copyOf(sectors, part);
+			}
+
+			sectors[part] = sector;
+			sector = nextSector;
+		}
+
+		return sectors;
 	}
 
 	/**
@@ -66,7 +225,25 @@ public class DataFile implements Closeable
 	 * @return
 	 * @throws IOException
 	 */
-	public synchronized byte[] read(int indexId, int archiveId, int sector, int size) throws IOException
+	public byte[] read(int indexId, int archiveId, int sector, int size) throws IOException
+	{
+		if (mapped)
+		{
+			mapLock.readLock().lock();
+			try
+			{
+				return readMapped(indexId, archiveId, sector, size);
+			}
+			finally
+			{
+				mapLock.readLock().unlock();
+			}
+		}
+
+		return readFile(indexId, archiveId, sector, size);
+	}
+
+	private synchronized byte[] readFile(int indexId, int archiveId, int sector, int size) throws IOException
 	{
 		if (sector <= 0L || dat.length() / SECTOR_SIZE < (long) sector)
 		{
@@ -169,6 +346,147 @@ public class DataFile implements Closeable
 		return buffer.array();
 	}
 
+	private byte[] readMapped(int indexId, int archiveId, int sector, int size) throws IOException
+	{
+		ByteBuffer[] m = maps;
+		if (sector > 0 && mappedLength(m) / SECTOR_SIZE < (long) sector)
+		{
+			// the file has grown since it was last mapped
+			m = map();
+		}
+
+		long length = mappedLength(m);
+		if (sector <= 0L || length / SECTOR_SIZE < (long) sector)
+		{
+			logger.warn("bad read, dat length {}, requested sector {}", length, sector);
+			return null;
+		}
+
+		int headerSize = archiveId > 0xFFFF ? 10 : 8;
+		byte[] data = new byte[size];
+
+		for (int part = 0, readBytesCount = 0, nextSector;
+			size > readBytesCount;
+			sector = nextSector)
+		{
+			if (sector == 0)
+			{
+				logger.warn("Unexpected end of file");
+				return null;
+			}
+
+			int dataBlockSize = Math.min(size - readBytesCount, SECTOR_SIZE - headerSize);
+			long end = (long) SECTOR_SIZE * sector + headerSize + dataBlockSize;
+			if (end > length)
+			{
+				m = map();
+				length = mappedLength(m);
+				if (end > length)
+				{
+					logger.warn("Short read when reading file data for {}/{}", indexId, archiveId);
+					return null;
+				}
+			}
+
+			ByteBuffer chunk = m[sector / MAP_CHUNK_SECTORS];
+			int pos = (sector % MAP_CHUNK_SECTORS) * SECTOR_SIZE;
+
+			int currentIndex;
+			int currentPart;
+			int currentArchive;
+			if (archiveId > 0xFFFF)
+			{
+				currentArchive = chunk.getInt(pos);
+				currentPart = chunk.getShort(pos + 4) & 0xFFFF;
+				nextSector = ((chunk.get(pos + 6) & 0xFF) << 16)
+					| ((chunk.get(pos + 7) & 0xFF) << 8)
+					| (chunk.get(pos + 8) & 0xFF);
+				currentIndex = chunk.get(pos + 9) & 0xFF;
+			}
+			else
+			{
+				currentArchive = chunk.getShort(pos) & 0xFFFF;
+				currentPart = chunk.getShort(pos + 2) & 0xFFFF;
+				nextSector = ((chunk.get(pos + 4) & 0xFF) << 16)
+					| ((chunk.get(pos + 5) & 0xFF) << 8)
+					| (chunk.get(pos + 6) & 0xFF);
+				currentIndex = chunk.get(pos + 7) & 0xFF;
+			}
+
+			if (archiveId != currentArchive || currentPart != part || indexId != currentIndex)
+			{
+				logger.warn("data mismatch {} != {}, {} != {}, {} != {}",
+					archiveId, currentArchive,
+					part, currentPart,
+					indexId, currentIndex);
+				return null;
+			}
+
+			if (length / SECTOR_SIZE < (long) nextSector)
+			{
+				m = map();
+				length = mappedLength(m);
+				if (length / SECTOR_SIZE < (long) nextSector)
+				{
+					logger.warn("Invalid next sector");
+					return null;
+				}
+			}
+
+			// absolute bulk gets are not available until Java 13, so read through a view
+			ByteBuffer view = chunk.duplicate();
+			view.position(pos + headerSize);
+			view.get(data, readBytesCount, dataBlockSize);
+			readBytesCount += dataBlockSize;
+
+			++part;
+		}
+
+		return data;
+	}
+
+	/**
+	 * Map the file as it currently is on disk. Chunks which are already
+	 * mapped in full are reused.
+	 *
+	 * @return the new mappings
+	 * @throws IOException
+	 */
+	private synchronized ByteBuffer[] map() throws IOException
+	{
+		FileChannel channel = dat.getChannel();
+		long length = channel.size();
+
+		ByteBuffer[] old = maps;
+		ByteBuffer[] m = new ByteBuffer[(int) ((length + MAP_CHUNK_SIZE - 1) / MAP_CHUNK_SIZE)];
+		for (int i = 0; i < m.length; ++i)
+		{
+			long start = i * MAP_CHUNK_SIZE;
+			long chunkLength = Math.min(MAP_CHUNK_SIZE, length - start);
+			if (i < old.length && old[i].capacity() == chunkLength)
+			{
+				m[i] = old[i];
+			}
+			else
+			{
+				m[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, chunkLength);
+			}
+		}
+
+		maps = m;
+		return m;
+	}
+
+	private static long mappedLength(ByteBuffer[] m)
+	{
+		if (m.length == 0)
+		{
+			return 0L;
+		}
+
+		return (m.length - 1) * MAP_CHUNK_SIZE + m[m.length - 1].capacity();
+	}
+
 	public synchronized DataFileWriteResult write(int indexId, int archiveId, byte[] compressedData) throws IOException
 	{
 		int sector;
@@ -177,16 +495,25 @@ public class DataFile implements Closeable
 		byte[] writeBuffer = new byte[SECTOR_SIZE];
 		ByteBuffer data = ByteBuffer.wrap(compressedData);
 
-		sector = (int) ((dat.length() + (long) (SECTOR_SIZE - 1)) / (long) SECTOR_SIZE);
-		if (sector == 0)
+		int dataSize = 0xFFFF < archiveId ? 510 : 512;
+		int sectorCount = (compressedData.length + dataSize - 1) / dataSize;
+		if (allocator != null && sectorCount > 0)
 		{
-			sector = 1;
+			sector = allocator.allocate(sectorCount);
+		}
+		else
+		{
+			sector = getSectorCount();
+			if (sector == 0)
+			{
+				sector = 1;
+			}
 		}
 		startSector = sector;
 
 		for (int part = 0; data.hasRemaining(); ++part)
 		{
-			int nextSector = sector + 1; // we always just append sectors
+			int nextSector = sector + 1; // sectors are always written as one contiguous run
 			int dataToWrite;
 
 			if (0xFFFF < archiveId)
@@ -250,4 +577,155 @@ public class DataFile implements Closeable
 		res.compressedLength = compressedData.length;
 		return res;
 	}
+
+	/**
+	 * Write many archives at once. The sectors of every archive are laid
+	 * out before anything is written, and runs of adjacent sectors are then
+	 * written with gather writes instead of one write per header and
+	 * payload. Every sector is padded to its full size.
+	 *
+	 * @param entries archives to write
+	 * @return the location of each archive, in the same order as entries
+	 * @throws IOException
+	 */
+	public synchronized DataFileWriteResult[] write(List<WriteBatch.Entry> entries) throws IOException
+	{
+		int n = entries.size();
+		int[] startSectors = new int[n];
+		int[] sectorCounts = new int[n];
+		int totalSectors = 0;
+
+		int end = Math.max(getSectorCount(), 1);
+		for (int i = 0; i < n; ++i)
+		{
+			WriteBatch.Entry entry = entries.get(i);
+			int dataSize = 0xFFFF < entry.getArchive() ? 510 : 512;
+			int sectorCount = (entry.getData().length + dataSize - 1) / dataSize;
+
+			if (allocator != null && sectorCount > 0)
+			{
+				startSectors[i] = allocator.allocate(sectorCount);
+			}
+			else
+			{
+				startSectors[i] = end;
+				end += sectorCount;
+			}
+			sectorCounts[i] = sectorCount;
+			totalSectors += sectorCount;
+		}
+
+		// write in sector order, so that adjacent archives form one run
+		Integer[] order = new Integer[n];
+		for (int i = 0; i < n; ++i)
+		{
+			order[i] = i;
+		}
+		Arrays.sort(order, Comparator.comparingInt(i -> startSectors[i]));
+
+		FileChannel channel = dat.getChannel();
+		ByteBuffer headers = ByteBuffer.allocate(totalSectors * 10);
+		List<ByteBuffer> buffers = new ArrayList<>(GATHER_BUFFERS);
+		long position = -1L;
+
+		for (int i : order)
+		{
+			if (sectorCounts[i] == 0)
+			{
+				continue;
+			}
+
+			WriteBatch.Entry entry = entries.get(i);
+			int indexId = entry.getIndex();
+			int archiveId = entry.getArchive();
+			byte[] data = entry.getData();
+			int sector = startSectors[i];
+
+			// each pending sector is a header, payload and padding buffer
+			long sectorPosition = (long) SECTOR_SIZE * sector;
+			if (sectorPosition != position + (long) SECTOR_SIZE * (buffers.size() / 3))
+			{
+				position = flush(channel, position, buffers);
+				position = sectorPosition;
+			}
+
+			for (int part = 0, offset = 0; part < sectorCounts[i]; ++part, ++sector)
+			{
+				int nextSector = part + 1 < sectorCounts[i] ? sector + 1 : 0;
+
+				int headerStart = headers.position();
+				if (0xFFFF < archiveId)
+				{
+					headers.putInt(archiveId);
+					headers.putShort((short) part);
+					headers.put((byte) (nextSector >> 16));
+					headers.putShort((short) nextSector);
+					headers.put((byte) indexId);
+				}
+				else
+				{
+					headers.putShort((short) archiveId);
+					headers.putShort((short) part);
+					headers.put((byte) (nextSector >> 16));
+					headers.putShort((short) nextSector);
+					headers.put((byte) indexId);
+				}
+
+				ByteBuffer header = headers.duplicate();
+				header.position(headerStart);
+				header.limit(headers.position());
+
+				int headerSize = header.remaining();
+				int dataToWrite = Math.min(data.length - offset, SECTOR_SIZE - headerSize);
+
+				buffers.add(header);
+				buffers.add(ByteBuffer.wrap(data, offset, dataToWrite));
+				buffers.add(ByteBuffer.wrap(PADDING, 0, SECTOR_SIZE - headerSize - dataToWrite));
+				offset += dataToWrite;
+
+				if (buffers.size() + 3 > GATHER_BUFFERS)
+				{
+					position = flush(channel, position, buffers);
+				}
+			}
+		}
+
+		flush(channel, position, buffers);
+
+		DataFileWriteResult[] results = new DataFileWriteResult[n];
+		for (int i = 0; i < n; ++i)
+		{
+			DataFileWriteResult res = new DataFileWriteResult();
+			res.sector = startSectors[i];
+			res.compressedLength = entries.get(i).getData().length;
+			results[i] = res;
+		}
+		return results;
+	}
+
+	private static long flush(FileChannel channel, long position, List<ByteBuffer> buffers) throws IOException
+	{
+		if (buffers.isEmpty())
+		{
+			return position;
+		}
+
+		ByteBuffer[] srcs = buffers.toArray(new ByteBuffer[0]);
+		long size = 0L;
+		for (ByteBuffer buffer : srcs)
+		{
+			size += buffer.remaining();
+		}
+
+		long written = 0L;
+
+		channel.position(position);
+		while (written < size)
+		{
+			written += channel.write(srcs);
+		}
+
+		buffers.clear();
+		return position + size;
+	}
 }
@@ -28,12 +28,18 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import net.runelite.cache.fs.Archive;
+import net.runelite.cache.fs.ArchivePipeline;
 import net.runelite.cache.fs.Container;
 import net.runelite.cache.fs.Index;
 import net.runelite.cache.fs.Storage;
 import net.runelite.cache.fs.Store;
+import net.runelite.cache.fs.WriteBatch;
 import net.runelite.cache.index.ArchiveData;
 import net.runelite.cache.index.IndexData;
 import org.slf4j.Logger;
@@ -45,19 +51,40 @@ public class DiskStorage implements Storage
 
 	private static final String MAIN_FILE_CACHE_DAT = "main_file_cache.dat2";
 	private static final String MAIN_FILE_CACHE_IDX = "main_file_cache.idx";
+	private static final String MAIN_FILE_CACHE_MANIFEST = "main_file_cache.manifest";
 
 	private final File folder;
+	private final boolean mapped;
 
 	private final DataFile data;
 	private final IndexFile index255;
-	private final List<IndexFile> indexFiles = new ArrayList<>();
+	private final List<IndexFile> indexFiles = new CopyOnWriteArrayList<>();
+
+	private boolean manifestEnabled;
+	private SectorAllocator allocator;
 
 	public DiskStorage(File folder) throws IOException
+	{
+		this(folder, false);
+	}
+
+	/**
+	 * @param folder cache folder
+	 * @param mapped whether to read the data and index files through
+	 * read-only memory mappings, which allows archives to be loaded
+	 * from many threads at once
+	 * @throws IOException
+	 */
+	public DiskStorage(File folder, boolean mapped) throws IOException
 	{
 		this.folder = folder;
+		this.mapped = mapped;
 
-		this.data = new DataFile(new File(folder, MAIN_FILE_CACHE_DAT));
-		this.index255 = new IndexFile(255, new File(folder, MAIN_FILE_CACHE_IDX + "255"));
+		// finish a compaction which was interrupted after it was committed
+		CacheCompactor.recoverIfIdle(folder);
+
+		this.data = new DataFile(new File(folder, MAIN_FILE_CACHE_DAT), mapped);
+		this.index255 = new IndexFile(255, new File(folder, MAIN_FILE_CACHE_IDX + "255"), mapped);
 	}
 
 	@Override
@@ -90,6 +117,26 @@ public class DiskStorage implements Storage
 			return index255;
 		}
 
+		IndexFile indexFile = findIndex(i);
+		if (indexFile != null)
+		{
+			return indexFile;
+		}
+
+		synchronized (indexFiles)
+		{
+			indexFile = findIndex(i);
+			if (indexFile == null)
+			{
+				indexFile = new IndexFile(i, new File(folder, MAIN_FILE_CACHE_IDX + i), mapped);
+				indexFiles.add(indexFile);
+			}
+			return indexFile;
+		}
+	}
+
+	private IndexFile findIndex(int i)
+	{
 		for (IndexFile indexFile : indexFiles)
 		{
 			if (indexFile.getIndexFileId() == i)
@@ -97,19 +144,130 @@ public class DiskStorage implements Storage
 				return indexFile;
 			}
 		}
+		return null;
+	}
+
+	/**
+	 * Enable or disable the store manifest. When enabled, the parsed
+	 * contents of idx255 are kept in a manifest file next to the cache,
+	 * which is used to load the store as long as the crcs of the index
+	 * containers in idx255 still match.
+	 *
+	 * @param manifestEnabled whether to use a manifest
+	 */
+	public void setManifestEnabled(boolean manifestEnabled)
+	{
+		this.manifestEnabled = manifestEnabled;
+	}
+
+	/**
+	 * Enable or disable reuse of sectors in the data file. When enabled,
+	 * the sectors in use are found by walking the sector chain of every
+	 * entry in the idx files, and rewritten archives are placed in free
+	 * sectors instead of always being appended to the data file. The
+	 * sectors of the previous copy of an archive are only freed once its
+	 * index entry points at the new copy.
+	 *
+	 * @param sectorReuseEnabled whether to reuse free sectors
+	 * @throws IOException
+	 */
+	public void setSectorReuseEnabled(boolean sectorReuseEnabled) throws IOException
+	{
+		if (!sectorReuseEnabled)
+		{
+			allocator = null;
+			data.setAllocator(null);
+			return;
+		}
+
+		SectorAllocator allocator = new SectorAllocator(data.getSectorCount());
+		markUsed(allocator, index255);
+		for (int i = 0; i < 255; ++i)
+		{
+			if (new File(folder, MAIN_FILE_CACHE_IDX + i).exists())
+			{
+				markUsed(allocator, getIndex(i));
+			}
+		}
+
+		logger.debug("{} of {} sectors are free", allocator.getFreeSectors(), allocator.getSectorCount());
 
-		IndexFile indexFile = new IndexFile(i, new File(folder, MAIN_FILE_CACHE_IDX + i));
-		indexFiles.add(indexFile);
-		return indexFile;
+		this.allocator = allocator;
+		data.setAllocator(allocator);
+	}
+
+	private void markUsed(SectorAllocator allocator, IndexFile indexFile) throws IOException
+	{
+		for (int i = 0; i < indexFile.getIndexCount(); ++i)
+		{
+			IndexEntry entry = indexFile.read(i);
+			if (entry != null)
+			{
+				allocator.markUsed(data.sectors(indexFile.getIndexFileId(), i, entry.getSector(), entry.getLength()));
+			}
+		}
 	}
 
 	@Override
 	public void load(Store store) throws IOException
 	{
+		if (!manifestEnabled)
+		{
+			loadIndexes(store);
+			return;
+		}
+
+		File manifestFile = new File(folder, MAIN_FILE_CACHE_MANIFEST);
+		Map<Integer, Integer> crcs = readIndexCrcs(store);
+
+		StoreManifest manifest = StoreManifest.read(manifestFile);
+		if (manifest != null && manifest.validate(store, crcs))
+		{
+			logger.debug("Loading store from manifest {}", manifestFile);
+			manifest.apply(store);
+			return;
+		}
+
+		loadIndexes(store);
+		writeManifest(store, crcs);
+	}
+
+	private void writeManifest(Store store, Map<Integer, Integer> crcs)
+	{
+		File manifestFile = new File(folder, MAIN_FILE_CACHE_MANIFEST);
+		try
+		{
+			StoreManifest.of(store, crcs).write(manifestFile);
+		}
+		catch (IOException ex)
+		{
+			// the manifest is only a cache of idx255, so the store is still usable
+			logger.warn("Unable to write manifest {}", manifestFile, ex);
+		}
+	}
+
+	private Map<Integer, Integer> readIndexCrcs(Store store) throws IOException
+	{
+		Map<Integer, Integer> crcs = new HashMap<>();
 		for (Index index : store.getIndexes())
 		{
-			loadIndex(index);
+			byte[] indexData = readIndex(index.getId());
+			if (indexData != null)
+			{
+				crcs.put(index.getId(), Container.crc(indexData));
+			}
 		}
+		return crcs;
+	}
+
+	private void loadIndexes(Store store) throws IOException
+	{
+		// indexes are independent of each other, so they are loaded in parallel
+		new ArchivePipeline(this).map(store.getIndexes(), index ->
+		{
+			loadIndex(index);
+			return null;
+		});
 	}
 
 	public byte[] readIndex(int indexId) throws IOException
@@ -168,13 +326,20 @@ public class DiskStorage implements Storage
 	{
 		logger.debug("Saving store");
 
+		WriteBatch batch = batch();
 		for (Index i : store.getIndexes())
 		{
-			saveIndex(i);
+			saveIndex(i, batch);
+		}
+		batch.commit();
+
+		if (manifestEnabled)
+		{
+			writeManifest(store, readIndexCrcs(store));
 		}
 	}
 
-	private void saveIndex(Index index) throws IOException
+	private void saveIndex(Index index, WriteBatch batch) throws IOException
 	{
 		IndexData indexData = index.toIndexData();
 		byte[] data = indexData.writeIndexData();
@@ -183,7 +348,7 @@ public class DiskStorage implements Storage
 		container.compress(data, null);
 		byte[] compressedData = container.data;
 
-		store(255, index.getId(), compressedData);
+		batch.store(255, index.getId(), compressedData);
 
 		index.setCrc(container.crc);
 	}
@@ -217,10 +382,93 @@ public class DiskStorage implements Storage
 		IndexFile indexFile = getIndex(index);
 		assert indexFile.getIndexFileId() == index;
 
+		SectorAllocator allocator = this.allocator;
+		int[] oldSectors = null;
+		if (allocator != null)
+		{
+			IndexEntry old = indexFile.read(archive);
+			if (old != null)
+			{
+				oldSectors = data.sectors(index, archive, old.getSector(), old.getLength());
+			}
+		}
+
 		DataFileWriteResult res = data.write(index, archive, archiveData);
 		indexFile.write(new IndexEntry(indexFile, archive, res.sector, res.compressedLength));
 
+		if (oldSectors != null)
+		{
+			allocator.free(oldSectors);
+		}
+
 		logger.trace("Saved archive {}/{} at sector {}, compressed length {}",
 			index, archive, res.sector, res.compressedLength);
 	}
+
+	/**
+	 * Write a batch of archives. The data of every archive is written
+	 * first using {@link DataFile#write(List)}, and then the idx entries
+	 * are written with one pass per idx file, with idx255 last. If the
+	 * batch asks for it, the data file is forced before any idx entry is
+	 * written and the idx files are forced before returning.
+	 *
+	 * @param batch batch to write
+	 * @throws IOException
+	 */
+	@Override
+	public void commit(WriteBatch batch) throws IOException
+	{
+		List<WriteBatch.Entry> entries = batch.getEntries();
+		if (entries.isEmpty())
+		{
+			return;
+		}
+
+		SectorAllocator allocator = this.allocator;
+		List<int[]> oldSectors = new ArrayList<>();
+		if (allocator != null)
+		{
+			for (WriteBatch.Entry entry : entries)
+			{
+				IndexEntry old = getIndex(entry.getIndex()).read(entry.getArchive());
+				if (old != null)
+				{
+					oldSectors.add(data.sectors(entry.getIndex(), entry.getArchive(), old.getSector(), old.getLength()));
+				}
+			}
+		}
+
+		DataFileWriteResult[] results = data.write(entries);
+		if (batch.isForce())
+		{
+			data.force();
+		}
+
+		// sorted by index id, so idx255 is written last
+		Map<Integer, List<IndexEntry>> indexEntries = new TreeMap<>();
+		for (int i = 0; i < entries.size(); ++i)
+		{
+			WriteBatch.Entry entry = entries.get(i);
+			IndexFile indexFile = getIndex(entry.getIndex());
+			indexEntries.computeIfAbsent(entry.getIndex(), k -> new ArrayList<>())
+				.add(new IndexEntry(indexFile, entry.getArchive(), results[i].sector, results[i].compressedLength));
+		}
+
+		for (Map.Entry<Integer, List<IndexEntry>> entry : indexEntries.entrySet())
+		{
+			IndexFile indexFile = getIndex(entry.getKey());
+			indexFile.write(entry.getValue());
+			if (batch.isForce())
+			{
+				indexFile.force();
+			}
+		}
+
+		for (int[] sectors : oldSectors)
+		{
+			allocator.free(sectors);
+		}
+
+		logger.debug("Committed batch of {} archives", entries.size());
+	}
 }
@@ -29,6 +29,13 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import org.slf4j.Logger;
@@ -46,23 +53,77 @@ public class IndexFile implements Closeable
 	private final File file;
 	private final RandomAccessFile idx;
 	private final byte[] buffer = new byte[INDEX_ENTRY_LEN];
+	private final boolean mapped;
+	private volatile ByteBuffer map = ByteBuffer.allocate(0);
+	/**
+	 * held shared by mapped reads, and exclusively while the file is
+	 * truncated or closed
+	 */
+	private final ReadWriteLock mapLock = new ReentrantReadWriteLock();
 
 	public IndexFile(int indexFileId, File file) throws FileNotFoundException
+	{
+		this(indexFileId, file, false);
+	}
+
+	public IndexFile(int indexFileId, File file, boolean mapped) throws FileNotFoundException
+	{
+		this(indexFileId, file, mapped, false);
+	}
+
+	private IndexFile(int indexFileId, File file, boolean mapped, boolean readOnly) throws FileNotFoundException
 	{
 		this.indexFileId = indexFileId;
 		this.file = file;
-		this.idx = new RandomAccessFile(file, "rw");
+		this.idx = new RandomAccessFile(file, readOnly ? "r" : "rw");
+		this.mapped = mapped;
+	}
+
+	/**
+	 * Open an existing index file for mapped reads only. Unlike the other
+	 * constructors this needs no write access, and does not create the
+	 * file if it is missing.
+	 *
+	 * @param indexFileId index id
+	 * @param file index file
+	 * @return the index file
+	 * @throws FileNotFoundException if the file does not exist
+	 */
+	public static IndexFile openReadOnly(int indexFileId, File file) throws FileNotFoundException
+	{
+		return new IndexFile(indexFileId, file, true, true);
 	}
 
 	@Override
 	public void close() throws IOException
 	{
-		idx.close();
+		mapLock.writeLock().lock();
+		try
+		{
+			map = ByteBuffer.allocate(0);
+			idx.close();
+		}
+		finally
+		{
+			mapLock.writeLock().unlock();
+		}
 	}
 
 	public void clear() throws IOException
 	{
-		idx.setLength(0L);
+		mapLock.writeLock().lock();
+		try
+		{
+			synchronized (this)
+			{
+				map = ByteBuffer.allocate(0);
+				idx.setLength(0L);
+			}
+		}
+		finally
+		{
+			mapLock.writeLock().unlock();
+		}
 	}
 
 	public synchronized void write(IndexEntry entry) throws IOException
@@ -80,7 +141,63 @@ public class IndexFile implements Closeable
 		idx.write(buffer);
 	}
 
-	public synchronized IndexEntry read(int id) throws IOException
+	/**
+	 * Write many entries, coalescing entries with adjacent ids into a
+	 * single write.
+	 *
+	 * @param entries entries to write
+	 * @throws IOException
+	 */
+	public synchronized void write(List<IndexEntry> entries) throws IOException
+	{
+		List<IndexEntry> sorted = new ArrayList<>(entries);
+		sorted.sort(Comparator.comparingInt(IndexEntry::getId));
+
+		for (int start = 0; start < sorted.size(); )
+		{
+			int end = start + 1;
+			while (end < sorted.size() && sorted.get(end).getId() == sorted.get(end - 1).getId() + 1)
+			{
+				++end;
+			}
+
+			byte[] run = new byte[(end - start) * INDEX_ENTRY_LEN];
+			for (int i = start, pos = 0; i < end; ++i, pos += INDEX_ENTRY_LEN)
+			{
+				IndexEntry entry = sorted.get(i);
+				run[pos] = (byte) (entry.getLength() >> 16);
+				run[pos + 1] = (byte) (entry.getLength() >> 8);
+				run[pos + 2] = (byte) entry.getLength();
+				run[pos + 3] = (byte) (entry.getSector() >> 16);
+				run[pos + 4] = (byte) (entry.getSector() >> 8);
+				run[pos + 5] = (byte) entry.getSector();
+			}
+
+			idx.seek((long) sorted.get(start).getId() * INDEX_ENTRY_LEN);
+			idx.write(run);
+			start = end;
+		}
+	}
+
+	public IndexEntry read(int id) throws IOException
+	{
+		if (mapped)
+		{
+			mapLock.readLock().lock();
+			try
+			{
+				return readMapped(id);
+			}
+			finally
+			{
+				mapLock.readLock().unlock();
+			}
+		}
+
+		return readFile(id);
+	}
+
+	private synchronized IndexEntry readFile(int id) throws IOException
 	{
 		idx.seek(id * INDEX_ENTRY_LEN);
 		int i = idx.read(buffer);
@@ -102,6 +219,47 @@ public class IndexFile implements Closeable
 		return new IndexEntry(this, id, sector, length);
 	}
 
+	private IndexEntry readMapped(int id) throws IOException
+	{
+		long pos = (long) id * INDEX_ENTRY_LEN;
+		ByteBuffer m = map;
+		if (pos + INDEX_ENTRY_LEN > m.capacity())
+		{
+			// the file has grown since it was last mapped
+			m = map();
+			if (pos + INDEX_ENTRY_LEN > m.capacity())
+			{
+				logger.debug("short read for id {} on index {}", id, indexFileId);
+				return null;
+			}
+		}
+
+		int p = (int) pos;
+		int length = ((m.get(p) & 0xFF) << 16) | ((m.get(p + 1) & 0xFF) << 8) | (m.get(p + 2) & 0xFF);
+		int sector = ((m.get(p + 3) & 0xFF) << 16) | ((m.get(p + 4) & 0xFF) << 8) | (m.get(p + 5) & 0xFF);
+
+		if (length <= 0 || sector <= 0)
+		{
+			logger.debug("invalid length or sector {}/{}", length, sector);
+			return null;
+		}
+
+		return new IndexEntry(this, id, sector, length);
+	}
+
+	private synchronized ByteBuffer map() throws IOException
+	{
+		FileChannel channel = idx.getChannel();
+		ByteBuffer m = channel.map(FileChannel.MapMode.READ_ONLY, 0L, channel.size());
+		map = m;
+		return m;
+	}
+
+	public synchronized void force() throws IOException
+	{
+		idx.getChannel().force(false);
+	}
+
 	public synchronized int getIndexCount() throws IOException
 	{
 		return (int) (idx.length() / INDEX_ENTRY_LEN);
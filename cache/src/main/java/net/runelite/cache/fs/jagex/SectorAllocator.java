@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.fs.jagex;
+
+import java.util.BitSet;
+
+/**
+ * Tracks which sectors of a data file are in use, so that sectors left
+ * behind by rewritten archives can be handed out again instead of always
+ * growing the file. Sector 0 is never allocated.
+ */
+public class SectorAllocator
+{
+	private final BitSet used = new BitSet();
+	private int sectorCount;
+
+	/**
+	 * @param sectorCount number of sectors currently in the data file
+	 */
+	public SectorAllocator(int sectorCount)
+	{
+		this.sectorCount = Math.max(sectorCount, 1);
+		used.set(0);
+	}
+
+	/**
+	 * Allocate a run of contiguous sectors. The first free run which is
+	 * large enough is used, which may extend past the end of the file.
+	 *
+	 * @param count number of sectors
+	 * @return the first sector of the run
+	 */
+	public synchronized int allocate(int count)
+	{
+		int start = used.nextClearBit(1);
+		for (;;)
+		{
+			int end = used.nextSetBit(start);
+			if (end == -1 || end - start >= count)
+			{
+				break;
+			}
+			start = used.nextClearBit(end);
+		}
+
+		used.set(start, start + count);
+		sectorCount = Math.max(sectorCount, start + count);
+		return start;
+	}
+
+	public synchronized void markUsed(int[] sectors)
+	{
+		for (int sector : sectors)
+		{
+			used.set(sector);
+		}
+		if (sectors.length > 0)
+		{
+			sectorCount = Math.max(sectorCount, max(sectors) + 1);
+		}
+	}
+
+	public synchronized void free(int[] sectors)
+	{
+		for (int sector : sectors)
+		{
+			if (sector > 0)
+			{
+				used.clear(sector);
+			}
+		}
+	}
+
+	public synchronized void reset()
+	{
+		used.clear();
+		used.set(0);
+		sectorCount = 1;
+	}
+
+	public synchronized boolean isUsed(int sector)
+	{
+		return used.get(sector);
+	}
+
+	/**
+	 * @return number of sectors below the end of the file which are not in use
+	 */
+	public synchronized int getFreeSectors()
+	{
+		return sectorCount - used.get(0, sectorCount).cardinality();
+	}
+
+	public synchronized int getSectorCount()
+	{
+		return sectorCount;
+	}
+
+	private static int max(int[] sectors)
+	{
+		int max = 0;
+		for (int sector : sectors)
+		{
+			max = Math.max(max, sector);
+		}
+		return max;
+	}
+}
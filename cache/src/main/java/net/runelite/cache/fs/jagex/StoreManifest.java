@@ -0,0 +1,341 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.fs.jagex;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import net.runelite.cache.fs.Archive;
+import net.runelite.cache.fs.Index;
+import net.runelite.cache.fs.Store;
+import net.runelite.cache.index.ArchiveData;
+import net.runelite.cache.index.FileData;
+import net.runelite.cache.index.IndexData;
+import net.runelite.cache.util.Crc32;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A binary sidecar file holding the parsed contents of every index in
+ * idx255, so that a store can be opened with one sequential read instead
+ * of decompressing and parsing each index. Each index records the crc of
+ * its idx255 container, and the manifest is only used if all of them
+ * still match. The body of the manifest is covered by its own crc, so a
+ * damaged manifest is rebuilt rather than applied.
+ */
+public class StoreManifest
+{
+	private static final Logger logger = LoggerFactory.getLogger(StoreManifest.class);
+
+	private static final int MAGIC = 0x524c4d46; // RLMF
+	private static final int VERSION = 2;
+
+	private final List<IndexManifest> indexes;
+
+	private static class IndexManifest
+	{
+		private int id;
+		private boolean present;
+		private int crc;
+		private int compression;
+		private IndexData data;
+	}
+
+	private StoreManifest(List<IndexManifest> indexes)
+	{
+		this.indexes = indexes;
+	}
+
+	/**
+	 * Build a manifest from a loaded store
+	 *
+	 * @param store store
+	 * @param crcs idx255 container crc of each index, with indexes which have no data absent
+	 * @return the manifest
+	 */
+	public static StoreManifest of(Store store, Map<Integer, Integer> crcs)
+	{
+		List<IndexManifest> indexes = new ArrayList<>();
+		for (Index index : store.getIndexes())
+		{
+			IndexManifest im = new IndexManifest();
+			im.id = index.getId();
+			im.present = crcs.containsKey(index.getId());
+			if (im.present)
+			{
+				im.crc = index.getCrc();
+				im.compression = index.getCompression();
+				im.data = index.toIndexData();
+			}
+			indexes.add(im);
+		}
+		return new StoreManifest(indexes);
+	}
+
+	/**
+	 * Read a manifest
+	 *
+	 * @param file manifest file
+	 * @return the manifest, or null if the file does not exist or is not a valid manifest
+	 * @throws IOException
+	 */
+	public static StoreManifest read(File file) throws IOException
+	{
+		if (!file.isFile())
+		{
+			return null;
+		}
+
+		ByteBuffer buf = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+		try
+		{
+			if (buf.getInt() != MAGIC || buf.getInt() != VERSION)
+			{
+				logger.debug("Manifest {} has an unknown format", file);
+				return null;
+			}
+
+			int checksum = buf.getInt();
+			Crc32 crc32 = new Crc32();
+			crc32.update(buf.array(), buf.position(), buf.remaining());
+			if (crc32.getHash() != checksum)
+			{
+				logger.debug("Manifest {} has a bad checksum", file);
+				return null;
+			}
+
+			int indexCount = buf.getInt();
+			List<IndexManifest> indexes = new ArrayList<>(indexCount);
+			for (int i = 0; i < indexCount; ++i)
+			{
+				IndexManifest im = new IndexManifest();
+				im.id = buf.get() & 0xFF;
+				im.present = buf.get() != 0;
+				if (im.present)
+				{
+					im.crc = buf.getInt();
+					im.compression = buf.get() & 0xFF;
+					im.data = readIndexData(buf);
+				}
+				indexes.add(im);
+			}
+
+			if (buf.hasRemaining())
+			{
+				logger.debug("Manifest {} has trailing data", file);
+				return null;
+			}
+
+			return new StoreManifest(indexes);
+		}
+		catch (BufferUnderflowException ex)
+		{
+			logger.debug("Manifest {} is truncated", file);
+			return null;
+		}
+	}
+
+	private static IndexData readIndexData(ByteBuffer buf)
+	{
+		IndexData data = new IndexData();
+		data.setProtocol(buf.get() & 0xFF);
+		data.setRevision(buf.getInt());
+		int flags = buf.get();
+		data.setNamed((flags & 1) != 0);
+		data.setSized((flags & 2) != 0);
+
+		ArchiveData[] archives = new ArchiveData[buf.getInt()];
+		for (int i = 0; i < archives.length; ++i)
+		{
+			ArchiveData ad = archives[i] = new ArchiveData();
+			ad.setId(buf.getInt());
+			ad.setNameHash(buf.getInt());
+			ad.setCrc(buf.getInt());
+			ad.setRevision(buf.getInt());
+			ad.setCompressedSize(buf.getInt());
+			ad.setDecompressedSize(buf.getInt());
+
+			FileData[] files = new FileData[buf.getInt()];
+			for (int j = 0; j < files.length; ++j)
+			{
+				FileData fd = files[j] = new FileData();
+				fd.setId(buf.getInt());
+				fd.setNameHash(buf.getInt());
+			}
+			ad.setFiles(files);
+		}
+		data.setArchives(archives);
+		return data;
+	}
+
+	/**
+	 * Write the manifest. The file is replaced atomically.
+	 *
+	 * @param file manifest file
+	 * @throws IOException
+	 */
+	public void write(File file) throws IOException
+	{
+		ByteArrayOutputStream body = new ByteArrayOutputStream(1 << 16);
+		DataOutputStream out = new DataOutputStream(body);
+		out.writeInt(indexes.size());
+		for (IndexManifest im : indexes)
+		{
+			out.writeByte(im.id);
+			out.writeBoolean(im.present);
+			if (im.present)
+			{
+				out.writeInt(im.crc);
+				out.writeByte(im.compression);
+				writeIndexData(out, im.data);
+			}
+		}
+
+		byte[] bodyData = body.toByteArray();
+		Crc32 crc32 = new Crc32();
+		crc32.update(bodyData, 0, bodyData.length);
+
+		// a unique temporary file, so concurrent writers don't clobber each other
+		File tmp = File.createTempFile(file.getName(), ".tmp", file.getAbsoluteFile().getParentFile());
+		try
+		{
+			try (DataOutputStream fout = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp), 1 << 16)))
+			{
+				fout.writeInt(MAGIC);
+				fout.writeInt(VERSION);
+				fout.writeInt(crc32.getHash());
+				fout.write(bodyData);
+			}
+
+			Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+		finally
+		{
+			Files.deleteIfExists(tmp.toPath());
+		}
+	}
+
+	private static void writeIndexData(DataOutputStream out, IndexData data) throws IOException
+	{
+		out.writeByte(data.getProtocol());
+		out.writeInt(data.getRevision());
+		out.writeByte((data.isNamed() ? 1 : 0) | (data.isSized() ? 2 : 0));
+
+		out.writeInt(data.getArchives().length);
+		for (ArchiveData ad : data.getArchives())
+		{
+			out.writeInt(ad.getId());
+			out.writeInt(ad.getNameHash());
+			out.writeInt(ad.getCrc());
+			out.writeInt(ad.getRevision());
+			out.writeInt(ad.getCompressedSize());
+			out.writeInt(ad.getDecompressedSize());
+
+			out.writeInt(ad.getFiles().length);
+			for (FileData fd : ad.getFiles())
+			{
+				out.writeInt(fd.getId());
+				out.writeInt(fd.getNameHash());
+			}
+		}
+	}
+
+	/**
+	 * Check the manifest is for the given store and idx255 contents
+	 *
+	 * @param store store, with its indexes added but not loaded
+	 * @param crcs idx255 container crc of each index, with indexes which have no data absent
+	 * @return true if the manifest is valid
+	 */
+	public boolean validate(Store store, Map<Integer, Integer> crcs)
+	{
+		List<Index> storeIndexes = store.getIndexes();
+		if (storeIndexes.size() != indexes.size())
+		{
+			return false;
+		}
+
+		for (int i = 0; i < indexes.size(); ++i)
+		{
+			IndexManifest im = indexes.get(i);
+			Integer crc = crcs.get(im.id);
+			if (storeIndexes.get(i).getId() != im.id
+				|| im.present != (crc != null)
+				|| (im.present && im.crc != crc))
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Populate the store's indexes from the manifest
+	 *
+	 * @param store store, which must already be validated against this manifest
+	 */
+	public void apply(Store store)
+	{
+		for (IndexManifest im : indexes)
+		{
+			if (!im.present)
+			{
+				continue;
+			}
+
+			Index index = store.findIndex(im.id);
+			IndexData id = im.data;
+
+			index.setProtocol(id.getProtocol());
+			index.setRevision(id.getRevision());
+			index.setNamed(id.isNamed());
+			index.setSized(id.isSized());
+
+			for (ArchiveData ad : id.getArchives())
+			{
+				Archive archive = index.addArchive(ad.getId());
+				archive.setNameHash(ad.getNameHash());
+				archive.setCrc(ad.getCrc());
+				archive.setCompressedSize(ad.getCompressedSize());
+				archive.setDecompressedSize(ad.getDecompressedSize());
+				archive.setRevision(ad.getRevision());
+				archive.setFileData(ad.getFiles());
+			}
+
+			index.setCrc(im.crc);
+			index.setCompression(im.compression);
+		}
+	}
+}
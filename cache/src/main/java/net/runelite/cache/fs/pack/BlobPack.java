@@ -0,0 +1,373 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.fs.pack;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An append-only pack of blobs addressed by the SHA-256 of their contents.
+ * Blobs are concatenated in a pack file, and an index file holds a fixed
+ * size record of hash, offset, and length for each blob. Storing a blob
+ * which is already in the pack only returns its hash.
+ * <p>
+ * Blobs are read through read-only memory mappings of the pack, so reads
+ * do not lock, and opening a pack never modifies it. The first
+ * {@link #put(byte[])} takes an exclusive lock on the index which is held
+ * until the pack is closed, so only one pack may write to the files at a
+ * time. A blob is appended to the pack and forced to disk before its index
+ * record is written, so after a crash the index never refers to data which
+ * was not written. Incomplete trailing records, and data without a record,
+ * are dropped once the writer lock is taken.
+ */
+public class BlobPack implements Closeable
+{
+	private static final Logger logger = LoggerFactory.getLogger(BlobPack.class);
+
+	static final HashFunction HASH = Hashing.sha256();
+	static final int HASH_LENGTH = 32;
+
+	private static final int RECORD_LENGTH = HASH_LENGTH + 8 + 4;
+	private static final long MAP_CHUNK_SIZE = 1L << 30;
+
+	private final File packFile;
+	private final File idxFile;
+	private final FileChannel pack;
+	private final FileChannel idx;
+	private final Map<HashCode, long[]> blobs = new ConcurrentHashMap<>();
+	private volatile ByteBuffer[] maps = new ByteBuffer[0];
+	private long packLength;
+	private long records;
+
+	// opened by the first put, holding the writer lock on the index
+	private FileChannel packWriter;
+	private FileChannel idxWriter;
+
+	public BlobPack(File packFile, File idxFile) throws IOException
+	{
+		this.packFile = packFile;
+		this.idxFile = idxFile;
+
+		packFile.createNewFile();
+		idxFile.createNewFile();
+
+		this.pack = FileChannel.open(packFile.toPath(), StandardOpenOption.READ);
+		try
+		{
+			this.idx = FileChannel.open(idxFile.toPath(), StandardOpenOption.READ);
+		}
+		catch (IOException ex)
+		{
+			pack.close();
+			throw ex;
+		}
+
+		try
+		{
+			readIndex();
+		}
+		catch (IOException | RuntimeException ex)
+		{
+			close();
+			throw ex;
+		}
+	}
+
+	/**
+	 * Read the index records added since the last call
+	 *
+	 * @throws IOException
+	 */
+	private void readIndex() throws IOException
+	{
+		// a writer appends to the pack before the index, so reading the size
+		// of the index first means every complete record refers to written data
+		long count = idx.size() / RECORD_LENGTH;
+		long packSize = pack.size();
+		if (count <= records)
+		{
+			return;
+		}
+
+		ByteBuffer buf = ByteBuffer.allocate((int) ((count - records) * RECORD_LENGTH));
+		long start = records * RECORD_LENGTH;
+		while (buf.hasRemaining())
+		{
+			if (idx.read(buf, start + buf.position()) < 0)
+			{
+				throw new IOException("short read of blob index");
+			}
+		}
+		buf.flip();
+
+		long end = packLength;
+		for (long i = records; i < count; ++i)
+		{
+			byte[] hash = new byte[HASH_LENGTH];
+			buf.get(hash);
+			long offset = buf.getLong();
+			int length = buf.getInt();
+
+			if (offset < 0 || length < 0 || offset + length > packSize)
+			{
+				logger.warn("Blob index refers past the end of the pack, ignoring the remaining {} records", count - i);
+				break;
+			}
+
+			blobs.put(HashCode.fromBytes(hash), new long[]{offset, length});
+			end = Math.max(end, offset + length);
+			records = i + 1;
+		}
+
+		packLength = end;
+	}
+
+	/**
+	 * Take the writer lock, waiting for any writer in another process to
+	 * close the pack, and drop what a crashed writer left after the last
+	 * complete record.
+	 *
+	 * @throws IOException
+	 */
+	private void openWriter() throws IOException
+	{
+		FileChannel idxOut = FileChannel.open(idxFile.toPath(), StandardOpenOption.WRITE);
+		FileChannel packOut = null;
+		try
+		{
+			idxOut.lock();
+			packOut = FileChannel.open(packFile.toPath(), StandardOpenOption.WRITE);
+
+			// pick up anything written since the pack was opened
+			readIndex();
+
+			// drop anything after the last complete record, and data without a record
+			idxOut.truncate(records * RECORD_LENGTH);
+			packOut.truncate(packLength);
+		}
+		catch (IOException | RuntimeException ex)
+		{
+			if (packOut != null)
+			{
+				packOut.close();
+			}
+			idxOut.close();
+			throw ex;
+		}
+
+		packWriter = packOut;
+		idxWriter = idxOut;
+	}
+
+	@Override
+	public synchronized void close() throws IOException
+	{
+		maps = new ByteBuffer[0];
+		if (packWriter != null)
+		{
+			packWriter.close();
+		}
+		if (idxWriter != null)
+		{
+			// releases the writer lock
+			idxWriter.close();
+		}
+		pack.close();
+		idx.close();
+	}
+
+	public static HashCode hash(byte[] data)
+	{
+		return HASH.hashBytes(data);
+	}
+
+	public boolean contains(HashCode hash)
+	{
+		return blobs.containsKey(hash);
+	}
+
+	public int size()
+	{
+		return blobs.size();
+	}
+
+	/**
+	 * Add a blob to the pack, unless a blob with the same contents already exists
+	 *
+	 * @param data blob contents
+	 * @return the hash of the blob
+	 * @throws IOException
+	 */
+	public synchronized HashCode put(byte[] data) throws IOException
+	{
+		HashCode hash = hash(data);
+		if (blobs.containsKey(hash))
+		{
+			return hash;
+		}
+
+		if (idxWriter == null)
+		{
+			openWriter();
+
+			if (blobs.containsKey(hash))
+			{
+				return hash;
+			}
+		}
+
+		long offset = packLength;
+		ByteBuffer buf = ByteBuffer.wrap(data);
+		while (buf.hasRemaining())
+		{
+			packWriter.write(buf, offset + buf.position());
+		}
+		// the data must be on disk before a record can refer to it
+		packWriter.force(false);
+		packLength += data.length;
+
+		ByteBuffer record = ByteBuffer.allocate(RECORD_LENGTH);
+		record.put(hash.asBytes());
+		record.putLong(offset);
+		record.putInt(data.length);
+		record.flip();
+		long recordOffset = records * RECORD_LENGTH;
+		while (record.hasRemaining())
+		{
+			idxWriter.write(record, recordOffset + record.position());
+		}
+		++records;
+
+		blobs.put(hash, new long[]{offset, data.length});
+		return hash;
+	}
+
+	/**
+	 * Read a blob
+	 *
+	 * @param hash blob hash
+	 * @return the blob contents, or null if there is no such blob
+	 * @throws IOException
+	 */
+	public byte[] get(HashCode hash) throws IOException
+	{
+		long[] location = blobs.get(hash);
+		if (location == null)
+		{
+			return null;
+		}
+
+		long offset = location[0];
+		int length = (int) location[1];
+		byte[] data = new byte[length];
+		if (length == 0)
+		{
+			return data;
+		}
+
+		ByteBuffer[] m = maps;
+		if (offset + length > mappedLength(m))
+		{
+			m = map();
+		}
+
+		int chunk = (int) (offset / MAP_CHUNK_SIZE);
+		int pos = (int) (offset % MAP_CHUNK_SIZE);
+		if (pos + (long) length <= m[chunk].capacity())
+		{
+			ByteBuffer view = m[chunk].duplicate();
+			view.position(pos);
+			view.get(data);
+		}
+		else
+		{
+			// the blob straddles two mappings
+			ByteBuffer buf = ByteBuffer.wrap(data);
+			while (buf.hasRemaining())
+			{
+				if (pack.read(buf, offset + buf.position()) < 0)
+				{
+					throw new IOException("short read of blob " + hash);
+				}
+			}
+		}
+
+		return data;
+	}
+
+	public synchronized void force() throws IOException
+	{
+		if (idxWriter != null)
+		{
+			packWriter.force(false);
+			idxWriter.force(false);
+		}
+	}
+
+	private synchronized ByteBuffer[] map() throws IOException
+	{
+		long length = packLength;
+
+		ByteBuffer[] old = maps;
+		ByteBuffer[] m = new ByteBuffer[(int) ((length + MAP_CHUNK_SIZE - 1) / MAP_CHUNK_SIZE)];
+		for (int i = 0; i < m.length; ++i)
+		{
+			long start = i * MAP_CHUNK_SIZE;
+			long chunkLength = Math.min(MAP_CHUNK_SIZE, length - start);
+			if (i < old.length && old[i].capacity() == chunkLength)
+			{
+				m[i] = old[i];
+			}
+			else
+			{
+				m[i] = pack.map(FileChannel.MapMode.READ_ONLY, start, chunkLength);
+			}
+		}
+
+		maps = m;
+		return m;
+	}
+
+	private static long mappedLength(ByteBuffer[] m)
+	{
+		if (m.length == 0)
+		{
+			return 0L;
+		}
+
+		return (m.length - 1) * MAP_CHUNK_SIZE + m[m.length - 1].capacity();
+	}
+}
@@ -0,0 +1,308 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.fs.pack;
+
+import com.google.common.hash.HashCode;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import net.runelite.cache.fs.Archive;
+import net.runelite.cache.fs.ArchivePipeline;
+import net.runelite.cache.fs.Container;
+import net.runelite.cache.fs.Index;
+import net.runelite.cache.fs.Storage;
+import net.runelite.cache.fs.Store;
+import net.runelite.cache.index.ArchiveData;
+import net.runelite.cache.index.IndexData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A Storage which keeps many revisions of a cache in one directory without
+ * storing any archive twice. Compressed archives, including the index
+ * containers normally kept in idx255, are stored once in a {@link BlobPack}
+ * keyed by the hash of their bytes, and each revision is a small manifest
+ * mapping each (index, archive) to the hash of its data.
+ * <p>
+ * Archives passed to {@link #store(int, int, byte[])} are added to the pack
+ * immediately, but are only part of the revision once {@link #save(Store)}
+ * writes its manifest. Saving a store loaded from another storage copies
+ * all of its archives into the pack. Storages only reading a revision
+ * never modify the pack, and a storage which writes holds the pack's writer
+ * lock until it is closed, so only one storage may write to a pack
+ * directory at a time.
+ */
+public class PackStorage implements Storage
+{
+	private static final Logger logger = LoggerFactory.getLogger(PackStorage.class);
+
+	private static final String PACK_FILE = "objects.pack";
+	private static final String PACK_INDEX_FILE = "objects.idx";
+	private static final String REVISIONS_DIRECTORY = "revisions";
+	private static final String MANIFEST_EXTENSION = ".manifest";
+
+	private static final int MAGIC = 0x524c5052; // RLPR
+	private static final int VERSION = 1;
+
+	private final File revisions;
+	private final String revision;
+	private final BlobPack pack;
+	private final Map<Long, HashCode> archives = new ConcurrentHashMap<>();
+
+	/**
+	 * @param directory pack directory
+	 * @param revision name of the revision to load or save
+	 * @throws IOException
+	 */
+	public PackStorage(File directory, String revision) throws IOException
+	{
+		this.revisions = new File(directory, REVISIONS_DIRECTORY);
+		this.revision = revision;
+
+		if (!revisions.exists() && !revisions.mkdirs())
+		{
+			throw new IOException("unable to create " + revisions);
+		}
+
+		this.pack = new BlobPack(new File(directory, PACK_FILE), new File(directory, PACK_INDEX_FILE));
+		readManifest();
+	}
+
+	/**
+	 * List the revisions saved in a pack directory
+	 *
+	 * @param directory pack directory
+	 * @return the revision names, sorted
+	 */
+	public static List<String> listRevisions(File directory)
+	{
+		List<String> names = new ArrayList<>();
+		String[] files = new File(directory, REVISIONS_DIRECTORY).list((dir, name) -> name.endsWith(MANIFEST_EXTENSION));
+		if (files != null)
+		{
+			for (String file : files)
+			{
+				names.add(file.substring(0, file.length() - MANIFEST_EXTENSION.length()));
+			}
+		}
+		names.sort(null);
+		return names;
+	}
+
+	public BlobPack getPack()
+	{
+		return pack;
+	}
+
+	@Override
+	public void init(Store store) throws IOException
+	{
+		for (long key : new TreeMap<>(archives).keySet())
+		{
+			if ((int) (key >>> 32) == 255)
+			{
+				store.addIndex((int) key);
+			}
+		}
+	}
+
+	@Override
+	public void close() throws IOException
+	{
+		pack.close();
+	}
+
+	@Override
+	public void load(Store store) throws IOException
+	{
+		new ArchivePipeline(this).map(store.getIndexes(), index ->
+		{
+			loadIndex(index);
+			return null;
+		});
+	}
+
+	private void loadIndex(Index index) throws IOException
+	{
+		byte[] indexData = load(255, index.getId());
+		if (indexData == null)
+		{
+			return;
+		}
+
+		Container res = Container.decompress(indexData, null);
+
+		IndexData id = new IndexData();
+		id.load(res.data);
+
+		index.setProtocol(id.getProtocol());
+		index.setRevision(id.getRevision());
+		index.setNamed(id.isNamed());
+		index.setSized(id.isSized());
+
+		for (ArchiveData ad : id.getArchives())
+		{
+			Archive archive = index.addArchive(ad.getId());
+			archive.setNameHash(ad.getNameHash());
+			archive.setCrc(ad.getCrc());
+			archive.setCompressedSize(ad.getCompressedSize());
+			archive.setDecompressedSize(ad.getDecompressedSize());
+			archive.setRevision(ad.getRevision());
+			archive.setFileData(ad.getFiles());
+		}
+
+		index.setCrc(res.crc);
+		index.setCompression(res.compression);
+	}
+
+	@Override
+	public void save(Store store) throws IOException
+	{
+		Storage source = store.getStorage();
+		if (source != this)
+		{
+			logger.debug("Copying archives into revision {}", revision);
+			for (Index index : store.getIndexes())
+			{
+				for (Archive archive : index.getArchives())
+				{
+					byte[] data = source.loadArchive(archive);
+					if (data != null)
+					{
+						saveArchive(archive, data);
+					}
+				}
+			}
+		}
+
+		for (Index index : store.getIndexes())
+		{
+			IndexData indexData = index.toIndexData();
+			Container container = new Container(index.getCompression(), -1); // index data revision is always -1
+			container.compress(indexData.writeIndexData(), null);
+			store(255, index.getId(), container.data);
+			index.setCrc(container.crc);
+		}
+
+		pack.force();
+		writeManifest();
+	}
+
+	@Override
+	public byte[] load(int index, int archive) throws IOException
+	{
+		HashCode hash = archives.get((long) index << 32 | archive);
+		if (hash == null)
+		{
+			return null;
+		}
+
+		return pack.get(hash);
+	}
+
+	@Override
+	public void store(int index, int archive, byte[] data) throws IOException
+	{
+		archives.put((long) index << 32 | archive, pack.put(data));
+	}
+
+	private File manifestFile()
+	{
+		return new File(revisions, revision + MANIFEST_EXTENSION);
+	}
+
+	private void readManifest() throws IOException
+	{
+		File file = manifestFile();
+		if (!file.exists())
+		{
+			return;
+		}
+
+		ByteBuffer buf = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+		try
+		{
+			if (buf.getInt() != MAGIC || buf.getInt() != VERSION)
+			{
+				throw new IOException("invalid revision manifest " + file);
+			}
+
+			int count = buf.getInt();
+			byte[] hash = new byte[BlobPack.HASH_LENGTH];
+			for (int i = 0; i < count; ++i)
+			{
+				long key = buf.getLong();
+				buf.get(hash);
+
+				HashCode hashCode = HashCode.fromBytes(hash);
+				if (!pack.contains(hashCode))
+				{
+					throw new IOException("revision " + revision + " refers to missing blob " + hashCode);
+				}
+				archives.put(key, hashCode);
+			}
+		}
+		catch (BufferUnderflowException ex)
+		{
+			throw new IOException("truncated revision manifest " + file, ex);
+		}
+	}
+
+	private void writeManifest() throws IOException
+	{
+		File file = manifestFile();
+		File tmp = new File(revisions, revision + MANIFEST_EXTENSION + ".tmp");
+
+		// sorted, so the manifest only depends on the contents of the revision
+		Map<Long, HashCode> sorted = new TreeMap<>(archives);
+		try (FileOutputStream fout = new FileOutputStream(tmp);
+			DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fout)))
+		{
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeInt(sorted.size());
+			for (Map.Entry<Long, HashCode> entry : sorted.entrySet())
+			{
+				out.writeLong(entry.getKey());
+				out.write(entry.getValue().asBytes());
+			}
+			out.flush();
+			fout.getFD().sync();
+		}
+
+		Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+}
@@ -26,6 +26,14 @@ package net.runelite.cache.item;
 
 import java.awt.image.BufferedImage;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
 import net.runelite.cache.definitions.ItemDefinition;
 import net.runelite.cache.definitions.ModelDefinition;
 import net.runelite.cache.definitions.providers.ItemProvider;
@@ -33,7 +41,6 @@ import net.runelite.cache.definitions.providers.ModelProvider;
 import net.runelite.cache.definitions.providers.SpriteProvider;
 import net.runelite.cache.definitions.providers.TextureProvider;
 import net.runelite.cache.models.FaceNormal;
-import net.runelite.cache.models.JagexColor;
 import net.runelite.cache.models.VertexNormal;
 
 public class ItemSpriteFactory
@@ -43,144 +50,103 @@ public class ItemSpriteFactory
 		int itemId, int quantity, int border, int shadowColor,
 		boolean noted) throws IOException
 	{
-		SpritePixels spritePixels = createSpritePixels(itemProvider, modelProvider, spriteProvider, textureProvider,
-			itemId, quantity, border, shadowColor, noted);
-		return spritePixels == null ? null : spritePixels.toBufferedImage();
+		return new ItemSpriteRenderer(itemProvider, modelProvider, spriteProvider, textureProvider)
+			.render(itemId, quantity, border, shadowColor, noted);
 	}
 
-	private static SpritePixels createSpritePixels(ItemProvider itemProvider, ModelProvider modelProvider,
+	/**
+	 * Create the sprites of many items using the common pool.
+	 *
+	 * @see #createSprites(ItemProvider, ModelProvider, SpriteProvider, TextureProvider, int[], int[], int, int, boolean, ForkJoinPool)
+	 */
+	public static List<BufferedImage> createSprites(ItemProvider itemProvider, ModelProvider modelProvider,
 		SpriteProvider spriteProvider, TextureProvider textureProvider,
-		int itemId, int quantity, int border, int shadowColor,
+		int[] itemIds, int[] quantities, int border, int shadowColor,
 		boolean noted) throws IOException
 	{
-		ItemDefinition item = itemProvider.provide(itemId);
+		return createSprites(itemProvider, modelProvider, spriteProvider, textureProvider,
+			itemIds, quantities, border, shadowColor, noted, ForkJoinPool.commonPool());
+	}
 
-		if (quantity > 1 && item.countObj != null)
+	/**
+	 * Create the sprites of many items in parallel. Each item is rendered with
+	 * an {@link ItemSpriteRenderer} nothing else is using, taken from a set
+	 * kept for the duration of the call, so rasterizer and model buffers are
+	 * reused between items but at most one renderer per concurrently running
+	 * worker is created. The providers are shared between
+	 * the workers, so they must be thread safe, and the model provider must
+	 * return a new definition each time, as it is modified while rendering.
+	 *
+	 * @param itemIds item ids
+	 * @param quantities the quantity of each item
+	 * @param pool pool to render on
+	 * @return the sprites, in the same order as the item ids, or null where an
+	 * item has no model
+	 * @throws IOException
+	 */
+	public static List<BufferedImage> createSprites(ItemProvider itemProvider, ModelProvider modelProvider,
+		SpriteProvider spriteProvider, TextureProvider textureProvider,
+		int[] itemIds, int[] quantities, int border, int shadowColor,
+		boolean noted, ForkJoinPool pool) throws IOException
+	{
+		if (itemIds.length != quantities.length)
 		{
-			int stackItemID = -1;
+			throw new IllegalArgumentException("item ids and quantities differ in length");
+		}
+
+		RSTextureProvider rsTextureProvider = ItemSpriteRenderer.createTextureProvider(textureProvider, spriteProvider);
+		// renderers are only reachable from this call, so their buffers are
+		// freed with it rather than living on in the pool's threads
+		Queue<ItemSpriteRenderer> renderers = new ConcurrentLinkedQueue<>();
 
-			for (int i = 0; i < 10; ++i)
+		List<CompletableFuture<BufferedImage>> futures = new ArrayList<>(itemIds.length);
+		for (int i = 0; i < itemIds.length; ++i)
+		{
+			int itemId = itemIds[i];
+			int quantity = quantities[i];
+			futures.add(CompletableFuture.supplyAsync(() ->
 			{
-				if (quantity >= item.countCo[i] && item.countCo[i] != 0)
+				ItemSpriteRenderer renderer = renderers.poll();
+				if (renderer == null)
 				{
-					stackItemID = item.countObj[i];
+					renderer = new ItemSpriteRenderer(itemProvider, modelProvider, rsTextureProvider);
 				}
-			}
 
-			if (stackItemID != -1)
-			{
-				item = itemProvider.provide(stackItemID);
-			}
-		}
-
-		Model itemModel = getModel(modelProvider, item);
-		if (itemModel == null)
-		{
-			return null;
+				try
+				{
+					return renderer.render(itemId, quantity, border, shadowColor, noted);
+				}
+				catch (IOException ex)
+				{
+					throw new UncheckedIOException(ex);
+				}
+				finally
+				{
+					renderers.offer(renderer);
+				}
+			}, pool));
 		}
 
-		SpritePixels auxSpritePixels = null;
-		if (item.notedTemplate != -1)
+		List<BufferedImage> sprites = new ArrayList<>(futures.size());
+		for (CompletableFuture<BufferedImage> future : futures)
 		{
-			auxSpritePixels = createSpritePixels(itemProvider, modelProvider, spriteProvider, textureProvider,
-				item.notedID, 10, 1, 0, true);
-			if (auxSpritePixels == null)
+			try
 			{
-				return null;
+				sprites.add(future.join());
 			}
-		}
-		else if (item.boughtTemplateId != -1)
-		{
-			auxSpritePixels = createSpritePixels(itemProvider, modelProvider, spriteProvider, textureProvider,
-				item.boughtId, quantity, border, 0, false);
-			if (auxSpritePixels == null)
-			{
-				return null;
-			}
-		}
-		else if (item.placeholderTemplateId != -1)
-		{
-			auxSpritePixels = createSpritePixels(itemProvider, modelProvider, spriteProvider, textureProvider,
-				item.placeholderId, quantity, 0, 0, false);
-			if (auxSpritePixels == null)
+			catch (CompletionException ex)
 			{
-				return null;
+				if (ex.getCause() instanceof UncheckedIOException)
+				{
+					throw ((UncheckedIOException) ex.getCause()).getCause();
+				}
+				throw ex;
 			}
 		}
-
-		RSTextureProvider rsTextureProvider = new RSTextureProvider(textureProvider, spriteProvider);
-		rsTextureProvider.brightness = JagexColor.BRIGHTNESS_MAX;
-
-		SpritePixels spritePixels = new SpritePixels(36, 32);
-		Graphics3D graphics = new Graphics3D(rsTextureProvider);
-		graphics.setBrightness(JagexColor.BRIGHTNESS_MAX);
-		graphics.setRasterBuffer(spritePixels.pixels, 36, 32);
-		graphics.reset();
-		graphics.setRasterClipping();
-		graphics.setOffset(16, 16);
-		graphics.rasterGouraudLowRes = false;
-		if (item.placeholderTemplateId != -1)
-		{
-			auxSpritePixels.drawAtOn(graphics, 0, 0);
-		}
-
-		int zoom2d = item.zoom2d;
-		if (noted)
-		{
-			zoom2d = (int) ((double) zoom2d * 1.5D);
-		}
-		else if (border == 2)
-		{
-			zoom2d = (int) ((double) zoom2d * 1.04D);
-		}
-
-		int var17 = zoom2d * Graphics3D.SINE[item.xan2d] >> 16;
-		int var18 = zoom2d * Graphics3D.COSINE[item.xan2d] >> 16;
-
-		itemModel.calculateBoundsCylinder();
-		itemModel.projectAndDraw(graphics, 0,
-			item.yan2d,
-			item.zan2d,
-			item.xan2d,
-			item.xOffset2d,
-			itemModel.modelHeight / 2 + var17 + item.yOffset2d,
-			var18 + item.yOffset2d);
-		if (item.boughtTemplateId != -1)
-		{
-			auxSpritePixels.drawAtOn(graphics, 0, 0);
-		}
-
-		if (border >= 1)
-		{
-			spritePixels.drawBorder(1);
-		}
-
-		if (border >= 2)
-		{
-			spritePixels.drawBorder(0xffffff);
-		}
-
-		if (shadowColor != 0)
-		{
-			spritePixels.drawShadow(shadowColor);
-		}
-
-		graphics.setRasterBuffer(spritePixels.pixels, 36, 32);
-		if (item.notedTemplate != -1)
-		{
-			auxSpritePixels.drawAtOn(graphics, 0, 0);
-		}
-
-		graphics.setRasterBuffer(graphics.graphicsPixels,
-			graphics.graphicsPixelsWidth,
-			graphics.graphicsPixelsHeight);
-
-		graphics.setRasterClipping();
-		graphics.rasterGouraudLowRes = true;
-		return spritePixels;
+		return sprites;
 	}
 
-	private static Model getModel(ModelProvider modelProvider, ItemDefinition item) throws IOException
+	static Model getModel(ModelProvider modelProvider, ItemDefinition item, ModelBuffers buffers) throws IOException
 	{
 		Model itemModel;
 		ModelDefinition inventoryModel = modelProvider.provide(item.inventoryModel);
@@ -210,16 +176,16 @@ public class ItemSpriteFactory
 			}
 		}
 
-		itemModel = light(inventoryModel, item.ambient + 64, item.contrast + 768, -50, -10, -50);
+		itemModel = light(inventoryModel, item.ambient + 64, item.contrast + 768, -50, -10, -50, buffers);
 		return itemModel;
 	}
 
-	private static Model light(ModelDefinition def, int ambient, int contrast, int x, int y, int z)
+	private static Model light(ModelDefinition def, int ambient, int contrast, int x, int y, int z, ModelBuffers buffers)
 	{
 		def.computeNormals();
 		int somethingMagnitude = (int) Math.sqrt((double) (z * z + x * x + y * y));
 		int var7 = somethingMagnitude * contrast >> 8;
-		Model litModel = new Model();
+		Model litModel = new Model(buffers);
 		litModel.faceColors1 = new int[def.faceCount];
 		litModel.faceColors2 = new int[def.faceCount];
 		litModel.faceColors3 = new int[def.faceCount];
@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2018, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.item;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import net.runelite.cache.definitions.ItemDefinition;
+import net.runelite.cache.definitions.providers.ItemProvider;
+import net.runelite.cache.definitions.providers.ModelProvider;
+import net.runelite.cache.definitions.providers.SpriteProvider;
+import net.runelite.cache.definitions.providers.TextureProvider;
+import net.runelite.cache.models.JagexColor;
+
+/**
+ * Renders item sprites. A renderer holds all of the state used while
+ * rendering, its rasterizer, color palette and model buffers, and reuses it
+ * between sprites. Renderers on different threads do not interfere with each
+ * other, but a renderer must only be used by one thread at a time.
+ */
+public class ItemSpriteRenderer
+{
+	private final ItemProvider itemProvider;
+	private final ModelProvider modelProvider;
+	private final Graphics3D graphics;
+	private final ModelBuffers modelBuffers = new ModelBuffers();
+
+	public ItemSpriteRenderer(ItemProvider itemProvider, ModelProvider modelProvider,
+		SpriteProvider spriteProvider, TextureProvider textureProvider)
+	{
+		this(itemProvider, modelProvider, createTextureProvider(textureProvider, spriteProvider));
+	}
+
+	/**
+	 * @param rsTextureProvider texture provider, which may be shared between renderers
+	 */
+	ItemSpriteRenderer(ItemProvider itemProvider, ModelProvider modelProvider, RSTextureProvider rsTextureProvider)
+	{
+		this.itemProvider = itemProvider;
+		this.modelProvider = modelProvider;
+		graphics = new Graphics3D(rsTextureProvider);
+		graphics.setBrightness(JagexColor.BRIGHTNESS_MAX);
+	}
+
+	static RSTextureProvider createTextureProvider(TextureProvider textureProvider, SpriteProvider spriteProvider)
+	{
+		RSTextureProvider rsTextureProvider = new RSTextureProvider(textureProvider, spriteProvider);
+		rsTextureProvider.brightness = JagexColor.BRIGHTNESS_MAX;
+		return rsTextureProvider;
+	}
+
+	public BufferedImage render(int itemId, int quantity, int border, int shadowColor, boolean noted) throws IOException
+	{
+		SpritePixels spritePixels = renderPixels(itemId, quantity, border, shadowColor, noted);
+		return spritePixels == null ? null : spritePixels.toBufferedImage();
+	}
+
+	private SpritePixels renderPixels(int itemId, int quantity, int border, int shadowColor, boolean noted) throws IOException
+	{
+		ItemDefinition item = itemProvider.provide(itemId);
+
+		if (quantity > 1 && item.countObj != null)
+		{
+			int stackItemID = -1;
+
+			for (int i = 0; i < 10; ++i)
+			{
+				if (quantity >= item.countCo[i] && item.countCo[i] != 0)
+				{
+					stackItemID = item.countObj[i];
+				}
+			}
+
+			if (stackItemID != -1)
+			{
+				item = itemProvider.provide(stackItemID);
+			}
+		}
+
+		Model itemModel = ItemSpriteFactory.getModel(modelProvider, item, modelBuffers);
+		if (itemModel == null)
+		{
+			return null;
+		}
+
+		SpritePixels auxSpritePixels = null;
+		if (item.notedTemplate != -1)
+		{
+			auxSpritePixels = renderPixels(item.notedID, 10, 1, 0, true);
+			if (auxSpritePixels == null)
+			{
+				return null;
+			}
+		}
+		else if (item.boughtTemplateId != -1)
+		{
+			auxSpritePixels = renderPixels(item.boughtId, quantity, border, 0, false);
+			if (auxSpritePixels == null)
+			{
+				return null;
+			}
+		}
+		else if (item.placeholderTemplateId != -1)
+		{
+			auxSpritePixels = renderPixels(item.placeholderId, quantity, 0, 0, false);
+			if (auxSpritePixels == null)
+			{
+				return null;
+			}
+		}
+
+		SpritePixels spritePixels = new SpritePixels(36, 32);
+		graphics.setRasterBuffer(spritePixels.pixels, 36, 32);
+		graphics.reset();
+		graphics.setRasterClipping();
+		graphics.setOffset(16, 16);
+		graphics.rasterGouraudLowRes = false;
+		if (item.placeholderTemplateId != -1)
+		{
+			auxSpritePixels.drawAtOn(graphics, 0, 0);
+		}
+
+		int zoom2d = item.zoom2d;
+		if (noted)
+		{
+			zoom2d = (int) ((double) zoom2d * 1.5D);
+		}
+		else if (border == 2)
+		{
+			zoom2d = (int) ((double) zoom2d * 1.04D);
+		}
+
+		int var17 = zoom2d * Graphics3D.SINE[item.xan2d] >> 16;
+		int var18 = zoom2d * Graphics3D.COSINE[item.xan2d] >> 16;
+
+		itemModel.calculateBoundsCylinder();
+		itemModel.projectAndDraw(graphics, 0,
+			item.yan2d,
+			item.zan2d,
+			item.xan2d,
+			item.xOffset2d,
+			itemModel.modelHeight / 2 + var17 + item.yOffset2d,
+			var18 + item.yOffset2d);
+		if (item.boughtTemplateId != -1)
+		{
+			auxSpritePixels.drawAtOn(graphics, 0, 0);
+		}
+
+		if (border >= 1)
+		{
+			spritePixels.drawBorder(1);
+		}
+
+		if (border >= 2)
+		{
+			spritePixels.drawBorder(0xffffff);
+		}
+
+		if (shadowColor != 0)
+		{
+			spritePixels.drawShadow(shadowColor);
+		}
+
+		graphics.setRasterBuffer(spritePixels.pixels, 36, 32);
+		if (item.notedTemplate != -1)
+		{
+			auxSpritePixels.drawAtOn(graphics, 0, 0);
+		}
+
+		graphics.setRasterBuffer(graphics.graphicsPixels,
+			graphics.graphicsPixelsWidth,
+			graphics.graphicsPixelsHeight);
+
+		graphics.setRasterClipping();
+		graphics.rasterGouraudLowRes = true;
+		return spritePixels;
+	}
+}
@@ -26,20 +26,20 @@ package net.runelite.cache.item;
 
 class Model extends Renderable
 {
-	boolean[] faceClipped = new boolean[6500];
-	int[] modelViewportYs = new int[6500];
-	int[] modelViewportXs = new int[6500];
-	int[] modelViewportZs = new int[6500];
-	int[] modelLocalX = new int[6500];
-	int[] modelLocalY = new int[6500];
-	int[] modelLocalZ = new int[6500];
-	int[] distanceFaceCount = new int[6000];
-	int[][] facesByDistance = new int[6000][512];
-	int[] numOfPriority = new int[12];
-	int[][] orderedFaces = new int[12][2000];
-	int[] eq10 = new int[2000];
-	int[] eq11 = new int[2000];
-	int[] lt10 = new int[12];
+	final boolean[] faceClipped;
+	final int[] modelViewportYs;
+	final int[] modelViewportXs;
+	final int[] modelViewportZs;
+	final int[] modelLocalX;
+	final int[] modelLocalY;
+	final int[] modelLocalZ;
+	final int[] distanceFaceCount;
+	final int[][] facesByDistance;
+	final int[] numOfPriority;
+	final int[][] orderedFaces;
+	final int[] eq10;
+	final int[] eq11;
+	final int[] lt10;
 	static int[] Model_sine;
 	static int[] Model_cosine;
 	int verticesCount;
@@ -76,8 +76,22 @@ class Model extends Renderable
 		Model_cosine = Graphics3D.COSINE;
 	}
 
-	Model()
+	Model(ModelBuffers buffers)
 	{
+		this.faceClipped = buffers.faceClipped;
+		this.modelViewportYs = buffers.modelViewportYs;
+		this.modelViewportXs = buffers.modelViewportXs;
+		this.modelViewportZs = buffers.modelViewportZs;
+		this.modelLocalX = buffers.modelLocalX;
+		this.modelLocalY = buffers.modelLocalY;
+		this.modelLocalZ = buffers.modelLocalZ;
+		this.distanceFaceCount = buffers.distanceFaceCount;
+		this.facesByDistance = buffers.facesByDistance;
+		this.numOfPriority = buffers.numOfPriority;
+		this.orderedFaces = buffers.orderedFaces;
+		this.eq10 = buffers.eq10;
+		this.eq11 = buffers.eq11;
+		this.lt10 = buffers.lt10;
 		this.verticesCount = 0;
 		this.indicesCount = 0;
 		this.numTextureFaces = 0;
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2018, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.item;
+
+/**
+ * Scratch buffers used while projecting and drawing a {@link Model}. They
+ * are reset on every draw, so models drawn one after another on the same
+ * thread can share them.
+ */
+class ModelBuffers
+{
+	final boolean[] faceClipped = new boolean[6500];
+	final int[] modelViewportYs = new int[6500];
+	final int[] modelViewportXs = new int[6500];
+	final int[] modelViewportZs = new int[6500];
+	final int[] modelLocalX = new int[6500];
+	final int[] modelLocalY = new int[6500];
+	final int[] modelLocalZ = new int[6500];
+	final int[] distanceFaceCount = new int[6000];
+	final int[][] facesByDistance = new int[6000][512];
+	final int[] numOfPriority = new int[12];
+	final int[][] orderedFaces = new int[12][2000];
+	final int[] eq10 = new int[2000];
+	final int[] eq11 = new int[2000];
+	final int[] lt10 = new int[12];
+}
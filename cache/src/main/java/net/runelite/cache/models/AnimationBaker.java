@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.models;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import net.runelite.cache.definitions.FrameDefinition;
+import net.runelite.cache.definitions.FramemapDefinition;
+import net.runelite.cache.definitions.ModelDefinition;
+import net.runelite.cache.definitions.SequenceDefinition;
+import net.runelite.cache.definitions.providers.FrameProvider;
+
+/**
+ * Computes the vertex positions of a model for every frame of a sequence.
+ * Each frame is computed in parallel on a copy of the model's vertices, so
+ * the model is not modified.
+ */
+public class AnimationBaker
+{
+	private final FrameProvider frameProvider;
+	private final ForkJoinPool pool;
+
+	public AnimationBaker(FrameProvider frameProvider)
+	{
+		this(frameProvider, ForkJoinPool.commonPool());
+	}
+
+	public AnimationBaker(FrameProvider frameProvider, ForkJoinPool pool)
+	{
+		this.frameProvider = frameProvider;
+		this.pool = pool;
+	}
+
+	/**
+	 * @param model model, with its animation tables computed
+	 * @param sequence a frame based sequence
+	 * @return the baked animation
+	 * @throws IOException
+	 */
+	public BakedAnimation bake(ModelDefinition model, SequenceDefinition sequence) throws IOException
+	{
+		if (sequence.frameIDs == null || sequence.frameIDs.length == 0)
+		{
+			throw new IllegalArgumentException("sequence " + sequence.getId() + " has no frames");
+		}
+
+		int[][] vertexGroups = model.getVertexGroups();
+		if (vertexGroups == null)
+		{
+			throw new IllegalArgumentException(model.packedVertexGroups != null
+				? "model " + model.getId() + " has no animation tables, computeAnimationTables() must be called first"
+				: "model " + model.getId() + " has no vertex groups");
+		}
+
+		int frameCount = sequence.frameIDs.length;
+		int vertexCount = model.vertexCount;
+		float[] positions = new float[frameCount * vertexCount * 3];
+
+		List<CompletableFuture<Void>> futures = new ArrayList<>(frameCount);
+		for (int i = 0; i < frameCount; ++i)
+		{
+			int frameId = sequence.frameIDs[i];
+			int offset = i * vertexCount * 3;
+			futures.add(CompletableFuture.runAsync(() ->
+			{
+				try
+				{
+					bakeFrame(model, vertexGroups, frameProvider.provide(frameId), positions, offset);
+				}
+				catch (IOException ex)
+				{
+					throw new UncheckedIOException(ex);
+				}
+			}, pool));
+		}
+
+		for (CompletableFuture<Void> future : futures)
+		{
+			try
+			{
+				future.join();
+			}
+			catch (CompletionException ex)
+			{
+				if (ex.getCause() instanceof UncheckedIOException)
+				{
+					throw ((UncheckedIOException) ex.getCause()).getCause();
+				}
+				throw ex;
+			}
+		}
+
+		int[] frameLengths = new int[frameCount];
+		for (int i = 0; i < frameCount; ++i)
+		{
+			frameLengths[i] = sequence.frameLengths != null && i < sequence.frameLengths.length ? sequence.frameLengths[i] : 1;
+		}
+		return new BakedAnimation(vertexCount, frameLengths, positions);
+	}
+
+	/**
+	 * Apply a frame to a copy of the model's vertices
+	 *
+	 * @param frame frame, or null to use the model's pose
+	 */
+	private static void bakeFrame(ModelDefinition model, int[][] vertexGroups, FrameDefinition frame, float[] positions, int offset)
+	{
+		int vertexCount = model.vertexCount;
+		int[] x = Arrays.copyOf(model.vertexX, vertexCount);
+		int[] y = Arrays.copyOf(model.vertexY, vertexCount);
+		int[] z = Arrays.copyOf(model.vertexZ, vertexCount);
+
+		if (frame != null)
+		{
+			FramemapDefinition framemap = frame.framemap;
+			int[] origin = new int[3];
+			for (int i = 0; i < frame.translatorCount; ++i)
+			{
+				int transform = frame.indexFrameIds[i];
+				ModelDefinition.animate(vertexGroups, x, y, z, origin,
+					framemap.types[transform], framemap.frameMaps[transform],
+					frame.translator_x[i], frame.translator_y[i], frame.translator_z[i]);
+			}
+		}
+
+		for (int i = 0; i < vertexCount; ++i)
+		{
+			positions[offset++] = x[i];
+			positions[offset++] = y[i];
+			positions[offset++] = z[i];
+		}
+	}
+}
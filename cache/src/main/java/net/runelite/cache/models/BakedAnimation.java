@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.models;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import lombok.Getter;
+
+/**
+ * The vertex positions of a model at every frame of an animation. Positions
+ * are packed into one array, frame by frame, with x, y and z for each
+ * vertex.
+ */
+public class BakedAnimation
+{
+	private static final int MAGIC = 0x524c4241; // RLBA
+	private static final int VERSION = 1;
+	/**
+	 * the most positions read from a file, so a corrupt header can't
+	 * allocate an arbitrarily large array
+	 */
+	private static final int MAX_POSITIONS = 64 * 1024 * 1024;
+
+	@Getter
+	private final int vertexCount;
+	/**
+	 * the length of each frame, in client ticks
+	 */
+	private final int[] frameLengths;
+	private final float[] positions;
+	@Getter
+	private final int duration;
+
+	BakedAnimation(int vertexCount, int[] frameLengths, float[] positions)
+	{
+		assert positions.length == frameLengths.length * vertexCount * 3;
+
+		this.vertexCount = vertexCount;
+		this.frameLengths = frameLengths;
+		this.positions = positions;
+
+		int duration = 0;
+		for (int length : frameLengths)
+		{
+			duration += length;
+		}
+		this.duration = duration;
+	}
+
+	public int getFrameCount()
+	{
+		return frameLengths.length;
+	}
+
+	public int getFrameLength(int frame)
+	{
+		return frameLengths[frame];
+	}
+
+	/**
+	 * Copy the positions of a frame
+	 *
+	 * @param frame frame
+	 * @param out array of at least vertexCount * 3 floats
+	 */
+	public void getFrame(int frame, float[] out)
+	{
+		System.arraycopy(positions, frame * vertexCount * 3, out, 0, vertexCount * 3);
+	}
+
+	public float getX(int frame, int vertex)
+	{
+		return positions[(frame * vertexCount + vertex) * 3];
+	}
+
+	public float getY(int frame, int vertex)
+	{
+		return positions[(frame * vertexCount + vertex) * 3 + 1];
+	}
+
+	public float getZ(int frame, int vertex)
+	{
+		return positions[(frame * vertexCount + vertex) * 3 + 2];
+	}
+
+	/**
+	 * Linearly interpolate between two frames
+	 *
+	 * @param from first frame
+	 * @param to second frame
+	 * @param t amount of the second frame, from 0 to 1
+	 * @param out array of at least vertexCount * 3 floats
+	 */
+	public void interpolate(int from, int to, float t, float[] out)
+	{
+		int a = from * vertexCount * 3;
+		int b = to * vertexCount * 3;
+		for (int i = 0; i < vertexCount * 3; ++i)
+		{
+			out[i] = positions[a + i] + (positions[b + i] - positions[a + i]) * t;
+		}
+	}
+
+	/**
+	 * Sample the animation at a point in time, interpolating between the
+	 * frame playing at that time and the next one. The animation loops.
+	 *
+	 * @param time time, in client ticks
+	 * @param out array of at least vertexCount * 3 floats
+	 */
+	public void sample(float time, float[] out)
+	{
+		if (duration == 0)
+		{
+			getFrame(0, out);
+			return;
+		}
+
+		time %= duration;
+		if (time < 0)
+		{
+			time += duration;
+		}
+
+		int frame = 0;
+		while (frame < frameLengths.length - 1 && time >= frameLengths[frame])
+		{
+			time -= frameLengths[frame++];
+		}
+
+		int length = frameLengths[frame];
+		float t = length > 0 ? Math.min(time / length, 1f) : 0f;
+		interpolate(frame, (frame + 1) % frameLengths.length, t, out);
+	}
+
+	public void write(DataOutputStream out) throws IOException
+	{
+		out.writeInt(MAGIC);
+		out.writeByte(VERSION);
+		out.writeInt(vertexCount);
+		out.writeInt(frameLengths.length);
+		for (int length : frameLengths)
+		{
+			out.writeInt(length);
+		}
+		for (float position : positions)
+		{
+			out.writeFloat(position);
+		}
+	}
+
+	public static BakedAnimation read(DataInputStream in) throws IOException
+	{
+		if (in.readInt() != MAGIC)
+		{
+			throw new IOException("not a baked animation");
+		}
+
+		int version = in.readUnsignedByte();
+		if (version != VERSION)
+		{
+			throw new IOException("unsupported baked animation version " + version);
+		}
+
+		int vertexCount = in.readInt();
+		int frameCount = in.readInt();
+		if (vertexCount < 0 || frameCount <= 0 || (long) frameCount * vertexCount > MAX_POSITIONS / 3)
+		{
+			throw new IOException("invalid baked animation size " + frameCount + " frames of " + vertexCount + " vertices");
+		}
+
+		int[] frameLengths = new int[frameCount];
+		for (int i = 0; i < frameLengths.length; ++i)
+		{
+			frameLengths[i] = in.readInt();
+			if (frameLengths[i] < 0)
+			{
+				throw new IOException("invalid frame length " + frameLengths[i]);
+			}
+		}
+
+		float[] positions = new float[frameLengths.length * vertexCount * 3];
+		for (int i = 0; i < positions.length; ++i)
+		{
+			positions[i] = in.readFloat();
+		}
+		return new BakedAnimation(vertexCount, frameLengths, positions);
+	}
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.models;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.cache.definitions.ModelDefinition;
+import net.runelite.cache.definitions.SequenceDefinition;
+
+/**
+ * A disk cache of baked animations, keyed by cache revision, model and
+ * sequence. Animations are baked on a miss and written atomically, so
+ * concurrent users at worst bake the same animation twice.
+ */
+@Slf4j
+public class BakedAnimationCache
+{
+	private final File dir;
+	private final AnimationBaker baker;
+
+	/**
+	 * @param dir directory to keep baked animations in
+	 * @param revision cache revision, baked animations of other revisions are not used
+	 * @param baker baker
+	 */
+	public BakedAnimationCache(File dir, String revision, AnimationBaker baker)
+	{
+		this.dir = new File(dir, revision);
+		this.baker = baker;
+	}
+
+	/**
+	 * @param model model as loaded from the cache, since it is only identified by its id
+	 * @param sequence sequence
+	 * @return the baked animation
+	 * @throws IOException
+	 */
+	public BakedAnimation get(ModelDefinition model, SequenceDefinition sequence) throws IOException
+	{
+		File file = new File(dir, model.getId() + "_" + sequence.getId() + ".anim");
+		if (file.exists())
+		{
+			try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file.toPath()))))
+			{
+				return BakedAnimation.read(in);
+			}
+			catch (IOException ex)
+			{
+				log.warn("unable to read baked animation {}, baking again", file, ex);
+			}
+		}
+
+		BakedAnimation animation = baker.bake(model, sequence);
+
+		dir.mkdirs();
+		File tmp = File.createTempFile(file.getName(), ".tmp", dir);
+		try
+		{
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp.toPath()))))
+			{
+				animation.write(out);
+			}
+			Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		}
+		finally
+		{
+			Files.deleteIfExists(tmp.toPath());
+		}
+		return animation;
+	}
+}
@@ -0,0 +1,572 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.models;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.cache.IndexType;
+import net.runelite.cache.definitions.ModelDefinition;
+import net.runelite.cache.definitions.TextureDefinition;
+import net.runelite.cache.definitions.loaders.ModelLoader;
+import net.runelite.cache.definitions.providers.TextureProvider;
+import net.runelite.cache.fs.Archive;
+import net.runelite.cache.fs.Index;
+import net.runelite.cache.fs.Storage;
+import net.runelite.cache.fs.Store;
+import net.runelite.cache.util.BoundedExecutor;
+
+/**
+ * Exports models as binary glTF. Faces are grouped into one primitive per
+ * distinct material, and untextured primitives share the model's vertex
+ * and normal buffers. Textured faces each get their own three vertices,
+ * since their texture coordinates are per face. Textures refer to the
+ * sprite images the {@link ObjExporter} materials use.
+ * <p>
+ * Positions are the model's vertices with y and z negated, as in the
+ * OBJ output. Exporting a model does not change any exporter state, so
+ * one exporter can export many models at once.
+ */
+@Slf4j
+public class GlbExporter
+{
+	private static final double BRIGHTNESS = JagexColor.BRIGHTNESS_MIN;
+
+	private static final int GLB_MAGIC = 0x46546C67; // glTF
+	private static final int GLB_VERSION = 2;
+	private static final int CHUNK_JSON = 0x4E4F534A;
+	private static final int CHUNK_BIN = 0x004E4942;
+
+	private static final int FLOAT = 5126;
+	private static final int UNSIGNED_INT = 5125;
+	private static final int ARRAY_BUFFER = 34962;
+	private static final int ELEMENT_ARRAY_BUFFER = 34963;
+	private static final int LINEAR = 9729;
+	private static final int REPEAT = 10497;
+
+	private static final Gson GSON = new Gson();
+
+	/**
+	 * texture id to the sprite file of its image
+	 */
+	private final Map<Integer, Integer> textureSprites = new HashMap<>();
+
+	public GlbExporter(TextureProvider textureProvider)
+	{
+		for (TextureDefinition texture : textureProvider.provide())
+		{
+			if (texture.getFileIds() != null && texture.getFileIds().length > 0)
+			{
+				textureSprites.put(texture.getId(), texture.getFileIds()[0]);
+			}
+		}
+	}
+
+	/**
+	 * The faces of a model which share a color, texture and transparency
+	 */
+	private static class Material
+	{
+		final int color;
+		final int textureId;
+		final int alpha;
+		int faceCount;
+		int[] faces;
+
+		Material(int color, int textureId, int alpha)
+		{
+			this.color = color;
+			this.textureId = textureId;
+			this.alpha = alpha;
+		}
+
+		boolean isTextured()
+		{
+			return textureId != -1;
+		}
+	}
+
+	/**
+	 * The buffer views and accessors of the binary chunk, which has one view
+	 * per accessor
+	 */
+	private static class Accessors
+	{
+		final JsonArray bufferViews = new JsonArray();
+		final JsonArray accessors = new JsonArray();
+		int byteLength;
+
+		int add(int count, String type, int componentType, int componentSize, int target)
+		{
+			int components = type.equals("SCALAR") ? 1 : type.equals("VEC2") ? 2 : 3;
+
+			JsonObject view = new JsonObject();
+			view.addProperty("buffer", 0);
+			view.addProperty("byteOffset", byteLength);
+			view.addProperty("byteLength", count * components * componentSize);
+			view.addProperty("target", target);
+			bufferViews.add(view);
+			byteLength += count * components * componentSize;
+
+			JsonObject accessor = new JsonObject();
+			accessor.addProperty("bufferView", bufferViews.size() - 1);
+			accessor.addProperty("componentType", componentType);
+			accessor.addProperty("count", count);
+			accessor.addProperty("type", type);
+			accessors.add(accessor);
+			return accessors.size() - 1;
+		}
+
+		void bounds(int accessor, float[] min, float[] max)
+		{
+			JsonObject a = accessors.get(accessor).getAsJsonObject();
+			a.add("min", GSON.toJsonTree(min));
+			a.add("max", GSON.toJsonTree(max));
+		}
+	}
+
+	/**
+	 * Export a model as a GLB file. The model's normals and texture
+	 * coordinates are computed if they have not been already.
+	 *
+	 * @param model model
+	 * @param out stream to write the GLB file to
+	 * @throws IOException
+	 */
+	public void export(ModelDefinition model, OutputStream out) throws IOException
+	{
+		model.computeNormals();
+		model.computeTextureUVCoordinates();
+
+		List<Material> materials = materials(model);
+
+		JsonObject gltf = new JsonObject();
+		JsonObject asset = new JsonObject();
+		asset.addProperty("version", "2.0");
+		asset.addProperty("generator", "runelite cache");
+		gltf.add("asset", asset);
+		gltf.addProperty("scene", 0);
+
+		JsonObject node = new JsonObject();
+		node.addProperty("name", Integer.toString(model.id));
+		gltf.add("nodes", array(node));
+
+		JsonObject scene = new JsonObject();
+		scene.add("nodes", GSON.toJsonTree(new int[]{0}));
+		gltf.add("scenes", array(scene));
+
+		ByteBuffer bin = null;
+		if (!materials.isEmpty())
+		{
+			node.addProperty("mesh", 0);
+			bin = geometry(model, materials, gltf);
+		}
+
+		byte[] json = GSON.toJson(gltf).getBytes(StandardCharsets.UTF_8);
+		int jsonLength = pad(json.length);
+		int binLength = bin == null ? 0 : pad(bin.limit());
+		int length = 12 + 8 + jsonLength + (bin == null ? 0 : 8 + binLength);
+
+		ByteBuffer header = ByteBuffer.allocate(20).order(ByteOrder.LITTLE_ENDIAN);
+		header.putInt(GLB_MAGIC).putInt(GLB_VERSION).putInt(length);
+		header.putInt(jsonLength).putInt(CHUNK_JSON);
+		out.write(header.array());
+		out.write(json);
+		for (int i = json.length; i < jsonLength; ++i)
+		{
+			out.write(' ');
+		}
+
+		if (bin != null)
+		{
+			header.clear();
+			header.putInt(binLength).putInt(CHUNK_BIN);
+			out.write(header.array(), 0, 8);
+			out.write(bin.array(), 0, bin.limit());
+			out.write(new byte[binLength - bin.limit()]);
+		}
+	}
+
+	/**
+	 * Export every model in the store to dir, as <code>&lt;id&gt;.glb</code>,
+	 * on the common fork join pool
+	 *
+	 * @return the number of models exported
+	 */
+	public int exportAll(Store store, File dir) throws IOException
+	{
+		ForkJoinPool pool = ForkJoinPool.commonPool();
+		return exportAll(store, dir, pool, pool.getParallelism() * 2);
+	}
+
+	/**
+	 * Export every model in the store to dir, as <code>&lt;id&gt;.glb</code>.
+	 * Models are loaded, decoded and written in parallel, and each is
+	 * written as soon as it is exported, so memory use is bounded by the
+	 * number of models in flight.
+	 *
+	 * @param store store
+	 * @param dir directory to write the models to
+	 * @param executor executor to export the models on
+	 * @param inFlight maximum number of models being exported at once
+	 * @return the number of models exported
+	 * @throws IOException
+	 */
+	public int exportAll(Store store, File dir, Executor executor, int inFlight) throws IOException
+	{
+		dir.mkdirs();
+
+		Storage storage = store.getStorage();
+		Index index = store.getIndex(IndexType.MODELS);
+		BoundedExecutor tasks = new BoundedExecutor(executor, inFlight);
+		AtomicInteger count = new AtomicInteger();
+
+		for (Archive archive : index.getArchives())
+		{
+			boolean submitted = tasks.submit(() ->
+			{
+				byte[] data = storage.loadArchive(archive);
+				if (data == null)
+				{
+					return;
+				}
+
+				ModelDefinition model = new ModelLoader().load(archive.getArchiveId(), archive.decompress(data));
+				try (OutputStream out = new BufferedOutputStream(new FileOutputStream(new File(dir, archive.getArchiveId() + ".glb"))))
+				{
+					export(model, out);
+				}
+				count.incrementAndGet();
+			});
+			if (!submitted)
+			{
+				break;
+			}
+		}
+
+		// wait for the remaining models
+		tasks.await();
+
+		log.info("Exported {} models to {}", count.get(), dir);
+		return count.get();
+	}
+
+	/**
+	 * Group the faces of a model by material, in order of first use
+	 */
+	private List<Material> materials(ModelDefinition model)
+	{
+		Map<Long, Material> materials = new LinkedHashMap<>();
+		for (int i = 0; i < model.faceCount; ++i)
+		{
+			int faceTexture = model.faceTextures != null ? model.faceTextures[i] : -1;
+			// without the texture, fall back to the face color
+			int textureId = faceTexture != -1 && textureSprites.containsKey(faceTexture) && model.faceTextureUCoordinates[i] != null
+				? faceTexture
+				: -1;
+			int color = textureId == -1 ? model.faceColors[i] & 0xFFFF : 0;
+			int alpha = model.faceTransparencies != null ? model.faceTransparencies[i] & 0xFF : 0;
+
+			long key = (long) (textureId & 0xFFFF) << 32 | color << 8 | alpha;
+			Material material = materials.computeIfAbsent(key, k -> new Material(color, textureId, alpha));
+			if (material.faces == null)
+			{
+				material.faces = new int[16];
+			}
+			else if (material.faceCount == material.faces.length)
+			{
+				material.faces = Arrays.copyOf(material.faces, material.faceCount * 2);
+			}
+			material.faces[material.faceCount++] = i;
+		}
+		return new ArrayList<>(materials.values());
+	}
+
+	/**
+	 * Write the mesh, materials and accessors of a model to the gltf json,
+	 * and return the binary chunk they refer to
+	 */
+	private ByteBuffer geometry(ModelDefinition model, List<Material> materials, JsonObject gltf)
+	{
+		Accessors accessors = new Accessors();
+		int positions = accessors.add(model.vertexCount, "VEC3", FLOAT, 4, ARRAY_BUFFER);
+		int normals = accessors.add(model.vertexCount, "VEC3", FLOAT, 4, ARRAY_BUFFER);
+
+		// plan the buffer before filling it, so it is allocated once
+		int[][] materialAccessors = new int[materials.size()][];
+		for (int m = 0; m < materials.size(); ++m)
+		{
+			Material material = materials.get(m);
+			if (material.isTextured())
+			{
+				int vertices = material.faceCount * 3;
+				materialAccessors[m] = new int[]{
+					accessors.add(vertices, "VEC3", FLOAT, 4, ARRAY_BUFFER),
+					accessors.add(vertices, "VEC3", FLOAT, 4, ARRAY_BUFFER),
+					accessors.add(vertices, "VEC2", FLOAT, 4, ARRAY_BUFFER)
+				};
+			}
+			else
+			{
+				materialAccessors[m] = new int[]{
+					accessors.add(material.faceCount * 3, "SCALAR", UNSIGNED_INT, 4, ELEMENT_ARRAY_BUFFER)
+				};
+			}
+		}
+
+		ByteBuffer bin = ByteBuffer.allocate(accessors.byteLength).order(ByteOrder.LITTLE_ENDIAN);
+		float[] normal = new float[3];
+
+		float[] min = new float[]{Float.MAX_VALUE, Float.MAX_VALUE, Float.MAX_VALUE};
+		float[] max = new float[]{-Float.MAX_VALUE, -Float.MAX_VALUE, -Float.MAX_VALUE};
+		for (int i = 0; i < model.vertexCount; ++i)
+		{
+			putPosition(bin, model, i, min, max);
+		}
+		accessors.bounds(positions, min, max);
+
+		for (int i = 0; i < model.vertexCount; ++i)
+		{
+			putNormal(bin, model, i, normal);
+		}
+
+		JsonArray primitives = new JsonArray();
+		JsonArray materialsJson = new JsonArray();
+		JsonArray textures = new JsonArray();
+		JsonArray images = new JsonArray();
+		Map<Integer, Integer> textureIndexes = new HashMap<>();
+		Map<Integer, Integer> imageIndexes = new HashMap<>();
+
+		for (int m = 0; m < materials.size(); ++m)
+		{
+			Material material = materials.get(m);
+			JsonObject primitive = new JsonObject();
+			JsonObject attributes = new JsonObject();
+
+			if (material.isTextured())
+			{
+				int[] acc = materialAccessors[m];
+				Arrays.fill(min, Float.MAX_VALUE);
+				Arrays.fill(max, -Float.MAX_VALUE);
+				for (int f = 0; f < material.faceCount; ++f)
+				{
+					int face = material.faces[f];
+					putPosition(bin, model, model.faceIndices1[face], min, max);
+					putPosition(bin, model, model.faceIndices2[face], min, max);
+					putPosition(bin, model, model.faceIndices3[face], min, max);
+				}
+				accessors.bounds(acc[0], min, max);
+
+				for (int f = 0; f < material.faceCount; ++f)
+				{
+					int face = material.faces[f];
+					putNormal(bin, model, model.faceIndices1[face], normal);
+					putNormal(bin, model, model.faceIndices2[face], normal);
+					putNormal(bin, model, model.faceIndices3[face], normal);
+				}
+
+				for (int f = 0; f < material.faceCount; ++f)
+				{
+					int face = material.faces[f];
+					float[] u = model.faceTextureUCoordinates[face];
+					float[] v = model.faceTextureVCoordinates[face];
+					for (int corner = 0; corner < 3; ++corner)
+					{
+						bin.putFloat(u[corner]).putFloat(v[corner]);
+					}
+				}
+
+				attributes.addProperty("POSITION", acc[0]);
+				attributes.addProperty("NORMAL", acc[1]);
+				attributes.addProperty("TEXCOORD_0", acc[2]);
+			}
+			else
+			{
+				for (int f = 0; f < material.faceCount; ++f)
+				{
+					int face = material.faces[f];
+					bin.putInt(model.faceIndices1[face]);
+					bin.putInt(model.faceIndices2[face]);
+					bin.putInt(model.faceIndices3[face]);
+				}
+
+				attributes.addProperty("POSITION", positions);
+				attributes.addProperty("NORMAL", normals);
+				primitive.addProperty("indices", materialAccessors[m][0]);
+			}
+
+			primitive.add("attributes", attributes);
+			primitive.addProperty("material", m);
+			primitives.add(primitive);
+
+			JsonObject pbr = new JsonObject();
+			float opacity = 1f - material.alpha / 255f;
+			if (material.isTextured())
+			{
+				int sprite = textureSprites.get(material.textureId);
+				int image = imageIndexes.computeIfAbsent(sprite, s ->
+				{
+					JsonObject i = new JsonObject();
+					i.addProperty("uri", "sprite/" + s + "-0.png");
+					images.add(i);
+					return images.size() - 1;
+				});
+				int texture = textureIndexes.computeIfAbsent(material.textureId, t ->
+				{
+					JsonObject tex = new JsonObject();
+					tex.addProperty("sampler", 0);
+					tex.addProperty("source", image);
+					textures.add(tex);
+					return textures.size() - 1;
+				});
+
+				JsonObject info = new JsonObject();
+				info.addProperty("index", texture);
+				pbr.add("baseColorTexture", info);
+				pbr.add("baseColorFactor", GSON.toJsonTree(new float[]{1f, 1f, 1f, opacity}));
+			}
+			else
+			{
+				int rgb = JagexColor.HSLtoRGB((short) material.color, BRIGHTNESS);
+				pbr.add("baseColorFactor", GSON.toJsonTree(new float[]{
+					linear((rgb >> 16) & 0xff),
+					linear((rgb >> 8) & 0xff),
+					linear(rgb & 0xff),
+					opacity
+				}));
+			}
+			pbr.addProperty("metallicFactor", 0);
+			pbr.addProperty("roughnessFactor", 1);
+
+			JsonObject materialJson = new JsonObject();
+			materialJson.add("pbrMetallicRoughness", pbr);
+			if (material.alpha != 0)
+			{
+				materialJson.addProperty("alphaMode", "BLEND");
+			}
+			materialsJson.add(materialJson);
+		}
+
+		JsonObject mesh = new JsonObject();
+		mesh.addProperty("name", Integer.toString(model.id));
+		mesh.add("primitives", primitives);
+		gltf.add("meshes", array(mesh));
+		gltf.add("materials", materialsJson);
+
+		if (images.size() > 0)
+		{
+			JsonObject sampler = new JsonObject();
+			sampler.addProperty("magFilter", LINEAR);
+			sampler.addProperty("minFilter", LINEAR);
+			sampler.addProperty("wrapS", REPEAT);
+			sampler.addProperty("wrapT", REPEAT);
+			gltf.add("samplers", array(sampler));
+			gltf.add("textures", textures);
+			gltf.add("images", images);
+		}
+
+		JsonObject buffer = new JsonObject();
+		buffer.addProperty("byteLength", accessors.byteLength);
+		gltf.add("buffers", array(buffer));
+		gltf.add("bufferViews", accessors.bufferViews);
+		gltf.add("accessors", accessors.accessors);
+
+		bin.flip();
+		return bin;
+	}
+
+	private static void putPosition(ByteBuffer bin, ModelDefinition model, int vertex, float[] min, float[] max)
+	{
+		float x = model.vertexX[vertex];
+		float y = -model.vertexY[vertex];
+		float z = -model.vertexZ[vertex];
+		bin.putFloat(x).putFloat(y).putFloat(z);
+
+		min[0] = Math.min(min[0], x);
+		min[1] = Math.min(min[1], y);
+		min[2] = Math.min(min[2], z);
+		max[0] = Math.max(max[0], x);
+		max[1] = Math.max(max[1], y);
+		max[2] = Math.max(max[2], z);
+	}
+
+	private static void putNormal(ByteBuffer bin, ModelDefinition model, int vertex, float[] normal)
+	{
+		VertexNormal n = model.vertexNormals[vertex];
+		normal[0] = n.x;
+		normal[1] = -n.y;
+		normal[2] = -n.z;
+
+		float length = (float) Math.sqrt(normal[0] * normal[0] + normal[1] * normal[1] + normal[2] * normal[2]);
+		if (length == 0f)
+		{
+			// vertices which are not part of any face, gltf requires unit normals
+			bin.putFloat(0f).putFloat(1f).putFloat(0f);
+		}
+		else
+		{
+			bin.putFloat(normal[0] / length).putFloat(normal[1] / length).putFloat(normal[2] / length);
+		}
+	}
+
+	/**
+	 * Convert an sRGB color component to the linear value gltf colors use
+	 */
+	private static float linear(int component)
+	{
+		double c = component / 255.0;
+		return (float) (c <= 0.04045 ? c / 12.92 : Math.pow((c + 0.055) / 1.055, 2.4));
+	}
+
+	private static int pad(int length)
+	{
+		return (length + 3) & ~3;
+	}
+
+	private static JsonArray array(JsonObject element)
+	{
+		JsonArray array = new JsonArray();
+		array.add(element);
+		return array;
+	}
+}
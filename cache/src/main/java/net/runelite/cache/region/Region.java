@@ -41,27 +41,34 @@ public class Region
 	private final int baseX;
 	private final int baseY;
 
-	private final int[][][] tileHeights = new int[Z][X][Y];
-	private final byte[][][] tileSettings = new byte[Z][X][Y];
-	private final short[][][] overlayIds = new short[Z][X][Y];
-	private final byte[][][] overlayPaths = new byte[Z][X][Y];
-	private final byte[][][] overlayRotations = new byte[Z][X][Y];
-	private final short[][][] underlayIds = new short[Z][X][Y];
+	private final WorldTerrain terrain;
+	private final int slot;
 
 	private final List<Location> locations = new ArrayList<>();
 
 	public Region(int id)
 	{
-		this.regionID = id;
-		this.baseX = ((id >> 8) & 0xFF) << 6; // local coords are in bottom 6 bits (64*64)
-		this.baseY = (id & 0xFF) << 6;
+		this(new WorldTerrain(1), id);
 	}
 
 	public Region(int x, int y)
 	{
-		this.regionID = x << 8 | y;
-		this.baseX = x << 6;
-		this.baseY = y << 6;
+		this(x << 8 | y);
+	}
+
+	/**
+	 * Create a region whose tiles are stored in the given terrain
+	 *
+	 * @param terrain terrain to store tiles in
+	 * @param id region id
+	 */
+	public Region(WorldTerrain terrain, int id)
+	{
+		this.regionID = id;
+		this.baseX = ((id >> 8) & 0xFF) << 6; // local coords are in bottom 6 bits (64*64)
+		this.baseY = (id & 0xFF) << 6;
+		this.terrain = terrain;
+		this.slot = terrain.allocate(id);
 	}
 
 	public void loadTerrain(MapDefinition map)
@@ -69,21 +76,23 @@ public class Region
 		Tile[][][] tiles = map.getTiles();
 		for (int z = 0; z < Z; z++)
 		{
-			for (int x = 0; x < X; x++)
+			for (int y = 0; y < Y; y++)
 			{
-				for (int y = 0; y < Y; y++)
+				for (int x = 0; x < X; x++)
 				{
 					Tile tile = tiles[z][x][y];
+					int index = WorldTerrain.index(slot, z, x, y);
 
+					int tileHeight;
 					if (tile.height == null)
 					{
 						if (z == 0)
 						{
-							tileHeights[0][x][y] = -HeightCalc.calculate(baseX + x + 0xe3b7b, baseY + y + 0x87cce) * 8;
+							tileHeight = -HeightCalc.calculate(baseX + x + 0xe3b7b, baseY + y + 0x87cce) * 8;
 						}
 						else
 						{
-							tileHeights[z][x][y] = tileHeights[z - 1][x][y] - 240;
+							tileHeight = terrain.getTileHeight(index - X * Y) - 240;
 						}
 					}
 					else
@@ -96,20 +105,17 @@ public class Region
 
 						if (z == 0)
 						{
-							tileHeights[0][x][y] = -height * 8;
+							tileHeight = -height * 8;
 						}
 						else
 						{
-							tileHeights[z][x][y] = tileHeights[z - 1][x][y] - height * 8;
+							tileHeight = terrain.getTileHeight(index - X * Y) - height * 8;
 						}
 					}
 
-					overlayIds[z][x][y] = tile.getOverlayId();
-					overlayPaths[z][x][y] = tile.getOverlayPath();
-					overlayRotations[z][x][y] = tile.getOverlayRotation();
-
-					tileSettings[z][x][y] = tile.getSettings();
-					underlayIds[z][x][y] = tile.getUnderlayId();
+					terrain.setTile(index, tileHeight, tile.getSettings(),
+						tile.getOverlayId(), tile.getOverlayPath(), tile.getOverlayRotation(),
+						tile.getUnderlayId());
 				}
 			}
 		}
@@ -144,32 +150,37 @@ public class Region
 
 	public int getTileHeight(int z, int x, int y)
 	{
-		return tileHeights[z][x][y];
+		return terrain.getTileHeight(WorldTerrain.index(slot, z, x, y));
 	}
 
 	public byte getTileSetting(int z, int x, int y)
 	{
-		return tileSettings[z][x][y];
+		return terrain.getTileSetting(WorldTerrain.index(slot, z, x, y));
 	}
 
 	public int getOverlayId(int z, int x, int y)
 	{
-		return overlayIds[z][x][y] & 0x7FFF;
+		return terrain.getOverlayId(WorldTerrain.index(slot, z, x, y));
 	}
 
 	public byte getOverlayPath(int z, int x, int y)
 	{
-		return overlayPaths[z][x][y];
+		return terrain.getOverlayPath(WorldTerrain.index(slot, z, x, y));
 	}
 
 	public byte getOverlayRotation(int z, int x, int y)
 	{
-		return overlayRotations[z][x][y];
+		return terrain.getOverlayRotation(WorldTerrain.index(slot, z, x, y));
 	}
 
 	public int getUnderlayId(int z, int x, int y)
 	{
-		return underlayIds[z][x][y] & 0x7FFF;
+		return terrain.getUnderlayId(WorldTerrain.index(slot, z, x, y));
+	}
+
+	public WorldTerrain getTerrain()
+	{
+		return terrain;
 	}
 
 	public List<Location> getLocations()
@@ -25,8 +25,10 @@
 package net.runelite.cache.region;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.cache.IndexType;
@@ -35,9 +37,11 @@ import net.runelite.cache.definitions.MapDefinition;
 import net.runelite.cache.definitions.loaders.LocationsLoader;
 import net.runelite.cache.definitions.loaders.MapLoader;
 import net.runelite.cache.fs.Archive;
+import net.runelite.cache.fs.ArchivePipeline;
 import net.runelite.cache.fs.Index;
 import net.runelite.cache.fs.Storage;
 import net.runelite.cache.fs.Store;
+import net.runelite.cache.util.Djb2;
 import net.runelite.cache.util.KeyProvider;
 
 @Slf4j
@@ -50,6 +54,7 @@ public class RegionLoader
 	private final KeyProvider keyProvider;
 
 	private final Map<Integer, Region> regions = new HashMap<>();
+	private WorldTerrain terrain = new WorldTerrain(16);
 	private Region lowestX = null, lowestY = null;
 	private Region highestX = null, highestY = null;
 
@@ -61,34 +66,119 @@ public class RegionLoader
 	}
 
 	public void loadRegions() throws IOException
+	{
+		loadRegions(new ArchivePipeline(store.getStorage()));
+	}
+
+	/**
+	 * Load all regions, decrypting and decoding the map and landscape
+	 * archives across the pipeline's workers
+	 *
+	 * @param pipeline pipeline
+	 * @throws IOException
+	 */
+	public void loadRegions(ArchivePipeline pipeline) throws IOException
 	{
 		if (!this.regions.isEmpty())
 		{
 			return;
 		}
 
+		// find the regions present up front so their terrain can be allocated
+		// in one go, instead of growing while the workers write to it
+		Map<Integer, Archive> archives = new HashMap<>();
+		for (Archive archive : index.getArchives())
+		{
+			archives.put(archive.getNameHash(), archive);
+		}
+
+		List<Integer> ids = new ArrayList<>();
 		for (int i = 0; i < MAX_REGION; ++i)
 		{
+			if (archives.containsKey(Djb2.hash("m" + (i >> 8) + "_" + (i & 0xFF))))
+			{
+				ids.add(i);
+			}
+		}
+
+		terrain = new WorldTerrain(ids.size());
+		List<Region> candidates = new ArrayList<>(ids.size());
+		for (int i : ids)
+		{
+			candidates.add(new Region(terrain, i));
+		}
+
+		List<Region> loaded = pipeline.map(candidates, region ->
+		{
+			int i = region.getRegionID();
+			String suffix = (i >> 8) + "_" + (i & 0xFF);
 			try
 			{
-				this.loadRegionFromArchive(i);
+				return readRegion(region, archives.get(Djb2.hash("m" + suffix)), archives.get(Djb2.hash("l" + suffix)));
 			}
 			catch (IOException ex)
 			{
 				log.debug("Can't decrypt region " + i, ex);
+				return null;
+			}
+			catch (RuntimeException ex)
+			{
+				// one malformed region shouldn't fail the whole load
+				log.warn("Can't load region " + i, ex);
+				return null;
+			}
+		});
+
+		for (int i = 0; i < loaded.size(); ++i)
+		{
+			Region region = loaded.get(i);
+			if (region != null)
+			{
+				regions.put(region.getRegionID(), region);
+			}
+			else
+			{
+				terrain.remove(candidates.get(i).getRegionID());
 			}
 		}
 	}
 
 	public Region loadRegionFromArchive(int i) throws IOException
+	{
+		Region region = readRegion(i);
+		if (region != null)
+		{
+			regions.put(i, region);
+		}
+		return region;
+	}
+
+	private Region readRegion(int i) throws IOException
 	{
 		int x = i >> 8;
 		int y = i & 0xFF;
 
-		Storage storage = store.getStorage();
 		Archive map = index.findArchiveByName("m" + x + "_" + y);
 		Archive land = index.findArchiveByName("l" + x + "_" + y);
 
+		if (map == null || land == null)
+		{
+			return null;
+		}
+
+		try
+		{
+			return readRegion(new Region(terrain, i), map, land);
+		}
+		catch (IOException ex)
+		{
+			terrain.remove(i);
+			throw ex;
+		}
+	}
+
+	private Region readRegion(Region region, Archive map, Archive land) throws IOException
+	{
 		assert (map == null) == (land == null);
 
 		if (map == null || land == null)
@@ -96,29 +186,31 @@ public class RegionLoader
 			return null;
 		}
 
-		byte[] data = map.decompress(storage.loadArchive(map));
+		int i = region.getRegionID();
+		int x = i >> 8;
+		int y = i & 0xFF;
+
+		Storage storage = store.getStorage();
+		byte[] data = storage.loadArchiveDecompressed(map, null);
 
 		MapDefinition mapDef = new MapLoader().load(x, y, data);
 
-		Region region = new Region(i);
 		region.loadTerrain(mapDef);
 
 		int[] keys = keyProvider.getKey(i);
 		if (keys != null)
 		{
-			data = land.decompress(storage.loadArchive(land), keys);
+			data = storage.loadArchiveDecompressed(land, keys);
 			LocationsDefinition locDef = new LocationsLoader().load(x, y, data);
 			region.loadLocations(locDef);
 		}
 
-		regions.put(i, region);
-
 		return region;
 	}
 
 	public Region loadRegion(int id, MapDefinition map, LocationsDefinition locs)
 	{
-		Region r = new Region(id);
+		Region r = new Region(terrain, id);
 		r.loadTerrain(map);
 		if (locs != null)
 		{
@@ -154,6 +246,14 @@ public class RegionLoader
 		}
 	}
 
+	/**
+	 * @return the terrain of all loaded regions
+	 */
+	public WorldTerrain getTerrain()
+	{
+		return terrain;
+	}
+
 	public Collection<Region> getRegions()
 	{
 		return regions.values();
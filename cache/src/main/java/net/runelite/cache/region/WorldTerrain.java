@@ -0,0 +1,338 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.region;
+
+import java.util.Arrays;
+
+/**
+ * The terrain of many regions, held in one flat array per tile attribute
+ * rather than in jagged arrays per region. Each region occupies a slot of
+ * {@link #REGION_TILES} consecutive tiles, ordered by plane, then y, then
+ * x, so a row of a region is contiguous. A {@link Region} created with a
+ * terrain is a view over its slot.
+ * <p>
+ * Tiles may be written concurrently as long as regions are not being
+ * allocated at the same time, since allocating may grow the arrays.
+ */
+public class WorldTerrain
+{
+	public static final int REGION_TILES = Region.Z * Region.X * Region.Y;
+
+	/**
+	 * the slot of each region, by region x then region y. A column is only
+	 * allocated once a region in it is, so a terrain of a few regions
+	 * stays small.
+	 */
+	private final int[][] slots = new int[256][];
+	private int[] regionIds;
+	private int regionCount;
+
+	private short[] tileHeights;
+	private byte[] tileSettings;
+	private short[] overlayIds;
+	private byte[] overlayPaths;
+	private byte[] overlayRotations;
+	private short[] underlayIds;
+
+	/**
+	 * @param capacity number of regions to allocate space for up front
+	 */
+	public WorldTerrain(int capacity)
+	{
+		capacity = Math.max(capacity, 1);
+		regionIds = new int[capacity];
+		tileHeights = new short[capacity * REGION_TILES];
+		tileSettings = new byte[capacity * REGION_TILES];
+		overlayIds = new short[capacity * REGION_TILES];
+		overlayPaths = new byte[capacity * REGION_TILES];
+		overlayRotations = new byte[capacity * REGION_TILES];
+		underlayIds = new short[capacity * REGION_TILES];
+	}
+
+	/**
+	 * Allocate a slot for a region, or return its existing slot
+	 *
+	 * @param regionId region id
+	 * @return the slot of the region
+	 */
+	public synchronized int allocate(int regionId)
+	{
+		int slot = slot(regionId);
+		if (slot != -1)
+		{
+			return slot;
+		}
+
+		if (regionCount == regionIds.length)
+		{
+			int capacity = regionIds.length * 2;
+			regionIds = Arrays.copyOf(regionIds, capacity);
+			tileHeights = Arrays.copyOf(tileHeights, capacity * REGION_TILES);
+			tileSettings = Arrays.copyOf(tileSettings, capacity * REGION_TILES);
+			overlayIds = Arrays.copyOf(overlayIds, capacity * REGION_TILES);
+			overlayPaths = Arrays.copyOf(overlayPaths, capacity * REGION_TILES);
+			overlayRotations = Arrays.copyOf(overlayRotations, capacity * REGION_TILES);
+			underlayIds = Arrays.copyOf(underlayIds, capacity * REGION_TILES);
+		}
+
+		int[] column = slots[regionId >> 8];
+		if (column == null)
+		{
+			column = new int[256];
+			Arrays.fill(column, -1);
+			slots[regionId >> 8] = column;
+		}
+
+		slot = regionCount++;
+		regionIds[slot] = regionId;
+		column[regionId & 0xFF] = slot;
+		return slot;
+	}
+
+	/**
+	 * Forget a region. Its slot is not reused.
+	 *
+	 * @param regionId region id
+	 */
+	public synchronized void remove(int regionId)
+	{
+		int[] column = slots[regionId >> 8];
+		if (column != null)
+		{
+			column[regionId & 0xFF] = -1;
+		}
+	}
+
+	private int slot(int regionId)
+	{
+		int[] column = slots[regionId >> 8];
+		return column == null ? -1 : column[regionId & 0xFF];
+	}
+
+	static int index(int slot, int z, int x, int y)
+	{
+		return slot * REGION_TILES + (z * Region.Y + y) * Region.X + x;
+	}
+
+	/**
+	 * @return the index of the tile, or -1 if its region is not loaded
+	 */
+	private int index(int z, int worldX, int worldY)
+	{
+		if (worldX < 0 || worldY < 0 || worldX >= Region.X * 256 || worldY >= Region.Y * 256)
+		{
+			return -1;
+		}
+
+		int slot = slot((worldX >> 6) << 8 | (worldY >> 6));
+		if (slot == -1)
+		{
+			return -1;
+		}
+		return index(slot, z, worldX & (Region.X - 1), worldY & (Region.Y - 1));
+	}
+
+	void setTile(int index, int height, byte setting, short overlayId, byte overlayPath, byte overlayRotation, short underlayId)
+	{
+		tileHeights[index] = (short) height;
+		tileSettings[index] = setting;
+		overlayIds[index] = overlayId;
+		overlayPaths[index] = overlayPath;
+		overlayRotations[index] = overlayRotation;
+		underlayIds[index] = underlayId;
+	}
+
+	int getTileHeight(int index)
+	{
+		return tileHeights[index];
+	}
+
+	byte getTileSetting(int index)
+	{
+		return tileSettings[index];
+	}
+
+	int getOverlayId(int index)
+	{
+		return overlayIds[index] & 0x7FFF;
+	}
+
+	byte getOverlayPath(int index)
+	{
+		return overlayPaths[index];
+	}
+
+	byte getOverlayRotation(int index)
+	{
+		return overlayRotations[index];
+	}
+
+	int getUnderlayId(int index)
+	{
+		return underlayIds[index] & 0x7FFF;
+	}
+
+	public synchronized int getRegionCount()
+	{
+		return regionCount;
+	}
+
+	public boolean isLoaded(int worldX, int worldY)
+	{
+		return index(0, worldX, worldY) != -1;
+	}
+
+	public int getTileHeight(int z, int worldX, int worldY)
+	{
+		int index = index(z, worldX, worldY);
+		return index == -1 ? 0 : tileHeights[index];
+	}
+
+	public byte getTileSetting(int z, int worldX, int worldY)
+	{
+		int index = index(z, worldX, worldY);
+		return index == -1 ? 0 : tileSettings[index];
+	}
+
+	public int getOverlayId(int z, int worldX, int worldY)
+	{
+		int index = index(z, worldX, worldY);
+		return index == -1 ? 0 : overlayIds[index] & 0x7FFF;
+	}
+
+	public int getUnderlayId(int z, int worldX, int worldY)
+	{
+		int index = index(z, worldX, worldY);
+		return index == -1 ? 0 : underlayIds[index] & 0x7FFF;
+	}
+
+	/**
+	 * Copy the heights of a row of tiles, copying a region at a time.
+	 * Tiles in regions which are not loaded have a height of 0.
+	 *
+	 * @param z plane
+	 * @param worldX world x of the first tile
+	 * @param worldY world y of the row
+	 * @param dest destination
+	 * @param offset offset into the destination
+	 * @param length number of tiles
+	 */
+	public void getTileHeights(int z, int worldX, int worldY, int[] dest, int offset, int length)
+	{
+		for (int n = 0; n < length; )
+		{
+			int x = worldX + n;
+			int run = Math.min(length - n, Region.X - (x & (Region.X - 1)));
+			int index = index(z, x, worldY);
+			for (int i = 0; i < run; ++i)
+			{
+				dest[offset + n + i] = index == -1 ? 0 : tileHeights[index + i];
+			}
+			n += run;
+		}
+	}
+
+	/**
+	 * Copy the settings of a row of tiles. Tiles in regions which are not
+	 * loaded have settings of 0.
+	 *
+	 * @param z plane
+	 * @param worldX world x of the first tile
+	 * @param worldY world y of the row
+	 * @param dest destination
+	 * @param offset offset into the destination
+	 * @param length number of tiles
+	 */
+	public void getTileSettings(int z, int worldX, int worldY, byte[] dest, int offset, int length)
+	{
+		for (int n = 0; n < length; )
+		{
+			int x = worldX + n;
+			int run = Math.min(length - n, Region.X - (x & (Region.X - 1)));
+			int index = index(z, x, worldY);
+			if (index == -1)
+			{
+				Arrays.fill(dest, offset + n, offset + n + run, (byte) 0);
+			}
+			else
+			{
+				System.arraycopy(tileSettings, index, dest, offset + n, run);
+			}
+			n += run;
+		}
+	}
+
+	/**
+	 * Copy the underlay ids of a row of tiles. Tiles in regions which are
+	 * not loaded have an underlay of 0.
+	 *
+	 * @param z plane
+	 * @param worldX world x of the first tile
+	 * @param worldY world y of the row
+	 * @param dest destination
+	 * @param offset offset into the destination
+	 * @param length number of tiles
+	 */
+	public void getUnderlayIds(int z, int worldX, int worldY, int[] dest, int offset, int length)
+	{
+		for (int n = 0; n < length; )
+		{
+			int x = worldX + n;
+			int run = Math.min(length - n, Region.X - (x & (Region.X - 1)));
+			int index = index(z, x, worldY);
+			for (int i = 0; i < run; ++i)
+			{
+				dest[offset + n + i] = index == -1 ? 0 : underlayIds[index + i] & 0x7FFF;
+			}
+			n += run;
+		}
+	}
+
+	/**
+	 * Copy the overlay ids of a row of tiles. Tiles in regions which are
+	 * not loaded have an overlay of 0.
+	 *
+	 * @param z plane
+	 * @param worldX world x of the first tile
+	 * @param worldY world y of the row
+	 * @param dest destination
+	 * @param offset offset into the destination
+	 * @param length number of tiles
+	 */
+	public void getOverlayIds(int z, int worldX, int worldY, int[] dest, int offset, int length)
+	{
+		for (int n = 0; n < length; )
+		{
+			int x = worldX + n;
+			int run = Math.min(length - n, Region.X - (x & (Region.X - 1)));
+			int index = index(z, x, worldY);
+			for (int i = 0; i < run; ++i)
+			{
+				dest[offset + n + i] = index == -1 ? 0 : overlayIds[index + i] & 0x7FFF;
+			}
+			n += run;
+		}
+	}
+}
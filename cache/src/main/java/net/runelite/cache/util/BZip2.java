@@ -30,16 +30,27 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.SequenceInputStream;
 import java.util.Arrays;
 import static net.runelite.cache.util.LibBZip2.BZ_FINISH_OK;
 import static net.runelite.cache.util.LibBZip2.BZ_OK;
 import static net.runelite.cache.util.LibBZip2.BZ_STREAM_END;
 import org.apache.commons.compress.compressors.bzip2.BZip2CompressorInputStream;
 import org.apache.commons.compress.compressors.bzip2.BZip2CompressorOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public class BZip2
 {
-	private static final boolean USE_NATIVE_BZIP2 = "true".equalsIgnoreCase(System.getProperty("runelite.useNativeBzip"));
+	private static final Logger logger = LoggerFactory.getLogger(BZip2.class);
+
+	private static final boolean USE_NATIVE_BZIP2 = "true".equalsIgnoreCase(System.getProperty("runelite.useNativeBzip"))
+		&& isNativeAvailable();
+
+	/**
+	 * Native stream state and off-heap buffers, reused for each decompression on a thread
+	 */
+	private static final ThreadLocal<NativeStream> NATIVE_STREAMS = ThreadLocal.withInitial(NativeStream::new);
 
 	private static final byte[] BZIP_HEADER = new byte[]
 	{
@@ -48,6 +59,50 @@ public class BZip2
 		'1'       // block size
 	};
 
+	private static class NativeStream
+	{
+		private final BzStream stream = new BzStream();
+		private Memory in;
+		private Memory out;
+
+		private Memory input(int size)
+		{
+			if (in == null || in.size() < size)
+			{
+				in = new Memory(bufferSize(size));
+			}
+			return in;
+		}
+
+		private Memory output(int size)
+		{
+			if (out == null || out.size() < size)
+			{
+				out = new Memory(bufferSize(size));
+			}
+			return out;
+		}
+
+		private static long bufferSize(int size)
+		{
+			// Memory can't be zero sized
+			return Math.max(4096L, Long.highestOneBit(Math.max(size, 1) - 1L) << 1);
+		}
+	}
+
+	private static boolean isNativeAvailable()
+	{
+		try
+		{
+			return LibBZip2.INSTANCE != null;
+		}
+		catch (LinkageError ex)
+		{
+			logger.warn("Unable to load libbz2, using the java bzip2 implementation", ex);
+			return false;
+		}
+	}
+
 	public static byte[] compress(byte[] bytes) throws IOException
 	{
 		return USE_NATIVE_BZIP2 ? compressLibBZip2(bytes) : compressApache(bytes);
@@ -142,4 +197,115 @@ public class BZip2
 
 		return os.toByteArray();
 	}
+
+	/**
+	 * Decompress into a buffer of the exact decompressed size
+	 *
+	 * @param bytes compressed data, without the bzip2 header
+	 * @param off offset of the compressed data
+	 * @param len length of the compressed data
+	 * @param out buffer to decompress into, which must be the size of the decompressed data
+	 * @throws IOException
+	 */
+	public static void decompress(byte[] bytes, int off, int len, byte[] out) throws IOException
+	{
+		if (USE_NATIVE_BZIP2)
+		{
+			decompressLibBZip2(bytes, off, len, out);
+		}
+		else
+		{
+			decompressApache(bytes, off, len, out);
+		}
+	}
+
+	public static void decompressApache(byte[] bytes, int off, int len, byte[] out) throws IOException
+	{
+		// the header is streamed ahead of the data rather than copied in front of it
+		try (InputStream is = new BZip2CompressorInputStream(new SequenceInputStream(
+			new ByteArrayInputStream(BZIP_HEADER),
+			new ByteArrayInputStream(bytes, off, len))))
+		{
+			readFully(is, out);
+		}
+	}
+
+	public static void decompressLibBZip2(byte[] bytes, int off, int len, byte[] out) throws IOException
+	{
+		LibBZip2 libBZip2 = LibBZip2.INSTANCE;
+		NativeStream ns = NATIVE_STREAMS.get();
+
+		Memory in = ns.input(BZIP_HEADER.length + len);
+		in.write(0, BZIP_HEADER, 0, BZIP_HEADER.length);
+		in.write(BZIP_HEADER.length, bytes, off, len);
+
+		Memory outMem = ns.output(out.length);
+
+		BzStream stream = ns.stream;
+		stream.next_in = in;
+		stream.avail_in = BZIP_HEADER.length + len;
+		stream.next_out = outMem;
+		stream.avail_out = out.length;
+		stream.state = null;
+		stream.bzalloc = null;
+		stream.bzfree = null;
+		stream.opaque = null;
+
+		if (libBZip2.BZ2_bzDecompressInit(stream, 0, 0) != BZ_OK)
+		{
+			throw new IOException("BZ2_bzDecompressInit() error");
+		}
+
+		int i;
+		try
+		{
+			do
+			{
+				int availIn = stream.avail_in;
+				int availOut = stream.avail_out;
+
+				i = libBZip2.BZ2_bzDecompress(stream);
+				if (i != BZ_OK && i != BZ_STREAM_END)
+				{
+					throw new IOException("BZ2_bzDecompress() error " + i);
+				}
+
+				if (i == BZ_OK && stream.avail_in == availIn && stream.avail_out == availOut)
+				{
+					// no progress, so either the input is truncated or the output is full
+					break;
+				}
+			}
+			while (i != BZ_STREAM_END);
+		}
+		finally
+		{
+			libBZip2.BZ2_bzDecompressEnd(stream);
+		}
+
+		int read = out.length - stream.avail_out;
+		if (read != out.length)
+		{
+			throw new IOException("decompressed size mismatch, expected " + out.length + " got " + read);
+		}
+		if (i != BZ_STREAM_END)
+		{
+			throw new IOException("decompressed size mismatch, expected " + out.length + " got more");
+		}
+
+		outMem.read(0, out, 0, read);
+	}
+
+	private static void readFully(InputStream is, byte[] out) throws IOException
+	{
+		int read = is.readNBytes(out, 0, out.length);
+		if (read != out.length)
+		{
+			throw new IOException("decompressed size mismatch, expected " + out.length + " got " + read);
+		}
+		if (is.read() != -1)
+		{
+			throw new IOException("decompressed size mismatch, expected " + out.length + " got more");
+		}
+	}
 }
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.util;
+
+import java.io.IOException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs tasks on an executor with at most a fixed number in flight, so
+ * submitting a large batch of work holds only that many tasks' data in
+ * memory at once. Submission blocks until a task finishes. The first
+ * failure stops further tasks from being submitted, and is rethrown by
+ * {@link #await()}.
+ */
+public class BoundedExecutor
+{
+	public interface Task
+	{
+		void run() throws IOException;
+	}
+
+	private final Executor executor;
+	private final int inFlight;
+	private final Semaphore permits;
+	private final AtomicReference<Exception> failure = new AtomicReference<>();
+
+	/**
+	 * @param executor executor to run the tasks on
+	 * @param inFlight maximum number of tasks running or queued at once
+	 */
+	public BoundedExecutor(Executor executor, int inFlight)
+	{
+		if (inFlight < 1)
+		{
+			throw new IllegalArgumentException("inFlight must be positive");
+		}
+
+		this.executor = executor;
+		this.inFlight = inFlight;
+		this.permits = new Semaphore(inFlight);
+	}
+
+	/**
+	 * Submit a task, waiting for an earlier task to finish if the maximum
+	 * number are already in flight
+	 *
+	 * @param task task
+	 * @return false if an earlier task has failed, in which case the task is
+	 * not run and no more should be submitted
+	 */
+	public boolean submit(Task task)
+	{
+		permits.acquireUninterruptibly();
+		if (failure.get() != null)
+		{
+			permits.release();
+			return false;
+		}
+
+		executor.execute(() ->
+		{
+			try
+			{
+				task.run();
+			}
+			catch (IOException | RuntimeException ex)
+			{
+				failure.compareAndSet(null, ex);
+			}
+			finally
+			{
+				permits.release();
+			}
+		});
+		return true;
+	}
+
+	/**
+	 * @return true if a task has failed
+	 */
+	public boolean hasFailed()
+	{
+		return failure.get() != null;
+	}
+
+	/**
+	 * Wait for the submitted tasks to finish, without rethrowing failures
+	 */
+	public void join()
+	{
+		permits.acquireUninterruptibly(inFlight);
+		permits.release(inFlight);
+	}
+
+	/**
+	 * Wait for the submitted tasks to finish, and rethrow the first failure
+	 *
+	 * @throws IOException
+	 */
+	public void await() throws IOException
+	{
+		join();
+
+		Exception ex = failure.get();
+		if (ex instanceof IOException)
+		{
+			throw (IOException) ex;
+		}
+		else if (ex != null)
+		{
+			throw (RuntimeException) ex;
+		}
+	}
+}
@@ -29,25 +29,118 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
 import java.util.zip.GZIPInputStream;
-import java.util.zip.GZIPOutputStream;
+import java.util.zip.Inflater;
 
 public class GZip
 {
+	private static final int GZIP_MAGIC = 0x8b1f;
+	private static final int HEADER_LENGTH = 10;
+	private static final int TRAILER_LENGTH = 8;
+
+	// header flags
+	private static final int FHCRC = 2;
+	private static final int FEXTRA = 4;
+	private static final int FNAME = 8;
+	private static final int FCOMMENT = 16;
+
+	/**
+	 * Inflater, deflater and buffers, reused for each archive on a thread
+	 */
+	private static final ThreadLocal<Codec> CODECS = ThreadLocal.withInitial(Codec::new);
+
+	private static class Codec
+	{
+		private final Inflater inflater = new Inflater(true);
+		private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+		private final CRC32 crc = new CRC32();
+		private final byte[] scratch = new byte[1];
+		private byte[] buffer = new byte[4096];
+	}
+
 	public static byte[] compress(byte[] bytes) throws IOException
 	{
-		ByteArrayOutputStream bout = new ByteArrayOutputStream();
+		Codec codec = CODECS.get();
+		for (;;)
+		{
+			int len = compress(bytes, 0, bytes.length, codec.buffer, 0);
+			if (len != -1)
+			{
+				return Arrays.copyOf(codec.buffer, len);
+			}
+
+			codec.buffer = new byte[codec.buffer.length * 2];
+		}
+	}
 
-		try (InputStream is = new ByteArrayInputStream(bytes);
-			OutputStream os = new GZIPOutputStream(bout))
+	/**
+	 * Compress into a caller supplied buffer. The output is identical to
+	 * {@link java.util.zip.GZIPOutputStream}, except for the OS byte in the
+	 * header which is always 0.
+	 *
+	 * @param bytes data to compress
+	 * @param off offset of the data
+	 * @param len length of the data
+	 * @param out output buffer
+	 * @param outOff offset in the output buffer to write to
+	 * @return the compressed length, or -1 if it does not fit in the output buffer
+	 */
+	public static int compress(byte[] bytes, int off, int len, byte[] out, int outOff)
+	{
+		if (out.length - outOff < HEADER_LENGTH + TRAILER_LENGTH)
 		{
-			is.transferTo(os);
+			return -1;
+		}
+
+		Codec codec = CODECS.get();
+		Deflater deflater = codec.deflater;
+		CRC32 crc = codec.crc;
+
+		int pos = outOff;
+		out[pos++] = (byte) GZIP_MAGIC;
+		out[pos++] = (byte) (GZIP_MAGIC >> 8);
+		out[pos++] = Deflater.DEFLATED; // compression method
+		out[pos++] = 0; // flags
+		out[pos++] = 0; // modification time
+		out[pos++] = 0;
+		out[pos++] = 0;
+		out[pos++] = 0;
+		out[pos++] = 0; // extra flags
+		out[pos++] = 0; // JDK-8244706: OS is 0
+
+		int end = out.length - TRAILER_LENGTH;
+		try
+		{
+			deflater.setInput(bytes, off, len);
+			deflater.finish();
+			while (!deflater.finished())
+			{
+				if (pos == end)
+				{
+					// the output is full, but the deflater might not know it is finished yet
+					if (deflater.deflate(codec.scratch, 0, 1) > 0 || !deflater.finished())
+					{
+						return -1;
+					}
+					break;
+				}
+				pos += deflater.deflate(out, pos, end - pos);
+			}
+		}
+		finally
+		{
+			deflater.reset();
 		}
 
-		byte[] out = bout.toByteArray();
-		out[9] = 0; // JDK-8244706: set OS to 0
-		return out;
+		crc.reset();
+		crc.update(bytes, off, len);
+		pos = writeIntLE(out, pos, (int) crc.getValue());
+		pos = writeIntLE(out, pos, len);
+		return pos - outOff;
 	}
 
 	public static byte[] decompress(byte[] bytes, int len) throws IOException
@@ -61,4 +154,161 @@ public class GZip
 
 		return os.toByteArray();
 	}
+
+	/**
+	 * Decompress into a buffer of the exact decompressed size
+	 *
+	 * @param bytes compressed data
+	 * @param off offset of the compressed data
+	 * @param len length of the compressed data
+	 * @param out buffer to decompress into, which must be the size of the decompressed data
+	 * @throws IOException
+	 */
+	public static void decompress(byte[] bytes, int off, int len, byte[] out) throws IOException
+	{
+		int end = off + len;
+		int pos = readHeader(bytes, off, end);
+
+		Codec codec = CODECS.get();
+		Inflater inflater = codec.inflater;
+		int read = 0;
+		int trailer;
+		try
+		{
+			inflater.setInput(bytes, pos, end - pos);
+			while (!inflater.finished())
+			{
+				int n;
+				if (read == out.length)
+				{
+					// the output is full, but the end of the stream might not have been read yet
+					n = inflater.inflate(codec.scratch, 0, 1);
+					if (n > 0)
+					{
+						throw new IOException("decompressed size mismatch, expected " + out.length + " got more");
+					}
+				}
+				else
+				{
+					n = inflater.inflate(out, read, out.length - read);
+					read += n;
+				}
+
+				if (n == 0 && !inflater.finished())
+				{
+					throw new IOException("unexpected end of gzip stream");
+				}
+			}
+
+			trailer = end - inflater.getRemaining();
+		}
+		catch (DataFormatException ex)
+		{
+			throw new IOException(ex);
+		}
+		finally
+		{
+			inflater.reset();
+		}
+
+		if (read != out.length)
+		{
+			throw new IOException("decompressed size mismatch, expected " + out.length + " got " + read);
+		}
+
+		if (end - trailer < TRAILER_LENGTH)
+		{
+			throw new IOException("unexpected end of gzip stream");
+		}
+
+		CRC32 crc = codec.crc;
+		crc.reset();
+		crc.update(out, 0, out.length);
+		if (readIntLE(bytes, trailer) != (int) crc.getValue() || readIntLE(bytes, trailer + 4) != out.length)
+		{
+			throw new IOException("corrupt gzip trailer");
+		}
+	}
+
+	/**
+	 * Read the gzip header
+	 *
+	 * @return the offset of the deflated data
+	 */
+	private static int readHeader(byte[] bytes, int pos, int end) throws IOException
+	{
+		if (end - pos < HEADER_LENGTH)
+		{
+			throw new IOException("unexpected end of gzip stream");
+		}
+
+		if (((bytes[pos] & 0xFF) | (bytes[pos + 1] & 0xFF) << 8) != GZIP_MAGIC)
+		{
+			throw new IOException("not in gzip format");
+		}
+
+		if (bytes[pos + 2] != Deflater.DEFLATED)
+		{
+			throw new IOException("unsupported compression method");
+		}
+
+		int flags = bytes[pos + 3] & 0xFF;
+		pos += HEADER_LENGTH;
+
+		if ((flags & FEXTRA) != 0)
+		{
+			if (end - pos < 2)
+			{
+				throw new IOException("unexpected end of gzip stream");
+			}
+			pos += 2 + ((bytes[pos] & 0xFF) | (bytes[pos + 1] & 0xFF) << 8);
+		}
+		if ((flags & FNAME) != 0)
+		{
+			pos = skipString(bytes, pos, end);
+		}
+		if ((flags & FCOMMENT) != 0)
+		{
+			pos = skipString(bytes, pos, end);
+		}
+		if ((flags & FHCRC) != 0)
+		{
+			pos += 2;
+		}
+
+		if (pos > end)
+		{
+			throw new IOException("unexpected end of gzip stream");
+		}
+		return pos;
+	}
+
+	private static int skipString(byte[] bytes, int pos, int end) throws IOException
+	{
+		while (pos < end)
+		{
+			if (bytes[pos++] == 0)
+			{
+				return pos;
+			}
+		}
+		throw new IOException("unexpected end of gzip stream");
+	}
+
+	private static int readIntLE(byte[] b, int pos)
+	{
+		return (b[pos] & 0xFF)
+			| (b[pos + 1] & 0xFF) << 8
+			| (b[pos + 2] & 0xFF) << 16
+			| (b[pos + 3] & 0xFF) << 24;
+	}
+
+	private static int writeIntLE(byte[] b, int pos, int v)
+	{
+		b[pos] = (byte) v;
+		b[pos + 1] = (byte) (v >> 8);
+		b[pos + 2] = (byte) (v >> 16);
+		b[pos + 3] = (byte) (v >> 24);
+		return pos + 4;
+	}
 }
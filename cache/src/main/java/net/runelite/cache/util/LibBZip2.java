@@ -36,6 +36,10 @@ public interface LibBZip2 extends Library
 	int BZ_FLUSH_OK = 2;
 	int BZ_FINISH_OK = 3;
 	int BZ_STREAM_END = 4;
+	int BZ_PARAM_ERROR = -2;
+	int BZ_MEM_ERROR = -3;
+	int BZ_DATA_ERROR = -4;
+	int BZ_DATA_ERROR_MAGIC = -5;
 
 	int BZ_RUN = 0;
 	int BZ_FLUSH = 1;
@@ -44,4 +48,8 @@ public interface LibBZip2 extends Library
 	int BZ2_bzCompressInit(BzStream stream, int blockSize100k, int verbosity, int workFactor);
 	int BZ2_bzCompress(BzStream stream, int action);
 	int BZ2_bzCompressEnd(BzStream stream);
+
+	int BZ2_bzDecompressInit(BzStream stream, int verbosity, int small);
+	int BZ2_bzDecompress(BzStream stream);
+	int BZ2_bzDecompressEnd(BzStream stream);
 }
\ No newline at end of file
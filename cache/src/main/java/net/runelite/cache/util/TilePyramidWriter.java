@@ -0,0 +1,247 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.util;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.imageio.ImageIO;
+
+/**
+ * Writes a pyramid of square PNG tiles. Tiles are given at the highest zoom
+ * level and each is downsampled into its parent as it is written, so a
+ * parent is written as soon as all of its children have been. Tiles may be
+ * written from many threads at once.
+ * <p>
+ * Tile y coordinates increase upwards, so the child (2x, 2y) is the bottom
+ * left quarter of its parent. Tiles are written to
+ * {@code <dir>/<zoom>/<x>_<y>.png}, with zoom 0 being a single tile.
+ * <p>
+ * Only parents which still have children outstanding are held in memory, so
+ * when tiles are written in {@link #mortonOrder(int, int) morton order} the
+ * memory used depends on the number of tiles in flight and not on the size
+ * of the pyramid.
+ */
+public class TilePyramidWriter
+{
+	private final File dir;
+	private final int tileSize;
+	private final int maxZoom;
+	/**
+	 * the tiles which exist at each zoom level
+	 */
+	private final List<Set<Long>> levels = new ArrayList<>();
+	/**
+	 * the parents at each zoom level which are waiting on children
+	 */
+	private final List<Map<Long, Parent>> pending = new ArrayList<>();
+
+	private static class Parent
+	{
+		BufferedImage image;
+		int received;
+		int expected;
+	}
+
+	/**
+	 * @param dir directory to write to
+	 * @param tileSize width and height of the tiles, in pixels
+	 * @param maxZoom the zoom level of the tiles which are given
+	 * @param tiles the {@link #key(int, int) keys} of the tiles which will be given
+	 */
+	public TilePyramidWriter(File dir, int tileSize, int maxZoom, Collection<Long> tiles)
+	{
+		if (tileSize % 2 != 0)
+		{
+			throw new IllegalArgumentException("tile size must be even");
+		}
+
+		this.dir = dir;
+		this.tileSize = tileSize;
+		this.maxZoom = maxZoom;
+
+		Set<Long> level = new HashSet<>(tiles);
+		for (int zoom = maxZoom; zoom >= 0; --zoom)
+		{
+			levels.add(0, level);
+			pending.add(new HashMap<>());
+
+			Set<Long> parents = new HashSet<>();
+			for (long key : level)
+			{
+				parents.add(key(x(key) >> 1, y(key) >> 1));
+			}
+			level = parents;
+		}
+	}
+
+	public static long key(int x, int y)
+	{
+		return (long) x << 32 | (y & 0xFFFFFFFFL);
+	}
+
+	private static int x(long key)
+	{
+		return (int) (key >> 32);
+	}
+
+	private static int y(long key)
+	{
+		return (int) key;
+	}
+
+	/**
+	 * @return a sort key which orders tiles so that siblings are adjacent,
+	 * as are the parents of siblings, and so on
+	 */
+	public static long mortonOrder(int x, int y)
+	{
+		long order = 0;
+		for (int i = 0; i < 32; ++i)
+		{
+			order |= (long) ((x >>> i) & 1) << (2 * i);
+			order |= (long) ((y >>> i) & 1) << (2 * i + 1);
+		}
+		return order;
+	}
+
+	/**
+	 * Write a tile of the highest zoom level
+	 *
+	 * @param x tile x
+	 * @param y tile y
+	 * @param tile image, which must be tileSize by tileSize
+	 * @throws IOException
+	 */
+	public void write(int x, int y, BufferedImage tile) throws IOException
+	{
+		write(maxZoom, x, y, tile);
+	}
+
+	private void write(int zoom, int x, int y, BufferedImage tile) throws IOException
+	{
+		while (true)
+		{
+			File file = new File(dir, zoom + File.separator + x + "_" + y + ".png");
+			file.getParentFile().mkdirs();
+			ImageIO.write(tile, "png", file);
+
+			if (zoom == 0)
+			{
+				return;
+			}
+
+			int px = x >> 1;
+			int py = y >> 1;
+			long key = key(px, py);
+
+			Map<Long, Parent> parents = pending.get(zoom - 1);
+			Parent parent;
+			synchronized (this)
+			{
+				parent = parents.get(key);
+				if (parent == null)
+				{
+					parent = new Parent();
+					parent.image = new BufferedImage(tileSize, tileSize, tile.getType());
+					for (int dx = 0; dx < 2; ++dx)
+					{
+						for (int dy = 0; dy < 2; ++dy)
+						{
+							if (levels.get(zoom).contains(key(px * 2 + dx, py * 2 + dy)))
+							{
+								++parent.expected;
+							}
+						}
+					}
+					parents.put(key, parent);
+				}
+			}
+
+			// each child draws into its own quarter, so this can be done without the lock
+			int half = tileSize / 2;
+			downsample(tile, parent.image, (x & 1) * half, (1 - (y & 1)) * half);
+
+			synchronized (this)
+			{
+				if (++parent.received < parent.expected)
+				{
+					return;
+				}
+				parents.remove(key);
+			}
+
+			zoom--;
+			x = px;
+			y = py;
+			tile = parent.image;
+		}
+	}
+
+	/**
+	 * Scale an image down by half, averaging each 2x2 block of pixels
+	 */
+	private void downsample(BufferedImage src, BufferedImage dst, int dstX, int dstY)
+	{
+		int half = tileSize / 2;
+		int[] in = src.getRGB(0, 0, tileSize, tileSize, null, 0, tileSize);
+		int[] out = new int[half * half];
+		for (int y = 0; y < half; ++y)
+		{
+			for (int x = 0; x < half; ++x)
+			{
+				int i = (y * 2) * tileSize + x * 2;
+				int p0 = in[i], p1 = in[i + 1], p2 = in[i + tileSize], p3 = in[i + tileSize + 1];
+
+				int a = ((p0 >>> 24) + (p1 >>> 24) + (p2 >>> 24) + (p3 >>> 24)) >> 2;
+				int r = ((p0 >> 16 & 0xFF) + (p1 >> 16 & 0xFF) + (p2 >> 16 & 0xFF) + (p3 >> 16 & 0xFF)) >> 2;
+				int g = ((p0 >> 8 & 0xFF) + (p1 >> 8 & 0xFF) + (p2 >> 8 & 0xFF) + (p3 >> 8 & 0xFF)) >> 2;
+				int b = ((p0 & 0xFF) + (p1 & 0xFF) + (p2 & 0xFF) + (p3 & 0xFF)) >> 2;
+				out[y * half + x] = a << 24 | r << 16 | g << 8 | b;
+			}
+		}
+		dst.setRGB(dstX, dstY, half, half, out, 0, half);
+	}
+
+	/**
+	 * @return the number of parents waiting on children
+	 */
+	public synchronized int getPending()
+	{
+		int count = 0;
+		for (Map<Long, Parent> parents : pending)
+		{
+			count += parents.size();
+		}
+		return count;
+	}
+}
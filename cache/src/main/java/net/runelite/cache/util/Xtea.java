@@ -24,8 +24,10 @@
  */
 package net.runelite.cache.util;
 
-import net.runelite.cache.io.InputStream;
-import net.runelite.cache.io.OutputStream;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 
 public class Xtea
 {
@@ -33,56 +35,134 @@ public class Xtea
 
 	private static final int ROUNDS = 32;
 
-	private final int[] key;
+	private static final VarHandle ARRAY_INT = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+	private static final VarHandle BUFFER_INT = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+
+	// sum + key for each half round, so the rounds themselves are only shifts, adds and xors
+	private final int[] encryptSchedule = new int[ROUNDS * 2];
+	private final int[] decryptSchedule = new int[ROUNDS * 2];
 
 	public Xtea(int[] key)
 	{
-		this.key = key;
+		int sum = 0;
+		for (int i = 0; i < ROUNDS; ++i)
+		{
+			encryptSchedule[i * 2] = sum + key[sum & 3];
+			sum += GOLDEN_RATIO;
+			encryptSchedule[i * 2 + 1] = sum + key[(sum >>> 11) & 3];
+		}
+
+		sum = GOLDEN_RATIO * ROUNDS;
+		for (int i = 0; i < ROUNDS; ++i)
+		{
+			decryptSchedule[i * 2] = sum + key[(sum >>> 11) & 3];
+			sum -= GOLDEN_RATIO;
+			decryptSchedule[i * 2 + 1] = sum + key[sum & 3];
+		}
 	}
 
 	public byte[] encrypt(byte[] data, int len)
 	{
-		InputStream in = new InputStream(data);
-		OutputStream out = new OutputStream(len);
-		int numBlocks = len / 8;
-		for (int block = 0; block < numBlocks; ++block)
+		byte[] out = data.clone();
+		encrypt(out, 0, len);
+		return out;
+	}
+
+	public byte[] decrypt(byte[] data, int len)
+	{
+		byte[] out = data.clone();
+		decrypt(out, 0, len);
+		return out;
+	}
+
+	/**
+	 * Encrypt data in place. Trailing bytes which do not make up a full
+	 * block are left as is.
+	 *
+	 * @param buf buffer
+	 * @param off offset of the data to encrypt
+	 * @param len length of the data to encrypt
+	 */
+	public void encrypt(byte[] buf, int off, int len)
+	{
+		final int[] k = encryptSchedule;
+		for (int pos = off, end = off + (len & ~7); pos < end; pos += 8)
 		{
-			int v0 = in.readInt();
-			int v1 = in.readInt();
-			int sum = 0;
-			for (int i = 0; i < ROUNDS; ++i)
+			int v0 = (int) ARRAY_INT.get(buf, pos);
+			int v1 = (int) ARRAY_INT.get(buf, pos + 4);
+			for (int i = 0; i < ROUNDS * 2; i += 8)
 			{
-				v0 += (((v1 << 4) ^ (v1 >>> 5)) + v1) ^ (sum + key[sum & 3]);
-				sum += GOLDEN_RATIO;
-				v1 += (((v0 << 4) ^ (v0 >>> 5)) + v0) ^ (sum + key[(sum >>> 11) & 3]);
+				v0 += (((v1 << 4) ^ (v1 >>> 5)) + v1) ^ k[i];
+				v1 += (((v0 << 4) ^ (v0 >>> 5)) + v0) ^ k[i + 1];
+				v0 += (((v1 << 4) ^ (v1 >>> 5)) + v1) ^ k[i + 2];
+				v1 += (((v0 << 4) ^ (v0 >>> 5)) + v0) ^ k[i + 3];
+				v0 += (((v1 << 4) ^ (v1 >>> 5)) + v1) ^ k[i + 4];
+				v1 += (((v0 << 4) ^ (v0 >>> 5)) + v0) ^ k[i + 5];
+				v0 += (((v1 << 4) ^ (v1 >>> 5)) + v1) ^ k[i + 6];
+				v1 += (((v0 << 4) ^ (v0 >>> 5)) + v0) ^ k[i + 7];
 			}
-			out.writeInt(v0);
-			out.writeInt(v1);
+			ARRAY_INT.set(buf, pos, v0);
+			ARRAY_INT.set(buf, pos + 4, v1);
 		}
-		out.writeBytes(in.getRemaining());
-		return out.flip();
 	}
 
-	public byte[] decrypt(byte[] data, int len)
+	/**
+	 * Decrypt data in place. Trailing bytes which do not make up a full
+	 * block are left as is.
+	 *
+	 * @param buf buffer
+	 * @param off offset of the data to decrypt
+	 * @param len length of the data to decrypt
+	 */
+	public void decrypt(byte[] buf, int off, int len)
+	{
+		final int[] k = decryptSchedule;
+		for (int pos = off, end = off + (len & ~7); pos < end; pos += 8)
+		{
+			int v0 = (int) ARRAY_INT.get(buf, pos);
+			int v1 = (int) ARRAY_INT.get(buf, pos + 4);
+			for (int i = 0; i < ROUNDS * 2; i += 8)
+			{
+				v1 -= (((v0 << 4) ^ (v0 >>> 5)) + v0) ^ k[i];
+				v0 -= (((v1 << 4) ^ (v1 >>> 5)) + v1) ^ k[i + 1];
+				v1 -= (((v0 << 4) ^ (v0 >>> 5)) + v0) ^ k[i + 2];
+				v0 -= (((v1 << 4) ^ (v1 >>> 5)) + v1) ^ k[i + 3];
+				v1 -= (((v0 << 4) ^ (v0 >>> 5)) + v0) ^ k[i + 4];
+				v0 -= (((v1 << 4) ^ (v1 >>> 5)) + v1) ^ k[i + 5];
+				v1 -= (((v0 << 4) ^ (v0 >>> 5)) + v0) ^ k[i + 6];
+				v0 -= (((v1 << 4) ^ (v1 >>> 5)) + v1) ^ k[i + 7];
+			}
+			ARRAY_INT.set(buf, pos, v0);
+			ARRAY_INT.set(buf, pos + 4, v1);
+		}
+	}
+
+	/**
+	 * Decrypt the buffer in place, from its position to its limit. The
+	 * position of the buffer is not changed.
+	 *
+	 * @param buf buffer
+	 */
+	public void decrypt(ByteBuffer buf)
 	{
-		InputStream in = new InputStream(data);
-		OutputStream out = new OutputStream(len);
-		int numBlocks = len / 8;
-		for (int block = 0; block < numBlocks; ++block)
+		if (buf.hasArray())
+		{
+			decrypt(buf.array(), buf.arrayOffset() + buf.position(), buf.remaining());
+			return;
+		}
+
+		final int[] k = decryptSchedule;
+		for (int pos = buf.position(), end = pos + (buf.remaining() & ~7); pos < end; pos += 8)
 		{
-			int v0 = in.readInt();
-			int v1 = in.readInt();
-			int sum = GOLDEN_RATIO * ROUNDS;
-			for (int i = 0; i < ROUNDS; ++i)
+			int v0 = (int) BUFFER_INT.get(buf, pos);
+			int v1 = (int) BUFFER_INT.get(buf, pos + 4);
+			for (int i = 0; i < ROUNDS * 2; i += 2)
 			{
-				v1 -= (((v0 << 4) ^ (v0 >>> 5)) + v0) ^ (sum + key[(sum >>> 11) & 3]);
-				sum -= GOLDEN_RATIO;
-				v0 -= (((v1 << 4) ^ (v1 >>> 5)) + v1) ^ (sum + key[sum & 3]);
+				v1 -= (((v0 << 4) ^ (v0 >>> 5)) + v0) ^ k[i];
+				v0 -= (((v1 << 4) ^ (v1 >>> 5)) + v1) ^ k[i + 1];
 			}
-			out.writeInt(v0);
-			out.writeInt(v1);
+			BUFFER_INT.set(buf, pos, v0);
+			BUFFER_INT.set(buf, pos + 4, v1);
 		}
-		out.writeBytes(in.getRemaining());
-		return out.flip();
 	}
 }
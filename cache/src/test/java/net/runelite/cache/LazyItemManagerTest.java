@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache;
+
+import java.io.IOException;
+import net.runelite.cache.fs.Archive;
+import net.runelite.cache.fs.ArchiveFiles;
+import net.runelite.cache.fs.FSFile;
+import net.runelite.cache.fs.Index;
+import net.runelite.cache.fs.Store;
+import net.runelite.cache.fs.TestArchives;
+import net.runelite.cache.io.OutputStream;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class LazyItemManagerTest
+{
+	@Rule
+	public TemporaryFolder folder = StoreLocation.getTemporaryFolder();
+
+	@Test
+	public void testProvide() throws IOException
+	{
+		try (Store store = new Store(folder.newFolder()))
+		{
+			Index index = store.addIndex(IndexType.CONFIGS.getNumber());
+			Archive archive = index.addArchive(ConfigType.ITEM.getId());
+
+			ArchiveFiles files = new ArchiveFiles();
+			for (int i = 0; i < 100; ++i)
+			{
+				if (i == 77)
+				{
+					continue;
+				}
+
+				OutputStream out = new OutputStream();
+				out.writeByte(2);
+				out.writeString("item " + i);
+				if (i == 50)
+				{
+					out.writeByte(97);
+					out.writeShort(10);
+					out.writeByte(98);
+					out.writeShort(0);
+				}
+				out.writeByte(0);
+
+				FSFile file = new FSFile(i);
+				file.setContents(out.flip());
+				files.addFile(file);
+			}
+
+			TestArchives.save(store.getStorage(), archive, files);
+
+			LazyItemManager items = new LazyItemManager(store);
+			items.load();
+
+			assertEquals(100, items.size());
+			assertEquals("item 5", items.getItem(5).name);
+			assertSame(items.getItem(5), items.provide(5));
+			assertNull(items.getItem(77));
+			assertNull(items.getItem(100));
+			assertNull(items.getItem(-1));
+
+			// noted items take their name from the unnoted item
+			assertEquals("item 10", items.getItem(50).name);
+		}
+	}
+}
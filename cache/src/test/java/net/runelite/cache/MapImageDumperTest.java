@@ -32,6 +32,7 @@ import net.runelite.cache.fs.Store;
 import net.runelite.cache.region.Region;
 import net.runelite.cache.region.RegionLoader;
 import net.runelite.cache.util.XteaKeyManager;
+import static org.junit.Assert.assertEquals;
 import org.junit.Ignore;
 import org.junit.Rule;
 import org.junit.Test;
@@ -104,4 +105,19 @@ public class MapImageDumperTest
 			}
 		}
 	}
+
+	@Test
+	public void testDrawMapTilesWithoutRegions() throws IOException
+	{
+		File outDir = folder.newFolder();
+
+		try (Store store = new Store(folder.newFolder()))
+		{
+			RegionLoader regionLoader = new RegionLoader(store, new XteaKeyManager());
+			MapImageDumper dumper = new MapImageDumper(store, regionLoader);
+			dumper.drawMapTiles(0, outDir);
+		}
+
+		assertEquals(0, outDir.list().length);
+	}
 }
@@ -0,0 +1,297 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.collision;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import net.runelite.cache.definitions.LocationsDefinition;
+import net.runelite.cache.definitions.MapDefinition;
+import net.runelite.cache.definitions.ObjectDefinition;
+import net.runelite.cache.fs.Store;
+import net.runelite.cache.region.Location;
+import net.runelite.cache.region.Position;
+import net.runelite.cache.region.Region;
+import net.runelite.cache.region.RegionLoader;
+import static net.runelite.cache.collision.CollisionMap.*;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class CollisionMapTest
+{
+	private static final int WALL = 1;
+	private static final int OBJECT = 2;
+	private static final int BASE = 50 * Region.X;
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private final Map<Integer, ObjectDefinition> objects = new HashMap<>();
+
+	public CollisionMapTest()
+	{
+		ObjectDefinition wall = new ObjectDefinition();
+		wall.setId(WALL);
+		objects.put(WALL, wall);
+
+		ObjectDefinition object = new ObjectDefinition();
+		object.setId(OBJECT);
+		object.setSizeX(2);
+		object.setSizeY(2);
+		objects.put(OBJECT, object);
+	}
+
+	private static MapDefinition map()
+	{
+		MapDefinition map = new MapDefinition();
+		map.setRegionX(50);
+		map.setRegionY(50);
+		MapDefinition.Tile[][][] tiles = map.getTiles();
+		for (int z = 0; z < Region.Z; ++z)
+		{
+			for (int x = 0; x < Region.X; ++x)
+			{
+				for (int y = 0; y < Region.Y; ++y)
+				{
+					tiles[z][x][y] = new MapDefinition.Tile();
+				}
+			}
+		}
+		return map;
+	}
+
+	private CollisionMap build(MapDefinition map, LocationsDefinition locs) throws IOException
+	{
+		RegionLoader loader = new RegionLoader(new Store(folder.newFolder()), null);
+		loader.loadRegion(50 << 8 | 50, map, locs);
+		return new CollisionMapBuilder(loader, objects::get).build();
+	}
+
+	private static LocationsDefinition locations()
+	{
+		LocationsDefinition locs = new LocationsDefinition();
+		locs.setRegionX(50);
+		locs.setRegionY(50);
+		return locs;
+	}
+
+	/**
+	 * A map with a wall along the east side of x = BASE + 10 for y up to
+	 * BASE + 15, a 2x2 object at BASE + 20 and a blocked floor tile at
+	 * BASE + 30
+	 */
+	private CollisionMap testMap() throws IOException
+	{
+		MapDefinition map = map();
+		map.getTiles()[0][30][30].settings = 1;
+
+		LocationsDefinition locs = locations();
+		for (int y = 0; y <= 15; ++y)
+		{
+			locs.getLocations().add(new Location(WALL, 0, 2, new Position(10, y, 0)));
+		}
+		locs.getLocations().add(new Location(OBJECT, 10, 0, new Position(20, 20, 0)));
+		return build(map, locs);
+	}
+
+	@Test
+	public void testMovement() throws IOException
+	{
+		CollisionMap map = testMap();
+
+		assertEquals(1, map.getRegionCount());
+		assertTrue(map.isLoaded(BASE, BASE));
+		assertFalse(map.isLoaded(BASE + Region.X, BASE));
+
+		// the wall blocks both sides
+		assertFalse(map.canMove(0, BASE + 10, BASE + 5, EAST));
+		assertFalse(map.canMove(0, BASE + 11, BASE + 5, WEST));
+		assertFalse(map.canMove(0, BASE + 10, BASE + 5, NORTH_EAST));
+		assertFalse(map.canMove(0, BASE + 11, BASE + 5, SOUTH_WEST));
+		assertTrue(map.canMove(0, BASE + 10, BASE + 5, NORTH));
+		assertTrue(map.canMove(0, BASE + 10, BASE + 16, EAST));
+		assertFalse(map.canMove(0, BASE + 10, BASE + 15, NORTH_EAST));
+
+		// the object covers its whole footprint
+		for (int x = 20; x <= 21; ++x)
+		{
+			for (int y = 20; y <= 21; ++y)
+			{
+				assertFalse(map.canMove(0, BASE + x - 1, BASE + y, EAST));
+				assertFalse(map.canMove(0, BASE + x, BASE + y - 1, NORTH));
+			}
+		}
+		assertTrue(map.canMove(0, BASE + 22, BASE + 20, EAST));
+		assertFalse(map.canMove(0, BASE + 19, BASE + 19, NORTH_EAST));
+
+		assertFalse(map.canMove(0, BASE + 29, BASE + 30, EAST));
+		assertEquals(0xFF, map.getMovement(0, BASE + 40, BASE + 40));
+
+		// tiles outside of the map are blocked
+		assertFalse(map.canMove(0, BASE + Region.X - 1, BASE + 40, EAST));
+		assertFalse(map.canMove(0, BASE, BASE, SOUTH_WEST));
+	}
+
+	@Test
+	public void testSaveLoad() throws IOException
+	{
+		CollisionMap map = testMap();
+		File file = folder.newFile();
+		map.save(file);
+
+		CollisionMap loaded = CollisionMap.load(file);
+		assertArrayEquals(map.getRegionIds(), loaded.getRegionIds());
+		for (int z = 0; z < Region.Z; ++z)
+		{
+			for (int x = BASE - 1; x <= BASE + Region.X; ++x)
+			{
+				for (int y = BASE - 1; y <= BASE + Region.Y; ++y)
+				{
+					assertEquals(map.getMovement(z, x, y), loaded.getMovement(z, x, y));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testPathAroundWall() throws IOException
+	{
+		CollisionMap map = testMap();
+		PathFinder pathFinder = new PathFinder(map);
+
+		List<Position> path = pathFinder.findPath(0, BASE + 5, BASE + 5, BASE + 15, BASE + 5);
+		assertNotNull(path);
+		assertValid(map, path);
+		assertEquals(new Position(BASE + 5, BASE + 5, 0), path.get(0));
+		assertEquals(new Position(BASE + 15, BASE + 5, 0), path.get(path.size() - 1));
+		assertEquals(distance(map, BASE + 5, BASE + 5, BASE + 15, BASE + 5), path.size() - 1);
+
+		assertNull(pathFinder.findPath(0, BASE + 5, BASE + 5, BASE + 30, BASE + 30));
+		assertEquals(1, pathFinder.findPath(0, BASE + 5, BASE + 5, BASE + 5, BASE + 5).size());
+	}
+
+	@Test
+	public void testShortestPaths() throws IOException
+	{
+		Random random = new Random(42);
+		LocationsDefinition locs = locations();
+		for (int i = 0; i < 800; ++i)
+		{
+			int x = random.nextInt(Region.X);
+			int y = random.nextInt(Region.Y);
+			if (random.nextBoolean())
+			{
+				locs.getLocations().add(new Location(WALL, random.nextInt(4), random.nextInt(4), new Position(x, y, 0)));
+			}
+			else
+			{
+				locs.getLocations().add(new Location(OBJECT, 10, random.nextInt(4), new Position(x, y, 0)));
+			}
+		}
+		CollisionMap map = build(map(), locs);
+		// the default margin covers the whole region, so the paths are the shortest
+		PathFinder pathFinder = new PathFinder(map);
+
+		for (int i = 0; i < 200; ++i)
+		{
+			int srcX = BASE + random.nextInt(Region.X);
+			int srcY = BASE + random.nextInt(Region.Y);
+			int dstX = BASE + random.nextInt(Region.X);
+			int dstY = BASE + random.nextInt(Region.Y);
+
+			int expected = distance(map, srcX, srcY, dstX, dstY);
+			List<Position> path = pathFinder.findPath(0, srcX, srcY, dstX, dstY);
+			if (expected == -1)
+			{
+				assertNull(path);
+				continue;
+			}
+			assertNotNull(path);
+			assertValid(map, path);
+			assertEquals(expected, path.size() - 1);
+		}
+	}
+
+	private static void assertValid(CollisionMap map, List<Position> path)
+	{
+		for (int i = 1; i < path.size(); ++i)
+		{
+			Position from = path.get(i - 1);
+			Position to = path.get(i);
+			int dx = to.getX() - from.getX();
+			int dy = to.getY() - from.getY();
+			int direction = -1;
+			for (int d = 0; d < 8; ++d)
+			{
+				if (DX[d] == dx && DY[d] == dy)
+				{
+					direction = d;
+				}
+			}
+			assertTrue("invalid step " + from + " -> " + to, direction != -1 && map.canMove(0, from.getX(), from.getY(), 1 << direction));
+		}
+	}
+
+	/**
+	 * Breadth first search distance within the test region, or -1
+	 */
+	private static int distance(CollisionMap map, int srcX, int srcY, int dstX, int dstY)
+	{
+		int[] dist = new int[Region.X * Region.Y];
+		Arrays.fill(dist, -1);
+		Queue<Integer> queue = new ArrayDeque<>();
+		dist[(srcY - BASE) * Region.X + srcX - BASE] = 0;
+		queue.add((srcY - BASE) * Region.X + srcX - BASE);
+		while (!queue.isEmpty())
+		{
+			int node = queue.poll();
+			int x = BASE + node % Region.X;
+			int y = BASE + node / Region.X;
+			for (int d = 0; d < 8; ++d)
+			{
+				int next = (y + DY[d] - BASE) * Region.X + x + DX[d] - BASE;
+				if (map.canMove(0, x, y, 1 << d) && dist[next] == -1)
+				{
+					dist[next] = dist[node] + 1;
+					queue.add(next);
+				}
+			}
+		}
+		return dist[(dstY - BASE) * Region.X + dstX - BASE];
+	}
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.dbtable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+import net.runelite.cache.definitions.DBRowDefinition;
+import net.runelite.cache.definitions.DBTableIndex;
+import net.runelite.cache.util.BaseVarType;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DBQueryTest
+{
+	private static final int TABLE = 7;
+	private static final int ROWS = 100;
+
+	private final Map<Integer, DBTableIndex> indexes = new HashMap<>();
+	private final AtomicInteger decoded = new AtomicInteger();
+	private DBQueryEngine engine;
+
+	/**
+	 * Index the values of each tuple of a column of the test table
+	 */
+	@SafeVarargs
+	private final void index(int columnId, BaseVarType[] types, IntFunction<Object>... tuples)
+	{
+		List<Map<Object, List<Integer>>> tupleIndexes = new ArrayList<>();
+		for (IntFunction<Object> tuple : tuples)
+		{
+			Map<Object, List<Integer>> values = new HashMap<>();
+			for (int row = 0; row < ROWS; ++row)
+			{
+				values.computeIfAbsent(tuple.apply(row), k -> new ArrayList<>()).add(row);
+			}
+			tupleIndexes.add(values);
+		}
+
+		DBTableIndex index = new DBTableIndex(TABLE, columnId);
+		index.setTupleTypes(types);
+		index.setTupleIndexes(tupleIndexes);
+		indexes.put(columnId, index);
+	}
+
+	@Before
+	public void before()
+	{
+		index(-1, new BaseVarType[]{BaseVarType.INTEGER}, row -> 0);
+		index(0, new BaseVarType[]{BaseVarType.INTEGER}, row -> row % 10 - 5);
+		index(1, new BaseVarType[]{BaseVarType.LONG}, row -> row * 1_000_000_000L);
+		index(2, new BaseVarType[]{BaseVarType.STRING}, row -> "name" + row % 3);
+		index(3, new BaseVarType[]{BaseVarType.INTEGER, BaseVarType.INTEGER}, row -> row % 4, row -> row / 25);
+
+		engine = new DBQueryEngine((tableId, columnId) -> tableId == TABLE ? indexes.get(columnId) : null, id ->
+		{
+			decoded.incrementAndGet();
+			return new DBRowDefinition(id);
+		});
+	}
+
+	private static int[] expected(IntPredicate predicate)
+	{
+		return IntStream.range(0, ROWS).filter(predicate).toArray();
+	}
+
+	@Test
+	public void testEquals()
+	{
+		assertArrayEquals(expected(row -> row % 10 == 2), engine.query(TABLE).whereInt(0, -3).rowIds());
+		assertArrayEquals(expected(row -> row == 42), engine.query(TABLE).whereLong(1, 42_000_000_000L).rowIds());
+		assertArrayEquals(expected(row -> row % 3 == 1), engine.query(TABLE).whereString(2, "name1").rowIds());
+		assertArrayEquals(expected(row -> row / 25 == 2), engine.query(TABLE).whereInt(3, 1, 2).rowIds());
+		assertEquals(0, engine.query(TABLE).whereInt(0, 100).count());
+		assertEquals(0, engine.query(TABLE).whereString(2, "missing").count());
+	}
+
+	@Test
+	public void testRanges()
+	{
+		assertArrayEquals(expected(row -> row % 10 >= 3 && row % 10 <= 6), engine.query(TABLE).whereIntBetween(0, -2, 1).rowIds());
+		assertArrayEquals(expected(row -> true), engine.query(TABLE).whereIntBetween(0, Integer.MIN_VALUE, Integer.MAX_VALUE).rowIds());
+		assertEquals(0, engine.query(TABLE).whereIntBetween(0, 1, -1).count());
+		assertArrayEquals(expected(row -> row >= 10 && row <= 20), engine.query(TABLE).whereLongBetween(1, 9_500_000_000L, 20_000_000_000L).rowIds());
+		assertArrayEquals(expected(row -> row >= 90), engine.query(TABLE).whereLongBetween(1, 90_000_000_000L, Long.MAX_VALUE).rowIds());
+	}
+
+	@Test
+	public void testCompound()
+	{
+		int[] rows = engine.query(TABLE)
+			.whereIntBetween(0, -5, 0)
+			.whereString(2, "name0")
+			.whereInt(3, 0, 2)
+			.whereLongBetween(1, 0, 80_000_000_000L)
+			.rowIds();
+		assertArrayEquals(expected(row -> row % 10 <= 5 && row % 3 == 0 && row % 4 == 2 && row <= 80), rows);
+
+		// join the rows of one query onto another column
+		int[] keys = {0, 3};
+		assertArrayEquals(expected(row -> row / 25 == 0 || row / 25 == 3), engine.query(TABLE).whereIntIn(3, 1, keys).rowIds());
+	}
+
+	@Test
+	public void testLazyRows()
+	{
+		assertEquals(ROWS, engine.query(TABLE).rowIds().length);
+		assertEquals(0, decoded.get());
+
+		List<DBRowDefinition> rows = engine.query(TABLE).whereInt(0, 0).rows();
+		assertEquals(10, rows.size());
+		assertEquals(5, rows.get(0).getId());
+		assertEquals(10, decoded.get());
+
+		assertEquals(15, engine.query(TABLE).whereInt(0, 0).whereString(2, "name0").first().getId());
+		assertNull(engine.query(TABLE).whereInt(0, 100).first());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testWrongType()
+	{
+		engine.query(TABLE).whereInt(1, 5);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNotIndexed()
+	{
+		engine.query(TABLE).whereInt(9, 5);
+	}
+}
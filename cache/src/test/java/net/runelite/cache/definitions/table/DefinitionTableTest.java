@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.definitions.table;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import net.runelite.cache.definitions.ItemDefinition;
+import net.runelite.cache.definitions.ObjectDefinition;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import org.junit.Test;
+
+public class DefinitionTableTest
+{
+	@Test
+	public void testItems()
+	{
+		List<ItemDefinition> items = new ArrayList<>();
+		// added out of order, rows are sorted by id
+		for (int i = 99; i >= 0; --i)
+		{
+			ItemDefinition item = new ItemDefinition(i);
+			item.name = i % 10 == 0 ? "sword " + i : "item";
+			item.cost = i * 10;
+			item.members = i % 2 == 0;
+			if (i % 3 == 0)
+			{
+				item.params = new HashMap<>();
+				item.params.put(1000, i);
+				item.params.put(2000, "param " + i);
+			}
+			items.add(item);
+		}
+		items.get(99).name = null;
+
+		DefinitionTable table = DefinitionTable.of(ItemDefinition.class, items);
+		assertEquals(100, table.getRowCount());
+		assertEquals(42, table.rowOf(42));
+		assertEquals(-1, table.rowOf(100));
+		assertNull(table.getString("name", 0));
+
+		assertArrayEquals(new int[]{10, 20, 30, 40, 50, 60, 70, 80, 90},
+			table.query().whereString("name", s -> s.startsWith("sword")).ids());
+
+		assertArrayEquals(new int[]{0, 30, 60},
+			table.query()
+				.whereIntParam(1000, v -> v % 30 == 0)
+				.whereBoolean("members", true)
+				.whereInt("cost", c -> c < 900)
+				.ids());
+
+		int[] expected = new int[34];
+		for (int i = 0; i < expected.length; ++i)
+		{
+			expected[i] = i * 3;
+		}
+		assertArrayEquals(expected, table.query().parallel().whereStringParam(2000, s -> s.startsWith("param")).ids());
+
+		assertArrayEquals(new int[]{3, -1, 9},
+			table.query().whereInt("id", id -> id == 3 || id == 4 || id == 9).selectIntParam(1000, -1));
+		assertArrayEquals(new String[]{"sword 10", "item"},
+			table.query().whereInt("id", id -> id == 10 || id == 11).selectString("name"));
+	}
+
+	@Test
+	public void testObjectModels()
+	{
+		List<ObjectDefinition> objects = new ArrayList<>();
+		for (int i = 0; i < 10; ++i)
+		{
+			ObjectDefinition object = new ObjectDefinition();
+			object.setId(i);
+			object.setObjectModels(i % 2 == 0 ? new int[]{100 + i, 500} : null);
+			objects.add(object);
+		}
+
+		DefinitionTable table = DefinitionTable.of(ObjectDefinition.class, objects);
+		assertArrayEquals(new int[]{0, 2, 4, 6, 8}, table.query().whereContains("objectModels", 500).ids());
+		assertArrayEquals(new int[]{4}, table.query().whereContains("objectModels", 104).ids());
+		assertArrayEquals(new int[]{106, 500}, table.getIntArray("objectModels", 6));
+		assertArrayEquals(new int[0], table.getIntArray("objectModels", 7));
+	}
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.diff;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import net.runelite.cache.StoreLocation;
+import net.runelite.cache.fs.Archive;
+import net.runelite.cache.fs.ArchiveFiles;
+import net.runelite.cache.fs.FSFile;
+import net.runelite.cache.fs.Index;
+import net.runelite.cache.fs.Store;
+import net.runelite.cache.fs.TestArchives;
+import net.runelite.cache.index.FileData;
+import static org.junit.Assert.assertEquals;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class CacheDiffTest
+{
+	@Rule
+	public TemporaryFolder folder = StoreLocation.getTemporaryFolder();
+
+	@Test
+	public void testDiff() throws IOException
+	{
+		File oldCache = folder.newFolder();
+		File newCache = folder.newFolder();
+
+		try (Store store = new Store(oldCache))
+		{
+			Index index0 = store.addIndex(0);
+			Index index1 = store.addIndex(1);
+			for (int i = 0; i < 4; ++i)
+			{
+				addArchive(store, index0, i, new int[]{0}, "unchanged");
+			}
+			for (int i = 0; i < 10; ++i)
+			{
+				addArchive(store, index1, i, new int[]{0, 1, 2}, "v1");
+			}
+			store.save();
+		}
+
+		try (Store store = new Store(newCache))
+		{
+			Index index0 = store.addIndex(0);
+			Index index1 = store.addIndex(1);
+			for (int i = 0; i < 4; ++i)
+			{
+				addArchive(store, index0, i, new int[]{0}, "unchanged");
+			}
+			for (int i = 0; i < 10; ++i)
+			{
+				if (i == 2)
+				{
+					addArchive(store, index1, i, new int[]{0, 1, 2}, "v2");
+				}
+				else if (i == 7)
+				{
+					addArchive(store, index1, i, new int[]{0, 1, 3}, "v1");
+				}
+				else if (i != 5)
+				{
+					addArchive(store, index1, i, new int[]{0, 1, 2}, "v1");
+				}
+			}
+			addArchive(store, index1, 10, new int[]{0, 1}, "v1");
+			store.save();
+		}
+
+		List<String> diffs = new ArrayList<>();
+		List<Integer> completed = new ArrayList<>();
+		try (Store oldStore = new Store(oldCache);
+			Store newStore = new Store(newCache))
+		{
+			oldStore.load();
+			newStore.load();
+
+			CacheDiff cacheDiff = new CacheDiff(oldStore, newStore);
+			cacheDiff.diff(new DiffListener()
+			{
+				@Override
+				public void fileDiff(FileDiff diff)
+				{
+					diffs.add(diff.getType() + " " + diff.getIndex() + "/" + diff.getArchive() + "/" + diff.getFile());
+				}
+
+				@Override
+				public void indexComplete(int index)
+				{
+					completed.add(index);
+				}
+			});
+
+			assertEquals(11, cacheDiff.getArchivesPruned());
+			assertEquals(4, cacheDiff.getArchivesCompared());
+		}
+
+		assertEquals(List.of(
+			"CHANGED 1/2/1",
+			"REMOVED 1/5/0",
+			"REMOVED 1/5/1",
+			"REMOVED 1/5/2",
+			"REMOVED 1/7/2",
+			"ADDED 1/7/3",
+			"ADDED 1/10/0",
+			"ADDED 1/10/1"
+		), diffs);
+		assertEquals(List.of(0, 1), completed);
+	}
+
+	@Test
+	public void testCorruptArchive() throws IOException
+	{
+		File oldCache = folder.newFolder();
+		File newCache = folder.newFolder();
+
+		try (Store store = new Store(oldCache))
+		{
+			Index index = store.addIndex(0);
+			addArchive(store, index, 0, new int[]{0, 1}, "v1");
+			addArchive(store, index, 1, new int[]{0}, "v1");
+			store.save();
+		}
+
+		try (Store store = new Store(newCache))
+		{
+			Index index = store.addIndex(0);
+			addArchive(store, index, 0, new int[]{0, 1}, "v2");
+
+			// an uncompressed container claiming more data than it has
+			Archive archive = index.addArchive(1);
+			archive.setFileData(new FileData[]{new FileData()});
+			archive.setCrc(1);
+			store.getStorage().saveArchive(archive, new byte[]{0, 0, 0, 0, 100, 1, 2, 3});
+			store.save();
+		}
+
+		List<String> diffs = new ArrayList<>();
+		List<String> unreadable = new ArrayList<>();
+		try (Store oldStore = new Store(oldCache);
+			Store newStore = new Store(newCache))
+		{
+			oldStore.load();
+			newStore.load();
+
+			new CacheDiff(oldStore, newStore).diff(new DiffListener()
+			{
+				@Override
+				public void fileDiff(FileDiff diff)
+				{
+					diffs.add(diff.getType() + " " + diff.getIndex() + "/" + diff.getArchive() + "/" + diff.getFile());
+				}
+
+				@Override
+				public void archiveUnreadable(int index, int archive, Exception ex)
+				{
+					unreadable.add(index + "/" + archive);
+				}
+			});
+		}
+
+		assertEquals(List.of("CHANGED 0/0/1"), diffs);
+		assertEquals(List.of("0/1"), unreadable);
+	}
+
+	private static void addArchive(Store store, Index index, int archiveId, int[] fileIds, String version) throws IOException
+	{
+		ArchiveFiles files = new ArchiveFiles();
+		for (int i = 0; i < fileIds.length; ++i)
+		{
+			FSFile file = new FSFile(fileIds[i]);
+			// only the middle file of an archive changes between versions
+			String contents = i == 1 ? version : "v1";
+			file.setContents((archiveId + "/" + fileIds[i] + " " + contents).getBytes(StandardCharsets.UTF_8));
+			files.addFile(file);
+		}
+		TestArchives.save(store.getStorage(), index.addArchive(archiveId), files);
+	}
+}
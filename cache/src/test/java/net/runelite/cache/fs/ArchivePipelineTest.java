@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.fs;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import net.runelite.cache.StoreLocation;
+import net.runelite.cache.fs.jagex.CompressionType;
+import net.runelite.cache.fs.jagex.DiskStorage;
+import net.runelite.cache.index.FileData;
+import static org.junit.Assert.assertEquals;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ArchivePipelineTest
+{
+	private static final int ARCHIVES = 32;
+	private static final int FILES = 600;
+
+	@Rule
+	public TemporaryFolder folder = StoreLocation.getTemporaryFolder();
+
+	@Test
+	public void testDecodeFiles() throws IOException
+	{
+		File root = folder.newFolder();
+
+		try (Store store = new Store(root))
+		{
+			Index index = store.addIndex(0);
+			for (int i = 0; i < ARCHIVES; ++i)
+			{
+				Archive archive = index.addArchive(i);
+				FileData[] fileData = new FileData[FILES];
+				ArchiveFiles files = new ArchiveFiles();
+				for (int j = 0; j < FILES; ++j)
+				{
+					fileData[j] = new FileData();
+					fileData[j].setId(j);
+
+					FSFile file = new FSFile(j);
+					file.setContents((i + "/" + j).getBytes(StandardCharsets.UTF_8));
+					files.addFile(file);
+				}
+				archive.setFileData(fileData);
+
+				Container container = new Container(i % 2 == 0 ? CompressionType.GZ : CompressionType.BZ2, -1);
+				container.compress(files.saveContents(), null);
+				archive.setCrc(container.crc);
+				store.getStorage().saveArchive(archive, container.data);
+			}
+
+			store.save();
+		}
+
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try (Store store = new Store(new DiskStorage(root, true)))
+		{
+			store.load();
+
+			ArchivePipeline pipeline = new ArchivePipeline(store.getStorage(), pool);
+			List<Archive> archives = store.findIndex(0).getArchives();
+			List<String> decoded = pipeline.decodeFiles(archives, (id, data) -> new String(data, StandardCharsets.UTF_8));
+
+			List<String> expected = new ArrayList<>();
+			for (int i = 0; i < ARCHIVES; ++i)
+			{
+				for (int j = 0; j < FILES; ++j)
+				{
+					expected.add(i + "/" + j);
+				}
+			}
+			assertEquals(expected, decoded);
+
+			List<Integer> sizes = pipeline.decodeArchives(archives, (archive, data) -> archive.loadFiles(data).getFiles().size());
+			for (int size : sizes)
+			{
+				assertEquals(FILES, size);
+			}
+		}
+		finally
+		{
+			pool.shutdown();
+		}
+	}
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.fs;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import net.runelite.cache.StoreLocation;
+import net.runelite.cache.fs.jagex.DiskStorage;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class CachingStorageTest
+{
+	@Rule
+	public TemporaryFolder folder = StoreLocation.getTemporaryFolder();
+
+	@Test
+	public void testCache() throws IOException
+	{
+		DiskStorage disk = new DiskStorage(folder.newFolder());
+		CachingStorage storage = new CachingStorage(disk, 1024);
+		try (Store store = new Store(storage))
+		{
+			Index index = store.addIndex(0);
+			Archive archive = index.addArchive(0);
+			Archive archive2 = index.addArchive(1);
+			TestArchives.save(storage, archive, "test".getBytes(StandardCharsets.UTF_8));
+			TestArchives.save(storage, archive2, "test2".getBytes(StandardCharsets.UTF_8));
+
+			byte[] data = storage.loadArchiveDecompressed(archive, null);
+			assertArrayEquals("test".getBytes(StandardCharsets.UTF_8), data);
+			assertSame(data, storage.loadArchiveDecompressed(archive, null));
+			assertEquals(1, storage.getHits());
+			assertEquals(1, storage.getMisses());
+
+			ArchiveFiles files = storage.loadArchiveFiles(archive2);
+			assertSame(files, storage.loadArchiveFiles(archive2));
+			assertEquals(2, storage.getHits());
+			assertEquals(2, storage.getMisses());
+			assertEquals(4 + 2 * 5, storage.getSize());
+
+			// storing the archive invalidates it
+			TestArchives.save(storage, archive, "changed".getBytes(StandardCharsets.UTF_8));
+			assertArrayEquals("changed".getBytes(StandardCharsets.UTF_8), storage.loadArchiveDecompressed(archive, null));
+			assertEquals(3, storage.getMisses());
+
+			// and so does a crc change
+			TestArchives.save(disk, archive2, "changed2".getBytes(StandardCharsets.UTF_8));
+			assertArrayEquals("changed2".getBytes(StandardCharsets.UTF_8), storage.loadArchiveDecompressed(archive2, null));
+			assertEquals(4, storage.getMisses());
+		}
+	}
+
+	@Test
+	public void testEviction() throws IOException
+	{
+		CachingStorage storage = new CachingStorage(new DiskStorage(folder.newFolder()), 600);
+		try (Store store = new Store(storage))
+		{
+			Index index = store.addIndex(0);
+			for (int i = 0; i < 4; ++i)
+			{
+				TestArchives.save(storage, index.addArchive(i), new String(new char[200]).getBytes(StandardCharsets.UTF_8));
+			}
+
+			for (int i = 0; i < 4; ++i)
+			{
+				storage.loadArchiveDecompressed(index.getArchive(i), null);
+			}
+
+			assertEquals(1, storage.getEvictions());
+			assertEquals(600, storage.getSize());
+
+			// archive 0 was evicted, archive 3 is still cached
+			storage.loadArchiveDecompressed(index.getArchive(3), null);
+			assertEquals(1, storage.getHits());
+			storage.loadArchiveDecompressed(index.getArchive(0), null);
+			assertEquals(5, storage.getMisses());
+		}
+	}
+}
@@ -25,9 +25,14 @@
 package net.runelite.cache.fs;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.Random;
+import static net.runelite.cache.fs.jagex.CompressionType.BZ2;
 import static net.runelite.cache.fs.jagex.CompressionType.GZ;
+import static net.runelite.cache.fs.jagex.CompressionType.NONE;
 import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
 import org.junit.Test;
 
 public class ContainerTest
@@ -52,4 +57,61 @@ public class ContainerTest
 		assertArrayEquals(data, container.data);
 	}
 
+	@Test
+	public void testDecompressBuffer() throws IOException
+	{
+		int[] keys = new int[]
+		{
+			4, 8, 15, 16
+		};
+		Random random = new Random(42L);
+		byte[] data = new byte[4096];
+		for (int i = 0; i < data.length; ++i)
+		{
+			data[i] = (byte) random.nextInt(16);
+		}
+
+		for (int compression : new int[]{NONE, BZ2, GZ})
+		{
+			Container container = new Container(compression, 7);
+			container.compress(data, keys);
+			byte[] compressedData = container.data;
+
+			Container fromArray = Container.decompress(compressedData, keys);
+			Container fromBuffer = Container.decompress(ByteBuffer.wrap(compressedData.clone()), keys);
+			assertArrayEquals(data, fromArray.data);
+			assertArrayEquals(data, fromBuffer.data);
+			assertEquals(fromArray.crc, fromBuffer.crc);
+			assertEquals(7, fromBuffer.revision);
+		}
+	}
+
+	@Test
+	public void testWrongKeys() throws IOException
+	{
+		Random random = new Random(42L);
+		byte[] data = new byte[4096];
+		random.nextBytes(data);
+
+		for (int compression : new int[]{BZ2, GZ})
+		{
+			Container container = new Container(compression, -1);
+			container.compress(data, new int[]{4, 8, 15, 16});
+
+			for (int i = 0; i < 50; ++i)
+			{
+				int[] keys = {random.nextInt(), random.nextInt(), random.nextInt(), random.nextInt()};
+				try
+				{
+					Container.decompress(container.data, keys);
+					fail("decompressed with wrong keys");
+				}
+				catch (IOException ex)
+				{
+					// the decompressed length, or the payload, is garbage
+				}
+			}
+		}
+	}
+
 }
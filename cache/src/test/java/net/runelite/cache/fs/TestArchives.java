@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.fs;
+
+import java.io.IOException;
+import net.runelite.cache.fs.jagex.CompressionType;
+import net.runelite.cache.index.FileData;
+
+/**
+ * Writes archives for tests
+ */
+public class TestArchives
+{
+	/**
+	 * Save an archive holding a single file
+	 *
+	 * @param storage storage to save the archive to
+	 * @param archive archive
+	 * @param contents contents of the file
+	 * @throws IOException
+	 */
+	public static void save(Storage storage, Archive archive, byte[] contents) throws IOException
+	{
+		archive.setFileData(new FileData[]{new FileData()});
+		saveContents(storage, archive, contents);
+	}
+
+	/**
+	 * Save an archive holding many files
+	 *
+	 * @param storage storage to save the archive to
+	 * @param archive archive
+	 * @param files files
+	 * @throws IOException
+	 */
+	public static void save(Storage storage, Archive archive, ArchiveFiles files) throws IOException
+	{
+		FileData[] fileData = new FileData[files.getFiles().size()];
+		int n = 0;
+		for (FSFile file : files.getFiles())
+		{
+			fileData[n] = new FileData();
+			fileData[n++].setId(file.getFileId());
+		}
+		archive.setFileData(fileData);
+		saveContents(storage, archive, files.saveContents());
+	}
+
+	private static void saveContents(Storage storage, Archive archive, byte[] contents) throws IOException
+	{
+		Container container = new Container(CompressionType.GZ, -1);
+		container.compress(contents, null);
+		archive.setCrc(container.crc);
+		archive.setCompression(CompressionType.GZ);
+		archive.setCompressedSize(container.data.length);
+		archive.setDecompressedSize(contents.length);
+		storage.saveArchive(archive, container.data);
+	}
+}
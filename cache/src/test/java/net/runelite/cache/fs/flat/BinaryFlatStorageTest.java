@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.fs.flat;
+
+import java.io.File;
+import java.nio.file.Files;
+import net.runelite.cache.fs.Archive;
+import net.runelite.cache.fs.Container;
+import net.runelite.cache.fs.Index;
+import net.runelite.cache.fs.Store;
+import net.runelite.cache.fs.jagex.CompressionType;
+import net.runelite.cache.fs.jagex.DiskStorage;
+import net.runelite.cache.index.FileData;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class BinaryFlatStorageTest
+{
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testConvert() throws Exception
+	{
+		File text = folder.newFolder();
+		File binary = folder.newFolder();
+		File text2 = folder.newFolder();
+
+		try (Store store = new Store(new DiskStorage(folder.newFolder())))
+		{
+			for (int i = 0; i < 3; ++i)
+			{
+				Index index = store.addIndex(i);
+				index.setRevision(100 + i);
+				index.setCompression(CompressionType.GZ);
+				for (int j = 0; j < 5; ++j)
+				{
+					Archive archive = index.addArchive(j * 3);
+					archive.setNameHash(i * 1000 + j);
+
+					FileData[] fileData = new FileData[j + 1];
+					for (int k = 0; k < fileData.length; ++k)
+					{
+						fileData[k] = new FileData();
+						fileData[k].setId(k * 2);
+						fileData[k].setNameHash(-k);
+					}
+					archive.setFileData(fileData);
+
+					if (j == 4)
+					{
+						// no contents
+						continue;
+					}
+
+					Container container = new Container(CompressionType.BZ2, j);
+					container.compress(("archive " + i + "/" + j).getBytes(), null);
+					archive.setRevision(j);
+					archive.setCrc(container.crc);
+					store.getStorage().saveArchive(archive, container.data);
+				}
+			}
+
+			new FlatStorage(text).save(store);
+		}
+
+		FlatCacheConverter.toBinary(text, binary);
+		FlatCacheConverter.toText(binary, text2);
+
+		for (int i = 0; i < 3; ++i)
+		{
+			String name = i + FlatStorage.EXTENSION;
+			assertArrayEquals(Files.readAllBytes(new File(text, name).toPath()), Files.readAllBytes(new File(text2, name).toPath()));
+		}
+
+		BinaryFlatStorage storage = new BinaryFlatStorage(binary);
+		try (Store store = new Store(storage))
+		{
+			store.load();
+			assertEquals(3, store.getIndexes().size());
+
+			Index index = store.findIndex(2);
+			assertEquals(102, index.getRevision());
+			assertEquals(CompressionType.GZ, index.getCompression());
+
+			Archive archive = index.getArchive(9);
+			assertEquals(2003, archive.getNameHash());
+			assertEquals(4, archive.getFileData().length);
+			assertEquals(6, archive.getFileData()[3].getId());
+			assertEquals(-3, archive.getFileData()[3].getNameHash());
+
+			byte[] data = storage.loadArchive(archive);
+			assertNotNull(data);
+			assertArrayEquals("archive 2/3".getBytes(), archive.decompress(data));
+
+			assertNull(storage.loadArchive(index.getArchive(12)));
+		}
+	}
+}
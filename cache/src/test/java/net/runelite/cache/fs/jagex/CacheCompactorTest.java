@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.fs.jagex;
+
+import java.io.File;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import net.runelite.cache.StoreLocation;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class CacheCompactorTest
+{
+	@Rule
+	public TemporaryFolder folder = StoreLocation.getTemporaryFolder();
+
+	@Test
+	public void testCompact() throws Exception
+	{
+		File file = folder.newFolder();
+		byte[][] archives = new byte[8][];
+
+		try (DiskStorage storage = new DiskStorage(file))
+		{
+			for (int round = 0; round < 3; ++round)
+			{
+				for (int i = 0; i < archives.length; ++i)
+				{
+					archives[i] = data(i, round, 300 + i * 700);
+					storage.store(i % 2, i, archives[i]);
+				}
+			}
+			storage.store(255, 0, data(42, 0, 100));
+		}
+
+		File dat = new File(file, "main_file_cache.dat2");
+		long length = dat.length();
+
+		CacheCompactor.compact(file);
+
+		assertTrue(dat.length() < length);
+		assertFalse(new File(file, "main_file_cache.compact").exists());
+		assertFalse(new File(file, "main_file_cache.dat2.compact").exists());
+
+		try (DiskStorage storage = new DiskStorage(file))
+		{
+			for (int i = 0; i < archives.length; ++i)
+			{
+				assertArrayEquals(archives[i], storage.load(i % 2, i));
+			}
+			assertArrayEquals(data(42, 0, 100), storage.load(255, 0));
+
+			// the odd archives were never stored in index 0
+			assertNull(storage.load(0, 1));
+		}
+
+		try (IndexFile index = new IndexFile(1, new File(file, "main_file_cache.idx1")))
+		{
+			// archives are laid out contiguously in index/archive order
+			int sector = index.read(1).getSector();
+			for (int i = 1; i < archives.length; i += 2)
+			{
+				IndexEntry entry = index.read(i);
+				assertEquals(sector, entry.getSector());
+				sector += (entry.getLength() + 511) / 512;
+			}
+		}
+	}
+
+	@Test
+	public void testRecoverUncommitted() throws Exception
+	{
+		File file = folder.newFolder();
+		byte[] data = data(1, 0, 2000);
+
+		try (DiskStorage storage = new DiskStorage(file))
+		{
+			storage.store(0, 0, data);
+		}
+
+		// a compaction which died before it was committed
+		File partial = new File(file, "main_file_cache.dat2.compact");
+		Files.write(partial.toPath(), new byte[520]);
+
+		try (DiskStorage storage = new DiskStorage(file))
+		{
+			assertFalse(partial.exists());
+			assertArrayEquals(data, storage.load(0, 0));
+		}
+	}
+
+	@Test
+	public void testRecoverCommitted() throws Exception
+	{
+		File file = folder.newFolder();
+		File staging = folder.newFolder();
+		byte[] data = data(1, 0, 2000);
+
+		try (DiskStorage storage = new DiskStorage(file))
+		{
+			storage.store(0, 0, data(1, 1, 2000));
+		}
+		try (DiskStorage storage = new DiskStorage(staging))
+		{
+			storage.store(0, 0, data);
+		}
+
+		// a compaction which died after it was committed, with only the data file renamed
+		Files.copy(new File(staging, "main_file_cache.dat2").toPath(), new File(file, "main_file_cache.dat2").toPath(),
+			StandardCopyOption.REPLACE_EXISTING);
+		Files.copy(new File(staging, "main_file_cache.idx0").toPath(), new File(file, "main_file_cache.idx0.compact").toPath());
+		Files.write(new File(file, "main_file_cache.compact").toPath(), new byte[0]);
+
+		try (DiskStorage storage = new DiskStorage(file))
+		{
+			assertFalse(new File(file, "main_file_cache.compact").exists());
+			assertFalse(new File(file, "main_file_cache.idx0.compact").exists());
+			assertArrayEquals(data, storage.load(0, 0));
+		}
+	}
+
+	@Test
+	public void testRecoverSkipsRunningCompaction() throws Exception
+	{
+		File file = folder.newFolder();
+		byte[] data = data(1, 0, 2000);
+
+		try (DiskStorage storage = new DiskStorage(file))
+		{
+			storage.store(0, 0, data);
+		}
+
+		// a compaction still running in another process
+		File partial = new File(file, "main_file_cache.dat2.compact");
+		Files.write(partial.toPath(), new byte[520]);
+
+		try (FileChannel lock = CacheCompactor.lock(file))
+		{
+			try (DiskStorage storage = new DiskStorage(file))
+			{
+				assertTrue(partial.exists());
+				assertArrayEquals(data, storage.load(0, 0));
+			}
+		}
+
+		// once it has stopped, the partial file is discarded
+		try (DiskStorage storage = new DiskStorage(file))
+		{
+			assertFalse(partial.exists());
+		}
+	}
+
+	private static byte[] data(int archive, int round, int length)
+	{
+		byte[] data = new byte[length];
+		for (int i = 0; i < length; ++i)
+		{
+			data[i] = (byte) (archive * 31 + round * 7 + i);
+		}
+		return data;
+	}
+}
@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.fs.jagex;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import net.runelite.cache.StoreLocation;
+import net.runelite.cache.fs.Archive;
+import net.runelite.cache.fs.Index;
+import net.runelite.cache.fs.Store;
+import net.runelite.cache.fs.TestArchives;
+import net.runelite.cache.fs.jagex.CacheVerificationReport.Problem;
+import net.runelite.cache.fs.jagex.CacheVerificationReport.ProblemType;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class CacheVerifierTest
+{
+	private static final int ARCHIVES = 10;
+
+	@Rule
+	public TemporaryFolder folder = StoreLocation.getTemporaryFolder();
+
+	@Test
+	public void testVerify() throws Exception
+	{
+		File file = folder.newFolder();
+		create(file);
+
+		CacheVerificationReport report = new CacheVerifier(file).verify();
+		assertTrue(report.toJson(), report.isOk());
+		// both reference tables and every archive
+		assertEquals(2 + 2 * ARCHIVES, report.getArchivesChecked());
+	}
+
+	@Test
+	public void testVerifyProblems() throws Exception
+	{
+		File file = folder.newFolder();
+		create(file);
+
+		try (RandomAccessFile dat = new RandomAccessFile(new File(file, "main_file_cache.dat2"), "rw");
+			IndexFile idx0 = new IndexFile(0, new File(file, "main_file_cache.idx0"));
+			IndexFile idx1 = new IndexFile(1, new File(file, "main_file_cache.idx1")))
+		{
+			// flip a byte of the payload of 0/1
+			long pos = 520L * idx0.read(1).getSector() + 8 + 20;
+			dat.seek(pos);
+			int b = dat.read();
+			dat.seek(pos);
+			dat.write(b ^ 0xFF);
+
+			// make the second sector of 0/2 claim to be part of 0/7. Every archive
+			// is larger than a sector, so it has a second sector.
+			dat.seek(520L * idx0.read(2).getSector() + 4);
+			int next = (dat.read() << 16) | (dat.read() << 8) | dat.read();
+			dat.seek(520L * next);
+			dat.writeShort(7);
+
+			// an idx entry written before its data, as happens when the disk fills up
+			IndexEntry entry = idx0.read(3);
+			int end = (int) (dat.length() / 520) + 5;
+			idx0.write(new IndexEntry(idx0, 3, end, entry.getLength()));
+
+			// an entry for an archive which was never added to index 1, and an archive with no entry
+			IndexEntry existing = idx1.read(0);
+			idx1.write(new IndexEntry(idx1, ARCHIVES + 5, existing.getSector(), existing.getLength()));
+			idx1.write(new IndexEntry(idx1, 4, 0, 0));
+		}
+
+		CacheVerificationReport report = new CacheVerifier(file).verify();
+
+		List<String> problems = new ArrayList<>();
+		for (Problem problem : report.getProblems())
+		{
+			problems.add(problem.getIndex() + "/" + problem.getArchive() + " " + problem.getType());
+		}
+		assertEquals(Arrays.asList(
+			"0/1 " + ProblemType.CRC_MISMATCH,
+			"0/2 " + ProblemType.CORRUPTED,
+			"0/3 " + ProblemType.TRUNCATED,
+			"1/4 " + ProblemType.MISSING,
+			"1/" + (ARCHIVES + 5) + " " + ProblemType.ORPHANED
+		), problems);
+		assertEquals(2 + 2 * ARCHIVES - 3, report.getArchivesChecked());
+	}
+
+	@Test
+	public void testVerifyCorruptReferenceTable() throws Exception
+	{
+		File file = folder.newFolder();
+		create(file);
+
+		try (RandomAccessFile dat = new RandomAccessFile(new File(file, "main_file_cache.dat2"), "rw");
+			IndexFile idx255 = new IndexFile(255, new File(file, "main_file_cache.idx255")))
+		{
+			// declare an impossible decompressed length for the reference table of index 0
+			dat.seek(520L * idx255.read(0).getSector() + 8 + 5);
+			dat.writeInt(Integer.MAX_VALUE);
+		}
+
+		CacheVerificationReport report = new CacheVerifier(file).verify();
+
+		List<String> problems = new ArrayList<>();
+		for (Problem problem : report.getProblems())
+		{
+			if (problem.getIndex() == 255)
+			{
+				problems.add(problem.getIndex() + "/" + problem.getArchive() + " " + problem.getType());
+			}
+		}
+		assertEquals(Arrays.asList("255/0 " + ProblemType.DECOMPRESSION_FAILED), problems);
+	}
+
+	@Test
+	public void testVerifyDoesNotRecover() throws Exception
+	{
+		File file = folder.newFolder();
+		create(file);
+
+		// a compaction which has been committed but not yet finished
+		File compact = new File(file, "main_file_cache.idx0.compact");
+		File marker = new File(file, "main_file_cache.compact");
+		Files.write(compact.toPath(), new byte[6]);
+		Files.write(marker.toPath(), new byte[0]);
+
+		CacheVerificationReport report = new CacheVerifier(file).verify();
+		assertTrue(report.toJson(), report.isOk());
+		assertTrue(compact.exists());
+		assertTrue(marker.exists());
+	}
+
+	@Test
+	public void testRepair() throws Exception
+	{
+		File file = folder.newFolder();
+		byte[][][] contents = create(file);
+
+		// rewrite 0/3, leaving its old copy and the old reference table in the data file
+		IndexEntry stale;
+		try (IndexFile idx0 = new IndexFile(0, new File(file, "main_file_cache.idx0")))
+		{
+			stale = idx0.read(3);
+		}
+
+		try (Store store = new Store(file))
+		{
+			store.load();
+			contents[0][3] = data(new Random(7L), 1500);
+			TestArchives.save(store.getStorage(), store.getIndexes().get(0).getArchive(3), contents[0][3]);
+			store.save();
+		}
+
+		// point 0/3 back at its old copy, and lose idx1 and idx255
+		try (IndexFile idx0 = new IndexFile(0, new File(file, "main_file_cache.idx0")))
+		{
+			idx0.write(new IndexEntry(idx0, 3, stale.getSector(), stale.getLength()));
+		}
+		assertTrue(new File(file, "main_file_cache.idx1").delete());
+		assertTrue(new File(file, "main_file_cache.idx255").delete());
+
+		CacheVerificationReport report = new CacheVerifier(file).repair();
+		assertTrue(report.toJson(), report.isOk());
+		// both reference tables, all of index 1, and 0/3
+		assertEquals(2 + ARCHIVES + 1, report.getRepairs().size());
+
+		try (Store store = new Store(file))
+		{
+			store.load();
+			for (int i = 0; i < contents.length; ++i)
+			{
+				for (int id = 0; id < ARCHIVES; ++id)
+				{
+					Archive archive = store.getIndexes().get(i).getArchive(id);
+					assertArrayEquals(contents[i][id], archive.decompress(store.getStorage().loadArchive(archive)));
+				}
+			}
+		}
+	}
+
+	private static byte[][][] create(File file) throws IOException
+	{
+		Random random = new Random(42L);
+		byte[][][] contents = new byte[2][ARCHIVES][];
+
+		try (Store store = new Store(file))
+		{
+			for (int i = 0; i < contents.length; ++i)
+			{
+				Index index = store.addIndex(i);
+				index.setSized(true);
+				for (int id = 0; id < ARCHIVES; ++id)
+				{
+					contents[i][id] = data(random, 600 + random.nextInt(3000));
+					TestArchives.save(store.getStorage(), index.addArchive(id), contents[i][id]);
+				}
+			}
+			store.save();
+		}
+
+		return contents;
+	}
+
+	private static byte[] data(Random random, int size)
+	{
+		byte[] data = new byte[size];
+		random.nextBytes(data);
+		return data;
+	}
+}
@@ -26,6 +26,8 @@ package net.runelite.cache.fs.jagex;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import net.runelite.cache.StoreLocation;
 import net.runelite.cache.fs.Container;
 import org.junit.Assert;
@@ -167,4 +169,87 @@ public class DataFileTest
 		Assert.assertEquals("testtesttesttest1", str);
 		Assert.assertEquals(42, res2.revision);
 	}
+
+	@Test
+	public void testMapped() throws IOException
+	{
+		byte[] b = new byte[4096];
+		for (int i = 0; i < b.length; ++i)
+		{
+			b[i] = (byte) i;
+		}
+
+		File file = folder.newFile();
+		DataFile df = new DataFile(file, true);
+
+		Container container = new Container(CompressionType.NONE, 42);
+		container.compress(b, null);
+		DataFileWriteResult res = df.write(42, 3, container.data);
+		DataFileWriteResult res2 = df.write(42, 0x1FFFF, container.data);
+
+		byte[] compressedData = df.read(42, 3, res.sector, res.compressedLength);
+		Assert.assertArrayEquals(b, Container.decompress(compressedData, null).data);
+
+		compressedData = df.read(42, 0x1FFFF, res2.sector, res2.compressedLength);
+		Assert.assertArrayEquals(b, Container.decompress(compressedData, null).data);
+
+		// wrong archive
+		Assert.assertNull(df.read(42, 4, res.sector, res.compressedLength));
+		// past the end of the file
+		Assert.assertNull(df.read(42, 3, res2.sector + 100, res.compressedLength));
+	}
+
+	@Test
+	public void testMappedClear() throws Exception
+	{
+		byte[] b = new byte[64 * 1024];
+		File file = folder.newFile();
+		DataFile df = new DataFile(file, true);
+
+		Container container = new Container(CompressionType.NONE, 42);
+		container.compress(b, null);
+		DataFileWriteResult res = df.write(42, 3, container.data);
+
+		// readers racing a truncation either read the archive or nothing,
+		// and never fault on a mapping past the end of the file
+		AtomicBoolean done = new AtomicBoolean();
+		AtomicReference<Throwable> failure = new AtomicReference<>();
+		Thread[] readers = new Thread[4];
+		for (int i = 0; i < readers.length; ++i)
+		{
+			readers[i] = new Thread(() ->
+			{
+				try
+				{
+					while (!done.get())
+					{
+						byte[] data = df.read(42, 3, res.sector, res.compressedLength);
+						if (data != null)
+						{
+							Assert.assertArrayEquals(b, Container.decompress(data, null).data);
+						}
+					}
+				}
+				catch (Throwable ex)
+				{
+					failure.compareAndSet(null, ex);
+				}
+			});
+			readers[i].start();
+		}
+
+		for (int i = 0; i < 100; ++i)
+		{
+			df.clear();
+			df.write(42, 3, container.data);
+		}
+		done.set(true);
+		for (Thread reader : readers)
+		{
+			reader.join();
+		}
+		df.close();
+
+		Assert.assertNull(failure.get());
+	}
 }
@@ -30,6 +30,7 @@ import net.runelite.cache.fs.Archive;
 import net.runelite.cache.fs.Container;
 import net.runelite.cache.fs.Index;
 import net.runelite.cache.fs.Store;
+import net.runelite.cache.fs.WriteBatch;
 import net.runelite.cache.index.FileData;
 import org.junit.Test;
 import static org.junit.Assert.*;
@@ -101,4 +102,113 @@ public class DiskStorageTest
 		}
 	}
 
+	@Test
+	public void testSectorReuse() throws Exception
+	{
+		File file = folder.newFolder();
+		byte[] small = new byte[1000];
+		byte[] large = new byte[5000];
+		for (int i = 0; i < large.length; ++i)
+		{
+			large[i] = (byte) i;
+		}
+		for (int i = 0; i < small.length; ++i)
+		{
+			small[i] = (byte) (i * 7);
+		}
+
+		try (DiskStorage storage = new DiskStorage(file))
+		{
+			storage.store(0, 0, large);
+			storage.store(0, 1, small);
+		}
+
+		File dat = new File(file, "main_file_cache.dat2");
+		long length = dat.length();
+
+		try (DiskStorage storage = new DiskStorage(file))
+		{
+			storage.setSectorReuseEnabled(true);
+
+			// nothing is free yet, so this is appended
+			storage.store(0, 0, large);
+			assertTrue(dat.length() > length);
+			length = dat.length();
+
+			// these go into the sectors freed by the previous copies
+			storage.store(0, 1, large);
+			storage.store(0, 0, small);
+			assertEquals(length, dat.length());
+
+			assertArrayEquals(small, storage.load(0, 0));
+			assertArrayEquals(large, storage.load(0, 1));
+		}
+
+		try (DiskStorage storage = new DiskStorage(file))
+		{
+			assertArrayEquals(small, storage.load(0, 0));
+			assertArrayEquals(large, storage.load(0, 1));
+		}
+	}
+
+	@Test
+	public void testCommitBatch() throws Exception
+	{
+		File file = folder.newFolder();
+		byte[][] archives = new byte[40][];
+		for (int i = 0; i < archives.length; ++i)
+		{
+			archives[i] = new byte[1 + i * 97];
+			for (int j = 0; j < archives[i].length; ++j)
+			{
+				archives[i][j] = (byte) (i + j);
+			}
+		}
+
+		try (DiskStorage storage = new DiskStorage(file))
+		{
+			WriteBatch batch = storage.batch();
+			batch.setForce(true);
+			for (int i = 0; i < archives.length; ++i)
+			{
+				batch.store(i % 3, i, archives[i]);
+			}
+			// archives with large ids have larger sector headers
+			batch.store(2, 0x1FFFF, archives[39]);
+			batch.commit();
+			assertEquals(0, batch.size());
+		}
+
+		try (DiskStorage storage = new DiskStorage(file))
+		{
+			for (int i = 0; i < archives.length; ++i)
+			{
+				assertArrayEquals(archives[i], storage.load(i % 3, i));
+			}
+			assertArrayEquals(archives[39], storage.load(2, 0x1FFFF));
+
+			// rewriting everything in a batch reuses the freed sectors
+			long length = new File(file, "main_file_cache.dat2").length();
+			storage.setSectorReuseEnabled(true);
+
+			WriteBatch batch = storage.batch();
+			for (int i = 0; i < archives.length; ++i)
+			{
+				batch.store(i % 3, i, archives[archives.length - 1 - i]);
+			}
+			batch.commit();
+			batch = storage.batch();
+			for (int i = 0; i < archives.length; ++i)
+			{
+				batch.store(i % 3, i, archives[i]);
+			}
+			batch.commit();
+			assertTrue(new File(file, "main_file_cache.dat2").length() <= 2 * length);
+
+			for (int i = 0; i < archives.length; ++i)
+			{
+				assertArrayEquals(archives[i], storage.load(i % 3, i));
+			}
+		}
+	}
 }
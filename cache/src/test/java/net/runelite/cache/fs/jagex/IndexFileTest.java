@@ -47,4 +47,20 @@ public class IndexFileTest
 		IndexEntry entry2 = index.read(7);
 		Assert.assertEquals(entry, entry2);
 	}
+
+	@Test
+	public void testMapped() throws IOException
+	{
+		File file = folder.newFile();
+		IndexFile index = new IndexFile(5, file, true);
+		IndexEntry entry = new IndexEntry(index, 7, 8, 9);
+		index.write(entry);
+		Assert.assertEquals(entry, index.read(7));
+
+		// grows the file past the current mapping
+		IndexEntry entry2 = new IndexEntry(index, 1000, 10, 11);
+		index.write(entry2);
+		Assert.assertEquals(entry2, index.read(1000));
+		Assert.assertNull(index.read(2000));
+	}
 }
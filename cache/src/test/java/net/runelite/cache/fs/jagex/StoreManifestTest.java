@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.fs.jagex;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Random;
+import net.runelite.cache.StoreLocation;
+import net.runelite.cache.fs.Archive;
+import net.runelite.cache.fs.Index;
+import net.runelite.cache.fs.Store;
+import net.runelite.cache.index.FileData;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class StoreManifestTest
+{
+	@Rule
+	public TemporaryFolder folder = StoreLocation.getTemporaryFolder();
+
+	@Test
+	public void testManifest() throws IOException
+	{
+		File root = folder.newFolder();
+		File manifestFile = new File(root, "main_file_cache.manifest");
+		Random random = new Random(42L);
+
+		try (Store store = new Store(root))
+		{
+			for (int i = 0; i < 3; ++i)
+			{
+				Index index = store.addIndex(i);
+				index.setRevision(random.nextInt());
+				for (int j = 0; j < 10; ++j)
+				{
+					Archive archive = index.addArchive(j * 3);
+					archive.setNameHash(random.nextInt());
+					archive.setCrc(random.nextInt());
+					archive.setRevision(random.nextInt());
+					FileData[] files = new FileData[j + 1];
+					for (int k = 0; k < files.length; ++k)
+					{
+						files[k] = new FileData();
+						files[k].setId(k * 2);
+						files[k].setNameHash(random.nextInt());
+					}
+					archive.setFileData(files);
+				}
+			}
+			store.save();
+		}
+
+		Store expected;
+		try (Store store = open(root))
+		{
+			store.load();
+			expected = store;
+		}
+		assertTrue(manifestFile.exists());
+
+		StoreManifest manifest = StoreManifest.read(manifestFile);
+		assertNotNull(manifest);
+
+		try (Store store = open(root))
+		{
+			store.load();
+			assertEquals(expected, store);
+			assertEquals(expected.findIndex(1).getCrc(), store.findIndex(1).getCrc());
+			assertEquals(expected.findIndex(1).getArchive(3).getCrc(), store.findIndex(1).getArchive(3).getCrc());
+		}
+
+		// changing an index invalidates the manifest
+		try (Store store = new Store(root))
+		{
+			store.load();
+			store.findIndex(2).setRevision(store.findIndex(2).getRevision() + 1);
+			store.save();
+		}
+
+		try (Store store = open(root))
+		{
+			store.load();
+			assertNotEquals(expected, store);
+			assertEquals(expected.findIndex(2).getRevision() + 1, store.findIndex(2).getRevision());
+		}
+
+		// and it is rewritten
+		try (Store store = open(root))
+		{
+			store.load();
+			assertEquals(expected.findIndex(2).getRevision() + 1, store.findIndex(2).getRevision());
+		}
+	}
+
+	@Test
+	public void testCorruptManifest() throws IOException
+	{
+		File root = folder.newFolder();
+		File manifestFile = new File(root, "main_file_cache.manifest");
+
+		try (Store store = new Store(root))
+		{
+			addArchive(store.addIndex(0), 0).setNameHash(1234);
+			store.save();
+		}
+
+		try (Store store = open(root))
+		{
+			store.load();
+		}
+
+		// damage the body without changing its length
+		byte[] data = Files.readAllBytes(manifestFile.toPath());
+		data[data.length - 1] ^= 1;
+		Files.write(manifestFile.toPath(), data);
+		assertNull(StoreManifest.read(manifestFile));
+
+		// the manifest is rebuilt on load
+		try (Store store = open(root))
+		{
+			store.load();
+			assertEquals(1234, store.findIndex(0).getArchive(0).getNameHash());
+		}
+		assertNotNull(StoreManifest.read(manifestFile));
+	}
+
+	@Test
+	public void testManifestWriteFailure() throws IOException
+	{
+		File root = folder.newFolder();
+
+		try (Store store = new Store(root))
+		{
+			addArchive(store.addIndex(0), 0);
+			store.save();
+		}
+
+		// a directory in place of the manifest can't be replaced
+		File manifestFile = new File(root, "main_file_cache.manifest");
+		assertTrue(manifestFile.mkdir());
+		assertTrue(new File(manifestFile, "file").createNewFile());
+
+		try (Store store = open(root))
+		{
+			store.load();
+			assertNotNull(store.findIndex(0).getArchive(0));
+		}
+
+		String[] tmp = root.list((dir, name) -> name.endsWith(".tmp"));
+		assertEquals(0, tmp.length);
+	}
+
+	private static Archive addArchive(Index index, int id)
+	{
+		Archive archive = index.addArchive(id);
+		FileData file = new FileData();
+		archive.setFileData(new FileData[]{file});
+		return archive;
+	}
+
+	private static Store open(File root) throws IOException
+	{
+		DiskStorage storage = new DiskStorage(root);
+		storage.setManifestEnabled(true);
+		return new Store(storage);
+	}
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.fs.pack;
+
+import com.google.common.hash.HashCode;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import net.runelite.cache.StoreLocation;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class BlobPackTest
+{
+	@Rule
+	public TemporaryFolder folder = StoreLocation.getTemporaryFolder();
+
+	@Test
+	public void testPutGet() throws IOException
+	{
+		File dir = folder.newFolder();
+		File packFile = new File(dir, "objects.pack");
+		File idxFile = new File(dir, "objects.idx");
+
+		byte[] data = "blob".getBytes(StandardCharsets.UTF_8);
+		HashCode hash;
+		try (BlobPack pack = new BlobPack(packFile, idxFile))
+		{
+			hash = pack.put(data);
+			assertEquals(hash, pack.put(data));
+			assertEquals(1, pack.size());
+			assertArrayEquals(data, pack.get(hash));
+		}
+
+		try (BlobPack pack = new BlobPack(packFile, idxFile))
+		{
+			assertArrayEquals(data, pack.get(hash));
+			assertNull(pack.get(BlobPack.hash(new byte[]{1})));
+		}
+	}
+
+	@Test
+	public void testReaderDoesNotTruncate() throws IOException
+	{
+		File dir = folder.newFolder();
+		File packFile = new File(dir, "objects.pack");
+		File idxFile = new File(dir, "objects.idx");
+
+		byte[] first = "first".getBytes(StandardCharsets.UTF_8);
+		byte[] second = "second".getBytes(StandardCharsets.UTF_8);
+		try (BlobPack writer = new BlobPack(packFile, idxFile))
+		{
+			HashCode firstHash = writer.put(first);
+
+			// a writer which has appended a blob, but not yet its record
+			try (RandomAccessFile raf = new RandomAccessFile(packFile, "rw"))
+			{
+				raf.seek(raf.length());
+				raf.write(second);
+			}
+			long packLength = packFile.length();
+			long idxLength = idxFile.length();
+
+			try (BlobPack reader = new BlobPack(packFile, idxFile))
+			{
+				assertEquals(1, reader.size());
+				assertArrayEquals(first, reader.get(firstHash));
+			}
+
+			assertEquals(packLength, packFile.length());
+			assertEquals(idxLength, idxFile.length());
+		}
+	}
+
+	@Test
+	public void testWriterDropsUnindexedTail() throws IOException
+	{
+		File dir = folder.newFolder();
+		File packFile = new File(dir, "objects.pack");
+		File idxFile = new File(dir, "objects.idx");
+
+		byte[] first = "first".getBytes(StandardCharsets.UTF_8);
+		byte[] second = "second".getBytes(StandardCharsets.UTF_8);
+		HashCode firstHash;
+		try (BlobPack pack = new BlobPack(packFile, idxFile))
+		{
+			firstHash = pack.put(first);
+		}
+
+		// a crashed writer: data without a record, and half a record
+		try (RandomAccessFile raf = new RandomAccessFile(packFile, "rw"))
+		{
+			raf.seek(raf.length());
+			raf.write(new byte[100]);
+		}
+		try (RandomAccessFile raf = new RandomAccessFile(idxFile, "rw"))
+		{
+			raf.seek(raf.length());
+			raf.write(new byte[10]);
+		}
+
+		try (BlobPack pack = new BlobPack(packFile, idxFile))
+		{
+			HashCode secondHash = pack.put(second);
+			assertEquals(first.length + second.length, packFile.length());
+			assertArrayEquals(first, pack.get(firstHash));
+			assertArrayEquals(second, pack.get(secondHash));
+		}
+
+		try (BlobPack pack = new BlobPack(packFile, idxFile))
+		{
+			assertEquals(2, pack.size());
+		}
+	}
+}
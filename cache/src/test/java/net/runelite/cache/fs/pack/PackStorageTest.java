@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.fs.pack;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import net.runelite.cache.StoreLocation;
+import net.runelite.cache.fs.Archive;
+import net.runelite.cache.fs.Index;
+import net.runelite.cache.fs.Store;
+import net.runelite.cache.fs.TestArchives;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class PackStorageTest
+{
+	@Rule
+	public TemporaryFolder folder = StoreLocation.getTemporaryFolder();
+
+	@Test
+	public void testRevisions() throws IOException
+	{
+		File cache = folder.newFolder();
+		File packDir = folder.newFolder();
+
+		try (Store store = new Store(cache))
+		{
+			Index index = store.addIndex(0);
+			for (int i = 0; i < 20; ++i)
+			{
+				TestArchives.save(store.getStorage(), index.addArchive(i), ("archive " + i).getBytes(StandardCharsets.UTF_8));
+			}
+			store.save();
+		}
+
+		int blobs;
+		try (Store store = new Store(cache))
+		{
+			store.load();
+
+			try (PackStorage pack = new PackStorage(packDir, "1"))
+			{
+				pack.save(store);
+				// 20 archives and the index
+				assertEquals(21, pack.getPack().size());
+			}
+
+			TestArchives.save(store.getStorage(), store.findIndex(0).getArchive(3), "changed".getBytes(StandardCharsets.UTF_8));
+			store.save();
+
+			try (PackStorage pack = new PackStorage(packDir, "2"))
+			{
+				pack.save(store);
+				// only the changed archive and the new index are added
+				blobs = pack.getPack().size();
+				assertEquals(23, blobs);
+			}
+		}
+
+		assertEquals(List.of("1", "2"), PackStorage.listRevisions(packDir));
+
+		PackStorage storage = new PackStorage(packDir, "1");
+		try (Store store = new Store(storage))
+		{
+			store.load();
+			assertEquals(blobs, storage.getPack().size());
+
+			Archive archive = store.findIndex(0).getArchive(3);
+			assertArrayEquals("archive 3".getBytes(StandardCharsets.UTF_8), archive.decompress(storage.loadArchive(archive)));
+		}
+
+		storage = new PackStorage(packDir, "2");
+		try (Store store = new Store(storage))
+		{
+			store.load();
+			Index index = store.findIndex(0);
+			assertEquals(20, index.getArchives().size());
+
+			Archive archive = index.getArchive(3);
+			assertArrayEquals("changed".getBytes(StandardCharsets.UTF_8), archive.decompress(storage.loadArchive(archive)));
+			archive = index.getArchive(4);
+			assertArrayEquals("archive 4".getBytes(StandardCharsets.UTF_8), archive.decompress(storage.loadArchive(archive)));
+		}
+	}
+}
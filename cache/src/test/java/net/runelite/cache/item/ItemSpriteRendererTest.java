@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.item;
+
+import java.awt.image.BufferedImage;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import net.runelite.cache.definitions.ItemDefinition;
+import net.runelite.cache.definitions.TextureDefinition;
+import net.runelite.cache.definitions.providers.ItemProvider;
+import net.runelite.cache.definitions.providers.ModelProvider;
+import net.runelite.cache.models.TestModels;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class ItemSpriteRendererTest
+{
+	private static final int ITEMS = 32;
+
+	private final ItemProvider items = id ->
+	{
+		ItemDefinition item = new ItemDefinition(id);
+		item.inventoryModel = id == ITEMS - 1 ? -1 : id % 2;
+		item.zoom2d = 900 + (id % 3) * 300;
+		item.xan2d = (id * 64) & 2047;
+		item.yan2d = (id * 128) & 2047;
+		item.zan2d = (id * 96) & 2047;
+		item.xOffset2d = (id % 5) - 2;
+		if (id % 3 == 0)
+		{
+			item.colorFind = new short[]{(short) 0x1234};
+			item.colorReplace = new short[]{(short) (0x4000 + id)};
+		}
+		if (id % 4 == 1)
+		{
+			item.resizeX = 96;
+			item.resizeY = 160;
+			item.resizeZ = 128;
+		}
+		return item;
+	};
+
+	private final ModelProvider models = id ->
+	{
+		switch (id)
+		{
+			case 0:
+				return TestModels.tetrahedron();
+			case 1:
+				return TestModels.cube();
+			default:
+				return null;
+		}
+	};
+
+	@Test
+	public void testCreateSprites() throws Exception
+	{
+		int[] ids = new int[ITEMS];
+		int[] quantities = new int[ITEMS];
+		for (int i = 0; i < ITEMS; ++i)
+		{
+			ids[i] = i;
+			quantities[i] = 1;
+		}
+
+		List<BufferedImage> sprites;
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try
+		{
+			sprites = ItemSpriteFactory.createSprites(items, models, (spriteId, frameId) -> null,
+				() -> new TextureDefinition[0], ids, quantities, 1, 0x302020, false, pool);
+		}
+		finally
+		{
+			pool.shutdown();
+		}
+		assertEquals(ITEMS, sprites.size());
+		assertNull(sprites.get(ITEMS - 1));
+
+		for (int i = 0; i < ITEMS - 1; ++i)
+		{
+			// a fresh renderer for each sprite
+			BufferedImage expected = ItemSpriteFactory.createSprite(items, models, (spriteId, frameId) -> null,
+				() -> new TextureDefinition[0], i, 1, 1, 0x302020, false);
+			BufferedImage actual = sprites.get(i);
+
+			int drawn = 0;
+			for (int x = 0; x < expected.getWidth(); ++x)
+			{
+				for (int y = 0; y < expected.getHeight(); ++y)
+				{
+					assertEquals(expected.getRGB(x, y), actual.getRGB(x, y));
+					if ((expected.getRGB(x, y) & 0xFFFFFF) != 0)
+					{
+						++drawn;
+					}
+				}
+			}
+			assertTrue(drawn > 0);
+		}
+	}
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.models;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import net.runelite.cache.definitions.FrameDefinition;
+import net.runelite.cache.definitions.FramemapDefinition;
+import net.runelite.cache.definitions.ModelDefinition;
+import net.runelite.cache.definitions.SequenceDefinition;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class AnimationBakerTest
+{
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private final Map<Integer, FrameDefinition> frames = new HashMap<>();
+
+	private static ModelDefinition model()
+	{
+		ModelDefinition model = new ModelDefinition();
+		model.id = 42;
+		model.vertexCount = 4;
+		model.vertexX = new int[]{0, 100, 100, -50};
+		model.vertexY = new int[]{0, 0, 100, 20};
+		model.vertexZ = new int[]{0, 0, 0, 30};
+		model.packedVertexGroups = new int[]{0, 1, 1, 2};
+		model.computeAnimationTables();
+		return model;
+	}
+
+	private static FrameDefinition frame(FramemapDefinition framemap, int[] transforms, int[][] translations)
+	{
+		FrameDefinition frame = new FrameDefinition();
+		frame.framemap = framemap;
+		frame.translatorCount = transforms.length;
+		frame.indexFrameIds = transforms;
+		frame.translator_x = new int[transforms.length];
+		frame.translator_y = new int[transforms.length];
+		frame.translator_z = new int[transforms.length];
+		for (int i = 0; i < transforms.length; ++i)
+		{
+			frame.translator_x[i] = translations[i][0];
+			frame.translator_y[i] = translations[i][1];
+			frame.translator_z[i] = translations[i][2];
+		}
+		return frame;
+	}
+
+	private SequenceDefinition sequence()
+	{
+		FramemapDefinition framemap = new FramemapDefinition();
+		framemap.length = 4;
+		framemap.types = new int[]{0, 1, 2, 3};
+		framemap.frameMaps = new int[][]{{1}, {1, 2}, {1}, {2}};
+
+		frames.put(0, frame(framemap, new int[]{1}, new int[][]{{10, 0, 0}}));
+		frames.put(1, frame(framemap, new int[]{0, 2}, new int[][]{{0, 0, 0}, {0, 0, 64}}));
+		frames.put(2, frame(framemap, new int[]{0, 2, 3}, new int[][]{{5, 5, 5}, {32, 16, 8}, {256, 128, 64}}));
+
+		SequenceDefinition sequence = new SequenceDefinition(7);
+		sequence.frameIDs = new int[]{0, 1, 2};
+		sequence.frameLengths = new int[]{4, 2, 6};
+		return sequence;
+	}
+
+	@Test
+	public void testBake() throws Exception
+	{
+		ModelDefinition model = model();
+		SequenceDefinition sequence = sequence();
+
+		BakedAnimation animation = new AnimationBaker(frames::get).bake(model, sequence);
+		assertEquals(3, animation.getFrameCount());
+		assertEquals(4, animation.getVertexCount());
+		assertEquals(12, animation.getDuration());
+
+		// the model is untouched
+		assertArrayEquals(new int[]{0, 100, 100, -50}, model.vertexX);
+		assertArrayEquals(new int[]{0, 0, 100, 20}, model.vertexY);
+		assertArrayEquals(new int[]{0, 0, 0, 30}, model.vertexZ);
+
+		// and each frame matches animating the model in place
+		ModelDefinition expected = model();
+		for (int f = 0; f < sequence.frameIDs.length; ++f)
+		{
+			FrameDefinition frame = frames.get(sequence.frameIDs[f]);
+			expected.resetAnim();
+			for (int i = 0; i < frame.translatorCount; ++i)
+			{
+				int transform = frame.indexFrameIds[i];
+				expected.animate(frame.framemap.types[transform], frame.framemap.frameMaps[transform],
+					frame.translator_x[i], frame.translator_y[i], frame.translator_z[i]);
+			}
+
+			for (int v = 0; v < expected.vertexCount; ++v)
+			{
+				assertEquals(expected.vertexX[v], animation.getX(f, v), 0f);
+				assertEquals(expected.vertexY[v], animation.getY(f, v), 0f);
+				assertEquals(expected.vertexZ[v], animation.getZ(f, v), 0f);
+			}
+		}
+	}
+
+	@Test
+	public void testSample() throws Exception
+	{
+		BakedAnimation animation = new AnimationBaker(frames::get).bake(model(), sequence());
+
+		float[] out = new float[animation.getVertexCount() * 3];
+		animation.sample(2, out);
+		// halfway through the first frame, vertex 1 is halfway to the second frame
+		assertEquals((animation.getX(0, 1) + animation.getX(1, 1)) / 2, out[3], 0.001f);
+
+		float[] frame = new float[out.length];
+		animation.sample(4, out);
+		animation.getFrame(1, frame);
+		assertArrayEquals(frame, out, 0f);
+
+		// looping back to the start
+		animation.sample(12 + 4, out);
+		assertArrayEquals(frame, out, 0f);
+	}
+
+	@Test
+	public void testCache() throws Exception
+	{
+		File dir = folder.newFolder();
+		SequenceDefinition sequence = sequence();
+		BakedAnimationCache cache = new BakedAnimationCache(dir, "200", new AnimationBaker(frames::get));
+
+		BakedAnimation baked = cache.get(model(), sequence);
+		assertTrue(new File(dir, "200/42_7.anim").exists());
+
+		// frames are no longer available, so this must come from disk
+		frames.clear();
+		BakedAnimation cached = cache.get(model(), sequence);
+
+		float[] a = new float[baked.getVertexCount() * 3];
+		float[] b = new float[a.length];
+		for (int f = 0; f < baked.getFrameCount(); ++f)
+		{
+			baked.getFrame(f, a);
+			cached.getFrame(f, b);
+			assertArrayEquals(a, b, 0f);
+			assertEquals(baked.getFrameLength(f), cached.getFrameLength(f));
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testBakeWithoutAnimationTables() throws Exception
+	{
+		ModelDefinition model = model();
+		model.packedVertexGroups = new int[]{0, 1, 1, 2};
+		model.setVertexGroups(null);
+		new AnimationBaker(frames::get).bake(model, sequence());
+	}
+
+	@Test
+	public void testReadInvalid() throws Exception
+	{
+		int[][] sizes = {
+			{-1, 1},
+			{4, -1},
+			{4, 0},
+			{Integer.MAX_VALUE, Integer.MAX_VALUE},
+		};
+		for (int[] size : sizes)
+		{
+			ByteArrayOutputStream bout = new ByteArrayOutputStream();
+			DataOutputStream out = new DataOutputStream(bout);
+			out.writeInt(0x524c4241);
+			out.writeByte(1);
+			out.writeInt(size[0]);
+			out.writeInt(size[1]);
+
+			try
+			{
+				BakedAnimation.read(new DataInputStream(new ByteArrayInputStream(bout.toByteArray())));
+				fail();
+			}
+			catch (IOException ex)
+			{
+				// expected
+			}
+		}
+	}
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.models;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import net.runelite.cache.TextureManager;
+import net.runelite.cache.definitions.ModelDefinition;
+import net.runelite.cache.definitions.TextureDefinition;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class GlbExporterTest
+{
+	private static final int TEXTURE = 7;
+	private static final int SPRITE = 123;
+
+	private final TextureManager textureManager = new TextureManager(null);
+
+	public GlbExporterTest()
+	{
+		TextureDefinition texture = new TextureDefinition();
+		texture.setId(TEXTURE);
+		texture.setFileIds(new int[]{SPRITE});
+		textureManager.getTextures().add(texture);
+	}
+
+	private JsonObject export(ModelDefinition model) throws IOException
+	{
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		new GlbExporter(textureManager).export(model, out);
+
+		ByteBuffer glb = ByteBuffer.wrap(out.toByteArray()).order(ByteOrder.LITTLE_ENDIAN);
+		assertEquals(0x46546C67, glb.getInt());
+		assertEquals(2, glb.getInt());
+		assertEquals(glb.capacity(), glb.getInt());
+
+		int jsonLength = glb.getInt();
+		assertEquals(0x4E4F534A, glb.getInt());
+		assertEquals(0, jsonLength % 4);
+		JsonObject gltf = new JsonParser().parse(new String(glb.array(), glb.position(), jsonLength, StandardCharsets.UTF_8)).getAsJsonObject();
+		glb.position(glb.position() + jsonLength);
+
+		int binLength = glb.getInt();
+		assertEquals(0x004E4942, glb.getInt());
+		assertEquals(0, binLength % 4);
+		assertTrue(binLength >= gltf.getAsJsonArray("buffers").get(0).getAsJsonObject().get("byteLength").getAsInt());
+		assertEquals(glb.capacity(), glb.position() + binLength);
+
+		// every view must be inside the buffer
+		for (JsonElement view : gltf.getAsJsonArray("bufferViews"))
+		{
+			JsonObject v = view.getAsJsonObject();
+			assertTrue(v.get("byteOffset").getAsInt() + v.get("byteLength").getAsInt() <= binLength);
+		}
+		return gltf;
+	}
+
+	private static int faceCount(JsonObject gltf)
+	{
+		JsonArray accessors = gltf.getAsJsonArray("accessors");
+		int count = 0;
+		for (JsonElement p : gltf.getAsJsonArray("meshes").get(0).getAsJsonObject().getAsJsonArray("primitives"))
+		{
+			JsonObject primitive = p.getAsJsonObject();
+			int accessor = primitive.has("indices")
+				? primitive.get("indices").getAsInt()
+				: primitive.getAsJsonObject("attributes").get("POSITION").getAsInt();
+			count += accessors.get(accessor).getAsJsonObject().get("count").getAsInt() / 3;
+		}
+		return count;
+	}
+
+	@Test
+	public void testMatchesObj() throws IOException
+	{
+		StringWriter obj = new StringWriter();
+		try (PrintWriter objWriter = new PrintWriter(obj); PrintWriter mtlWriter = new PrintWriter(new StringWriter()))
+		{
+			new ObjExporter(textureManager, TestModels.tetrahedron()).export(objWriter, mtlWriter);
+		}
+
+		int vertices = 0;
+		int faces = 0;
+		for (String line : obj.toString().split("\n"))
+		{
+			if (line.startsWith("v "))
+			{
+				++vertices;
+			}
+			else if (line.startsWith("f "))
+			{
+				++faces;
+			}
+		}
+
+		JsonObject gltf = export(TestModels.tetrahedron());
+		JsonObject positions = gltf.getAsJsonArray("accessors").get(0).getAsJsonObject();
+		assertEquals(vertices, positions.get("count").getAsInt());
+		assertEquals(faces, faceCount(gltf));
+
+		assertEquals(-100f, positions.getAsJsonArray("min").get(0).getAsFloat(), 0f);
+		assertEquals(100f, positions.getAsJsonArray("max").get(1).getAsFloat(), 0f);
+
+		// the faces sharing a color share a material
+		JsonArray materials = gltf.getAsJsonArray("materials");
+		assertEquals(3, materials.size());
+		assertEquals("BLEND", materials.get(2).getAsJsonObject().get("alphaMode").getAsString());
+		assertFalse(materials.get(0).getAsJsonObject().has("alphaMode"));
+		assertFalse(gltf.has("images"));
+	}
+
+	@Test
+	public void testTextures() throws IOException
+	{
+		ModelDefinition model = TestModels.tetrahedron();
+		model.faceTextures = new short[]{-1, TEXTURE, TEXTURE, 99};
+
+		JsonObject gltf = export(model);
+		assertEquals(4, faceCount(gltf));
+
+		// the missing texture falls back to the face color
+		JsonArray primitives = gltf.getAsJsonArray("meshes").get(0).getAsJsonObject().getAsJsonArray("primitives");
+		assertEquals(3, primitives.size());
+		JsonObject textured = primitives.get(1).getAsJsonObject().getAsJsonObject("attributes");
+		assertTrue(textured.has("TEXCOORD_0"));
+		assertEquals(6, gltf.getAsJsonArray("accessors").get(textured.get("POSITION").getAsInt()).getAsJsonObject().get("count").getAsInt());
+
+		assertEquals(1, gltf.getAsJsonArray("textures").size());
+		JsonArray images = gltf.getAsJsonArray("images");
+		assertEquals(1, images.size());
+		assertEquals("sprite/" + SPRITE + "-0.png", images.get(0).getAsJsonObject().get("uri").getAsString());
+	}
+}
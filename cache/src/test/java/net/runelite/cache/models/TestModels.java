@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.models;
+
+import net.runelite.cache.definitions.ModelDefinition;
+
+/**
+ * Models for tests
+ */
+public class TestModels
+{
+	/**
+	 * A tetrahedron with an unused vertex, two faces sharing a color, and a
+	 * translucent face. A new definition is returned each time, so it may be
+	 * modified.
+	 */
+	public static ModelDefinition tetrahedron()
+	{
+		ModelDefinition model = new ModelDefinition();
+		model.id = 42;
+		model.vertexCount = 5;
+		model.vertexX = new int[]{0, 100, -100, 0, 50};
+		model.vertexY = new int[]{-100, 50, 50, 50, 0};
+		model.vertexZ = new int[]{0, -60, -60, 100, 0};
+		model.faceCount = 4;
+		model.faceIndices1 = new int[]{0, 0, 0, 1};
+		model.faceIndices2 = new int[]{1, 2, 3, 3};
+		model.faceIndices3 = new int[]{2, 3, 1, 2};
+		model.faceColors = new short[]{(short) 0x1234, (short) 0x5678, (short) 0x1234, (short) 0x7f00};
+		model.faceTransparencies = new byte[]{0, 0, 0, (byte) 128};
+		return model;
+	}
+
+	/**
+	 * A cube with a different color on each side, two of which share the
+	 * color of the tetrahedron's first face. A new definition is returned
+	 * each time, so it may be modified.
+	 */
+	public static ModelDefinition cube()
+	{
+		ModelDefinition model = new ModelDefinition();
+		model.id = 43;
+		model.vertexCount = 8;
+		model.vertexX = new int[]{-60, -60, -60, -60, 60, 60, 60, 60};
+		model.vertexY = new int[]{-60, -60, 60, 60, -60, -60, 60, 60};
+		model.vertexZ = new int[]{-60, 60, -60, 60, -60, 60, -60, 60};
+		model.faceCount = 12;
+		model.faceIndices1 = new int[]{0, 0, 4, 4, 0, 0, 2, 2, 0, 0, 1, 1};
+		model.faceIndices2 = new int[]{1, 3, 6, 7, 4, 5, 3, 7, 2, 6, 5, 7};
+		model.faceIndices3 = new int[]{3, 2, 7, 5, 5, 1, 7, 6, 6, 4, 7, 3};
+		model.faceColors = new short[12];
+		short[] sideColors = {(short) 0x1234, (short) 0x2345, (short) 0x3456, (short) 0x1234, (short) 0x5678, (short) 0x6789};
+		for (int i = 0; i < model.faceCount; ++i)
+		{
+			model.faceColors[i] = sideColors[i / 2];
+		}
+		return model;
+	}
+}
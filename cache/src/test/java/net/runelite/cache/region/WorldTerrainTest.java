@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.region;
+
+import net.runelite.cache.definitions.MapDefinition;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class WorldTerrainTest
+{
+	private static MapDefinition map(int seed)
+	{
+		MapDefinition map = new MapDefinition();
+		MapDefinition.Tile[][][] tiles = map.getTiles();
+		for (int z = 0; z < Region.Z; ++z)
+		{
+			for (int x = 0; x < Region.X; ++x)
+			{
+				for (int y = 0; y < Region.Y; ++y)
+				{
+					MapDefinition.Tile tile = new MapDefinition.Tile();
+					tile.height = (x + y + seed) % 7 == 0 ? null : (x + y + z + seed) % 30;
+					tile.settings = (byte) ((x ^ y) + seed);
+					tile.overlayId = (short) (x * 3 + seed);
+					tile.overlayPath = (byte) (y & 3);
+					tile.overlayRotation = (byte) (x & 3);
+					tile.underlayId = (short) (y * 5 + z + seed);
+					tiles[z][x][y] = tile;
+				}
+			}
+		}
+		return map;
+	}
+
+	@Test
+	public void testRegionsShareTerrain()
+	{
+		WorldTerrain terrain = new WorldTerrain(1);
+		Region a = new Region(terrain, 50 << 8 | 50);
+		Region b = new Region(terrain, 51 << 8 | 50);
+		a.loadTerrain(map(1));
+		b.loadTerrain(map(2));
+
+		// a standalone region decodes the same terrain
+		Region expected = new Region(51 << 8 | 50);
+		expected.loadTerrain(map(2));
+
+		assertEquals(2, terrain.getRegionCount());
+		for (int z = 0; z < Region.Z; ++z)
+		{
+			for (int x = 0; x < Region.X; ++x)
+			{
+				for (int y = 0; y < Region.Y; ++y)
+				{
+					assertEquals(expected.getTileHeight(z, x, y), b.getTileHeight(z, x, y));
+					assertEquals(expected.getTileSetting(z, x, y), b.getTileSetting(z, x, y));
+					assertEquals(expected.getOverlayId(z, x, y), b.getOverlayId(z, x, y));
+					assertEquals(expected.getOverlayPath(z, x, y), b.getOverlayPath(z, x, y));
+					assertEquals(expected.getOverlayRotation(z, x, y), b.getOverlayRotation(z, x, y));
+					assertEquals(expected.getUnderlayId(z, x, y), b.getUnderlayId(z, x, y));
+
+					int worldX = b.getBaseX() + x;
+					int worldY = b.getBaseY() + y;
+					assertEquals(b.getTileHeight(z, x, y), terrain.getTileHeight(z, worldX, worldY));
+					assertEquals(b.getUnderlayId(z, x, y), terrain.getUnderlayId(z, worldX, worldY));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testRows()
+	{
+		WorldTerrain terrain = new WorldTerrain(2);
+		Region a = new Region(terrain, 50 << 8 | 50);
+		Region b = new Region(terrain, 52 << 8 | 50);
+		a.loadTerrain(map(3));
+		b.loadTerrain(map(4));
+
+		// a row crossing a, an unloaded region and b
+		int worldX = a.getBaseX() + 10;
+		int worldY = a.getBaseY() + 20;
+		int length = Region.X * 3 - 20;
+
+		int[] heights = new int[length];
+		int[] underlays = new int[length];
+		int[] overlays = new int[length];
+		byte[] settings = new byte[length];
+		terrain.getTileHeights(1, worldX, worldY, heights, 0, length);
+		terrain.getUnderlayIds(1, worldX, worldY, underlays, 0, length);
+		terrain.getOverlayIds(1, worldX, worldY, overlays, 0, length);
+		terrain.getTileSettings(1, worldX, worldY, settings, 0, length);
+
+		int[] expectedHeights = new int[length];
+		byte[] expectedSettings = new byte[length];
+		for (int i = 0; i < length; ++i)
+		{
+			expectedHeights[i] = terrain.getTileHeight(1, worldX + i, worldY);
+			expectedSettings[i] = terrain.getTileSetting(1, worldX + i, worldY);
+			assertEquals(terrain.getUnderlayId(1, worldX + i, worldY), underlays[i]);
+			assertEquals(terrain.getOverlayId(1, worldX + i, worldY), overlays[i]);
+		}
+		assertArrayEquals(expectedHeights, heights);
+		assertArrayEquals(expectedSettings, settings);
+
+		assertEquals(a.getTileHeight(1, 10, 20), heights[0]);
+		assertEquals(0, heights[Region.X]);
+		assertEquals(b.getTileHeight(1, 0, 20), heights[Region.X * 2 - 10]);
+
+		assertTrue(terrain.isLoaded(worldX, worldY));
+		assertFalse(terrain.isLoaded(worldX + Region.X, worldY));
+		assertFalse(terrain.isLoaded(-1, worldY));
+	}
+
+	@Test
+	public void testRemove()
+	{
+		WorldTerrain terrain = new WorldTerrain(1);
+		Region region = new Region(terrain, 50 << 8 | 50);
+		region.loadTerrain(map(5));
+		assertTrue(terrain.isLoaded(region.getBaseX(), region.getBaseY()));
+
+		terrain.remove(region.getRegionID());
+		assertFalse(terrain.isLoaded(region.getBaseX(), region.getBaseY()));
+		assertEquals(0, terrain.getTileHeight(0, region.getBaseX(), region.getBaseY()));
+	}
+}
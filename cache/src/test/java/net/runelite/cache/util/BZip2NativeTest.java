@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.util;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeNoException;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class BZip2NativeTest
+{
+	@BeforeClass
+	public static void beforeClass()
+	{
+		try
+		{
+			var l = LibBZip2.INSTANCE;
+		}
+		catch (LinkageError ex)
+		{
+			assumeNoException(ex);
+		}
+	}
+
+	@Test
+	public void testLibBZip2Decompress() throws IOException
+	{
+		byte[] data = new byte[1024 * 1024];
+		Random r = new Random(42);
+		for (int i = 0; i < data.length; ++i)
+		{
+			data[i] = (byte) r.nextInt(8);
+		}
+
+		byte[] cdata = BZip2.compressApache(data);
+		byte[] padded = new byte[cdata.length + 3];
+		System.arraycopy(cdata, 0, padded, 3, cdata.length);
+
+		// twice, to reuse the thread's stream
+		for (int i = 0; i < 2; ++i)
+		{
+			byte[] out = new byte[data.length];
+			BZip2.decompressLibBZip2(padded, 3, cdata.length, out);
+			assertArrayEquals(data, out);
+		}
+	}
+
+	@Test
+	public void testLibBZip2DecompressSizeMismatch() throws IOException
+	{
+		byte[] cdata = BZip2.compressApache("runelite".getBytes(StandardCharsets.UTF_8));
+
+		try
+		{
+			BZip2.decompressLibBZip2(cdata, 0, cdata.length, new byte[4]);
+			fail();
+		}
+		catch (IOException ex)
+		{
+			assertEquals("decompressed size mismatch, expected 4 got more", ex.getMessage());
+		}
+
+		try
+		{
+			BZip2.decompressLibBZip2(cdata, 0, cdata.length, new byte[16]);
+			fail();
+		}
+		catch (IOException ex)
+		{
+			assertEquals("decompressed size mismatch, expected 16 got 8", ex.getMessage());
+		}
+	}
+}
@@ -24,11 +24,15 @@
  */
 package net.runelite.cache.util;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.Random;
 import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
 import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
 import org.junit.Test;
 
 public class GZipTest
@@ -53,4 +57,83 @@ public class GZipTest
 		};
 		assertArrayEquals(header, Arrays.copyOfRange(data, 0, header.length));
 	}
-}
\ No newline at end of file
+
+	@Test
+	public void testCompressMatchesGZIPOutputStream() throws IOException
+	{
+		Random random = new Random(42L);
+		for (int size : new int[]{0, 1, 100, 8192, 8193, 100_000, 1_000_000})
+		{
+			byte[] data = new byte[size];
+			for (int i = 0; i < size; ++i)
+			{
+				data[i] = (byte) random.nextInt(size % 7 + 2);
+			}
+
+			ByteArrayOutputStream bout = new ByteArrayOutputStream();
+			try (GZIPOutputStream os = new GZIPOutputStream(bout))
+			{
+				os.write(data);
+			}
+			byte[] expected = bout.toByteArray();
+			expected[9] = 0;
+
+			byte[] compressed = GZip.compress(data);
+			assertArrayEquals(expected, compressed);
+
+			byte[] out = new byte[size];
+			GZip.decompress(compressed, 0, compressed.length, out);
+			assertArrayEquals(data, out);
+		}
+	}
+
+	@Test
+	public void testCompressIntoBuffer()
+	{
+		byte[] data = new byte[10_000];
+		new Random(42L).nextBytes(data);
+
+		assertEquals(-1, GZip.compress(data, 0, data.length, new byte[100], 0));
+
+		byte[] out = new byte[20_000];
+		int len = GZip.compress(data, 0, data.length, out, 5);
+		assertEquals(-1, GZip.compress(data, 0, data.length, new byte[len - 1], 0));
+		assertEquals(len, GZip.compress(data, 0, data.length, new byte[len], 0));
+	}
+
+	@Test
+	public void testDecompressHeaderFields() throws IOException
+	{
+		byte[] data = "runelite".getBytes(StandardCharsets.UTF_8);
+		byte[] compressed = GZip.compress(data);
+
+		// add a file name to the header
+		byte[] named = new byte[compressed.length + 4];
+		System.arraycopy(compressed, 0, named, 0, 10);
+		named[3] = 8; // FNAME
+		named[10] = 'a';
+		named[11] = 'b';
+		named[12] = 'c';
+		named[13] = 0;
+		System.arraycopy(compressed, 10, named, 14, compressed.length - 10);
+
+		byte[] out = new byte[data.length];
+		GZip.decompress(named, 0, named.length, out);
+		assertArrayEquals(data, out);
+	}
+
+	@Test(expected = IOException.class)
+	public void testDecompressSizeMismatch() throws IOException
+	{
+		byte[] compressed = GZip.compress("runelite".getBytes(StandardCharsets.UTF_8));
+		GZip.decompress(compressed, 0, compressed.length, new byte[4]);
+	}
+
+	@Test(expected = IOException.class)
+	public void testDecompressBadCrc() throws IOException
+	{
+		byte[] compressed = GZip.compress("runelite".getBytes(StandardCharsets.UTF_8));
+		compressed[compressed.length - 8] ^= 1;
+		GZip.decompress(compressed, 0, compressed.length, new byte[8]);
+	}
+}
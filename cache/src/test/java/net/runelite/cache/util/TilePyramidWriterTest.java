@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.util;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import javax.imageio.ImageIO;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TilePyramidWriterTest
+{
+	private static final int SIZE = 8;
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	/**
+	 * @return a tile of the given color, or of stripes of the color and black
+	 */
+	private static BufferedImage tile(int rgb, boolean striped)
+	{
+		BufferedImage image = new BufferedImage(SIZE, SIZE, BufferedImage.TYPE_INT_RGB);
+		for (int x = 0; x < SIZE; ++x)
+		{
+			for (int y = 0; y < SIZE; ++y)
+			{
+				image.setRGB(x, y, striped && x % 2 == 1 ? 0 : rgb);
+			}
+		}
+		return image;
+	}
+
+	@Test
+	public void testPyramid() throws Exception
+	{
+		File dir = folder.newFolder();
+		List<Long> tiles = Arrays.asList(
+			TilePyramidWriter.key(0, 0),
+			TilePyramidWriter.key(1, 0),
+			TilePyramidWriter.key(3, 3)
+		);
+		TilePyramidWriter writer = new TilePyramidWriter(dir, SIZE, 2, tiles);
+
+		CompletableFuture.allOf(
+			write(writer, 0, 0, 0xFF0000, false),
+			write(writer, 1, 0, 0x00FE00, true),
+			write(writer, 3, 3, 0x0000FF, false)
+		).join();
+
+		assertEquals(0, writer.getPending());
+		assertTrue(new File(dir, "2/3_3.png").exists());
+		assertFalse(new File(dir, "2/2_2.png").exists());
+
+		// children (0,0) and (1,0) are the bottom half of (0,0)
+		BufferedImage parent = ImageIO.read(new File(dir, "1/0_0.png"));
+		assertEquals(0xFF0000, parent.getRGB(0, SIZE - 1) & 0xFFFFFF);
+		// stripes average out
+		assertEquals(0x007F00, parent.getRGB(SIZE - 1, SIZE - 1) & 0xFFFFFF);
+		assertEquals(0, parent.getRGB(0, 0) & 0xFFFFFF);
+
+		BufferedImage root = ImageIO.read(new File(dir, "0/0_0.png"));
+		assertEquals(0xFF0000, root.getRGB(0, SIZE - 1) & 0xFFFFFF);
+		assertEquals(0x007F00, root.getRGB(SIZE / 4, SIZE - 1) & 0xFFFFFF);
+		assertEquals(0, root.getRGB(0, SIZE / 2) & 0xFFFFFF);
+		assertEquals(0x0000FF, root.getRGB(SIZE - 1, 0) & 0xFFFFFF);
+	}
+
+	private static CompletableFuture<Void> write(TilePyramidWriter writer, int x, int y, int rgb, boolean striped)
+	{
+		return CompletableFuture.runAsync(() ->
+		{
+			try
+			{
+				writer.write(x, y, tile(rgb, striped));
+			}
+			catch (IOException ex)
+			{
+				throw new RuntimeException(ex);
+			}
+		});
+	}
+
+	@Test
+	public void testMortonOrder()
+	{
+		assertEquals(0, TilePyramidWriter.mortonOrder(0, 0));
+		assertEquals(1, TilePyramidWriter.mortonOrder(1, 0));
+		assertEquals(2, TilePyramidWriter.mortonOrder(0, 1));
+		assertEquals(3, TilePyramidWriter.mortonOrder(1, 1));
+		assertEquals(4, TilePyramidWriter.mortonOrder(2, 0));
+	}
+}
@@ -24,12 +24,20 @@
  */
 package net.runelite.cache.util;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+import net.runelite.cache.io.InputStream;
+import net.runelite.cache.io.OutputStream;
 import static org.junit.Assert.assertArrayEquals;
 import org.junit.Test;
 
 public class XteaTest
 {
+	private static final int GOLDEN_RATIO = 0x9E3779B9;
+	private static final int ROUNDS = 32;
+
 	@Test
 	public void test()
 	{
@@ -53,4 +61,76 @@ public class XteaTest
 
 		assertArrayEquals(data, decData);
 	}
+
+	@Test
+	public void testInPlace()
+	{
+		int[] key = new int[]
+		{
+			0x12345678, 0x9ABCDEF0, -1, 42
+		};
+		Xtea xtea = new Xtea(key);
+
+		byte[] data = new byte[1001];
+		new Random(42L).nextBytes(data);
+
+		byte[] encrypted = xtea.encrypt(data, data.length);
+
+		byte[] buf = new byte[data.length + 3];
+		System.arraycopy(encrypted, 0, buf, 3, encrypted.length);
+		xtea.decrypt(buf, 3, encrypted.length);
+		assertArrayEquals(data, Arrays.copyOfRange(buf, 3, buf.length));
+
+		ByteBuffer direct = ByteBuffer.allocateDirect(encrypted.length + 3);
+		direct.position(3);
+		direct.put(encrypted);
+		direct.position(3);
+		xtea.decrypt(direct);
+		byte[] out = new byte[data.length];
+		direct.get(out);
+		assertArrayEquals(data, out);
+	}
+
+	@Test
+	public void testInPlaceMatchesLegacy()
+	{
+		int[] key = new int[]
+		{
+			0x12345678, 0x9ABCDEF0, -1, 42
+		};
+
+		// about the size of a landscape archive
+		byte[] data = new byte[2048 + 5];
+		new Random(42L).nextBytes(data);
+
+		byte[] work = data.clone();
+		new Xtea(key).decrypt(work, 0, work.length);
+		assertArrayEquals(decryptLegacy(data, data.length, key), work);
+	}
+
+	/**
+	 * The stream based decryption which the in place decryption replaced
+	 */
+	private static byte[] decryptLegacy(byte[] data, int len, int[] key)
+	{
+		InputStream in = new InputStream(data);
+		OutputStream out = new OutputStream(len);
+		int numBlocks = len / 8;
+		for (int block = 0; block < numBlocks; ++block)
+		{
+			int v0 = in.readInt();
+			int v1 = in.readInt();
+			int sum = GOLDEN_RATIO * ROUNDS;
+			for (int i = 0; i < ROUNDS; ++i)
+			{
+				v1 -= (((v0 << 4) ^ (v0 >>> 5)) + v0) ^ (sum + key[(sum >>> 11) & 3]);
+				sum -= GOLDEN_RATIO;
+				v0 -= (((v1 << 4) ^ (v1 >>> 5)) + v1) ^ (sum + key[sum & 3]);
+			}
+			out.writeInt(v0);
+			out.writeInt(v1);
+		}
+		out.writeBytes(in.getRemaining());
+		return out.flip();
+	}
 }
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.gradle.assemble;
+
+import com.google.common.io.Files;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Properties;
+import net.runelite.cache.definitions.ScriptDefinition;
+import net.runelite.cache.definitions.savers.ScriptSaver;
+import net.runelite.cache.script.RuneLiteInstructions;
+import net.runelite.cache.script.assembler.Assembler;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.workers.WorkAction;
+
+/**
+ * Assembles a batch of scripts with its own assembler, so batches can run
+ * on separate workers
+ */
+public abstract class AssembleAction implements WorkAction<AssembleParameters>
+{
+	private static final Logger log = Logging.getLogger(AssembleAction.class);
+
+	@Override
+	public void execute()
+	{
+		AssembleParameters parameters = getParameters();
+		File scriptOut = parameters.getScriptOutputDirectory().getAsFile().get();
+
+		RuneLiteInstructions instructions = new RuneLiteInstructions();
+		instructions.init();
+
+		Assembler assembler = new Assembler(instructions, new HashMap<>(parameters.getComponentSymbols().get()));
+		ScriptSaver saver = new ScriptSaver();
+		Properties scriptIds = new Properties();
+
+		try
+		{
+			for (File scriptFile : parameters.getScriptFiles())
+			{
+				log.debug("Assembling {}", scriptFile);
+
+				ScriptDefinition script;
+				try (FileInputStream fin = new FileInputStream(scriptFile))
+				{
+					script = assembler.assemble(fin);
+				}
+
+				byte[] packedScript = saver.save(script);
+
+				File targetFile = new File(scriptOut, Integer.toString(script.getId()));
+				Files.write(packedScript, targetFile);
+
+				// Copy hash file
+
+				String name = Files.getNameWithoutExtension(scriptFile.getName());
+				File hashFile = new File(scriptFile.getParentFile(), name + ".hash");
+				if (hashFile.exists())
+				{
+					Files.copy(hashFile, new File(scriptOut, Integer.toString(script.getId()) + ".hash"));
+				}
+				else if (script.getId() < 10000) // Scripts >=10000 are RuneLite scripts, so they shouldn't have a .hash
+				{
+					throw new FileNotFoundException("Unable to find hash file for " + scriptFile);
+				}
+
+				scriptIds.setProperty(name, Integer.toString(script.getId()));
+			}
+
+			try (OutputStream out = new FileOutputStream(parameters.getScriptIdsFile().getAsFile().get()))
+			{
+				scriptIds.store(out, null);
+			}
+		}
+		catch (IOException ex)
+		{
+			throw new UncheckedIOException(ex);
+		}
+	}
+}
@@ -28,35 +28,57 @@ package net.runelite.gradle.assemble;
 import com.google.common.io.Files;
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import javax.inject.Inject;
 import net.runelite.cache.IndexType;
-import net.runelite.cache.definitions.ScriptDefinition;
-import net.runelite.cache.definitions.savers.ScriptSaver;
-import net.runelite.cache.script.RuneLiteInstructions;
-import net.runelite.cache.script.assembler.Assembler;
 import org.gradle.api.DefaultTask;
 import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.FileType;
 import org.gradle.api.file.RegularFileProperty;
 import org.gradle.api.logging.Logger;
 import org.gradle.api.tasks.CacheableTask;
 import org.gradle.api.tasks.InputDirectory;
 import org.gradle.api.tasks.InputFile;
+import org.gradle.api.tasks.LocalState;
 import org.gradle.api.tasks.OutputDirectory;
 import org.gradle.api.tasks.PathSensitive;
 import org.gradle.api.tasks.PathSensitivity;
 import org.gradle.api.tasks.TaskAction;
+import org.gradle.work.FileChange;
+import org.gradle.work.Incremental;
+import org.gradle.work.InputChanges;
+import org.gradle.workers.WorkQueue;
+import org.gradle.workers.WorkerExecutor;
 import org.tomlj.Toml;
 import org.tomlj.TomlParseError;
 import org.tomlj.TomlParseResult;
 import org.tomlj.TomlTable;
 
+/**
+ * Assembles rs2asm scripts into the client script archive overlay. Only
+ * scripts which were changed since the last build are assembled, unless
+ * the components file changed, and scripts are assembled in batches on
+ * gradle workers.
+ */
 @CacheableTask
 public abstract class AssembleTask extends DefaultTask
 {
+	private static final String SCRIPT_EXTENSION = "rs2asm";
+	private static final String HASH_EXTENSION = "hash";
+
+	@Incremental
 	@InputDirectory
 	@PathSensitive(PathSensitivity.RELATIVE)
 	public abstract DirectoryProperty getScriptDirectory();
@@ -68,57 +90,145 @@ public abstract class AssembleTask extends DefaultTask
 	@PathSensitive(PathSensitivity.RELATIVE)
 	public abstract RegularFileProperty getComponentsFile();
 
+	@Inject
+	protected abstract WorkerExecutor getWorkerExecutor();
+
 	private final Logger log = getLogger();
 
+	/**
+	 * The id each script was last assembled to, so the outputs of changed
+	 * and removed scripts can be deleted
+	 */
+	@LocalState
+	public File getScriptIdsFile()
+	{
+		return new File(getTemporaryDir(), "script-ids.properties");
+	}
+
 	@TaskAction
-	public void assembleRs2Asm() throws IOException
+	public void assembleRs2Asm(InputChanges inputChanges) throws IOException
 	{
 		File scriptDirectory = getScriptDirectory().getAsFile().get();
 		File outputDirectory = getOutputDirectory().getAsFile().get();
 		File componentsFile = getComponentsFile().getAsFile().get();
+		File scriptIdsFile = getScriptIdsFile();
 
-		RuneLiteInstructions instructions = new RuneLiteInstructions();
-		instructions.init();
-
-		Assembler assembler = new Assembler(instructions, buildComponentSymbols(componentsFile));
-		ScriptSaver saver = new ScriptSaver();
-
-		int count = 0;
 		File scriptOut = new File(outputDirectory, Integer.toString(IndexType.CLIENTSCRIPT.getNumber()));
 		scriptOut.mkdirs();
 
-		for (File scriptFile : scriptDirectory.listFiles((dir, name) -> name.endsWith(".rs2asm")))
+		Properties scriptIds = new Properties();
+		if (scriptIdsFile.exists())
 		{
-			log.debug("Assembling {}", scriptFile);
-
-			try (FileInputStream fin = new FileInputStream(scriptFile))
+			try (InputStream in = new FileInputStream(scriptIdsFile))
 			{
-				ScriptDefinition script = assembler.assemble(fin);
-				byte[] packedScript = saver.save(script);
-
-				File targetFile = new File(scriptOut, Integer.toString(script.getId()));
-				Files.write(packedScript, targetFile);
-
-				// Copy hash file
+				scriptIds.load(in);
+			}
+		}
 
-				File hashFile = new File(scriptDirectory, Files.getNameWithoutExtension(scriptFile.getName()) + ".hash");
-				if (hashFile.exists())
+		Set<File> scripts = new TreeSet<>();
+		if (inputChanges.isIncremental() && scriptIdsFile.exists())
+		{
+			for (FileChange change : inputChanges.getFileChanges(getScriptDirectory()))
+			{
+				File file = change.getFile();
+				String extension = Files.getFileExtension(file.getName());
+				if (change.getFileType() == FileType.DIRECTORY
+					|| !scriptDirectory.equals(file.getParentFile())
+					|| !(extension.equals(SCRIPT_EXTENSION) || extension.equals(HASH_EXTENSION)))
 				{
-					Files.copy(hashFile, new File(scriptOut, Integer.toString(script.getId()) + ".hash"));
+					continue;
 				}
-				else if (script.getId() < 10000) // Scripts >=10000 are RuneLite scripts, so they shouldn't have a .hash
+
+				// a changed hash file also changes the script's outputs
+				String name = Files.getNameWithoutExtension(file.getName());
+				deleteOutputs(scriptOut, scriptIds.getProperty(name));
+				scriptIds.remove(name);
+
+				File scriptFile = new File(scriptDirectory, name + "." + SCRIPT_EXTENSION);
+				if (scriptFile.exists())
 				{
-					throw new FileNotFoundException("Unable to find hash file for " + scriptFile);
+					scripts.add(scriptFile);
 				}
+			}
+		}
+		else
+		{
+			for (String name : scriptIds.stringPropertyNames())
+			{
+				deleteOutputs(scriptOut, scriptIds.getProperty(name));
+			}
+			scriptIds.clear();
+
+			scripts.addAll(Arrays.asList(scriptDirectory.listFiles((dir, name) -> name.endsWith("." + SCRIPT_EXTENSION))));
+		}
 
-				++count;
+		if (!scripts.isEmpty())
+		{
+			assemble(new ArrayList<>(scripts), scriptOut, buildComponentSymbols(componentsFile), scriptIds);
+		}
+
+		try (OutputStream out = new FileOutputStream(scriptIdsFile))
+		{
+			scriptIds.store(out, null);
+		}
+
+		log.lifecycle("Assembled {} scripts", scripts.size());
+	}
+
+	/**
+	 * Assemble scripts in one batch per worker, and record the ids they were
+	 * assembled to
+	 */
+	private void assemble(List<File> scripts, File scriptOut, Map<String, Integer> symbols, Properties scriptIds) throws IOException
+	{
+		int batches = Math.min(scripts.size(), Runtime.getRuntime().availableProcessors());
+		WorkQueue queue = getWorkerExecutor().noIsolation();
+		File[] batchIdsFiles = new File[batches];
+
+		for (int batch = 0; batch < batches; ++batch)
+		{
+			List<File> batchScripts = new ArrayList<>();
+			for (int i = batch; i < scripts.size(); i += batches)
+			{
+				batchScripts.add(scripts.get(i));
 			}
+
+			File batchIdsFile = new File(getTemporaryDir(), "batch-" + batch + ".properties");
+			batchIdsFiles[batch] = batchIdsFile;
+
+			queue.submit(AssembleAction.class, parameters ->
+			{
+				parameters.getScriptFiles().from(batchScripts);
+				parameters.getScriptOutputDirectory().set(scriptOut);
+				parameters.getComponentSymbols().set(symbols);
+				parameters.getScriptIdsFile().set(batchIdsFile);
+			});
+		}
+
+		queue.await();
+
+		for (File batchIdsFile : batchIdsFiles)
+		{
+			Properties batchIds = new Properties();
+			try (InputStream in = new FileInputStream(batchIdsFile))
+			{
+				batchIds.load(in);
+			}
+			scriptIds.putAll(batchIds);
+			batchIdsFile.delete();
 		}
+	}
 
-		log.lifecycle("Assembled {} scripts", count);
+	private static void deleteOutputs(File scriptOut, String scriptId)
+	{
+		if (scriptId != null)
+		{
+			new File(scriptOut, scriptId).delete();
+			new File(scriptOut, scriptId + "." + HASH_EXTENSION).delete();
+		}
 	}
 
-	private Map<String, Object> buildComponentSymbols(File file)
+	private Map<String, Integer> buildComponentSymbols(File file)
 	{
 		TomlParseResult result;
 		try
@@ -139,7 +249,7 @@ public abstract class AssembleTask extends DefaultTask
 			throw new RuntimeException("unable to parse component file " + file.getName());
 		}
 
-		Map<String, Object> symbols = new HashMap<>();
+		Map<String, Integer> symbols = new HashMap<>();
 		for (var entry : result.entrySet())
 		{
 			var interfaceName = entry.getKey();
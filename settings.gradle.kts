@@ -25,6 +25,7 @@
 
 rootProject.name = "runelite"
 includeBuild("cache")
+includeBuild("cache-benchmarks")
 includeBuild("runelite-api")
 includeBuild("runelite-client")
 includeBuild("runelite-gradle-plugin")